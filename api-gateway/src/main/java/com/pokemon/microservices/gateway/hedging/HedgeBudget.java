@@ -0,0 +1,47 @@
+package com.pokemon.microservices.gateway.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hedge Budget
+ *
+ * Token bucket that caps hedges to a share of the primary requests: every
+ * primary request deposits that share of a token, every hedge withdraws a
+ * whole one. Savings are capped so a quiet period cannot turn into a storm of
+ * hedges later.
+ */
+class HedgeBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    HedgeBudget(double percent, int burst) {
+        this.depositPerRequest = Math.round(TOKEN * percent / 100.0);
+        this.maxBalance = TOKEN * Math.max(burst, 1);
+    }
+
+    void deposit() {
+        balance.getAndUpdate(current -> Math.min(current + depositPerRequest, maxBalance));
+    }
+
+    /**
+     * Whether a hedge could be paid for right now, without spending the token.
+     */
+    boolean canWithdraw() {
+        return balance.get() >= TOKEN;
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
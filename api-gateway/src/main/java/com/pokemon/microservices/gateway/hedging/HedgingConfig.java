@@ -0,0 +1,38 @@
+package com.pokemon.microservices.gateway.hedging;
+
+import com.pokemon.microservices.gateway.loadbalancer.PeakEwmaStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * Hedging Configuration
+ *
+ * Registers the {@link HedgingFilter} when {@code pokemon.gateway.hedging.enabled}
+ * is set. It reuses the gateway's own HTTP client and its timeout settings, so
+ * connection pool and timeouts are the same as for regular routes.
+ */
+@Configuration
+@EnableConfigurationProperties(HedgingProperties.class)
+@ConditionalOnProperty(prefix = "pokemon.gateway.hedging", name = "enabled", havingValue = "true")
+public class HedgingConfig {
+
+    @Bean
+    public HedgingFilter hedgingFilter(HedgingProperties properties, LoadBalancerClientFactory clientFactory,
+                                       PeakEwmaStats stats, HttpClient httpClient,
+                                       HttpClientProperties httpClientProperties,
+                                       ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                       MeterRegistry meterRegistry) {
+        return new HedgingFilter(properties, clientFactory, stats, httpClient, httpClientProperties, headersFilters,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,422 @@
+package com.pokemon.microservices.gateway.hedging;
+
+import com.pokemon.microservices.gateway.loadbalancer.PeakEwmaStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycleValidator;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.DelegatingServiceInstance;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.gateway.support.TimeoutException;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hedging Filter
+ *
+ * Takes over the routing of idempotent GET/HEAD requests to {@code lb://}
+ * services whenever a hedge could be sent: the latency window is warm, the
+ * {@link HedgeBudget} of the service has a token left and there is a second
+ * instance. When the first instance has not answered within the recent latency
+ * percentile, the same request goes to a second instance; the first response
+ * to arrive wins, its body is streamed like a regular routed call and the other
+ * call is cancelled. All other requests are routed by the regular filters.
+ * <p>
+ * Whether a response is a stream, e.g. {@code /api/pokemon/changes}, is only
+ * known from its Content-Type: the write filter flushes it event by event
+ * either way, and a stream whose headers arrive in time is never hedged.
+ */
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgingFilter.class);
+
+    // After RouteToRequestUrlFilter has resolved the lb:// URL, before the regular load balancing
+    public static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 50;
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD);
+
+    private final HedgingProperties properties;
+    private final LoadBalancerClientFactory clientFactory;
+    private final PeakEwmaStats stats;
+    private final HttpClient httpClient;
+    private final HttpClientProperties httpClientProperties;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ServiceHedging> services = new ConcurrentHashMap<>();
+
+    public HedgingFilter(HedgingProperties properties, LoadBalancerClientFactory clientFactory, PeakEwmaStats stats,
+                         HttpClient httpClient, HttpClientProperties httpClientProperties,
+                         ObjectProvider<List<HttpHeadersFilter>> headersFilters, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clientFactory = clientFactory;
+        this.stats = stats;
+        this.httpClient = httpClient;
+        this.httpClientProperties = httpClientProperties;
+        this.headersFilters = headersFilters;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        String schemePrefix = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_SCHEME_PREFIX_ATTR);
+        if (url == null || !"lb".equals(url.getScheme()) || schemePrefix != null
+                || ServerWebExchangeUtils.isAlreadyRouted(exchange)
+                || !IDEMPOTENT_METHODS.contains(exchange.getRequest().getMethod())) {
+            return chain.filter(exchange);
+        }
+        String serviceId = url.getHost();
+        if (!properties.getServiceIds().isEmpty() && !properties.getServiceIds().contains(serviceId)) {
+            return chain.filter(exchange);
+        }
+
+        ServiceHedging service = services.computeIfAbsent(serviceId, this::newServiceHedging);
+        service.budget.deposit();
+        Optional<Duration> delay = hedgeDelay(service);
+        if (delay.isEmpty()) {
+            return measured(service, exchange, chain);
+        }
+        if (!service.budget.canWithdraw()) {
+            service.rejected.increment();
+            return measured(service, exchange, chain);
+        }
+        Attempt primary = new Attempt(service, exchange, url);
+        return primary.instances()
+                .defaultIfEmpty(List.of())
+                .flatMap(instances -> instances.size() < 2
+                        ? measured(service, exchange, chain)
+                        : hedged(service, exchange, chain, url, primary, delay.get()));
+    }
+
+    /**
+     * Leaves the routing to the regular filters and only records the time to
+     * the first response byte, so the latency window fills up while no hedge
+     * can be sent.
+     */
+    private Mono<Void> measured(ServiceHedging service, ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(
+                () -> service.latency.record(System.nanoTime() - start)));
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> hedged(ServiceHedging service, ServerWebExchange exchange, GatewayFilterChain chain, URI url,
+                              Attempt primary, Duration delay) {
+        // Claimed by the first attempt whose response headers arrive; the other one is dropped
+        AtomicBoolean answered = new AtomicBoolean();
+        Mono<Upstream> hedge = Mono.delay(delay)
+                .then(Mono.defer(() -> hedgeAttempt(service, exchange, url, primary, answered)));
+
+        return Mono.firstWithValue(primary.call(null, answered), hedge)
+                // Report the primary's own error rather than reactor's "all sources failed"
+                .onErrorMap(NoSuchElementException.class, ex -> ex.getCause() != null
+                        ? Exceptions.unwrapMultiple(ex.getCause()).get(0)
+                        : ex)
+                .flatMap(upstream -> {
+                    route(exchange, upstream);
+                    // NettyWriteResponseFilter streams the body from the winning connection
+                    return chain.filter(exchange);
+                });
+    }
+
+    /**
+     * Hands the winning response over to the exchange the same way
+     * NettyRoutingFilter does, so the write filter and the response header
+     * filters treat it like any routed call.
+     */
+    private void route(ServerWebExchange exchange, Upstream upstream) {
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        Map<String, Object> attributes = exchange.getAttributes();
+        attributes.put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, upstream.url());
+        attributes.put(ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR, upstream.response());
+        attributes.put(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR, upstream.connection());
+
+        HttpHeaders headers = new HttpHeaders();
+        upstream.response().responseHeaders().forEach(header -> headers.add(header.getKey(), header.getValue()));
+        String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        if (StringUtils.hasLength(contentType)) {
+            attributes.put(ServerWebExchangeUtils.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentType);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(upstream.response().status().code()));
+        HttpHeaders filtered = HttpHeadersFilter.filter(headersFilters.getIfAvailable(), headers, exchange,
+                HttpHeadersFilter.Type.RESPONSE);
+        if (!filtered.containsKey(HttpHeaders.TRANSFER_ENCODING) && filtered.containsKey(HttpHeaders.CONTENT_LENGTH)) {
+            response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        }
+        attributes.put(ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES, filtered.keySet());
+        response.getHeaders().addAll(filtered);
+    }
+
+    private Optional<Duration> hedgeDelay(ServiceHedging service) {
+        long percentile = service.latency.percentileNanos();
+        if (percentile < 0) {
+            return Optional.empty();
+        }
+        long delay = Math.min(Math.max(percentile, properties.getMinDelay().toNanos()),
+                properties.getMaxDelay().toNanos());
+        return Optional.of(Duration.ofNanos(delay));
+    }
+
+    private Mono<Upstream> hedgeAttempt(ServiceHedging service, ServerWebExchange exchange, URI url,
+                                        Attempt primary, AtomicBoolean answered) {
+        Attempt hedge = new Attempt(service, exchange, url);
+        return hedge.chooseOtherThan(primary.instance)
+                .flatMap(instance -> {
+                    if (!service.budget.tryWithdraw()) {
+                        service.rejected.increment();
+                        return Mono.empty();
+                    }
+                    service.sent.increment();
+                    logger.debug("Hedging {} {} to {}", exchange.getRequest().getMethod(), url, instance.getUri());
+                    return hedge.call(instance, answered).doOnNext(response -> service.won.increment());
+                });
+    }
+
+    private static boolean sameInstance(ServiceInstance candidate, ServiceInstance other) {
+        return other != null && Objects.equals(candidate.getUri(), other.getUri());
+    }
+
+    private ServiceHedging newServiceHedging(String serviceId) {
+        ServiceHedging service = new ServiceHedging(serviceId);
+        Gauge.builder("gateway.hedging.delay", service, hedging -> hedging.latency.percentileNanos() < 0
+                        ? Double.NaN
+                        : hedging.latency.percentileNanos() / 1_000_000.0)
+                .description("Latency percentile after which a request is hedged, in milliseconds")
+                .tag("service", serviceId)
+                .register(meterRegistry);
+        return service;
+    }
+
+    private final class ServiceHedging {
+        private final String serviceId;
+        private final LatencyWindow latency;
+        private final HedgeBudget budget;
+        private final Counter sent;
+        private final Counter won;
+        private final Counter rejected;
+
+        private ServiceHedging(String serviceId) {
+            this.serviceId = serviceId;
+            this.latency = new LatencyWindow(properties.getWindowSize(), properties.getMinSamples(),
+                    properties.getPercentile());
+            this.budget = new HedgeBudget(properties.getBudgetPercent(), properties.getBudgetBurst());
+            this.sent = counter("sent");
+            this.won = counter("won");
+            this.rejected = counter("budget_exhausted");
+        }
+
+        private Counter counter(String outcome) {
+            return Counter.builder("gateway.hedging.requests")
+                    .description("Hedged requests by outcome")
+                    .tag("service", serviceId)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * One call to one instance, reported to the load-balancer lifecycle like a
+     * regular routed call so the balancer stats see hedges and cancellations too.
+     */
+    private final class Attempt {
+        private final ServiceHedging service;
+        private final ServerWebExchange exchange;
+        private final URI url;
+        private final Request<RequestDataContext> lbRequest;
+        private final Set<LoadBalancerLifecycle> lifecycles;
+        private volatile ServiceInstance instance;
+
+        @SuppressWarnings("unchecked")
+        private Attempt(ServiceHedging service, ServerWebExchange exchange, URI url) {
+            this.service = service;
+            this.exchange = exchange;
+            this.url = url;
+            this.lbRequest = new DefaultRequest<>(new RequestDataContext(new RequestData(exchange.getRequest()),
+                    "default"));
+            this.lifecycles = LoadBalancerLifecycleValidator.getSupportedLifecycleProcessors(
+                    clientFactory.getInstances(service.serviceId, LoadBalancerLifecycle.class),
+                    RequestDataContext.class, ResponseData.class, ServiceInstance.class);
+        }
+
+        private Mono<ServiceInstance> choose() {
+            ReactorServiceInstanceLoadBalancer loadBalancer = clientFactory.getInstance(service.serviceId,
+                    ReactorServiceInstanceLoadBalancer.class);
+            if (loadBalancer == null) {
+                return Mono.error(NotFoundException.create(true, "No loadbalancer available for " + service.serviceId));
+            }
+            return loadBalancer.choose(lbRequest).flatMap(response -> response.hasServer()
+                    ? Mono.just(response.getServer())
+                    : Mono.empty());
+        }
+
+        /**
+         * The cheapest instance other than the given one. Asking the load balancer
+         * again would mostly return the primary: its slow call is still in
+         * flight and not reflected in its latency yet.
+         */
+        private Mono<ServiceInstance> chooseOtherThan(ServiceInstance excluded) {
+            return instances().flatMap(instances -> Mono.justOrEmpty(instances.stream()
+                    .filter(candidate -> !sameInstance(candidate, excluded))
+                    .min(Comparator.comparingDouble(stats::cost))));
+        }
+
+        private Mono<List<ServiceInstance>> instances() {
+            ServiceInstanceListSupplier supplier = clientFactory
+                    .getLazyProvider(service.serviceId, ServiceInstanceListSupplier.class)
+                    .getIfAvailable(NoopServiceInstanceListSupplier::new);
+            return supplier.get(lbRequest).next();
+        }
+
+        /**
+         * Sends the request and emits the response as soon as its headers
+         * arrive; the body stays on the connection until the write filter reads
+         * it. A response that arrives after the other attempt already answered
+         * is dropped with its connection.
+         */
+        @SuppressWarnings("unchecked")
+        private Mono<Upstream> call(ServiceInstance chosen, AtomicBoolean answered) {
+            Mono<ServiceInstance> instanceMono = chosen != null
+                    ? Mono.just(chosen)
+                    : choose().switchIfEmpty(Mono.error(
+                            NotFoundException.create(true, "Unable to find instance for " + service.serviceId)));
+            return instanceMono.flatMap(selected -> {
+                instance = selected;
+                Response<ServiceInstance> lbResponse = new DefaultResponse(selected);
+                URI target = LoadBalancerUriTools.reconstructURI(
+                        new DelegatingServiceInstance(selected, selected.isSecure() ? "https" : "http"), url);
+                ServerHttpRequest request = exchange.getRequest();
+                HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+                boolean preserveHost = exchange.getAttributeOrDefault(
+                        ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE, false);
+                if (!preserveHost) {
+                    headers.remove(HttpHeaders.HOST);
+                }
+                Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+                lifecycles.forEach(lifecycle -> lifecycle.onStart(lbRequest));
+                lifecycles.forEach(lifecycle -> lifecycle.onStartRequest(lbRequest, lbResponse));
+                long start = System.nanoTime();
+                Flux<Upstream> responses = client(route)
+                        .headers(nettyHeaders -> headers.forEach(nettyHeaders::add))
+                        .request(io.netty.handler.codec.http.HttpMethod.valueOf(request.getMethod().name()))
+                        .uri(target)
+                        .responseConnection((response, connection) -> {
+                            if (!answered.compareAndSet(false, true)) {
+                                connection.dispose();
+                                return Mono.empty();
+                            }
+                            return Mono.just(new Upstream(target, response, connection));
+                        });
+                Duration responseTimeout = responseTimeout(route);
+                if (responseTimeout != null) {
+                    responses = responses
+                            .timeout(responseTimeout, Mono.error(new TimeoutException(
+                                    "Response took longer than timeout: " + responseTimeout)))
+                            .onErrorMap(TimeoutException.class, ex -> new ResponseStatusException(
+                                    HttpStatus.GATEWAY_TIMEOUT, ex.getMessage(), ex));
+                }
+                return responses.singleOrEmpty()
+                        .doOnNext(response -> {
+                            service.latency.record(System.nanoTime() - start);
+                            complete(CompletionContext.Status.SUCCESS, lbResponse, null);
+                        })
+                        .switchIfEmpty(Mono.<Upstream>fromRunnable(
+                                () -> complete(CompletionContext.Status.DISCARD, lbResponse, null)))
+                        .doOnError(ex -> complete(CompletionContext.Status.FAILED, lbResponse, ex))
+                        .doOnCancel(() -> complete(CompletionContext.Status.DISCARD, lbResponse, null));
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(CompletionContext.Status status, Response<ServiceInstance> lbResponse, Throwable ex) {
+            CompletionContext<ResponseData, ServiceInstance, RequestDataContext> context = ex != null
+                    ? new CompletionContext<>(status, ex, lbRequest, lbResponse)
+                    : new CompletionContext<>(status, lbRequest, lbResponse);
+            lifecycles.forEach(lifecycle -> lifecycle.onComplete(context));
+        }
+    }
+
+    private HttpClient client(Route route) {
+        Object connectTimeout = route != null ? route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR) : null;
+        if (connectTimeout == null) {
+            return httpClient;
+        }
+        return httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeout.toString()));
+    }
+
+    /**
+     * The route's {@code response-timeout} metadata, else the gateway-wide
+     * one; a negative route value disables it, as in NettyRoutingFilter.
+     */
+    private Duration responseTimeout(Route route) {
+        Object routeTimeout = route != null ? route.getMetadata().get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR) : null;
+        if (routeTimeout != null) {
+            long millis = Long.parseLong(routeTimeout.toString());
+            return millis < 0 ? null : Duration.ofMillis(millis);
+        }
+        return httpClientProperties.getResponseTimeout();
+    }
+
+    private record Upstream(URI url, HttpClientResponse response, Connection connection) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.pokemon.microservices.gateway.hedging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hedging Properties
+ *
+ * Settings under {@code pokemon.gateway.hedging}.
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.gateway.hedging")
+public class HedgingProperties {
+
+    private boolean enabled = false;
+
+    // Services whose GET routes are hedged; empty means every lb:// service
+    private List<String> serviceIds = new ArrayList<>();
+
+    // The hedge is sent once the first call is slower than this percentile of recent latency
+    private double percentile = 95.0;
+
+    private Duration minDelay = Duration.ofMillis(5);
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    // Recent latencies kept per service, and how many are needed before hedging starts
+    private int windowSize = 1000;
+    private int minSamples = 50;
+
+    // Extra load allowed, as a percentage of primary requests
+    private double budgetPercent = 5.0;
+
+    // Hedges that may be sent back to back when the budget has been saved up
+    private int budgetBurst = 10;
+}
@@ -0,0 +1,55 @@
+package com.pokemon.microservices.gateway.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Latency Window
+ *
+ * Ring of the most recent latencies of one service. The percentile is
+ * recomputed every tenth of the window instead of on every request, so reading
+ * it on the request path is just a volatile read.
+ */
+class LatencyWindow {
+
+    private final long[] samples;
+    private final int minSamples;
+    private final double percentile;
+    private final int recomputeEvery;
+
+    // Guarded by "this"
+    private int next;
+    private int count;
+    private int sinceRecompute;
+
+    // -1 until there are enough samples
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(int size, int minSamples, double percentile) {
+        this.samples = new long[Math.max(size, 1)];
+        this.minSamples = Math.min(Math.max(minSamples, 1), samples.length);
+        this.percentile = percentile;
+        this.recomputeEvery = Math.max(samples.length / 10, 1);
+    }
+
+    void record(long nanos) {
+        long[] snapshot = null;
+        synchronized (this) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            if (count >= minSamples && (percentileNanos < 0 || ++sinceRecompute >= recomputeEvery)) {
+                sinceRecompute = 0;
+                snapshot = Arrays.copyOf(samples, count);
+            }
+        }
+        if (snapshot != null) {
+            Arrays.sort(snapshot);
+            int index = (int) Math.ceil(percentile / 100.0 * snapshot.length) - 1;
+            percentileNanos = snapshot[Math.min(Math.max(index, 0), snapshot.length - 1)];
+        }
+    }
+
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
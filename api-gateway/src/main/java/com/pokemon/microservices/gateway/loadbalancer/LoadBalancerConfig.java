@@ -0,0 +1,24 @@
+package com.pokemon.microservices.gateway.loadbalancer;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Load Balancer Configuration
+ *
+ * Routes every {@code lb://} service through the {@link PeakEwmaLoadBalancer}
+ * instead of round robin. The stats are shared by all services and fed by the
+ * gateway's load-balancer lifecycle callbacks.
+ */
+@Configuration
+@EnableConfigurationProperties(PeakEwmaProperties.class)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    @Bean
+    public PeakEwmaStats peakEwmaStats(PeakEwmaProperties properties) {
+        return new PeakEwmaStats(properties);
+    }
+}
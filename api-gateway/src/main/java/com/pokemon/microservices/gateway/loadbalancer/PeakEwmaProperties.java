@@ -0,0 +1,22 @@
+package com.pokemon.microservices.gateway.loadbalancer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Peak EWMA Properties
+ *
+ * Settings under {@code pokemon.gateway.load-balancer}.
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.gateway.load-balancer")
+public class PeakEwmaProperties {
+
+    // Time for an old latency observation to lose ~63% of its weight
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    // Latency recorded for failed calls, and assumed for busy instances with no history
+    private Duration failurePenalty = Duration.ofSeconds(1);
+}
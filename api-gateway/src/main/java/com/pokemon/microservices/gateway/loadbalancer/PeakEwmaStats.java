@@ -0,0 +1,132 @@
+package com.pokemon.microservices.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Peak EWMA Stats
+ *
+ * Latency and in-flight requests per service instance, fed by the load-balancer
+ * lifecycle of every routed call. The latency average jumps straight to any
+ * higher observation (the peak) and decays exponentially towards lower ones and,
+ * while idle, towards zero, so a slow instance is avoided at once and retried
+ * once its data is stale. The cost of an instance is that latency times its
+ * in-flight requests plus one.
+ */
+public class PeakEwmaStats implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public PeakEwmaStats(PeakEwmaProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    PeakEwmaStats(PeakEwmaProperties properties, LongSupplier nanoClock) {
+        this.decayNanos = properties.getDecayTime().toNanos();
+        this.failurePenaltyNanos = properties.getFailurePenalty().toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public double cost(ServiceInstance instance) {
+        return statsOf(instance).cost(nanoClock.getAsLong());
+    }
+
+    public int inFlight(ServiceInstance instance) {
+        return statsOf(instance).inFlight.get();
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(nanoClock.getAsLong());
+        }
+        statsOf(lbResponse.getServer()).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceStats instance = statsOf(lbResponse.getServer());
+        instance.inFlight.decrementAndGet();
+
+        long now = nanoClock.getAsLong();
+        long rtt = completionContext.getLoadBalancerRequest() != null
+                && completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext timed
+                && timed.getRequestStartTime() > 0 ? now - timed.getRequestStartTime() : 0;
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            rtt = Math.max(rtt, failurePenaltyNanos);
+        }
+        if (rtt > 0) {
+            instance.observe(rtt, now);
+        }
+    }
+
+    private InstanceStats statsOf(ServiceInstance instance) {
+        return stats.computeIfAbsent(keyOf(instance), key -> new InstanceStats(nanoClock.getAsLong()));
+    }
+
+    private static String keyOf(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+    }
+
+    private final class InstanceStats {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // Guarded by "this"
+        private double ewmaNanos;
+        private long stampNanos;
+
+        private InstanceStats(long now) {
+            this.stampNanos = now;
+        }
+
+        private synchronized void observe(double rttNanos, long now) {
+            double weight = decay(now);
+            ewmaNanos = rttNanos > ewmaNanos ? rttNanos : ewmaNanos * weight + rttNanos * (1 - weight);
+        }
+
+        private synchronized double cost(long now) {
+            ewmaNanos *= decay(now);
+            int pending = Math.max(inFlight.get(), 0);
+            if (ewmaNanos == 0 && pending > 0) {
+                // Busy but never measured: assume the worst rather than pile on
+                return (double) failurePenaltyNanos * pending;
+            }
+            return ewmaNanos * (pending + 1);
+        }
+
+        private double decay(long now) {
+            long elapsed = Math.max(now - stampNanos, 0);
+            stampNanos = Math.max(now, stampNanos);
+            return Math.exp(-elapsed / decayNanos);
+        }
+    }
+}
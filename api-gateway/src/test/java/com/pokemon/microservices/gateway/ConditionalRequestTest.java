@@ -0,0 +1,119 @@
+package com.pokemon.microservices.gateway;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads a Pokemon through the gateway and PATCHes it back with the ETag it
+ * got, against a stub pokemon-service that tags its GETs "version-hash" the
+ * way the real one does and only accepts an If-Match carrying the current
+ * version. GETs go through the hedging filter, PATCH through the plain route.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "pokemon.gateway.hedging.enabled=true",
+        "spring.cloud.gateway.discovery.locator.enabled=false",
+        "spring.cloud.gateway.routes[0].id=pokemon-service",
+        "spring.cloud.gateway.routes[0].uri=lb://pokemon-service",
+        "spring.cloud.gateway.routes[0].predicates[0]=Path=/api/pokemon/**"
+})
+class ConditionalRequestTest {
+
+    private static final Stub STUB = new Stub();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void stubInstance(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.discovery.client.simple.instances.pokemon-service[0].uri",
+                () -> "http://localhost:" + STUB.server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.server.stop(0);
+    }
+
+    @Test
+    void patchWithTheETagOfAGetIsAccepted() {
+        WebClient client = WebClient.create("http://localhost:" + port);
+
+        ResponseEntity<String> read = client.get().uri("/api/pokemon/25").retrieve().toEntity(String.class)
+                .block(Duration.ofSeconds(10));
+        String etag = read.getHeaders().getETag();
+        assertThat(etag).isEqualTo("\"3-5d41402abc4b2a76b9719d911017c592\"");
+
+        ResponseEntity<Void> patched = patch(client, etag);
+        assertThat(patched.getStatusCode().value()).isEqualTo(204);
+        assertThat(patched.getHeaders().getETag()).isEqualTo("\"4\"");
+
+        // The tag read before the PATCH is stale now
+        assertThat(patch(client, etag).getStatusCode().value()).isEqualTo(409);
+    }
+
+    private static ResponseEntity<Void> patch(WebClient client, String ifMatch) {
+        return client.patch().uri("/api/pokemon/25")
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"hp\": 60}")
+                .exchangeToMono(response -> response.toBodilessEntity())
+                .block(Duration.ofSeconds(10));
+    }
+
+    private static final class Stub {
+        private final HttpServer server;
+        private long version = 3;
+
+        private Stub() {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+            server.createContext("/api/pokemon/25", this::handle);
+            server.start();
+        }
+
+        private synchronized void handle(HttpExchange exchange) throws IOException {
+            if ("GET".equals(exchange.getRequestMethod())) {
+                byte[] body = "{\"id\":25,\"name\":\"Pikachu\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.getResponseHeaders().set("ETag", "\"" + version + "-5d41402abc4b2a76b9719d911017c592\"");
+                try (OutputStream out = exchange.getResponseBody()) {
+                    exchange.sendResponseHeaders(200, body.length);
+                    out.write(body);
+                }
+                return;
+            }
+            exchange.getRequestBody().readAllBytes();
+            String ifMatch = exchange.getRequestHeaders().getFirst("If-Match");
+            if (ifMatch != null && ifMatch.startsWith("\"" + version + "-")) {
+                version++;
+                exchange.getResponseHeaders().set("ETag", "\"" + version + "\"");
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                exchange.sendResponseHeaders(409, -1);
+            }
+            exchange.close();
+        }
+    }
+}
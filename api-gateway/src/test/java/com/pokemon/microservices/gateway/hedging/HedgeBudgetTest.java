@@ -0,0 +1,75 @@
+package com.pokemon.microservices.gateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgeBudgetTest {
+
+    @Test
+    void emptyBudgetRejectsHedges() {
+        HedgeBudget budget = new HedgeBudget(5, 10);
+
+        assertThat(budget.canWithdraw()).isFalse();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void everyPrimaryRequestPaysItsShareOfAHedge() {
+        HedgeBudget budget = new HedgeBudget(5, 10);
+
+        for (int i = 0; i < 19; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.canWithdraw()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.canWithdraw()).isTrue();
+        // Peeking does not spend the token
+        assertThat(budget.canWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void savingsAreCappedAtTheBurst() {
+        HedgeBudget budget = new HedgeBudget(50, 3);
+
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(budget.tryWithdraw()).isTrue();
+        }
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void concurrentHedgesNeverOverdraw() throws InterruptedException {
+        HedgeBudget budget = new HedgeBudget(100, 50);
+        for (int i = 0; i < 50; i++) {
+            budget.deposit();
+        }
+
+        AtomicInteger withdrawn = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    if (budget.tryWithdraw()) {
+                        withdrawn.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(withdrawn.get()).isEqualTo(50);
+    }
+}
@@ -0,0 +1,238 @@
+package com.pokemon.microservices.gateway.hedging;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes two services through the gateway to two stub instances that answer
+ * the first call for a "slow" path late and every other call right away, and
+ * checks a late primary is hedged, the losing call is cancelled, a spent
+ * budget sends no further hedges and an event stream is not held back.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "pokemon.gateway.hedging.enabled=true",
+        "pokemon.gateway.hedging.window-size=20",
+        "pokemon.gateway.hedging.min-samples=10",
+        "pokemon.gateway.hedging.min-delay=50ms",
+        "pokemon.gateway.hedging.max-delay=100ms",
+        // One hedge per ten primary requests, at most one saved up
+        "pokemon.gateway.hedging.budget-percent=10",
+        "pokemon.gateway.hedging.budget-burst=1",
+        "spring.cloud.gateway.discovery.locator.enabled=false",
+        "spring.cloud.gateway.routes[0].id=pokemon-service",
+        "spring.cloud.gateway.routes[0].uri=lb://pokemon-service",
+        "spring.cloud.gateway.routes[0].predicates[0]=Path=/api/pokemon/**",
+        "spring.cloud.gateway.routes[1].id=type-service",
+        "spring.cloud.gateway.routes[1].uri=lb://type-service",
+        "spring.cloud.gateway.routes[1].predicates[0]=Path=/api/types/**",
+        "spring.cloud.gateway.routes[2].id=change-service",
+        "spring.cloud.gateway.routes[2].uri=lb://change-service",
+        "spring.cloud.gateway.routes[2].predicates[0]=Path=/api/changes/**"
+})
+class HedgingFilterTest {
+
+    private static final int WARM_UP_REQUESTS = 20;
+    private static final long SLOW_MILLIS = 1500;
+
+    // Paths whose first call has already been answered late, shared by both stubs
+    private static final Set<String> SLOW_PATHS_SEEN = ConcurrentHashMap.newKeySet();
+    private static final List<Stub> STUBS = List.of(new Stub(), new Stub());
+    private static final List<CompletionContext<ResponseData, ServiceInstance, RequestDataContext>> COMPLETIONS =
+            new CopyOnWriteArrayList<>();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void stubInstances(DynamicPropertyRegistry registry) {
+        for (String serviceId : List.of("pokemon-service", "type-service", "change-service")) {
+            for (int i = 0; i < STUBS.size(); i++) {
+                String uri = "http://localhost:" + STUBS.get(i).server.getAddress().getPort();
+                registry.add("spring.cloud.discovery.client.simple.instances." + serviceId + "[" + i + "].uri",
+                        () -> uri);
+            }
+        }
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        STUBS.forEach(stub -> stub.server.stop(0));
+    }
+
+    @Test
+    void latePrimaryIsHedgedAndCancelled() {
+        WebClient client = WebClient.create("http://localhost:" + port);
+        warmUp(client, "/api/pokemon/");
+
+        long start = System.nanoTime();
+        String body = get(client, "/api/pokemon/slow/1");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(body).isEqualTo("second call");
+        assertThat(elapsed).isLessThan(Duration.ofMillis(SLOW_MILLIS - 500));
+        assertThat(count("pokemon-service", "sent")).isEqualTo(1);
+        assertThat(count("pokemon-service", "won")).isEqualTo(1);
+        // The primary was cancelled instead of being left to finish
+        assertThat(COMPLETIONS).filteredOn(completion -> isService(completion, "pokemon-service"))
+                .filteredOn(completion -> completion.status() == CompletionContext.Status.DISCARD)
+                .hasSize(1);
+    }
+
+    @Test
+    void spentBudgetSendsNoMoreHedges() {
+        WebClient client = WebClient.create("http://localhost:" + port);
+        warmUp(client, "/api/types/");
+
+        assertThat(get(client, "/api/types/slow/1")).isEqualTo("second call");
+
+        // The only saved token is gone: this one waits for the late primary
+        long start = System.nanoTime();
+        String body = get(client, "/api/types/slow/2");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(body).isEqualTo("first call");
+        assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(SLOW_MILLIS));
+        assertThat(count("type-service", "sent")).isEqualTo(1);
+        assertThat(count("type-service", "budget_exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void eventStreamIsPassedOnAsItArrives() {
+        WebClient client = WebClient.create("http://localhost:" + port);
+        warmUp(client, "/api/changes/");
+
+        // No streaming Accept header: only the upstream Content-Type says this is a stream
+        long start = System.nanoTime();
+        String first = client.get().uri("/api/changes/stream").accept(MediaType.ALL)
+                .retrieve().bodyToFlux(String.class)
+                .next()
+                .block(Duration.ofSeconds(10));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(first).isEqualTo("first");
+        assertThat(elapsed).isLessThan(Duration.ofMillis(SLOW_MILLIS - 500));
+    }
+
+    private static void warmUp(WebClient client, String prefix) {
+        for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+            assertThat(get(client, prefix + i)).isEqualTo("first call");
+        }
+    }
+
+    private static String get(WebClient client, String path) {
+        return client.get().uri(path).retrieve().bodyToMono(String.class).block(Duration.ofSeconds(10));
+    }
+
+    private double count(String serviceId, String outcome) {
+        return meterRegistry.counter("gateway.hedging.requests", "service", serviceId, "outcome", outcome).count();
+    }
+
+    private static boolean isService(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completion,
+                                     String serviceId) {
+        return completion.getLoadBalancerResponse() != null
+                && serviceId.equals(completion.getLoadBalancerResponse().getServer().getServiceId());
+    }
+
+    @TestConfiguration
+    static class RecordingLifecycleConfig {
+
+        @Bean
+        LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> recordingLifecycle() {
+            return new LoadBalancerLifecycle<>() {
+                @Override
+                public void onStart(Request<RequestDataContext> request) {
+                }
+
+                @Override
+                public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> response) {
+                }
+
+                @Override
+                public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> context) {
+                    COMPLETIONS.add(context);
+                }
+            };
+        }
+    }
+
+    private static final class Stub {
+        private final HttpServer server;
+
+        private Stub() {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/api/changes/stream", exchange -> {
+                exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+                try (OutputStream out = exchange.getResponseBody()) {
+                    exchange.sendResponseHeaders(200, 0);
+                    out.write("data: first\n\n".getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    Thread.sleep(SLOW_MILLIS);
+                    out.write("data: second\n\n".getBytes(StandardCharsets.UTF_8));
+                } catch (IOException ex) {
+                    // The client stopped reading
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            server.createContext("/", exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                boolean first = !path.contains("/slow/") || SLOW_PATHS_SEEN.add(path);
+                if (path.contains("/slow/") && first) {
+                    try {
+                        Thread.sleep(SLOW_MILLIS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                byte[] body = (first ? "first call" : "second call").getBytes(StandardCharsets.UTF_8);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    exchange.sendResponseHeaders(200, body.length);
+                    out.write(body);
+                } catch (IOException ex) {
+                    // The gateway already dropped this call
+                }
+            });
+            server.start();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.pokemon.microservices.gateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyWindowTest {
+
+    @Test
+    void noPercentileUntilMinSamples() {
+        LatencyWindow window = new LatencyWindow(100, 10, 95);
+
+        for (int i = 1; i < 10; i++) {
+            window.record(i);
+            assertThat(window.percentileNanos()).isEqualTo(-1);
+        }
+        window.record(10);
+        assertThat(window.percentileNanos()).isEqualTo(10);
+    }
+
+    @Test
+    void percentileIsTheNearestRank() {
+        LatencyWindow window = new LatencyWindow(100, 100, 95);
+
+        // Shuffled 1..100: the 95th percentile by nearest rank is 95
+        List<Long> samples = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            samples.add(i);
+        }
+        Collections.shuffle(samples, new Random(7));
+        samples.forEach(window::record);
+
+        assertThat(window.percentileNanos()).isEqualTo(95);
+    }
+
+    @Test
+    void oldSamplesLeaveTheWindow() {
+        LatencyWindow window = new LatencyWindow(20, 20, 50);
+
+        for (int i = 0; i < 20; i++) {
+            window.record(1_000);
+        }
+        assertThat(window.percentileNanos()).isEqualTo(1_000);
+
+        // A full window of faster calls replaces the slow ones; the percentile follows within a tenth of the window
+        for (int i = 0; i < 20; i++) {
+            window.record(10);
+        }
+        assertThat(window.percentileNanos()).isEqualTo(10);
+    }
+
+    @Test
+    void percentileIsOnlyRecomputedEveryTenthOfTheWindow() {
+        LatencyWindow window = new LatencyWindow(100, 10, 100);
+
+        for (int i = 0; i < 10; i++) {
+            window.record(5);
+        }
+        assertThat(window.percentileNanos()).isEqualTo(5);
+
+        for (int i = 0; i < 9; i++) {
+            window.record(500);
+        }
+        assertThat(window.percentileNanos()).isEqualTo(5);
+        window.record(500);
+        assertThat(window.percentileNanos()).isEqualTo(500);
+    }
+}
@@ -0,0 +1,109 @@
+package com.pokemon.microservices.gateway.loadbalancer;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes traffic through the gateway to three stub pokemon-service instances,
+ * one of them slowed down, and checks the slow one gets far less than the third
+ * round robin would send it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "pokemon.gateway.load-balancer.decay-time=1s",
+        "spring.cloud.gateway.discovery.locator.enabled=false",
+        "spring.cloud.gateway.routes[0].id=pokemon-service",
+        "spring.cloud.gateway.routes[0].uri=lb://pokemon-service",
+        "spring.cloud.gateway.routes[0].predicates[0]=Path=/api/pokemon/**"
+})
+class PeakEwmaLoadBalancerTest {
+
+    private static final int WARM_UP_REQUESTS = 60;
+    private static final int REQUESTS = 300;
+    private static final int CONCURRENCY = 8;
+
+    private static final List<Stub> STUBS = List.of(new Stub(0), new Stub(0), new Stub(80));
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void stubInstances(DynamicPropertyRegistry registry) {
+        for (int i = 0; i < STUBS.size(); i++) {
+            String uri = "http://localhost:" + STUBS.get(i).server.getAddress().getPort();
+            registry.add("spring.cloud.discovery.client.simple.instances.pokemon-service[" + i + "].uri", () -> uri);
+        }
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        STUBS.forEach(stub -> stub.server.stop(0));
+    }
+
+    @Test
+    void slowInstanceGetsLittleTraffic() {
+        WebClient client = WebClient.create("http://localhost:" + port);
+        // Cold first calls make every instance look slow for a while
+        send(client, WARM_UP_REQUESTS);
+        STUBS.forEach(stub -> stub.hits.set(0));
+        send(client, REQUESTS);
+
+        int slowHits = STUBS.get(2).hits.get();
+        int total = STUBS.stream().mapToInt(stub -> stub.hits.get()).sum();
+        assertThat(total).isEqualTo(REQUESTS);
+        // Round robin would send it a third; it is 40 times slower, so only the decayed retries should reach it
+        assertThat(slowHits).isLessThan(REQUESTS / 6);
+    }
+
+    private static void send(WebClient client, int requests) {
+        Flux.range(0, requests)
+                .flatMap(i -> client.get().uri("/api/pokemon/{id}", i).retrieve().toBodilessEntity(), CONCURRENCY)
+                .blockLast(Duration.ofMinutes(1));
+    }
+
+    private static final class Stub {
+        private final HttpServer server;
+        private final AtomicInteger hits = new AtomicInteger();
+
+        private Stub(long delayMillis) {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/", exchange -> {
+                hits.incrementAndGet();
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+        }
+    }
+}
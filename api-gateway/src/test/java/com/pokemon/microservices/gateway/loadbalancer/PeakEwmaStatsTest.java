@@ -0,0 +1,48 @@
+package com.pokemon.microservices.gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeakEwmaStatsTest {
+
+    @Test
+    void staleLatencyDecays() {
+        PeakEwmaProperties properties = new PeakEwmaProperties();
+        properties.setDecayTime(Duration.ofSeconds(1));
+        AtomicLong clock = new AtomicLong(1);
+        PeakEwmaStats stats = new PeakEwmaStats(properties, clock::get);
+        ServiceInstance slow = new DefaultServiceInstance("slow", "pokemon-service", "localhost", 1, false);
+        ServiceInstance fast = new DefaultServiceInstance("fast", "pokemon-service", "localhost", 2, false);
+
+        call(stats, slow, clock, Duration.ofMillis(500));
+        call(stats, fast, clock, Duration.ofMillis(10));
+        assertThat(stats.cost(slow)).isGreaterThan(stats.cost(fast));
+
+        // A faster answer does not erase the peak right away
+        call(stats, slow, clock, Duration.ofMillis(10));
+        assertThat(stats.cost(slow)).isGreaterThan(Duration.ofMillis(300).toNanos());
+
+        // After a few decay times without traffic the old peak no longer counts
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(stats.cost(slow)).isLessThan(Duration.ofMillis(5).toNanos());
+    }
+
+    private static void call(PeakEwmaStats stats, ServiceInstance instance, AtomicLong clock, Duration latency) {
+        DefaultRequest<Object> request = new DefaultRequest<>(new RequestDataContext());
+        DefaultResponse response = new DefaultResponse(instance);
+        stats.onStartRequest(request, response);
+        assertThat(stats.inFlight(instance)).isEqualTo(1);
+        clock.addAndGet(latency.toNanos());
+        stats.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+    }
+}
@@ -0,0 +1,178 @@
+package com.pokemon.microservices.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathLocator;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Caching Environment Repository
+ *
+ * Wraps the native repository so each application/profile/label is resolved
+ * once and later requests are served from memory. The environments of every application
+ * found in the search locations are resolved at startup. The files are checked
+ * for changes at most once per check interval; any change drops the cache.
+ * At most {@code maxEntries} environments are kept; the least recently used
+ * one is dropped to make room.
+ */
+public class CachingEnvironmentRepository
+        implements EnvironmentRepository, SearchPathLocator, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingEnvironmentRepository.class);
+
+    private static final Set<String> CONFIG_EXTENSIONS = Set.of("yml", "yaml", "properties");
+
+    private final NativeEnvironmentRepository delegate;
+    private final Duration checkInterval;
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+    private final Map<Key, Environment> environments;
+    private volatile String fingerprint;
+    private volatile long nextCheckNanos;
+
+    public CachingEnvironmentRepository(NativeEnvironmentRepository delegate, Duration checkInterval,
+                                        int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.delegate = delegate;
+        this.checkInterval = checkInterval;
+        this.environments = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Environment> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label) {
+        return findOne(application, profile, label, false);
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label, boolean includeOrigin) {
+        checkForChanges();
+        Key key = new Key(application, profile, label, includeOrigin);
+        Environment resolved = environments.get(key);
+        if (resolved == null) {
+            // Resolved outside the map lock; two first requests for the same key may both hit the files
+            resolved = delegate.findOne(application, profile, label, includeOrigin);
+            environments.put(key, resolved);
+        }
+
+        // Callers may add or reorder property sources (overrides, decryption); never hand out the cached list
+        Environment copy = new Environment(resolved);
+        copy.addAll(resolved.getPropertySources());
+        return copy;
+    }
+
+    int size() {
+        return environments.size();
+    }
+
+    @Override
+    public Locations getLocations(String application, String profile, String label) {
+        return delegate.getLocations(application, profile, label);
+    }
+
+    @Override
+    public int getOrder() {
+        return delegate.getOrder();
+    }
+
+    /**
+     * Resolves the default profile of every application in the search locations.
+     */
+    public void warmUp() {
+        fingerprint = computeFingerprint();
+        nextCheckNanos = System.nanoTime() + checkInterval.toNanos();
+        Set<String> applications = applicationNames();
+        for (String application : applications) {
+            try {
+                findOne(application, "default", null, false);
+            } catch (RuntimeException ex) {
+                logger.warn("Could not pre-resolve configuration for {}: {}", application, ex.getMessage());
+            }
+        }
+        logger.info("Pre-resolved configuration for {}", applications);
+    }
+
+    private void checkForChanges() {
+        long now = System.nanoTime();
+        if (now - nextCheckNanos < 0) {
+            return;
+        }
+        nextCheckNanos = now + checkInterval.toNanos();
+        String current = computeFingerprint();
+        if (fingerprint == null) {
+            fingerprint = current;
+        } else if (!current.equals(fingerprint)) {
+            fingerprint = current;
+            environments.clear();
+            logger.info("Configuration files changed; cached environments dropped");
+        }
+    }
+
+    // Name, size and modification time of every config file in the search locations
+    private String computeFingerprint() {
+        StringBuilder fingerprint = new StringBuilder();
+        for (Resource resource : configResources()) {
+            try {
+                fingerprint.append(resource.getDescription()).append(':')
+                        .append(resource.contentLength()).append(':')
+                        .append(resource.lastModified()).append(';');
+            } catch (IOException ex) {
+                fingerprint.append(resource.getDescription()).append(":?;");
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    private Set<String> applicationNames() {
+        Set<String> names = new TreeSet<>();
+        for (Resource resource : configResources()) {
+            String name = StringUtils.stripFilenameExtension(resource.getFilename());
+            if (!"application".equals(name)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    private Set<Resource> configResources() {
+        Set<Resource> resources = new LinkedHashSet<>();
+        for (String location : delegate.getSearchLocations()) {
+            String base = location.endsWith("/") ? location : location + "/";
+            try {
+                for (Resource resource : resourceResolver.getResources(base + "*")) {
+                    if (resource.getFilename() != null
+                            && CONFIG_EXTENSIONS.contains(StringUtils.getFilenameExtension(resource.getFilename()))) {
+                        resources.add(resource);
+                    }
+                }
+            } catch (IOException ex) {
+                logger.debug("Could not list {}: {}", location, ex.getMessage());
+            }
+        }
+        return resources;
+    }
+
+    private record Key(String application, String profile, String label, boolean includeOrigin) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.pokemon.microservices.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.time.Duration;
+
+/**
+ * Config Server Cache Configuration
+ *
+ * Wraps the native repository in a {@link CachingEnvironmentRepository} and
+ * adds an ETag to every configuration response, so a client that already has
+ * the current configuration gets a 304 without a body.
+ */
+@Configuration
+public class ConfigServerCacheConfig {
+
+    private final ObjectProvider<EnvironmentRepository> repositories;
+
+    @Autowired
+    public ConfigServerCacheConfig(ObjectProvider<EnvironmentRepository> repositories) {
+        this.repositories = repositories;
+    }
+
+    @Bean
+    public static BeanPostProcessor cachingEnvironmentRepositoryPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof NativeEnvironmentRepository repository) {
+                    Duration checkInterval = environment.getProperty("pokemon.config.cache.check-interval",
+                            Duration.class, Duration.ofSeconds(5));
+                    int maxEntries = environment.getProperty("pokemon.config.cache.max-entries",
+                            Integer.class, 256);
+                    return new CachingEnvironmentRepository(repository, checkInterval, maxEntries);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Resolve everything once before the first client asks
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpEnvironments() {
+        repositories.stream()
+                .filter(CachingEnvironmentRepository.class::isInstance)
+                .forEach(repository -> ((CachingEnvironmentRepository) repository).warmUp());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> configEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/*");
+        registration.setName("configEtagFilter");
+        return registration;
+    }
+}
@@ -0,0 +1,82 @@
+package com.pokemon.microservices.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingEnvironmentRepositoryTest {
+
+    private final NativeEnvironmentRepository delegate = mock(NativeEnvironmentRepository.class);
+
+    CachingEnvironmentRepositoryTest() {
+        when(delegate.getSearchLocations()).thenReturn(new String[0]);
+        when(delegate.findOne(anyString(), anyString(), any(), anyBoolean())).thenAnswer(invocation -> {
+            String application = invocation.getArgument(0);
+            String profile = invocation.getArgument(1);
+            Environment environment = new Environment(application, profile);
+            environment.add(new PropertySource("test", Map.of("name", application)));
+            return environment;
+        });
+    }
+
+    @Test
+    void repeatedRequestsAreServedFromMemory() {
+        CachingEnvironmentRepository repository = repository(4);
+
+        repository.findOne("pokemon-service", "default", null);
+        Environment second = repository.findOne("pokemon-service", "default", null);
+
+        verify(delegate, times(1)).findOne("pokemon-service", "default", null, false);
+        assertThat(second.getPropertySources()).hasSize(1);
+    }
+
+    @Test
+    void cachedPropertySourcesAreNotShared() {
+        CachingEnvironmentRepository repository = repository(4);
+
+        repository.findOne("pokemon-service", "default", null).getPropertySources().clear();
+
+        assertThat(repository.findOne("pokemon-service", "default", null).getPropertySources()).hasSize(1);
+    }
+
+    @Test
+    void leastRecentlyUsedEnvironmentIsDroppedAtTheCap() {
+        CachingEnvironmentRepository repository = repository(2);
+
+        repository.findOne("app-a", "default", null);
+        repository.findOne("app-b", "default", null);
+        // Touching app-a leaves app-b as the eldest
+        repository.findOne("app-a", "default", null);
+        repository.findOne("app-c", "default", null);
+        assertThat(repository.size()).isEqualTo(2);
+
+        repository.findOne("app-a", "default", null);
+        repository.findOne("app-b", "default", null);
+
+        verify(delegate, times(1)).findOne("app-a", "default", null, false);
+        verify(delegate, times(2)).findOne("app-b", "default", null, false);
+    }
+
+    @Test
+    void capBelowOneIsRejected() {
+        assertThatThrownBy(() -> repository(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CachingEnvironmentRepository repository(int maxEntries) {
+        return new CachingEnvironmentRepository(delegate, Duration.ofHours(1), maxEntries);
+    }
+}
@@ -5,7 +5,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
-@ActiveProfiles("test")
+// @ActiveProfiles reemplaza spring.profiles.active; sin "native" el servidor pide un repositorio git
+@ActiveProfiles({"native", "test"})
 class ConfigServerApplicationTest {
 
     @Test
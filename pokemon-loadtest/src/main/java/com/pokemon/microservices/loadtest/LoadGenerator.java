@@ -0,0 +1,108 @@
+package com.pokemon.microservices.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open Model Load Generator
+ *
+ * Sends requests at a fixed average rate whatever the response times, the way
+ * independent users arrive, instead of waiting for each response before the
+ * next request. Every request runs on its own virtual thread.
+ * <p>
+ * Latency is measured from the moment a request was due, not from when it was
+ * actually sent, so a stalled service or scheduler shows up in the
+ * percentiles (no coordinated omission). When {@code maxInFlight} requests are
+ * already waiting the next ones are counted as dropped instead of sent.
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final double rate;
+    private final boolean poisson;
+    private final int maxInFlight;
+    private final long seed;
+
+    /**
+     * @param rate    requests per second
+     * @param poisson exponential gaps between requests; evenly spaced when false
+     */
+    public LoadGenerator(double rate, boolean poisson, int maxInFlight, long seed) {
+        this.rate = rate;
+        this.poisson = poisson;
+        this.maxInFlight = maxInFlight;
+        this.seed = seed;
+    }
+
+    /**
+     * Sends requests for the given duration, then waits for the ones still
+     * in flight.
+     */
+    public LoadResult run(Workload workload, Duration duration) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<Operation, OperationRecorder> recorders = new EnumMap<>(Operation.class);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double meanGapNanos = 1e9 / rate;
+        long scheduled = 0;
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long due = start;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (due < end) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    continue;
+                }
+                Workload.Request request = workload.next(random);
+                OperationRecorder recorder = recorders.computeIfAbsent(request.operation(),
+                        operation -> new OperationRecorder());
+                scheduled++;
+                if (inFlight.tryAcquire()) {
+                    long dueAt = due;
+                    executor.execute(() -> send(request, recorder, dueAt, inFlight));
+                } else {
+                    recorder.dropped();
+                }
+                double gap = poisson ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+                due += Math.max(1, Math.round(gap));
+            }
+            logger.debug("Sent {} requests, waiting for {} responses", scheduled,
+                    maxInFlight - inFlight.availablePermits());
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<Operation, OperationResult> results = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> results.put(operation, recorder.result()));
+        return new LoadResult(elapsed, scheduled, results);
+    }
+
+    private static void send(Workload.Request request, OperationRecorder recorder, long due, Semaphore inFlight) {
+        try {
+            if (request.call().call()) {
+                recorder.success(System.nanoTime() - due);
+            } else {
+                recorder.error();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            recorder.error();
+        } catch (Exception ex) {
+            logger.trace("{} failed", request.operation(), ex);
+            recorder.error();
+        } finally {
+            inFlight.release();
+        }
+    }
+}
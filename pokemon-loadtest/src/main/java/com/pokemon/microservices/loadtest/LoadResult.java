@@ -0,0 +1,24 @@
+package com.pokemon.microservices.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * What a {@link LoadGenerator} run measured.
+ *
+ * @param elapsed    from the first intended send until the last response
+ * @param operations outcomes of each operation that was sent at least once
+ */
+public record LoadResult(Duration elapsed, long scheduled, Map<Operation, OperationResult> operations) {
+
+    public OperationResult total() {
+        return operations.values().stream().reduce(OperationResult.empty(), OperationResult::plus);
+    }
+
+    /**
+     * @return successful responses per second
+     */
+    public double throughput(OperationResult result) {
+        return result.successes() / (elapsed.toNanos() / 1e9);
+    }
+}
@@ -0,0 +1,71 @@
+package com.pokemon.microservices.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load Test Report
+ *
+ * The JSON written at the end of a run: the settings, then throughput and
+ * latency percentiles for all requests and for each operation. Latencies are
+ * in milliseconds from the moment a request was due.
+ */
+public record LoadTestReport(String startedAt, Settings settings, double elapsedSeconds, Summary total,
+                             Map<String, Summary> operations) {
+
+    static LoadTestReport of(Instant startedAt, LoadTestSettings settings, Pokedex pokedex, LoadResult result) {
+        Map<String, Summary> operations = new LinkedHashMap<>();
+        result.operations().forEach((operation, outcome) ->
+                operations.put(operation.key(), Summary.of(outcome, result)));
+        return new LoadTestReport(startedAt.toString(),
+                new Settings(settings.rate(), settings.poisson() ? "poisson" : "uniform",
+                        settings.duration().toString(), settings.warmup().toString(), settings.mix().toString(),
+                        settings.maxInFlight(), settings.timeout().toString(), settings.seed(), pokedex.size()),
+                result.elapsed().toNanos() / 1e9,
+                Summary.of(result.total(), result),
+                operations);
+    }
+
+    public record Settings(double rate, String arrivals, String duration, String warmup, String mix,
+                           int maxInFlight, String timeout, long seed, int pokemon) {
+    }
+
+    /**
+     * @param throughput successful responses per second
+     * @param dropped    due but not sent because maxInFlight requests were waiting
+     */
+    public record Summary(long requests, long successes, long errors, long dropped, double throughput,
+                          Latency latencyMillis) {
+
+        static Summary of(OperationResult outcome, LoadResult result) {
+            return new Summary(outcome.successes() + outcome.errors() + outcome.dropped(), outcome.successes(),
+                    outcome.errors(), outcome.dropped(), round(result.throughput(outcome)),
+                    Latency.of(outcome.latencies()));
+        }
+    }
+
+    public record Latency(double p50, double p90, double p95, double p99, double p999, double max, double mean) {
+
+        static Latency of(Histogram histogram) {
+            return new Latency(
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    round(histogram.getMean() / 1e6));
+        }
+
+        private static double millis(long nanos) {
+            return round(nanos / 1e6);
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.pokemon.microservices.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.service.PokemonTypeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Load Test Runner
+ *
+ * Boots the {@link PokemonStack}, seeds it, sends the configured mix through
+ * the gateway with the {@link LoadGenerator} and prints the
+ * {@link LoadTestReport} as JSON, also written to {@code --output}. The warmup
+ * runs the same mix and is not reported.
+ * <p>
+ * Usage: {@code java -jar pokemon-loadtest-1.0.0.jar --rate=500 --duration=PT2M
+ * --mix=lookup=70,write=30}; see {@link LoadTestSettings} for every setting.
+ */
+public final class LoadTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        LoadTestReport report;
+        try (PokemonStack stack = PokemonStack.start()) {
+            Instant seeding = Instant.now();
+            Pokedex pokedex = new PokedexSeeder(stack.pokemonService().getBean(PokemonTypeService.class),
+                    stack.pokemonService().getBean(PokemonService.class), settings.seed()).seed();
+            logger.info("Seeded {} Pokemon and {} types in {}", pokedex.size(), pokedex.typeIds().size(),
+                    Duration.between(seeding, Instant.now()));
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(settings.timeout())
+                    .build();
+            Workload workload = new PokemonWorkload(client, stack.pokemonApiUrl(), pokedex, settings.mix(),
+                    settings.timeout());
+
+            if (!settings.warmup().isZero()) {
+                logger.info("Warming up for {}", settings.warmup());
+                // Other requests than the measured run, which would otherwise only hit warm caches
+                generator(settings, settings.seed() + 1).run(workload, settings.warmup());
+            }
+            logger.info("Sending {} req/s ({}) for {}", settings.rate(), settings.mix(), settings.duration());
+            Instant startedAt = Instant.now();
+            LoadResult result = generator(settings, settings.seed()).run(workload, settings.duration());
+            report = LoadTestReport.of(startedAt, settings, pokedex, result);
+        }
+
+        String json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+        System.out.println(json);
+        write(settings.output(), json);
+    }
+
+    private static LoadGenerator generator(LoadTestSettings settings, long seed) {
+        return new LoadGenerator(settings.rate(), settings.poisson(), settings.maxInFlight(), seed);
+    }
+
+    private static void write(Path output, String json) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(output, json);
+        logger.info("Report written to {}", output.toAbsolutePath());
+    }
+}
@@ -0,0 +1,80 @@
+package com.pokemon.microservices.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load Test Settings
+ *
+ * What to run, from {@code --key=value} arguments. Durations are ISO-8601
+ * ({@code PT60S}); the mix is a list of operation weights such as
+ * {@code lookup=50,search=15,filter=15,stats=10,write=10}.
+ */
+public record LoadTestSettings(double rate, Duration duration, Duration warmup, boolean poisson,
+                               WorkloadMix mix, int maxInFlight, Duration timeout, long seed, Path output) {
+
+    public static final String DEFAULT_MIX = "lookup=50,search=15,filter=15,stats=10,write=10";
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "rate", "200",
+            "duration", "PT60S",
+            "warmup", "PT10S",
+            "arrivals", "poisson",
+            "mix", DEFAULT_MIX,
+            "max-in-flight", "1000",
+            "timeout", "PT5S",
+            "seed", "42",
+            "output", "target/loadtest-report.json");
+
+    public LoadTestSettings {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive: " + rate);
+        }
+        if (duration.isNegative() || duration.isZero() || warmup.isNegative()) {
+            throw new IllegalArgumentException("duration must be positive and warmup not negative");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("max-in-flight must be at least 1: " + maxInFlight);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown keys or values that do not parse
+     */
+    public static LoadTestSettings parse(String... args) {
+        Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            String key = arg.substring(2, separator);
+            if (!DEFAULTS.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown setting '" + key + "', expected one of " + DEFAULTS.keySet());
+            }
+            values.put(key, arg.substring(separator + 1));
+        }
+
+        String arrivals = values.get("arrivals");
+        if (!arrivals.equals("poisson") && !arrivals.equals("uniform")) {
+            throw new IllegalArgumentException("arrivals must be poisson or uniform: " + arrivals);
+        }
+        try {
+            return new LoadTestSettings(
+                    Double.parseDouble(values.get("rate")),
+                    Duration.parse(values.get("duration")),
+                    Duration.parse(values.get("warmup")),
+                    arrivals.equals("poisson"),
+                    WorkloadMix.parse(values.get("mix")),
+                    Integer.parseInt(values.get("max-in-flight")),
+                    Duration.parse(values.get("timeout")),
+                    Long.parseLong(values.get("seed")),
+                    Path.of(values.get("output")));
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid setting: " + ex.getMessage(), ex);
+        }
+    }
+}
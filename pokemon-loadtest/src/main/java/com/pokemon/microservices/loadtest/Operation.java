@@ -0,0 +1,28 @@
+package com.pokemon.microservices.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Kinds of request in a workload, named in the mix by {@link #key()}.
+ */
+public enum Operation {
+
+    LOOKUP,
+    SEARCH,
+    FILTER,
+    STATS,
+    WRITE;
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key().equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + key + "', expected one of "
+                        + Arrays.stream(values()).map(Operation::key).toList()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.pokemon.microservices.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes of one operation during a run, recorded from many threads. Only
+ * successful responses go into the latency histogram.
+ */
+final class OperationRecorder {
+
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram latencies = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    void success(long latencyNanos) {
+        latencies.recordValue(latencyNanos);
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    // Not sent: too many requests were already waiting for a response
+    void dropped() {
+        dropped.increment();
+    }
+
+    OperationResult result() {
+        return new OperationResult(latencies.copy(), errors.sum(), dropped.sum());
+    }
+}
@@ -0,0 +1,26 @@
+package com.pokemon.microservices.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcomes of one operation, or of all of them, during a run.
+ *
+ * @param latencies nanoseconds from the intended send time to each successful response
+ * @param dropped   due but not sent because too many requests were waiting
+ */
+public record OperationResult(Histogram latencies, long errors, long dropped) {
+
+    static OperationResult empty() {
+        return new OperationResult(new Histogram(OperationRecorder.SIGNIFICANT_DIGITS), 0, 0);
+    }
+
+    public long successes() {
+        return latencies.getTotalCount();
+    }
+
+    OperationResult plus(OperationResult other) {
+        Histogram merged = latencies.copy();
+        merged.add(other.latencies);
+        return new OperationResult(merged, errors + other.errors, dropped + other.dropped);
+    }
+}
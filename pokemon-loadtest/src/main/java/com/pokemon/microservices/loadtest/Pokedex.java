@@ -0,0 +1,19 @@
+package com.pokemon.microservices.loadtest;
+
+import java.util.List;
+
+/**
+ * What was seeded, so the workload asks for things that exist.
+ *
+ * @param pokemonIds      database ids, in Pokedex order
+ * @param pokedexNumbers  Pokedex numbers, same order
+ * @param names           names, same order
+ * @param typeIds         database ids of the types
+ */
+public record Pokedex(List<Long> pokemonIds, List<Integer> pokedexNumbers, List<String> names,
+                      List<Long> typeIds, int generations) {
+
+    public int size() {
+        return pokemonIds.size();
+    }
+}
@@ -0,0 +1,201 @@
+package com.pokemon.microservices.loadtest;
+
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.service.PokemonTypeService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Pokedex Seeder
+ *
+ * Fills pokemon-service with a Pokedex shaped like the real one: the 18 types,
+ * the nine generations with their real sizes, families of one to three
+ * stages sharing a type and growing in stats, about half the species dual
+ * typed, and legendaries and mythicals closing each generation. Names are
+ * made up but unique, and every run with the same seed produces the same data.
+ * <p>
+ * Evolution links are not stored: pokemon-service serializes them lazily
+ * outside the transaction, which fails for every response that has one.
+ */
+final class PokedexSeeder {
+
+    static final int[] GENERATION_SIZES = {151, 100, 135, 107, 156, 72, 88, 96, 120};
+
+    private static final String[][] TYPES = {
+            {"Normal", "#A8A878"}, {"Fire", "#F08030"}, {"Water", "#6890F0"}, {"Grass", "#78C850"},
+            {"Electric", "#F8D030"}, {"Ice", "#98D8D8"}, {"Fighting", "#C03028"}, {"Poison", "#A040A0"},
+            {"Ground", "#E0C068"}, {"Flying", "#A890F0"}, {"Psychic", "#F85888"}, {"Bug", "#A8B820"},
+            {"Rock", "#B8A038"}, {"Ghost", "#705898"}, {"Dragon", "#7038F8"}, {"Dark", "#705848"},
+            {"Steel", "#B8B8D0"}, {"Fairy", "#EE99AC"}};
+    // How often each type above is a primary type, roughly as in the games
+    private static final int[] PRIMARY_WEIGHTS = {12, 7, 13, 10, 6, 4, 5, 5, 5, 1, 7, 8, 6, 4, 4, 5, 4, 3};
+    private static final int FLYING = 9;
+
+    private static final String[] ONSETS = {"b", "ch", "sq", "p", "g", "m", "dr", "k", "z", "sn", "fl", "t", "v",
+            "sl", "gr", "r", "l", "n", "h", "cr", "sh", "j", "w", "f", "st"};
+    private static final String[] VOWELS = {"a", "e", "i", "o", "u", "ee", "oo", "ai", "y"};
+    private static final String[] CODAS = {"l", "r", "n", "m", "b", "z", "d", "x", "th", "lb", "nd", "rk", "p"};
+    private static final String[][] STAGE_SUFFIXES = {
+            {"let", "ling", "pup", "bit", "ito", "ee", "mite", "kin"},
+            {"dor", "wing", "fang", "tail", "lix", "ram", "zor", "bro"},
+            {"saur", "gon", "lord", "titan", "ferno", "king", "drake", "ox"}};
+
+    private static final int LEGENDARY_TOTAL = 600;
+    private static final int MYTHICAL_TOTAL = 600;
+    private static final int[][] STAGE_TOTALS = {{420}, {320, 480}, {310, 405, 530}};
+
+    private final PokemonTypeService typeService;
+    private final PokemonService pokemonService;
+    private final Random random;
+    private final Set<String> names = new HashSet<>();
+
+    PokedexSeeder(PokemonTypeService typeService, PokemonService pokemonService, long seed) {
+        this.typeService = typeService;
+        this.pokemonService = pokemonService;
+        this.random = new Random(seed);
+    }
+
+    Pokedex seed() {
+        List<PokemonType> types = new ArrayList<>();
+        for (String[] definition : TYPES) {
+            PokemonType type = new PokemonType();
+            type.setName(definition[0]);
+            type.setColor(definition[1]);
+            type.setDescription(definition[0] + " type moves and resistances");
+            types.add(typeService.createType(type));
+        }
+
+        List<Pokemon> pokedex = new ArrayList<>();
+        int number = 1;
+        for (int generation = 1; generation <= GENERATION_SIZES.length; generation++) {
+            int size = GENERATION_SIZES[generation - 1];
+            int legendaries = Math.max(3, size / 25);
+            int mythicals = 1 + size / 100;
+            int regular = size - legendaries - mythicals;
+
+            int seeded = 0;
+            while (seeded < regular) {
+                int stages = Math.min(regular - seeded, 1 + random.nextInt(3));
+                String root = root();
+                PokemonType primary = types.get(weighted(PRIMARY_WEIGHTS));
+                PokemonType secondary = secondaryType(types, primary);
+                for (int stage = 0; stage < stages; stage++) {
+                    String name = uniqueName(root, STAGE_SUFFIXES[stages == 1 ? 1 : stage + 3 - stages]);
+                    int total = STAGE_TOTALS[stages - 1][stage];
+                    pokedex.add(save(number++, name, generation, primary, secondary, total, stage + 1, false, false));
+                }
+                seeded += stages;
+            }
+            for (int i = 0; i < legendaries; i++) {
+                pokedex.add(save(number++, uniqueName(root(), STAGE_SUFFIXES[2]), generation,
+                        types.get(random.nextInt(types.size())), secondaryType(types, null),
+                        LEGENDARY_TOTAL, 3, true, false));
+            }
+            for (int i = 0; i < mythicals; i++) {
+                pokedex.add(save(number++, uniqueName(root(), STAGE_SUFFIXES[0]), generation,
+                        types.get(random.nextInt(types.size())), null, MYTHICAL_TOTAL, 2, false, true));
+            }
+        }
+
+        return new Pokedex(
+                pokedex.stream().map(Pokemon::getId).toList(),
+                pokedex.stream().map(Pokemon::getPokedexNumber).toList(),
+                pokedex.stream().map(Pokemon::getName).toList(),
+                types.stream().map(PokemonType::getId).toList(),
+                GENERATION_SIZES.length);
+    }
+
+    private Pokemon save(int number, String name, int generation, PokemonType primary, PokemonType secondary,
+                         int baseTotal, int size, boolean legendary, boolean mythical) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setName(name);
+        pokemon.setPokedexNumber(number);
+        pokemon.setDescription("A " + primary.getName() + " type Pokémon first seen in generation "
+                + generation + ".");
+        pokemon.setPrimaryType(primary);
+        pokemon.setSecondaryType(secondary);
+        pokemon.setGeneration(generation);
+        pokemon.setIsLegendary(legendary);
+        pokemon.setIsMythical(mythical);
+        pokemon.setImageUrl("https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/"
+                + number + ".png");
+
+        double height = size * (0.4 + random.nextDouble() * 0.6) + (legendary ? 1.5 : 0);
+        pokemon.setHeight(Math.round(height * 10) / 10.0);
+        pokemon.setWeight(Math.round(height * height * (15 + random.nextDouble() * 40) * 10) / 10.0);
+
+        // Spread the base stat total over the six stats
+        int total = baseTotal - 40 + random.nextInt(81);
+        double[] weights = new double[6];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 0.6 + random.nextDouble() * 0.8;
+            sum += weights[i];
+        }
+        int[] stats = new int[6];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = Math.max(5, (int) Math.round(total * weights[i] / sum));
+        }
+        pokemon.setHp(stats[0]);
+        pokemon.setAttack(stats[1]);
+        pokemon.setDefense(stats[2]);
+        pokemon.setSpecialAttack(stats[3]);
+        pokemon.setSpecialDefense(stats[4]);
+        pokemon.setSpeed(stats[5]);
+        return pokemonService.createPokemon(pokemon);
+    }
+
+    // About half the species have a second type, often Flying
+    private PokemonType secondaryType(List<PokemonType> types, PokemonType primary) {
+        if (random.nextInt(100) >= 45) {
+            return null;
+        }
+        PokemonType secondary;
+        do {
+            secondary = random.nextInt(100) < 30 ? types.get(FLYING) : types.get(random.nextInt(types.size()));
+        } while (secondary == primary);
+        return secondary;
+    }
+
+    private String root() {
+        return pick(ONSETS) + pick(VOWELS) + pick(CODAS) + pick(VOWELS);
+    }
+
+    private String uniqueName(String root, String[] suffixes) {
+        String name = capitalize(root + pick(suffixes));
+        while (!names.add(name)) {
+            name = capitalize(root() + pick(suffixes));
+        }
+        return name;
+    }
+
+    private int weighted(int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int ticket = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            ticket -= weights[i];
+            if (ticket < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String name) {
+        return name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1);
+    }
+}
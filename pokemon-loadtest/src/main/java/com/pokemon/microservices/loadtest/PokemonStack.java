@@ -0,0 +1,217 @@
+package com.pokemon.microservices.loadtest;
+
+import com.netflix.discovery.Jersey3DiscoveryClientOptionalArgs;
+import com.netflix.discovery.shared.transport.jersey3.Jersey3TransportClientFactories;
+import com.pokemon.microservices.eureka.EurekaServerApplication;
+import com.pokemon.microservices.gateway.ApiGatewayApplication;
+import com.pokemon.microservices.pokemon.PokemonServiceApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pokemon Stack
+ *
+ * Eureka Server, pokemon-service on an in-memory H2 database and the API
+ * Gateway, each in its own Spring context inside this JVM and on a free port.
+ * Requests go through the gateway's discovery route, so every one of them
+ * crosses gateway, load balancer and service the way it does in production.
+ */
+public final class PokemonStack implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokemonStack.class);
+
+    private static final Duration ROUTE_TIMEOUT = Duration.ofMinutes(2);
+    private static final String NO_DATABASE = "--spring.autoconfigure.exclude="
+            + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration";
+
+    // Last started first, so they are closed in reverse order
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private ConfigurableApplicationContext pokemonService;
+    private String gatewayUrl;
+
+    private PokemonStack() {
+    }
+
+    /**
+     * Starts the three applications and waits until the gateway routes to
+     * pokemon-service.
+     */
+    public static PokemonStack start() throws IOException, InterruptedException {
+        PokemonStack stack = new PokemonStack();
+        try {
+            stack.startAll();
+            return stack;
+        } catch (IOException | InterruptedException | RuntimeException ex) {
+            stack.close();
+            throw ex;
+        }
+    }
+
+    public ConfigurableApplicationContext pokemonService() {
+        return pokemonService;
+    }
+
+    /**
+     * @return base URL of the Pokemon API behind the gateway
+     */
+    public String pokemonApiUrl() {
+        return gatewayUrl + "/pokemon-service/api/pokemon";
+    }
+
+    @Override
+    public void close() {
+        for (ConfigurableApplicationContext context : contexts) {
+            try {
+                context.close();
+            } catch (RuntimeException ex) {
+                logger.warn("Could not close {}", context.getId(), ex);
+            }
+        }
+        contexts.clear();
+    }
+
+    private void startAll() throws IOException, InterruptedException {
+        int eurekaPort = freePort();
+        String eurekaUrl = "--eureka.client.service-url.defaultZone=http://localhost:" + eurekaPort + "/eureka/";
+
+        logger.info("Starting Eureka Server on port {}", eurekaPort);
+        started(new SpringApplicationBuilder(EurekaServerApplication.class), args(EurekaServerApplication.class,
+                "--server.port=" + eurekaPort,
+                "--spring.main.web-application-type=servlet",
+                "--spring.cloud.gateway.enabled=false",
+                NO_DATABASE,
+                eurekaUrl,
+                "--eureka.instance.hostname=localhost",
+                // Serve new registrations right away instead of from a 30s cache
+                "--eureka.server.use-read-only-response-cache=false",
+                "--eureka.server.response-cache-update-interval-ms=500",
+                "--eureka.server.wait-time-in-ms-when-sync-empty=0"));
+
+        int servicePort = freePort();
+        logger.info("Starting pokemon-service on port {}", servicePort);
+        pokemonService = started(new SpringApplicationBuilder(PokemonServiceApplication.class)
+                        .initializers(PokemonStack::jerseyEurekaTransport),
+                args(PokemonServiceApplication.class,
+                        "--server.port=" + servicePort,
+                        "--spring.main.web-application-type=servlet",
+                        "--spring.cloud.gateway.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        eurekaUrl,
+                        "--eureka.instance.hostname=localhost",
+                        "--eureka.instance.prefer-ip-address=false",
+                        "--pokemon.cluster.invalidation.enabled=false",
+                        "--pokemon.snapshot.load-on-startup=false",
+                        "--pokemon.config-snapshot.enabled=false"));
+
+        int gatewayPort = freePort();
+        logger.info("Starting API Gateway on port {}", gatewayPort);
+        started(new SpringApplicationBuilder(ApiGatewayApplication.class)
+                        // Tomcat is on the classpath too and would be picked over Netty
+                        .initializers(context -> ((GenericApplicationContext) context)
+                                .registerBean(NettyReactiveWebServerFactory.class))
+                        .initializers(PokemonStack::jerseyEurekaTransport),
+                args(ApiGatewayApplication.class,
+                        "--server.port=" + gatewayPort,
+                        "--spring.main.web-application-type=reactive",
+                        NO_DATABASE,
+                        eurekaUrl,
+                        "--eureka.client.register-with-eureka=false",
+                        "--eureka.client.registry-fetch-interval-seconds=1"));
+        gatewayUrl = "http://localhost:" + gatewayPort;
+
+        awaitRoute();
+    }
+
+    private ConfigurableApplicationContext started(SpringApplicationBuilder builder, String[] args) {
+        // Logged as "Starting PokemonServiceApplication..." rather than as this runner
+        Class<?> application = (Class<?>) builder.application().getAllSources().iterator().next();
+        ConfigurableApplicationContext context = builder.main(application).bannerMode(Banner.Mode.OFF).run(args);
+        contexts.addFirst(context);
+        return context;
+    }
+
+    // Eureka Server brings Jersey, and with it on the classpath clients expect a Jersey
+    // transport that only the server's auto-configuration defines
+    private static void jerseyEurekaTransport(ConfigurableApplicationContext context) {
+        ((GenericApplicationContext) context).registerBean(Jersey3TransportClientFactories.class);
+        ((GenericApplicationContext) context).registerBean(Jersey3DiscoveryClientOptionalArgs.class);
+    }
+
+    private static String[] args(Class<?> application, String... specific) {
+        List<String> args = new ArrayList<>(List.of(
+                // Every module has an application.yml; use the one next to the application class
+                "--spring.config.location=" + applicationYaml(application),
+                "--spring.cloud.config.enabled=false",
+                "--spring.config.import=",
+                "--logging.level.root=WARN",
+                "--logging.level.com.pokemon.microservices=WARN",
+                "--logging.level.com.netflix=WARN",
+                "--logging.level.com.pokemon.microservices.loadtest=INFO"));
+        Collections.addAll(args, specific);
+        return args.toArray(String[]::new);
+    }
+
+    // The application.yml inside the jar (or classes directory) the application class came from
+    private static String applicationYaml(Class<?> application) {
+        String location = application.getProtectionDomain().getCodeSource().getLocation().toString();
+        try {
+            return Collections.list(application.getClassLoader().getResources("application.yml")).stream()
+                    .map(URL::toString)
+                    .filter(url -> url.contains(location))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No application.yml in " + location));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not list application.yml resources", ex);
+        }
+    }
+
+    // Registration and the gateway's registry refresh happen in the background
+    private void awaitRoute() throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(pokemonApiUrl() + "/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + ROUTE_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    logger.info("Gateway routes to pokemon-service at {}", pokemonApiUrl());
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not up yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("The gateway did not route to pokemon-service within " + ROUTE_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
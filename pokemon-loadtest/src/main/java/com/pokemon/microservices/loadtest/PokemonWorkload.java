@@ -0,0 +1,120 @@
+package com.pokemon.microservices.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * Pokemon Workload
+ *
+ * Requests against the Pokemon API behind the gateway, for the Pokemon and
+ * types that were seeded:
+ * <ul>
+ *   <li>lookup: by id, Pokedex number or name</li>
+ *   <li>search: full-text search or name autocomplete</li>
+ *   <li>filter: generation, type, legendary and Pokedex range combinations</li>
+ *   <li>stats: strongest, fastest, counts and averages</li>
+ *   <li>write: PATCH of one stat of a random Pokemon</li>
+ * </ul>
+ * Anything but a 2xx response counts as an error.
+ */
+public class PokemonWorkload implements Workload {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Pokedex pokedex;
+    private final WorkloadMix mix;
+    private final Duration timeout;
+
+    public PokemonWorkload(HttpClient client, String baseUrl, Pokedex pokedex, WorkloadMix mix, Duration timeout) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.pokedex = pokedex;
+        this.mix = mix;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Request next(RandomGenerator random) {
+        Operation operation = mix.pick(random);
+        HttpRequest request = switch (operation) {
+            case LOOKUP -> get(lookup(random));
+            case SEARCH -> get(search(random));
+            case FILTER -> get(filter(random));
+            case STATS -> get(stats(random));
+            case WRITE -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + randomId(random)))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                            "{\"speed\":" + (5 + random.nextInt(150)) + "}"))
+                    .build();
+        };
+        return new Request(operation, () -> {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        });
+    }
+
+    private String lookup(RandomGenerator random) {
+        int index = random.nextInt(pokedex.size());
+        return switch (random.nextInt(5)) {
+            case 0 -> "/pokedex/" + pokedex.pokedexNumbers().get(index);
+            case 1 -> "/name/" + encode(pokedex.names().get(index));
+            default -> "/" + pokedex.pokemonIds().get(index);
+        };
+    }
+
+    private String search(RandomGenerator random) {
+        String name = pokedex.names().get(random.nextInt(pokedex.size()));
+        String prefix = name.substring(0, Math.min(name.length(), 2 + random.nextInt(3)));
+        return random.nextBoolean()
+                ? "/search?term=" + encode(prefix) + "&size=20"
+                : "/autocomplete?prefix=" + encode(prefix.toLowerCase(Locale.ROOT)) + "&limit=10";
+    }
+
+    private String filter(RandomGenerator random) {
+        int generation = 1 + random.nextInt(pokedex.generations());
+        Long typeId = pokedex.typeIds().get(random.nextInt(pokedex.typeIds().size()));
+        return switch (random.nextInt(4)) {
+            case 0 -> "/filter?generation=" + generation + "&page=" + random.nextInt(3);
+            case 1 -> "/filter?generation=" + generation + "&typeId=" + typeId;
+            case 2 -> "/filter?typeId=" + typeId + "&legendary=" + random.nextBoolean();
+            default -> {
+                int min = 1 + random.nextInt(pokedex.size());
+                yield "/filter?minPokedex=" + min + "&maxPokedex=" + (min + 50);
+            }
+        };
+    }
+
+    private String stats(RandomGenerator random) {
+        return switch (random.nextInt(6)) {
+            case 0 -> "/stats/strongest?minAttack=" + (80 + random.nextInt(60));
+            case 1 -> "/stats/fastest?minSpeed=" + (80 + random.nextInt(60));
+            case 2 -> "/stats/min-total/" + (450 + random.nextInt(150));
+            case 3 -> "/stats/generation/" + (1 + random.nextInt(pokedex.generations())) + "/count";
+            case 4 -> "/stats/average-stats";
+            default -> "/stats/count";
+        };
+    }
+
+    private Long randomId(RandomGenerator random) {
+        return pokedex.pokemonIds().get(random.nextInt(pokedex.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
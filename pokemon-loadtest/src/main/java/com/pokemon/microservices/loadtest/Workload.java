@@ -0,0 +1,23 @@
+package com.pokemon.microservices.loadtest;
+
+import java.util.concurrent.Callable;
+import java.util.random.RandomGenerator;
+
+/**
+ * Produces the requests sent by the {@link LoadGenerator}.
+ */
+@FunctionalInterface
+public interface Workload {
+
+    /**
+     * Called from the generator's scheduling thread only, so it must not block.
+     */
+    Request next(RandomGenerator random);
+
+    /**
+     * @param call sends the request; returns whether the response was the
+     *             expected one. Runs on its own virtual thread.
+     */
+    record Request(Operation operation, Callable<Boolean> call) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.pokemon.microservices.loadtest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+/**
+ * Workload Mix
+ *
+ * Relative weights of each {@link Operation}, e.g.
+ * {@code lookup=50,search=15,filter=15,stats=10,write=10}. Operations left out
+ * or with weight 0 are never sent.
+ */
+public final class WorkloadMix {
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+
+    private WorkloadMix(Map<Operation, Integer> weights) {
+        this.weights = Collections.unmodifiableMap(weights);
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulative[i] = total;
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown operations, negative weights
+     *                                  or a mix where every weight is 0
+     */
+    public static WorkloadMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight, got: " + entry);
+            }
+            int weight;
+            try {
+                weight = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Weight of " + parts[0] + " is not a number: " + parts[1]);
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + parts[0] + " is negative: " + weight);
+            }
+            Operation operation = Operation.fromKey(parts[0].trim());
+            if (weights.containsKey(operation)) {
+                throw new IllegalArgumentException("Operation listed twice: " + operation.key());
+            }
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight: " + spec);
+        }
+        return new WorkloadMix(weights);
+    }
+
+    public Operation pick(RandomGenerator random) {
+        int ticket = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (ticket < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    public Map<Operation, Integer> weights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        return weights.entrySet().stream()
+                .map(entry -> entry.getKey().key() + "=" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+}
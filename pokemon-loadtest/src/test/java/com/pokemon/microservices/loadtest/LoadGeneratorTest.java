@@ -0,0 +1,85 @@
+package com.pokemon.microservices.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Arrival rate, latency accounting and shedding against a fake service.
+ */
+class LoadGeneratorTest {
+
+    @Test
+    void keepsTheRateWhenResponsesAreSlow() {
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        Workload slow = random -> new Workload.Request(Operation.LOOKUP, () -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            Thread.sleep(200);
+            concurrent.decrementAndGet();
+            return true;
+        });
+
+        LoadResult result = new LoadGenerator(100, false, 1000, 1).run(slow, Duration.ofSeconds(1));
+
+        OperationResult lookups = result.operations().get(Operation.LOOKUP);
+        // A closed model with the same concurrency would wait for each answer and send far fewer
+        assertThat(result.scheduled()).isEqualTo(100);
+        assertThat(lookups.successes()).isEqualTo(100);
+        assertThat(maxConcurrent.get()).isGreaterThan(10);
+        assertThat(lookups.latencies().getValueAtPercentile(50)).isGreaterThanOrEqualTo(
+                TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void latencyIncludesTheWholeStall() {
+        // The first request holds the only slot for 300ms once it runs; later ones are dropped, not delayed
+        Workload stalling = random -> new Workload.Request(Operation.WRITE, () -> {
+            Thread.sleep(300);
+            return true;
+        });
+
+        LoadResult result = new LoadGenerator(50, false, 1, 1).run(stalling, Duration.ofMillis(200));
+
+        OperationResult writes = result.total();
+        assertThat(writes.successes()).isEqualTo(1);
+        assertThat(writes.dropped()).isEqualTo(result.scheduled() - 1);
+        // Measured from the due time, which is never after the request starts running
+        assertThat(writes.latencies().getMaxValue()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(300));
+        assertThat(result.elapsed()).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+    }
+
+    @Test
+    void poissonArrivalsAverageTheRate() {
+        Workload mixed = random -> new Workload.Request(random.nextBoolean() ? Operation.SEARCH : Operation.STATS,
+                () -> true);
+
+        LoadResult result = new LoadGenerator(500, true, 1000, 7).run(mixed, Duration.ofSeconds(2));
+
+        assertThat((double) result.scheduled()).isCloseTo(1000, within(150.0));
+        assertThat(result.operations()).containsOnlyKeys(Operation.SEARCH, Operation.STATS);
+        assertThat(result.total().successes()).isEqualTo(result.scheduled());
+    }
+
+    @Test
+    void failuresAreErrorsWithoutLatency() {
+        AtomicInteger calls = new AtomicInteger();
+        Workload failing = random -> new Workload.Request(Operation.FILTER, () -> {
+            if (calls.incrementAndGet() % 2 == 0) {
+                throw new IOException("connection reset");
+            }
+            return false;
+        });
+
+        LoadResult result = new LoadGenerator(100, false, 10, 1).run(failing, Duration.ofMillis(500));
+
+        assertThat(result.total().errors()).isEqualTo(result.scheduled());
+        assertThat(result.total().successes()).isZero();
+    }
+}
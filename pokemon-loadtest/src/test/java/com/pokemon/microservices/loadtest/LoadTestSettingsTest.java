@@ -0,0 +1,33 @@
+package com.pokemon.microservices.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoadTestSettingsTest {
+
+    @Test
+    void usesDefaultsForWhatIsNotGiven() {
+        LoadTestSettings settings = LoadTestSettings.parse("--rate=750", "--arrivals=uniform",
+                "--mix=lookup=90,write=10");
+
+        assertThat(settings.rate()).isEqualTo(750);
+        assertThat(settings.poisson()).isFalse();
+        assertThat(settings.mix().weights()).containsEntry(Operation.WRITE, 10).hasSize(2);
+        assertThat(settings.duration()).isEqualTo(Duration.ofSeconds(60));
+        assertThat(LoadTestSettings.parse().mix()).hasToString(LoadTestSettings.DEFAULT_MIX);
+    }
+
+    @Test
+    void rejectsUnknownOrInvalidSettings() {
+        assertThatThrownBy(() -> LoadTestSettings.parse("--threads=4"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("threads");
+        assertThatThrownBy(() -> LoadTestSettings.parse("--rate=0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadTestSettings.parse("--duration=60")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadTestSettings.parse("rate=10")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,40 @@
+package com.pokemon.microservices.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class WorkloadMixTest {
+
+    @Test
+    void picksOperationsInProportionToTheirWeights() {
+        WorkloadMix mix = WorkloadMix.parse("lookup=60, write=30,search=10,stats=0");
+        SplittableRandom random = new SplittableRandom(3);
+        Map<Operation, Integer> picked = new EnumMap<>(Operation.class);
+        for (int i = 0; i < 100_000; i++) {
+            picked.merge(mix.pick(random), 1, Integer::sum);
+        }
+
+        assertThat(picked).containsOnlyKeys(Operation.LOOKUP, Operation.WRITE, Operation.SEARCH);
+        assertThat(picked.get(Operation.LOOKUP) / 100_000.0).isCloseTo(0.6, within(0.01));
+        assertThat(picked.get(Operation.WRITE) / 100_000.0).isCloseTo(0.3, within(0.01));
+        assertThat(mix.toString()).isEqualTo("lookup=60,search=10,write=30");
+    }
+
+    @Test
+    void rejectsMalformedMixes() {
+        assertThatThrownBy(() -> WorkloadMix.parse("lookup=50,delete=10"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("delete");
+        assertThatThrownBy(() -> WorkloadMix.parse("lookup=-1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WorkloadMix.parse("lookup=0,write=0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WorkloadMix.parse("lookup")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WorkloadMix.parse("write=1,write=2")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,33 @@
+package com.pokemon.microservices.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+
+@SpringBootApplication
+@EnableDiscoveryClient
+@ConfigurationPropertiesScan
+public class PokemonReactiveServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(PokemonReactiveServiceApplication.class, args);
+        System.out.println("""
+            
+            ⚡ Pokemon Reactive Service Started Successfully! ⚡
+            
+            🌐 Service URL: http://localhost:8084
+            📊 Health Check: http://localhost:8084/actuator/health
+            
+            🎯 Available Endpoints (read only):
+            📋 GET    /api/pokemon          - Page of Pokemon (NDJSON/SSE streams them all)
+            👁️  GET    /api/pokemon/{id}     - Get Pokemon by ID
+            🎨 GET    /api/pokemon/types    - List Pokemon types
+            
+            🔗 Connected to:
+            🌐 Eureka Server: http://localhost:8761
+            🗄️  PostgreSQL (R2DBC): pokemon_db
+            
+            """);
+    }
+}
@@ -0,0 +1,20 @@
+package com.pokemon.microservices.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Reactive Read Properties
+ *
+ * Settings under {@code pokemon.reactive}.
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.reactive")
+public class ReactiveReadProperties {
+
+    // Rows the driver fetches per round trip; a slow client stops the next fetch instead of buffering rows
+    private int fetchSize = 250;
+
+    // Largest page for the JSON listing; streaming clients are not limited
+    private int maxPageSize = 1000;
+}
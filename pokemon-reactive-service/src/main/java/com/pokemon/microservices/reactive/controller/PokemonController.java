@@ -0,0 +1,150 @@
+package com.pokemon.microservices.reactive.controller;
+
+import com.pokemon.microservices.reactive.dto.PokemonPage;
+import com.pokemon.microservices.reactive.entity.Pokemon;
+import com.pokemon.microservices.reactive.service.PokemonService;
+import com.pokemon.microservices.reactive.service.PokemonTypeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Pokemon REST Controller
+ *
+ * Read endpoints of pokemon-service on WebFlux, under the same paths. Lists are
+ * written as the rows arrive; with NDJSON or SSE the whole Pokedex can be
+ * streamed and a slow client only slows down its own query.
+ */
+@RestController
+@RequestMapping("/api/pokemon")
+@CrossOrigin(origins = "*")
+public class PokemonController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokemonController.class);
+
+    private final PokemonService pokemonService;
+    private final PokemonTypeService pokemonTypeService;
+
+    @Autowired
+    public PokemonController(PokemonService pokemonService, PokemonTypeService pokemonTypeService) {
+        this.pokemonService = pokemonService;
+        this.pokemonTypeService = pokemonTypeService;
+    }
+
+    // Read Endpoints
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<PokemonPage> getAllPokemon(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "pokedexNumber") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        logger.debug("REST: Getting all Pokemon - page: {}, size: {}", page, size);
+
+        return pokemonService.findPage(page, size, sort(sortBy, sortDir));
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Pokemon> streamAllPokemon(
+            @RequestParam(defaultValue = "pokedexNumber") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        logger.debug("REST: Streaming all Pokemon");
+
+        return pokemonService.streamAll(sort(sortBy, sortDir));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Pokemon>> getPokemonById(@PathVariable Long id) {
+        logger.debug("REST: Getting Pokemon by ID: {}", id);
+
+        return pokemonService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/pokedex/{number}")
+    public Mono<ResponseEntity<Pokemon>> getPokemonByPokedexNumber(@PathVariable Integer number) {
+        logger.debug("REST: Getting Pokemon by Pokedex number: {}", number);
+
+        return pokemonService.findByPokedexNumber(number)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/name/{name}")
+    public Mono<ResponseEntity<Pokemon>> getPokemonByName(@PathVariable String name) {
+        logger.debug("REST: Getting Pokemon by name: {}", name);
+
+        return pokemonService.findByName(name)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // Filter Endpoints
+
+    @GetMapping("/type/{typeId}")
+    public Mono<ResponseEntity<Flux<Pokemon>>> getPokemonByType(@PathVariable Long typeId) {
+        logger.debug("REST: Getting Pokemon by type ID: {}", typeId);
+
+        return pokemonTypeService.existsById(typeId)
+                .map(exists -> exists
+                        ? ResponseEntity.ok(pokemonService.findByType(typeId))
+                        : ResponseEntity.badRequest().build());
+    }
+
+    @GetMapping("/generation/{generation}")
+    public Flux<Pokemon> getPokemonByGeneration(@PathVariable Integer generation) {
+        logger.debug("REST: Getting Pokemon by generation: {}", generation);
+
+        return pokemonService.findByGeneration(generation);
+    }
+
+    @GetMapping("/legendary")
+    public Flux<Pokemon> getLegendaryPokemon() {
+        logger.debug("REST: Getting all legendary Pokemon");
+
+        return pokemonService.findLegendaryPokemon();
+    }
+
+    @GetMapping("/mythical")
+    public Flux<Pokemon> getMythicalPokemon() {
+        logger.debug("REST: Getting all mythical Pokemon");
+
+        return pokemonService.findMythicalPokemon();
+    }
+
+    // Statistics Endpoints
+
+    @GetMapping("/stats/count")
+    public Mono<Long> getTotalCount() {
+        logger.debug("REST: Getting total Pokemon count");
+
+        return pokemonService.getTotalPokemonCount();
+    }
+
+    @GetMapping("/stats/generation/{generation}/count")
+    public Mono<Long> getCountByGeneration(@PathVariable Integer generation) {
+        logger.debug("REST: Getting Pokemon count for generation: {}", generation);
+
+        return pokemonService.getCountByGeneration(generation);
+    }
+
+    // Health Check
+    @GetMapping("/health")
+    public Mono<String> healthCheck() {
+        return Mono.just("Pokemon Reactive Service is running successfully!");
+    }
+
+    private static Sort sort(String sortBy, String sortDir) {
+        return sortDir.equalsIgnoreCase("desc") ?
+                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+    }
+}
@@ -0,0 +1,63 @@
+package com.pokemon.microservices.reactive.controller;
+
+import com.pokemon.microservices.reactive.entity.PokemonType;
+import com.pokemon.microservices.reactive.service.PokemonTypeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Pokemon Type REST Controller
+ *
+ * Read endpoints for Pokemon types, as in pokemon-service.
+ */
+@RestController
+@RequestMapping("/api/pokemon/types")
+@CrossOrigin(origins = "*")
+public class PokemonTypeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokemonTypeController.class);
+
+    private final PokemonTypeService pokemonTypeService;
+
+    @Autowired
+    public PokemonTypeController(PokemonTypeService pokemonTypeService) {
+        this.pokemonTypeService = pokemonTypeService;
+    }
+
+    @GetMapping
+    public Flux<PokemonType> getAllTypes() {
+        logger.debug("REST: Getting all Pokemon types");
+
+        return pokemonTypeService.findAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PokemonType>> getTypeById(@PathVariable Long id) {
+        logger.debug("REST: Getting Pokemon type by ID: {}", id);
+
+        return pokemonTypeService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/name/{name}")
+    public Mono<ResponseEntity<PokemonType>> getTypeByName(@PathVariable String name) {
+        logger.debug("REST: Getting Pokemon type by name: {}", name);
+
+        return pokemonTypeService.findByName(name)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/search")
+    public Flux<PokemonType> searchTypes(@RequestParam String term) {
+        logger.debug("REST: Searching Pokemon types with term: {}", term);
+
+        return pokemonTypeService.searchTypes(term);
+    }
+}
@@ -0,0 +1,21 @@
+package com.pokemon.microservices.reactive.dto;
+
+import com.pokemon.microservices.reactive.entity.Pokemon;
+
+import java.util.List;
+
+/**
+ * Pokemon Page
+ *
+ * One page of the listing, with the fields of Spring Data's {@code Page} that
+ * clients of pokemon-service read.
+ */
+public record PokemonPage(List<Pokemon> content, int number, int size, long totalElements, int totalPages,
+                          boolean first, boolean last) {
+
+    public static PokemonPage of(List<Pokemon> content, int number, int size, long totalElements) {
+        int totalPages = size == 0 ? 1 : (int) Math.ceil((double) totalElements / size);
+        return new PokemonPage(content, number, size, totalElements, totalPages,
+                number == 0, number + 1 >= totalPages);
+    }
+}
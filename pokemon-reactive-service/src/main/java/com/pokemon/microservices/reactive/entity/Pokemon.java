@@ -0,0 +1,91 @@
+package com.pokemon.microservices.reactive.entity;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pokemon
+ *
+ * Row of the {@code pokemon} table joined with its types, serialized with the
+ * same fields as pokemon-service. Evolution links are only ids here: following
+ * them would cost a query per row on a streamed list.
+ */
+@Data
+public class Pokemon {
+
+    private Long id;
+    private String name;
+    private Integer pokedexNumber;
+    private String description;
+    private Double height;
+    private Double weight;
+
+    private PokemonType primaryType;
+    private PokemonType secondaryType;
+
+    // Stats
+    private Integer hp;
+    private Integer attack;
+    private Integer defense;
+    private Integer specialAttack;
+    private Integer specialDefense;
+    private Integer speed;
+
+    // Metadata
+    private Boolean isLegendary;
+    private Boolean isMythical;
+    private Integer generation;
+    private String imageUrl;
+
+    // Evolution relationships
+    private Long evolvesFromId;
+    private Long evolvesToId;
+
+    private Long version;
+
+    // Audit fields
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // ========== MÉTODOS CALCULADOS ==========
+
+    public Map<String, Integer> getStats() {
+        Map<String, Integer> stats = new HashMap<>();
+        stats.put("hp", this.hp != null ? this.hp : 0);
+        stats.put("attack", this.attack != null ? this.attack : 0);
+        stats.put("defense", this.defense != null ? this.defense : 0);
+        stats.put("specialAttack", this.specialAttack != null ? this.specialAttack : 0);
+        stats.put("specialDefense", this.specialDefense != null ? this.specialDefense : 0);
+        stats.put("speed", this.speed != null ? this.speed : 0);
+        return stats;
+    }
+
+    public Integer getTotalStats() {
+        return (hp != null ? hp : 0) +
+                (attack != null ? attack : 0) +
+                (defense != null ? defense : 0) +
+                (specialAttack != null ? specialAttack : 0) +
+                (specialDefense != null ? specialDefense : 0) +
+                (speed != null ? speed : 0);
+    }
+
+    public Double getBMI() {
+        if (height == null || weight == null || height == 0) {
+            return 0.0;
+        }
+        return weight / (height * height);
+    }
+
+    public Integer getEvolutionLevel() {
+        if (evolvesFromId == null) {
+            return 1; // Primera evolución
+        } else if (evolvesToId == null) {
+            return 3; // Evolución final
+        } else {
+            return 2; // Evolución intermedia
+        }
+    }
+}
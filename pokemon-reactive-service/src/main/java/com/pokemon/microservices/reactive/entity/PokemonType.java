@@ -0,0 +1,31 @@
+package com.pokemon.microservices.reactive.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pokemon Type
+ *
+ * Row of the {@code pokemon_types} table owned by pokemon-service; read only here.
+ */
+@Table("pokemon_types")
+@Data
+public class PokemonType {
+
+    @Id
+    private Long id;
+
+    private String name;
+    private String color;
+    private String description;
+
+    // Audit fields
+    @Column("created_at")
+    private LocalDateTime createdAt;
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+}
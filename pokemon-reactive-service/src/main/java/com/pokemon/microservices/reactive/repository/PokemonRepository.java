@@ -0,0 +1,201 @@
+package com.pokemon.microservices.reactive.repository;
+
+import com.pokemon.microservices.reactive.config.ReactiveReadProperties;
+import com.pokemon.microservices.reactive.entity.Pokemon;
+import com.pokemon.microservices.reactive.entity.PokemonType;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Pokemon Repository
+ *
+ * Reads Pokemon together with both of their types in a single query. Lists come
+ * back as a {@link Flux} that only pulls rows as fast as they are consumed.
+ */
+@Repository
+public class PokemonRepository {
+
+    private static final String SELECT = "SELECT p.id, p.name, p.pokedex_number, p.description, p.height, p.weight, " +
+            "p.hp, p.attack, p.defense, p.special_attack, p.special_defense, p.speed, " +
+            "p.is_legendary, p.is_mythical, p.generation, p.image_url, p.evolves_from_id, p.evolves_to_id, " +
+            "p.version, p.created_at, p.updated_at, " +
+            "t1.id AS t1_id, t1.name AS t1_name, t1.color AS t1_color, t1.description AS t1_description, " +
+            "t1.created_at AS t1_created_at, t1.updated_at AS t1_updated_at, " +
+            "t2.id AS t2_id, t2.name AS t2_name, t2.color AS t2_color, t2.description AS t2_description, " +
+            "t2.created_at AS t2_created_at, t2.updated_at AS t2_updated_at " +
+            "FROM pokemon p " +
+            "LEFT JOIN pokemon_types t1 ON t1.id = p.primary_type_id " +
+            "LEFT JOIN pokemon_types t2 ON t2.id = p.secondary_type_id";
+
+    // Sortable properties; anything else is rejected rather than put into the SQL
+    private static final Map<String, String> SORT_COLUMNS = Map.ofEntries(
+            Map.entry("id", "p.id"),
+            Map.entry("name", "p.name"),
+            Map.entry("pokedexNumber", "p.pokedex_number"),
+            Map.entry("height", "p.height"),
+            Map.entry("weight", "p.weight"),
+            Map.entry("hp", "p.hp"),
+            Map.entry("attack", "p.attack"),
+            Map.entry("defense", "p.defense"),
+            Map.entry("specialAttack", "p.special_attack"),
+            Map.entry("specialDefense", "p.special_defense"),
+            Map.entry("speed", "p.speed"),
+            Map.entry("generation", "p.generation"),
+            Map.entry("createdAt", "p.created_at"),
+            Map.entry("updatedAt", "p.updated_at"));
+
+    private final DatabaseClient databaseClient;
+    private final ReactiveReadProperties properties;
+
+    @Autowired
+    public PokemonRepository(DatabaseClient databaseClient, ReactiveReadProperties properties) {
+        this.databaseClient = databaseClient;
+        this.properties = properties;
+    }
+
+    // Basic finders
+
+    public Mono<Pokemon> findById(Long id) {
+        return databaseClient.sql(SELECT + " WHERE p.id = :id")
+                .bind("id", id)
+                .map(PokemonRepository::toPokemon)
+                .one();
+    }
+
+    public Mono<Pokemon> findByPokedexNumber(Integer pokedexNumber) {
+        return databaseClient.sql(SELECT + " WHERE p.pokedex_number = :number")
+                .bind("number", pokedexNumber)
+                .map(PokemonRepository::toPokemon)
+                .one();
+    }
+
+    public Mono<Pokemon> findByNameIgnoreCase(String name) {
+        return databaseClient.sql(SELECT + " WHERE LOWER(p.name) = LOWER(:name)")
+                .bind("name", name)
+                .map(PokemonRepository::toPokemon)
+                .one();
+    }
+
+    // Lists
+
+    public Flux<Pokemon> findAll(Sort sort, long offset, int limit) {
+        return databaseClient.sql(SELECT + orderBy(sort) + " LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(PokemonRepository::toPokemon)
+                .all();
+    }
+
+    public Flux<Pokemon> streamAll(Sort sort) {
+        return databaseClient.sql(SELECT + orderBy(sort))
+                .filter(statement -> statement.fetchSize(properties.getFetchSize()))
+                .map(PokemonRepository::toPokemon)
+                .all();
+    }
+
+    public Flux<Pokemon> findByPrimaryTypeId(Long typeId) {
+        return findWhere("p.primary_type_id = :value", typeId);
+    }
+
+    public Flux<Pokemon> findByGeneration(Integer generation) {
+        return findWhere("p.generation = :value", generation);
+    }
+
+    public Flux<Pokemon> findByIsLegendaryTrue() {
+        return findWhere("p.is_legendary = :value", true);
+    }
+
+    public Flux<Pokemon> findByIsMythicalTrue() {
+        return findWhere("p.is_mythical = :value", true);
+    }
+
+    // Statistics
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) FROM pokemon")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Long> countByGeneration(Integer generation) {
+        return databaseClient.sql("SELECT COUNT(*) FROM pokemon WHERE generation = :generation")
+                .bind("generation", generation)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private Flux<Pokemon> findWhere(String condition, Object value) {
+        return databaseClient.sql(SELECT + " WHERE " + condition + " ORDER BY p.id")
+                .bind("value", value)
+                .filter(statement -> statement.fetchSize(properties.getFetchSize()))
+                .map(PokemonRepository::toPokemon)
+                .all();
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner clause = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Cannot sort Pokemon by: " + order.getProperty());
+            }
+            clause.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        // Ties broken by id so pages never overlap
+        clause.add("p.id");
+        return clause.toString();
+    }
+
+    private static Pokemon toPokemon(Readable row) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(row.get("id", Long.class));
+        pokemon.setName(row.get("name", String.class));
+        pokemon.setPokedexNumber(row.get("pokedex_number", Integer.class));
+        pokemon.setDescription(row.get("description", String.class));
+        pokemon.setHeight(row.get("height", Double.class));
+        pokemon.setWeight(row.get("weight", Double.class));
+        pokemon.setPrimaryType(toType(row, "t1_"));
+        pokemon.setSecondaryType(toType(row, "t2_"));
+        pokemon.setHp(row.get("hp", Integer.class));
+        pokemon.setAttack(row.get("attack", Integer.class));
+        pokemon.setDefense(row.get("defense", Integer.class));
+        pokemon.setSpecialAttack(row.get("special_attack", Integer.class));
+        pokemon.setSpecialDefense(row.get("special_defense", Integer.class));
+        pokemon.setSpeed(row.get("speed", Integer.class));
+        pokemon.setIsLegendary(row.get("is_legendary", Boolean.class));
+        pokemon.setIsMythical(row.get("is_mythical", Boolean.class));
+        pokemon.setGeneration(row.get("generation", Integer.class));
+        pokemon.setImageUrl(row.get("image_url", String.class));
+        pokemon.setEvolvesFromId(row.get("evolves_from_id", Long.class));
+        pokemon.setEvolvesToId(row.get("evolves_to_id", Long.class));
+        pokemon.setVersion(row.get("version", Long.class));
+        pokemon.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        pokemon.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return pokemon;
+    }
+
+    // Null when the Pokemon has no type in that slot
+    private static PokemonType toType(Readable row, String prefix) {
+        Long id = row.get(prefix + "id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        PokemonType type = new PokemonType();
+        type.setId(id);
+        type.setName(row.get(prefix + "name", String.class));
+        type.setColor(row.get(prefix + "color", String.class));
+        type.setDescription(row.get(prefix + "description", String.class));
+        type.setCreatedAt(row.get(prefix + "created_at", LocalDateTime.class));
+        type.setUpdatedAt(row.get(prefix + "updated_at", LocalDateTime.class));
+        return type;
+    }
+}
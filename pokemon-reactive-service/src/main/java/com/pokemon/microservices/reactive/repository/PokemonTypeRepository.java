@@ -0,0 +1,25 @@
+package com.pokemon.microservices.reactive.repository;
+
+import com.pokemon.microservices.reactive.entity.PokemonType;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface PokemonTypeRepository extends ReactiveCrudRepository<PokemonType, Long> {
+
+    // Basic finders
+    Mono<PokemonType> findByNameIgnoreCase(String name);
+
+    // Ordered queries
+    Flux<PokemonType> findAllByOrderByNameAsc();
+
+    // Search functionality
+    @Query("SELECT * FROM pokemon_types WHERE " +
+            "LOWER(name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    Flux<PokemonType> searchByNameOrDescription(@Param("searchTerm") String searchTerm);
+}
@@ -0,0 +1,27 @@
+package com.pokemon.microservices.reactive.service;
+
+import com.pokemon.microservices.reactive.dto.PokemonPage;
+import com.pokemon.microservices.reactive.entity.Pokemon;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface PokemonService {
+
+    // Read Operations
+    Mono<Pokemon> findById(Long id);
+    Mono<Pokemon> findByPokedexNumber(Integer pokedexNumber);
+    Mono<Pokemon> findByName(String name);
+    Mono<PokemonPage> findPage(int page, int size, Sort sort);
+    Flux<Pokemon> streamAll(Sort sort);
+
+    // Filter Operations
+    Flux<Pokemon> findByType(Long typeId);
+    Flux<Pokemon> findByGeneration(Integer generation);
+    Flux<Pokemon> findLegendaryPokemon();
+    Flux<Pokemon> findMythicalPokemon();
+
+    // Statistics
+    Mono<Long> getTotalPokemonCount();
+    Mono<Long> getCountByGeneration(Integer generation);
+}
@@ -0,0 +1,17 @@
+package com.pokemon.microservices.reactive.service;
+
+import com.pokemon.microservices.reactive.entity.PokemonType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface PokemonTypeService {
+
+    // Read Operations
+    Mono<PokemonType> findById(Long id);
+    Mono<PokemonType> findByName(String name);
+    Flux<PokemonType> findAll();
+    Mono<Boolean> existsById(Long id);
+
+    // Search Operations
+    Flux<PokemonType> searchTypes(String searchTerm);
+}
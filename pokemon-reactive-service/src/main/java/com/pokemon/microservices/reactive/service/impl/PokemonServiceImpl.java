@@ -0,0 +1,93 @@
+package com.pokemon.microservices.reactive.service.impl;
+
+import com.pokemon.microservices.reactive.config.ReactiveReadProperties;
+import com.pokemon.microservices.reactive.dto.PokemonPage;
+import com.pokemon.microservices.reactive.entity.Pokemon;
+import com.pokemon.microservices.reactive.repository.PokemonRepository;
+import com.pokemon.microservices.reactive.service.PokemonService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Pokemon Service Implementation
+ *
+ * Read side of pokemon-service on R2DBC. Writes stay with pokemon-service, which
+ * owns the schema.
+ */
+@Service
+public class PokemonServiceImpl implements PokemonService {
+
+    private final PokemonRepository pokemonRepository;
+    private final ReactiveReadProperties properties;
+
+    @Autowired
+    public PokemonServiceImpl(PokemonRepository pokemonRepository, ReactiveReadProperties properties) {
+        this.pokemonRepository = pokemonRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Pokemon> findById(Long id) {
+        return pokemonRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Pokemon> findByPokedexNumber(Integer pokedexNumber) {
+        return pokemonRepository.findByPokedexNumber(pokedexNumber);
+    }
+
+    @Override
+    public Mono<Pokemon> findByName(String name) {
+        return pokemonRepository.findByNameIgnoreCase(name);
+    }
+
+    @Override
+    public Mono<PokemonPage> findPage(int page, int size, Sort sort) {
+        if (page < 0 || size < 1 || size > properties.getMaxPageSize()) {
+            return Mono.error(new IllegalArgumentException(
+                    "Page must be >= 0 and size between 1 and " + properties.getMaxPageSize()));
+        }
+        // Both queries are issued together
+        return Mono.zip(pokemonRepository.findAll(sort, (long) page * size, size).collectList(),
+                        pokemonRepository.count())
+                .map(result -> PokemonPage.of(result.getT1(), page, size, result.getT2()));
+    }
+
+    @Override
+    public Flux<Pokemon> streamAll(Sort sort) {
+        return pokemonRepository.streamAll(sort);
+    }
+
+    @Override
+    public Flux<Pokemon> findByType(Long typeId) {
+        return pokemonRepository.findByPrimaryTypeId(typeId);
+    }
+
+    @Override
+    public Flux<Pokemon> findByGeneration(Integer generation) {
+        return pokemonRepository.findByGeneration(generation);
+    }
+
+    @Override
+    public Flux<Pokemon> findLegendaryPokemon() {
+        return pokemonRepository.findByIsLegendaryTrue();
+    }
+
+    @Override
+    public Flux<Pokemon> findMythicalPokemon() {
+        return pokemonRepository.findByIsMythicalTrue();
+    }
+
+    @Override
+    public Mono<Long> getTotalPokemonCount() {
+        return pokemonRepository.count();
+    }
+
+    @Override
+    public Mono<Long> getCountByGeneration(Integer generation) {
+        return pokemonRepository.countByGeneration(generation);
+    }
+}
@@ -0,0 +1,45 @@
+package com.pokemon.microservices.reactive.service.impl;
+
+import com.pokemon.microservices.reactive.entity.PokemonType;
+import com.pokemon.microservices.reactive.repository.PokemonTypeRepository;
+import com.pokemon.microservices.reactive.service.PokemonTypeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class PokemonTypeServiceImpl implements PokemonTypeService {
+
+    private final PokemonTypeRepository pokemonTypeRepository;
+
+    @Autowired
+    public PokemonTypeServiceImpl(PokemonTypeRepository pokemonTypeRepository) {
+        this.pokemonTypeRepository = pokemonTypeRepository;
+    }
+
+    @Override
+    public Mono<PokemonType> findById(Long id) {
+        return pokemonTypeRepository.findById(id);
+    }
+
+    @Override
+    public Mono<PokemonType> findByName(String name) {
+        return pokemonTypeRepository.findByNameIgnoreCase(name);
+    }
+
+    @Override
+    public Flux<PokemonType> findAll() {
+        return pokemonTypeRepository.findAllByOrderByNameAsc();
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return pokemonTypeRepository.existsById(id);
+    }
+
+    @Override
+    public Flux<PokemonType> searchTypes(String searchTerm) {
+        return pokemonTypeRepository.searchByNameOrDescription(searchTerm);
+    }
+}
@@ -0,0 +1,304 @@
+package com.pokemon.microservices.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemon.microservices.pokemon.PokemonServiceApplication;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.service.PokemonTypeService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends the same reads to pokemon-service (Spring MVC + JPA) and to this service
+ * (WebFlux + R2DBC), booted side by side on one in-memory H2 database, from many
+ * concurrent clients. Prints throughput and latency per endpoint; raise
+ * -Dbenchmark.concurrency and -Dbenchmark.duration (ISO-8601) for real numbers.
+ * Takes a minute or more, so it only runs with -Dbenchmark=true.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReadPathBenchmarkTest {
+
+    private static final int POKEMON = 1025;
+    private static final int GENERATIONS = 9;
+    private static final String[] TYPES = {"Normal", "Fire", "Water", "Grass", "Electric", "Ice", "Fighting",
+            "Poison", "Ground", "Flying", "Psychic", "Bug", "Rock", "Ghost", "Dragon", "Dark", "Steel", "Fairy"};
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 256);
+    private static final Duration DURATION = Duration.parse(System.getProperty("benchmark.duration", "PT2S"));
+    private static final Duration WARMUP = Duration.ofSeconds(1);
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private static ConfigurableApplicationContext mvc;
+    private static ConfigurableApplicationContext reactive;
+    private static String mvcUrl;
+    private static String reactiveUrl;
+
+    @BeforeAll
+    static void startServices() throws IOException {
+        int mvcPort = freePort();
+        mvc = startMvc(mvcPort);
+        seed(mvc.getBean(PokemonTypeService.class), mvc.getBean(PokemonService.class));
+        int reactivePort = freePort();
+        reactive = startReactive(reactivePort);
+        mvcUrl = "http://localhost:" + mvcPort;
+        reactiveUrl = "http://localhost:" + reactivePort;
+    }
+
+    @AfterAll
+    static void stopServices() {
+        if (reactive != null) {
+            reactive.close();
+        }
+        if (mvc != null) {
+            mvc.close();
+        }
+    }
+
+    @Test
+    void bothImplementationsServeTheSameDataUnderLoad() throws Exception {
+        String page = "/api/pokemon?page=3&size=20&sortBy=name";
+        assertThat(names(get(reactiveUrl + page, "application/json").body()))
+                .containsExactlyElementsOf(names(get(mvcUrl + page, "application/json").body()));
+        String stream = get(reactiveUrl + "/api/pokemon", "application/x-ndjson").body();
+        assertThat(stream.lines().filter(line -> !line.isBlank())).hasSize(POKEMON);
+
+        List<Scenario> scenarios = List.of(
+                Scenario.json("by id", random -> "/api/pokemon/" + (1 + random.nextInt(POKEMON))),
+                Scenario.json("page of 20",
+                        random -> "/api/pokemon?page=" + random.nextInt(POKEMON / 20) + "&size=20"),
+                Scenario.json("generation list",
+                        random -> "/api/pokemon/generation/" + (1 + random.nextInt(GENERATIONS))),
+                Scenario.json("types", random -> "/api/pokemon/types"),
+                // One page with everything on MVC; the reactive side streams it as NDJSON
+                new Scenario("whole pokedex", random -> "/api/pokemon?size=" + POKEMON,
+                        "application/json", "application/x-ndjson"));
+
+        System.out.printf("%d concurrent clients, %s per run%n", CONCURRENCY, DURATION);
+        System.out.printf("%-18s %-9s %10s %9s %9s %9s %8s%n",
+                "endpoint", "stack", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Scenario scenario : scenarios) {
+            for (String stack : List.of("mvc", "reactive")) {
+                String baseUrl = stack.equals("mvc") ? mvcUrl : reactiveUrl;
+                String accept = stack.equals("mvc") ? scenario.mvcAccept() : scenario.reactiveAccept();
+                run(scenario.path(), baseUrl, accept, WARMUP);
+                Result result = run(scenario.path(), baseUrl, accept, DURATION);
+                System.out.printf("%-18s %-9s %10.0f %9.2f %9.2f %9.2f %8d%n", scenario.name(), stack,
+                        result.throughput(), result.percentileMillis(0.50), result.percentileMillis(0.99),
+                        result.percentileMillis(1.0), result.errors());
+
+                assertThat(result.errors()).as("%s errors on %s", stack, scenario.name()).isZero();
+                assertThat(result.latencies()).isNotEmpty();
+            }
+        }
+    }
+
+    // Closed model: every client sends its next request as soon as the previous one is answered
+    private static Result run(Function<ThreadLocalRandom, String> path, String baseUrl, String accept,
+                              Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Client> clients = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            Client client = new Client();
+            clients.add(client);
+            threads.add(Thread.ofVirtual().start(() -> client.run(path, baseUrl, accept, deadline)));
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] latencies = clients.stream()
+                .flatMapToLong(client -> Arrays.stream(client.latencies, 0, client.count))
+                .sorted()
+                .toArray();
+        long errors = clients.stream().mapToLong(client -> client.errors).sum();
+        return new Result(latencies, errors, latencies.length * 1e9 / elapsed);
+    }
+
+    private static HttpResponse<String> get(String url, String accept) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).header("Accept", accept).build();
+        HttpResponse<String> response = HTTP.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(url).isEqualTo(200);
+        return response;
+    }
+
+    // Names in a page, in order; both stacks write the page content under "content"
+    private static List<String> names(String json) throws IOException {
+        List<String> names = new ArrayList<>();
+        JSON.readTree(json).get("content").forEach(pokemon -> names.add(pokemon.get("name").asText()));
+        return names;
+    }
+
+    private static ConfigurableApplicationContext startMvc(int port) {
+        return new SpringApplicationBuilder(PokemonServiceApplication.class)
+                .run("--server.port=" + port,
+                        "--spring.main.web-application-type=servlet",
+                        // Both modules have an application.yml and this module's comes first on the classpath
+                        "--spring.config.location=" + applicationYaml(PokemonServiceApplication.class),
+                        "--spring.datasource.url=jdbc:h2:mem:read-path;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.autoconfigure.exclude="
+                                + "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration",
+                        "--spring.cloud.config.enabled=false",
+                        "--spring.config.import=",
+                        "--eureka.client.enabled=false",
+                        "--pokemon.cluster.invalidation.enabled=false",
+                        "--pokemon.snapshot.load-on-startup=false",
+                        // Compare the read paths, not a cache of encoded responses in front of one of them
+                        "--pokemon.response-cache.enabled=false",
+                        "--logging.level.com.pokemon.microservices=INFO");
+    }
+
+    private static ConfigurableApplicationContext startReactive(int port) {
+        return new SpringApplicationBuilder(PokemonReactiveServiceApplication.class)
+                // Tomcat is on the test classpath too and would be picked over Netty
+                .initializers(context -> ((GenericApplicationContext) context)
+                        .registerBean(NettyReactiveWebServerFactory.class))
+                .run("--server.port=" + port,
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///read-path;DB_CLOSE_DELAY=-1",
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--spring.autoconfigure.exclude="
+                                + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration",
+                        "--spring.cloud.config.enabled=false",
+                        "--eureka.client.enabled=false",
+                        "--logging.level.com.pokemon.microservices=INFO");
+    }
+
+    private static String applicationYaml(Class<?> application) {
+        URL location = application.getProtectionDomain().getCodeSource().getLocation();
+        return location.getPath().endsWith(".jar")
+                ? "jar:" + location + "!/application.yml"
+                : location + "application.yml";
+    }
+
+    // Same Pokedex on every run; no evolution links, which pokemon-service serializes lazily
+    private static void seed(PokemonTypeService typeService, PokemonService pokemonService) {
+        List<PokemonType> types = new ArrayList<>();
+        for (String name : TYPES) {
+            PokemonType type = new PokemonType();
+            type.setName(name);
+            type.setColor("#A8A878");
+            type.setDescription(name + " type moves and resistances");
+            types.add(typeService.createType(type));
+        }
+        Random random = new Random(42);
+        for (int number = 1; number <= POKEMON; number++) {
+            Pokemon pokemon = new Pokemon();
+            pokemon.setName("Pokemon-" + number);
+            pokemon.setPokedexNumber(number);
+            pokemon.setDescription("Entry " + number + " of the benchmark Pokedex.");
+            pokemon.setHeight(0.3 + random.nextInt(30) / 10.0);
+            pokemon.setWeight(1.0 + random.nextInt(2000) / 10.0);
+            pokemon.setPrimaryType(types.get(random.nextInt(types.size())));
+            pokemon.setSecondaryType(random.nextBoolean() ? types.get(random.nextInt(types.size())) : null);
+            pokemon.setHp(20 + random.nextInt(150));
+            pokemon.setAttack(20 + random.nextInt(150));
+            pokemon.setDefense(20 + random.nextInt(150));
+            pokemon.setSpecialAttack(20 + random.nextInt(150));
+            pokemon.setSpecialDefense(20 + random.nextInt(150));
+            pokemon.setSpeed(20 + random.nextInt(150));
+            pokemon.setIsLegendary(random.nextInt(40) == 0);
+            pokemon.setIsMythical(random.nextInt(60) == 0);
+            pokemon.setGeneration(1 + (number - 1) * GENERATIONS / POKEMON);
+            pokemon.setImageUrl("https://img.example/pokemon/" + number + ".png");
+            pokemonService.createPokemon(pokemon);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Scenario(String name, Function<ThreadLocalRandom, String> path, String mvcAccept,
+                            String reactiveAccept) {
+
+        static Scenario json(String name, Function<ThreadLocalRandom, String> path) {
+            return new Scenario(name, path, "application/json", "application/json");
+        }
+    }
+
+    private record Result(long[] latencies, long errors, double throughput) {
+
+        double percentileMillis(double percentile) {
+            int index = (int) Math.ceil(percentile * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    private static final class Client {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private void run(Function<ThreadLocalRandom, String> path, String baseUrl, String accept, long deadline) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path.apply(random)))
+                        .header("Accept", accept)
+                        .build();
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = HTTP.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        errors++;
+                        continue;
+                    }
+                } catch (IOException ex) {
+                    errors++;
+                    continue;
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+        }
+    }
+}
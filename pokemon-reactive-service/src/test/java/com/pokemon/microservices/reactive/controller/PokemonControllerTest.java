@@ -0,0 +1,122 @@
+package com.pokemon.microservices.reactive.controller;
+
+import com.pokemon.microservices.reactive.entity.Pokemon;
+import com.pokemon.microservices.reactive.entity.PokemonType;
+import com.pokemon.microservices.reactive.repository.PokemonRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read endpoints over R2DBC against the small Pokedex in db/pokedex-data.sql.
+ */
+// The test classpath also has Spring MVC, which the test context would otherwise pick
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("test")
+class PokemonControllerTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private PokemonRepository pokemonRepository;
+
+    @Test
+    void pageHasTypesAndComputedFields() {
+        client.get().uri("/api/pokemon?page=0&size=2")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(7)
+                .jsonPath("$.totalPages").isEqualTo(4)
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.content[0].name").isEqualTo("Bulbasaur")
+                .jsonPath("$.content[0].primaryType.name").isEqualTo("Grass")
+                .jsonPath("$.content[0].secondaryType.name").isEqualTo("Poison")
+                .jsonPath("$.content[0].totalStats").isEqualTo(318)
+                .jsonPath("$.content[0].evolutionLevel").isEqualTo(1)
+                .jsonPath("$.content[1].evolutionLevel").isEqualTo(2);
+    }
+
+    @Test
+    void ndjsonStreamsEveryPokemonInOrder() {
+        List<Pokemon> streamed = client.get().uri("/api/pokemon?sortBy=name&sortDir=desc")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Pokemon.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(streamed).extracting(Pokemon::getName)
+                .containsExactly("Venusaur", "Mewtwo", "Mew", "Ivysaur", "Chikorita", "Charmander", "Bulbasaur");
+    }
+
+    @Test
+    void streamOnlyReadsWhatIsRequested() {
+        Flux<Pokemon> all = pokemonRepository.streamAll(Sort.by("pokedexNumber"));
+
+        StepVerifier.create(all, 2)
+                .assertNext(pokemon -> assertThat(pokemon.getName()).isEqualTo("Bulbasaur"))
+                .assertNext(pokemon -> assertThat(pokemon.getName()).isEqualTo("Ivysaur"))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(1)
+                .assertNext(pokemon -> assertThat(pokemon.getName()).isEqualTo("Venusaur"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void lookupsAndFilters() {
+        client.get().uri("/api/pokemon/name/MEWTWO").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.pokedexNumber").isEqualTo(150);
+        client.get().uri("/api/pokemon/pokedex/152").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("Chikorita");
+        client.get().uri("/api/pokemon/999").exchange()
+                .expectStatus().isNotFound();
+
+        client.get().uri("/api/pokemon/legendary").exchange()
+                .expectBody().jsonPath("$[*].name").isEqualTo("Mewtwo");
+        client.get().uri("/api/pokemon/type/1").exchange()
+                .expectBody().jsonPath("$.length()").isEqualTo(4);
+        client.get().uri("/api/pokemon/type/99").exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/pokemon/stats/generation/1/count").exchange()
+                .expectBody(Long.class).isEqualTo(6L);
+
+        List<PokemonType> types = client.get().uri("/api/pokemon/types").exchange()
+                .expectBodyList(PokemonType.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(types).extracting(PokemonType::getName).containsExactly("Fire", "Grass", "Poison", "Psychic");
+    }
+
+    @Test
+    void unknownSortPropertyIsRejected() {
+        client.get().uri("/api/pokemon?sortBy=name;DROP TABLE pokemon")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/pokemon?size=5000")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,27 @@
+INSERT INTO pokemon_types (id, name, color, description, created_at, updated_at) VALUES
+    (1, 'Grass', '#78C850', 'Grass type', TIMESTAMP '2024-01-01 00:00:00', TIMESTAMP '2024-01-01 00:00:00'),
+    (2, 'Poison', '#A040A0', 'Poison type', TIMESTAMP '2024-01-01 00:00:00', TIMESTAMP '2024-01-01 00:00:00'),
+    (3, 'Fire', '#F08030', 'Fire type', TIMESTAMP '2024-01-01 00:00:00', TIMESTAMP '2024-01-01 00:00:00'),
+    (4, 'Psychic', '#F85888', 'Psychic type', TIMESTAMP '2024-01-01 00:00:00', TIMESTAMP '2024-01-01 00:00:00');
+
+INSERT INTO pokemon (id, name, pokedex_number, description, height, weight, primary_type_id, secondary_type_id,
+                     hp, attack, defense, special_attack, special_defense, speed,
+                     is_legendary, is_mythical, generation, image_url, version, created_at, updated_at) VALUES
+    (1, 'Bulbasaur', 1, 'Seed Pokemon', 0.7, 6.9, 1, 2, 45, 49, 49, 65, 65, 45, FALSE, FALSE, 1, NULL, 0,
+     TIMESTAMP '2024-01-01 00:00:00', TIMESTAMP '2024-01-01 00:00:00'),
+    (2, 'Ivysaur', 2, 'Seed Pokemon', 1.0, 13.0, 1, 2, 60, 62, 63, 80, 80, 60, FALSE, FALSE, 1, NULL, 0,
+     TIMESTAMP '2024-01-01 00:00:00', TIMESTAMP '2024-01-01 00:00:00'),
+    (3, 'Venusaur', 3, 'Seed Pokemon', 2.0, 100.0, 1, 2, 80, 82, 83, 100, 100, 80, FALSE, FALSE, 1, NULL, 0,
+     TIMESTAMP '2024-01-01 00:00:00', TIMESTAMP '2024-01-01 00:00:00'),
+    (4, 'Charmander', 4, 'Lizard Pokemon', 0.6, 8.5, 3, NULL, 39, 52, 43, 60, 50, 65, FALSE, FALSE, 1, NULL, 0,
+     TIMESTAMP '2024-01-01 00:00:00', TIMESTAMP '2024-01-01 00:00:00'),
+    (5, 'Mewtwo', 150, 'Genetic Pokemon', 2.0, 122.0, 4, NULL, 106, 110, 90, 154, 90, 130, TRUE, FALSE, 1, NULL, 0,
+     TIMESTAMP '2024-01-01 00:00:00', TIMESTAMP '2024-01-01 00:00:00'),
+    (6, 'Mew', 151, 'New Species Pokemon', 0.4, 4.0, 4, NULL, 100, 100, 100, 100, 100, 100, FALSE, TRUE, 1, NULL, 0,
+     TIMESTAMP '2024-01-01 00:00:00', TIMESTAMP '2024-01-01 00:00:00'),
+    (7, 'Chikorita', 152, 'Leaf Pokemon', 0.9, 6.4, 1, NULL, 45, 49, 65, 49, 65, 45, FALSE, FALSE, 2, NULL, 0,
+     TIMESTAMP '2024-01-01 00:00:00', TIMESTAMP '2024-01-01 00:00:00');
+
+UPDATE pokemon SET evolves_to_id = 2 WHERE id = 1;
+UPDATE pokemon SET evolves_from_id = 1, evolves_to_id = 3 WHERE id = 2;
+UPDATE pokemon SET evolves_from_id = 2 WHERE id = 3;
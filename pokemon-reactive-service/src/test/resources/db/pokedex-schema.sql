@@ -0,0 +1,35 @@
+-- Tables as pokemon-service creates them (ddl-auto) on H2
+CREATE TABLE pokemon_types (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    color VARCHAR(255),
+    description TEXT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE pokemon (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    pokedex_number INTEGER NOT NULL UNIQUE,
+    description TEXT,
+    height FLOAT(53),
+    weight FLOAT(53),
+    primary_type_id BIGINT REFERENCES pokemon_types (id),
+    secondary_type_id BIGINT REFERENCES pokemon_types (id),
+    hp INTEGER,
+    attack INTEGER,
+    defense INTEGER,
+    special_attack INTEGER,
+    special_defense INTEGER,
+    speed INTEGER,
+    is_legendary BOOLEAN,
+    is_mythical BOOLEAN,
+    generation INTEGER,
+    image_url VARCHAR(255),
+    evolves_from_id BIGINT REFERENCES pokemon (id),
+    evolves_to_id BIGINT REFERENCES pokemon (id),
+    version BIGINT DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
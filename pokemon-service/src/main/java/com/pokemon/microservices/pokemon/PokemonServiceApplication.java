@@ -2,10 +2,14 @@ package com.pokemon.microservices.pokemon;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
+@ConfigurationPropertiesScan
 public class PokemonServiceApplication {
 
     public static void main(String[] args) {
@@ -22,6 +26,7 @@ public class PokemonServiceApplication {
             📋 GET    /api/pokemon          - List all Pokemon
             👁️  GET    /api/pokemon/{id}     - Get Pokemon by ID
             ➕ POST   /api/pokemon          - Create new Pokemon
+            🔎 GET    /api/pokemon/autocomplete?prefix= - Name suggestions
             ✏️  PUT    /api/pokemon/{id}     - Update Pokemon
             🗑️  DELETE /api/pokemon/{id}     - Delete Pokemon
             🎨 GET    /api/pokemon/types    - List Pokemon types
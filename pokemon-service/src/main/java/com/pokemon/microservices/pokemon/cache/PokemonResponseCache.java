@@ -0,0 +1,205 @@
+package com.pokemon.microservices.pokemon.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pokemon.microservices.pokemon.config.ResponseCacheProperties;
+import com.pokemon.microservices.pokemon.controller.SparseFieldsetAdvice;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.service.index.PokemonLookupIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Pokemon Response Cache
+ *
+ * Keeps single-Pokemon responses already encoded, per Pokemon and media type,
+ * together with their ETag: the Pokemon version and a hash of the bytes, so
+ * the same tag works as If-Match for a PATCH. A hit writes the bytes as they
+ * are: no entity load and no serialization, and a matching If-None-Match gets
+ * a 304.
+ * Entries are dropped on every change to the Pokemon, and all of them on any
+ * type change since types are embedded in the documents. Every response
+ * varies by Accept, so shared caches keep the encodings apart.
+ */
+@Component
+public class PokemonResponseCache {
+
+    // Offered in this order, so JSON wins for */*
+    private static final List<MediaType> CACHED_MEDIA_TYPES = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            MediaType.valueOf("application/x-jackson-smile"));
+
+    private final ResponseCacheProperties properties;
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+    private final ObjectProvider<PokemonLookupIndex> lookupIndex;
+    private final Cache<Key, EncodedResponse> cache;
+    private final ObjectMapper[] mappers = new ObjectMapper[CACHED_MEDIA_TYPES.size()];
+    // Bumped on every invalidation so loads that raced with a write are not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public PokemonResponseCache(ResponseCacheProperties properties,
+                                ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter,
+                                ObjectProvider<PokemonLookupIndex> lookupIndex,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.handlerAdapter = handlerAdapter;
+        this.lookupIndex = lookupIndex;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((Key key, EncodedResponse value) -> value.body().length)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "pokemon.responses"));
+    }
+
+    /**
+     * Answers a single-Pokemon read, from the cache when possible.
+     *
+     * @param id     id the request resolves to if already known, else null
+     * @param loader loads the Pokemon on a miss
+     * @param served called with the id of the Pokemon returned, if any
+     */
+    public ResponseEntity<?> respond(Long id, Supplier<Optional<Pokemon>> loader, NativeWebRequest request,
+                                     LongConsumer served) {
+        int variant = properties.isEnabled() && request.getParameter(SparseFieldsetAdvice.FIELDS_PARAM) == null
+                ? negotiate(request.getHeader(HttpHeaders.ACCEPT))
+                : -1;
+        if (variant < 0) {
+            Optional<Pokemon> pokemon = loader.get();
+            pokemon.ifPresent(p -> served.accept(p.getId()));
+            return pokemon.<ResponseEntity<?>>map(p -> ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(p))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        }
+
+        EncodedResponse cached = id != null ? cache.getIfPresent(new Key(id, variant)) : null;
+        if (cached == null) {
+            long generation = invalidations.get();
+            Optional<Pokemon> pokemon = loader.get();
+            if (pokemon.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            id = pokemon.get().getId();
+            cached = encode(pokemon.get(), variant);
+            if (invalidations.get() == generation) {
+                cache.put(new Key(id, variant), cached);
+            }
+        }
+        served.accept(id);
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(CACHED_MEDIA_TYPES.get(variant))
+                .eTag(cached.etag())
+                .body(cached.body());
+    }
+
+    /**
+     * @return the id for this name if the lookup index already knows it, else null
+     */
+    public Long idForName(String name) {
+        PokemonLookupIndex index = lookupIndex.getIfAvailable();
+        return index != null && index.isReady() ? index.findIdByName(name) : null;
+    }
+
+    /**
+     * @return the id for this Pokedex number if the lookup index already knows it, else null
+     */
+    public Long idForPokedexNumber(Integer pokedexNumber) {
+        PokemonLookupIndex index = lookupIndex.getIfAvailable();
+        return index != null && index.isReady() ? index.findIdByPokedexNumber(pokedexNumber) : null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        invalidations.incrementAndGet();
+        if (event.kind() != EntityChangeEvent.EntityKind.POKEMON || event.isFullRefresh()) {
+            cache.invalidateAll();
+            return;
+        }
+        for (Long id : event.ids()) {
+            for (int variant = 0; variant < CACHED_MEDIA_TYPES.size(); variant++) {
+                cache.invalidate(new Key(id, variant));
+            }
+        }
+    }
+
+    private static int negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return 0;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (IllegalArgumentException ex) {
+            return -1;
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType mediaType : accepted) {
+            for (int variant = 0; variant < CACHED_MEDIA_TYPES.size(); variant++) {
+                if (mediaType.isCompatibleWith(CACHED_MEDIA_TYPES.get(variant))) {
+                    return variant;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private EncodedResponse encode(Pokemon pokemon, int variant) {
+        try {
+            byte[] body = mapper(variant).writeValueAsBytes(pokemon);
+            // The hash tells media types apart and changes with the embedded types, which have no version here
+            long version = pokemon.getVersion() != null ? pokemon.getVersion() : 0;
+            return new EncodedResponse(body, "\"" + version + "-" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode Pokemon " + pokemon.getId(), ex);
+        }
+    }
+
+    // The mappers of the MVC converters, so cached bytes match uncached responses exactly
+    private ObjectMapper mapper(int variant) {
+        ObjectMapper mapper = mappers[variant];
+        if (mapper == null) {
+            MediaType mediaType = CACHED_MEDIA_TYPES.get(variant);
+            for (HttpMessageConverter<?> converter : handlerAdapter.getObject().getMessageConverters()) {
+                if (converter instanceof AbstractJackson2HttpMessageConverter jackson
+                        && jackson.canWrite(Pokemon.class, mediaType)) {
+                    mapper = jackson.getObjectMapper();
+                    break;
+                }
+            }
+            if (mapper == null) {
+                throw new IllegalStateException("No Jackson converter for " + mediaType);
+            }
+            mappers[variant] = mapper;
+        }
+        return mapper;
+    }
+
+    private record Key(long id, int variant) {
+    }
+
+    private record EncodedResponse(byte[] body, String etag) {
+    }
+}
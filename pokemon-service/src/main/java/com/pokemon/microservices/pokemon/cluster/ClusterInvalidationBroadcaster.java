@@ -0,0 +1,246 @@
+package com.pokemon.microservices.pokemon.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemon.microservices.pokemon.config.ClusterInvalidationProperties;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.ChangeAction;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.EntityKind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cluster Invalidation Broadcaster
+ *
+ * Collects the local {@link EntityChangeEvent}s, coalesces them per entity and
+ * pushes them every flush interval as one numbered {@link InvalidationBatch}
+ * to every other pokemon-service instance. Recent batches are kept so a peer
+ * that missed some can fetch them; an idle instance sends heartbeats carrying
+ * its latest sequence so peers notice a lost batch even when nothing changes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pokemon.cluster.invalidation", name = "enabled", havingValue = "true")
+public class ClusterInvalidationBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterInvalidationBroadcaster.class);
+
+    public static final String PATH = "/internal/cache/invalidations";
+    public static final String TOKEN_HEADER = "X-Cluster-Token";
+
+    private final ClusterInvalidationProperties properties;
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final String serviceId;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final long epoch = System.currentTimeMillis();
+    private volatile String localUrl;
+
+    // Guarded by "this"
+    private final Map<ChangeKey, ChangeAction> pending = new LinkedHashMap<>();
+    private final Set<EntityKind> pendingFullRefresh = EnumSet.noneOf(EntityKind.class);
+    private final Deque<InvalidationBatch> history = new ArrayDeque<>();
+    private long sequence;
+    private long lastSentNanos = System.nanoTime();
+
+    @Autowired
+    public ClusterInvalidationBroadcaster(ClusterInvalidationProperties properties,
+                                          ObjectProvider<DiscoveryClient> discoveryClient,
+                                          ObjectProvider<Registration> registration,
+                                          ObjectMapper objectMapper,
+                                          @Value("${spring.application.name}") String serviceId) {
+        this.properties = properties;
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.objectMapper = objectMapper;
+        this.serviceId = serviceId;
+        this.localUrl = properties.getAdvertisedUrl();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getRequestTimeout())
+                .build();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (localUrl == null) {
+            localUrl = "http://localhost:" + event.getWebServer().getPort();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        synchronized (this) {
+            if (event.isFullRefresh()) {
+                pendingFullRefresh.add(event.kind());
+                return;
+            }
+            for (Long id : event.ids()) {
+                ChangeKey key = new ChangeKey(event.kind(), id);
+                // Re-insert so the entry moves to the end and keeps the latest action
+                pending.remove(key);
+                pending.put(key, event.action());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pokemon.cluster.invalidation.flush-interval:PT0.01S}")
+    public void flush() {
+        InvalidationBatch batch = nextBatch();
+        if (batch == null) {
+            return;
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(batch);
+        } catch (JsonProcessingException ex) {
+            logger.error("Could not serialize invalidation batch {}: {}", batch.sequence(), ex.getMessage());
+            return;
+        }
+        for (String peer : peers()) {
+            send(peer, body, batch);
+        }
+    }
+
+    /**
+     * @return the batches sent after the given sequence, or empty if some of them
+     *         are no longer in the history
+     */
+    public synchronized Optional<List<InvalidationBatch>> batchesAfter(long afterSequence) {
+        if (afterSequence >= sequence) {
+            return Optional.of(List.of());
+        }
+        InvalidationBatch oldest = history.peekFirst();
+        if (oldest == null || oldest.sequence() > afterSequence + 1) {
+            return Optional.empty();
+        }
+        return Optional.of(history.stream()
+                .filter(batch -> batch.sequence() > afterSequence)
+                .toList());
+    }
+
+    private synchronized InvalidationBatch nextBatch() {
+        long now = System.nanoTime();
+        if (pending.isEmpty() && pendingFullRefresh.isEmpty()) {
+            if (now - lastSentNanos < properties.getHeartbeatInterval().toNanos()) {
+                return null;
+            }
+            lastSentNanos = now;
+            return new InvalidationBatch(nodeId, localUrl, epoch, sequence, List.of());
+        }
+
+        List<EntityChangeEvent> changes = coalesce();
+        pending.clear();
+        pendingFullRefresh.clear();
+
+        InvalidationBatch batch = new InvalidationBatch(nodeId, localUrl, epoch, ++sequence, changes);
+        history.addLast(batch);
+        while (history.size() > properties.getHistorySize()) {
+            history.removeFirst();
+        }
+        lastSentNanos = now;
+        return batch;
+    }
+
+    private List<EntityChangeEvent> coalesce() {
+        List<EntityChangeEvent> changes = new ArrayList<>();
+        for (EntityKind kind : pendingFullRefresh) {
+            changes.add(EntityChangeEvent.fullRefresh(kind));
+        }
+        Map<ChangeGroup, List<Long>> grouped = new LinkedHashMap<>();
+        pending.forEach((key, action) -> {
+            if (!pendingFullRefresh.contains(key.kind())) {
+                grouped.computeIfAbsent(new ChangeGroup(key.kind(), action), group -> new ArrayList<>())
+                        .add(key.id());
+            }
+        });
+        grouped.forEach((group, ids) -> changes.add(new EntityChangeEvent(group.kind(), group.action(), ids)));
+        return changes;
+    }
+
+    private Set<String> peers() {
+        Set<String> peers = new LinkedHashSet<>();
+        properties.getStaticPeers().forEach(url -> peers.add(stripTrailingSlash(url)));
+
+        DiscoveryClient discovery = discoveryClient.getIfAvailable();
+        if (discovery != null) {
+            Registration self = registration.getIfAvailable();
+            String selfId = self != null ? self.getInstanceId() : null;
+            for (ServiceInstance instance : discovery.getInstances(serviceId)) {
+                if (selfId == null || !selfId.equals(instance.getInstanceId())) {
+                    peers.add(stripTrailingSlash(instance.getUri().toString()));
+                }
+            }
+        }
+        if (localUrl != null) {
+            peers.remove(stripTrailingSlash(localUrl));
+        }
+        return peers;
+    }
+
+    private void send(String peer, byte[] body, InvalidationBatch batch) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(peer + PATH))
+                .timeout(properties.getRequestTimeout())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(TOKEN_HEADER, properties.getToken())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    // Failures are repaired by the peer's catch-up on the next batch or heartbeat
+                    if (ex != null) {
+                        logger.debug("Invalidation batch {} to {} failed: {}", batch.sequence(), peer, ex.getMessage());
+                    } else if (response.statusCode() >= 300) {
+                        logger.debug("Invalidation batch {} to {} rejected with {}", batch.sequence(), peer,
+                                response.statusCode());
+                    }
+                });
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private record ChangeKey(EntityKind kind, Long id) {
+    }
+
+    private record ChangeGroup(EntityKind kind, ChangeAction action) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.pokemon.microservices.pokemon.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemon.microservices.pokemon.config.ClusterInvalidationProperties;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.EntityKind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cluster Invalidation Receiver
+ *
+ * Applies {@link InvalidationBatch}es from other instances in sequence order by
+ * republishing their changes locally as remote {@link EntityChangeEvent}s.
+ * When a batch or heartbeat shows that something was missed, the missing
+ * batches are fetched from the origin; if it no longer has them everything is
+ * reloaded instead.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pokemon.cluster.invalidation", name = "enabled", havingValue = "true")
+public class ClusterInvalidationReceiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterInvalidationReceiver.class);
+
+    private static final TypeReference<List<InvalidationBatch>> BATCH_LIST = new TypeReference<>() {
+    };
+
+    private final ClusterInvalidationBroadcaster broadcaster;
+    private final ClusterInvalidationProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Map<String, PeerState> peers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ClusterInvalidationReceiver(ClusterInvalidationBroadcaster broadcaster,
+                                       ClusterInvalidationProperties properties,
+                                       ApplicationEventPublisher eventPublisher,
+                                       ObjectMapper objectMapper) {
+        this.broadcaster = broadcaster;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getRequestTimeout())
+                .build();
+    }
+
+    public void receive(InvalidationBatch batch) {
+        if (batch.origin() == null || batch.origin().equals(broadcaster.getNodeId())) {
+            return;
+        }
+        PeerState state = peers.computeIfAbsent(batch.origin(), origin -> new PeerState());
+        long target = batch.isHeartbeat() ? batch.sequence() : batch.sequence() - 1;
+        long after;
+        synchronized (state) {
+            if (state.epoch != batch.epoch()) {
+                // First contact or the peer restarted: start following it from this batch
+                state.epoch = batch.epoch();
+                state.lastSequence = target;
+            }
+            if (state.lastSequence >= target) {
+                applyInOrder(state, batch);
+                return;
+            }
+            after = state.lastSequence;
+        }
+
+        // Missed something: fetch it without holding the lock, so a slow origin only
+        // delays this batch and not the other ones being received from it
+        logger.debug("Missed invalidations from {} after sequence {}, catching up to {}",
+                batch.origin(), after, target);
+        List<InvalidationBatch> missed = fetchAfter(batch.originUrl(), after);
+
+        synchronized (state) {
+            if (state.epoch != batch.epoch()) {
+                return;
+            }
+            if (missed != null) {
+                for (InvalidationBatch earlier : missed) {
+                    if (earlier.epoch() == state.epoch && earlier.sequence() <= target) {
+                        applyInOrder(state, earlier);
+                    }
+                }
+            }
+            if (state.lastSequence < target) {
+                // Not recovered, here or by a concurrent catch-up
+                logger.warn("Could not recover invalidations from {}, reloading all cached data", batch.origin());
+                for (EntityKind kind : EntityKind.values()) {
+                    eventPublisher.publishEvent(EntityChangeEvent.fullRefresh(kind).asRemote());
+                }
+                state.lastSequence = target;
+            }
+            applyInOrder(state, batch);
+        }
+    }
+
+    // Applies the batch if it is the next one expected; callers hold the state's lock
+    private void applyInOrder(PeerState state, InvalidationBatch batch) {
+        if (!batch.isHeartbeat() && batch.sequence() == state.lastSequence + 1) {
+            apply(batch);
+            state.lastSequence = batch.sequence();
+        }
+    }
+
+    private List<InvalidationBatch> fetchAfter(String originUrl, long afterSequence) {
+        if (originUrl == null) {
+            return null;
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create(originUrl + ClusterInvalidationBroadcaster.PATH + "?after=" + afterSequence))
+                .timeout(properties.getRequestTimeout())
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(ClusterInvalidationBroadcaster.TOKEN_HEADER, properties.getToken())
+                .GET();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != HttpStatus.OK.value()) {
+                return null;
+            }
+            return objectMapper.readValue(response.body(), BATCH_LIST);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception ex) {
+            logger.debug("Catch-up request to {} failed: {}", originUrl, ex.getMessage());
+            return null;
+        }
+    }
+
+    private void apply(InvalidationBatch batch) {
+        for (EntityChangeEvent change : batch.changes()) {
+            eventPublisher.publishEvent(change.asRemote());
+        }
+    }
+
+    private static final class PeerState {
+        private long epoch = -1;
+        private long lastSequence;
+    }
+}
@@ -0,0 +1,28 @@
+package com.pokemon.microservices.pokemon.cluster;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+
+import java.util.List;
+
+/**
+ * A numbered group of coalesced changes sent from one instance to its peers.
+ *
+ * @param origin   instance that made the changes
+ * @param originUrl base URL peers call to catch up on missed batches
+ * @param epoch    start time of the origin; a new epoch restarts the sequence
+ * @param sequence position of this batch in the origin's stream; heartbeats
+ *                 repeat the last sequence with no changes
+ */
+public record InvalidationBatch(String origin, String originUrl, long epoch, long sequence,
+                                List<EntityChangeEvent> changes) {
+
+    public InvalidationBatch {
+        changes = changes == null ? List.of() : List.copyOf(changes);
+    }
+
+    @JsonIgnore
+    public boolean isHeartbeat() {
+        return changes.isEmpty();
+    }
+}
@@ -0,0 +1,47 @@
+package com.pokemon.microservices.pokemon.cluster;
+
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Second Level Cache Invalidator
+ *
+ * Evicts Hibernate's second-level and query caches for changes made by other
+ * instances. Runs before every other change listener so they reload fresh rows.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pokemon.cluster.invalidation", name = "enabled", havingValue = "true")
+public class SecondLevelCacheInvalidator {
+
+    private final SessionFactory sessionFactory;
+
+    @Autowired
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (!event.remote()) {
+            return;
+        }
+        Class<?> entityClass = event.kind() == EntityChangeEvent.EntityKind.POKEMON ? Pokemon.class : PokemonType.class;
+        if (event.isFullRefresh()) {
+            sessionFactory.getCache().evictEntityData(entityClass);
+        } else {
+            event.ids().forEach(id -> sessionFactory.getCache().evictEntityData(entityClass, id));
+        }
+        // Cached natural-key and list queries may include the changed rows
+        sessionFactory.getCache().evictQueryRegions();
+    }
+}
@@ -0,0 +1,31 @@
+package com.pokemon.microservices.pokemon.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Analysis Properties
+ *
+ * Settings under {@code pokemon.analysis}.
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.analysis")
+public class AnalysisProperties {
+
+    private int teamSize = 6;
+
+    // Most teams accepted by one bulk analysis
+    private int maxTeams = 100;
+
+    // Search time of the team optimizer when the request sets none, and the most a request may ask for
+    private Duration optimizeTimeBudget = Duration.ofMillis(500);
+    private Duration maxOptimizeTimeBudget = Duration.ofSeconds(5);
+
+    // Threads of the optimizer's ForkJoin pool; 0 means one per processor
+    private int optimizeParallelism = 0;
+
+    // Score of each covered type; above any team's stat total so coverage always comes first
+    private long coverageWeight = 10_000;
+}
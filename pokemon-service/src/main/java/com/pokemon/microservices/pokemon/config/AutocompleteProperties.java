@@ -0,0 +1,25 @@
+package com.pokemon.microservices.pokemon.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Autocomplete Properties
+ *
+ * Settings under {@code pokemon.autocomplete}.
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.autocomplete")
+public class AutocompleteProperties {
+
+    // Completions cached per trie node; also the upper bound for ?limit=
+    private int maxSuggestions = 10;
+
+    // Fuzzy fallback: no edits for prefixes up to this length, one edit up to twice it, then two
+    private int exactPrefixLength = 2;
+
+    // How often popularity counters are folded back into the cached rankings
+    private Duration reweighInterval = Duration.ofSeconds(30);
+}
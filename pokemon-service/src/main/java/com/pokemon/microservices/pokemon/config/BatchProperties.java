@@ -0,0 +1,17 @@
+package com.pokemon.microservices.pokemon.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Batch Properties
+ *
+ * Settings under {@code pokemon.batch}.
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.batch")
+public class BatchProperties {
+
+    // Most keys accepted by one multi-get
+    private int maxSize = 50;
+}
@@ -0,0 +1,51 @@
+package com.pokemon.microservices.pokemon.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary Encoding Configuration
+ *
+ * Lets clients ask for {@code application/cbor} or {@code application/x-jackson-smile}
+ * instead of JSON through the Accept header (and send them as request bodies).
+ * Both are encoded from the same Jackson settings as JSON, so the documents are
+ * identical, just smaller and cheaper to parse. JSON stays the default.
+ */
+@Configuration
+public class BinaryEncodingConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Autowired
+    public BinaryEncodingConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring registers its own CBOR/Smile converters when the formats are on the
+        // classpath, built without Boot's Jackson settings; ours replace them.
+        // Appended after JSON so "Accept: */*" keeps getting JSON
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(mapperFor(new CBORFactory())));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(mapperFor(new SmileFactory())));
+    }
+
+    private ObjectMapper mapperFor(JsonFactory factory) {
+        Jackson2ObjectMapperBuilder builder = objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::json);
+        return builder.factory(factory).build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.pokemon.microservices.pokemon.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Change Feed Properties
+ *
+ * Settings under {@code pokemon.changes} for the {@code /api/pokemon/changes}
+ * stream: how much history is kept for resuming and how far a subscriber may
+ * fall behind before it is disconnected.
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.changes")
+public class ChangeFeedProperties {
+
+    // Recent changes kept so a reconnecting client can resume from Last-Event-ID
+    private int historySize = 4096;
+
+    // Changes queued per subscriber; a subscriber that falls further behind is disconnected
+    private int bufferSize = 256;
+
+    private int maxSubscribers = 500;
+
+    // Keep-alive sent on an idle stream so proxies keep it open and dead clients are noticed
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    // Streams are closed after this long; clients reconnect with Last-Event-ID
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,42 @@
+package com.pokemon.microservices.pokemon.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cluster Invalidation Properties
+ *
+ * Settings under {@code pokemon.cluster.invalidation}. Peers are the other
+ * {@code pokemon-service} instances registered in Eureka plus any static peers.
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.cluster.invalidation")
+public class ClusterInvalidationProperties {
+
+    // Requires a token: anyone who can reach the endpoint can evict every cache
+    private boolean enabled = false;
+
+    // Pending changes are coalesced and sent at most this often
+    private Duration flushInterval = Duration.ofMillis(10);
+
+    // An empty batch carrying the current sequence is sent this often so peers notice gaps
+    private Duration heartbeatInterval = Duration.ofSeconds(5);
+
+    // Sent batches kept for peers that fall behind; older gaps force a full refresh
+    private int historySize = 1024;
+
+    private Duration requestTimeout = Duration.ofSeconds(1);
+
+    // Base URLs of peers not registered in Eureka, e.g. http://localhost:8082
+    private List<String> staticPeers = new ArrayList<>();
+
+    // URL other instances use to reach this one; defaults to the Eureka registration
+    private String advertisedUrl;
+
+    // Shared secret sent and required in the X-Cluster-Token header; mandatory when enabled
+    private String token;
+}
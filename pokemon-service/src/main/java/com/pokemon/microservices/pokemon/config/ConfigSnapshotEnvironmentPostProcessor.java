@@ -0,0 +1,155 @@
+package com.pokemon.microservices.pokemon.config;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.PropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Config Snapshot Environment Post Processor
+ *
+ * Saves the properties received from the Config Server to a local file after
+ * every successful start. When the server does not answer (the import is
+ * optional and the client timeouts are short), the last snapshot is loaded in
+ * its place, with the same precedence, so the service starts with the
+ * configuration it had last time instead of only its local defaults.
+ *
+ * Secrets are never written: properties whose name ends in one of the
+ * {@code pokemon.config-snapshot.secret-suffixes}, encrypted {@code {cipher}}
+ * values and URIs carrying a password are left out, so an offline start
+ * takes those from the local environment. The file is readable by its owner only.
+ */
+public class ConfigSnapshotEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    private static final String CONFIG_SERVER_SOURCE_PREFIX = "configserver:";
+    private static final String LOCAL_CONFIG_SOURCE_PREFIX = "Config resource";
+    private static final String SNAPSHOT_SOURCE_NAME = "configserver-snapshot";
+    private static final String DEFAULT_SECRET_SUFFIXES = "password,secret,key,token,credentials";
+    private static final Pattern URI_WITH_PASSWORD = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]*://[^/@\\s]*:[^/@\\s]*@");
+
+    private final Log logger;
+
+    public ConfigSnapshotEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.logger = logFactory.getLog(ConfigSnapshotEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public int getOrder() {
+        // Needs the Config Server sources, which are loaded as config data
+        return ConfigDataEnvironmentPostProcessor.ORDER + 1;
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty("pokemon.config-snapshot.enabled", Boolean.class, true)
+                || !environment.getProperty("spring.cloud.config.enabled", Boolean.class, true)
+                || !environment.getProperty("spring.config.import", "").contains(CONFIG_SERVER_SOURCE_PREFIX)) {
+            return;
+        }
+        Path path = Path.of(environment.resolvePlaceholders(environment.getProperty("pokemon.config-snapshot.path",
+                "${user.home}/.pokemon/config-snapshot/${spring.application.name}.properties")));
+
+        List<String> secretSuffixes = Arrays.stream(environment.getProperty(
+                        "pokemon.config-snapshot.secret-suffixes", DEFAULT_SECRET_SUFFIXES).split(","))
+                .map(suffix -> suffix.trim().toLowerCase(Locale.ROOT))
+                .filter(suffix -> !suffix.isEmpty())
+                .toList();
+        Properties remote = remoteProperties(environment.getPropertySources(), secretSuffixes);
+        if (!remote.isEmpty()) {
+            save(remote, path);
+        } else if (Files.isReadable(path)) {
+            restore(environment.getPropertySources(), path);
+        }
+    }
+
+    // Highest-precedence value of every non-secret property the Config Server sent
+    private static Properties remoteProperties(MutablePropertySources sources, List<String> secretSuffixes) {
+        Properties properties = new Properties();
+        for (PropertySource<?> source : sources) {
+            if (source.getName().startsWith(CONFIG_SERVER_SOURCE_PREFIX)
+                    && source instanceof EnumerablePropertySource<?> enumerable) {
+                for (String name : enumerable.getPropertyNames()) {
+                    Object value = enumerable.getProperty(name);
+                    if (value != null && !properties.containsKey(name)
+                            && !isSecret(name, String.valueOf(value), secretSuffixes)) {
+                        properties.setProperty(name, String.valueOf(value));
+                    }
+                }
+            }
+        }
+        return properties;
+    }
+
+    static boolean isSecret(String name, String value, List<String> secretSuffixes) {
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        for (String suffix : secretSuffixes) {
+            if (lowerName.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return value.startsWith("{cipher}") || URI_WITH_PASSWORD.matcher(value).find();
+    }
+
+    private void save(Properties properties, Path path) {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            // Write then move so a crash never leaves a half-written snapshot
+            Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException ex) {
+                // Not a POSIX file system; the temp file already has the platform's private defaults
+            }
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Last configuration received from the Config Server");
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Saved " + properties.size() + " Config Server properties to " + path);
+        } catch (IOException ex) {
+            logger.warn("Could not save Config Server snapshot to " + path + ": " + ex.getMessage());
+        }
+    }
+
+    private void restore(MutablePropertySources sources, Path path) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        } catch (IOException ex) {
+            logger.warn("Could not read Config Server snapshot " + path + ": " + ex.getMessage());
+            return;
+        }
+        PropertiesPropertySource snapshot = new PropertiesPropertySource(SNAPSHOT_SOURCE_NAME, properties);
+        // Same place the Config Server sources would take: above the local application files
+        String firstLocal = sources.stream()
+                .map(PropertySource::getName)
+                .filter(name -> name.startsWith(LOCAL_CONFIG_SOURCE_PREFIX))
+                .findFirst()
+                .orElse(null);
+        if (firstLocal != null) {
+            sources.addBefore(firstLocal, snapshot);
+        } else {
+            sources.addLast(snapshot);
+        }
+        logger.warn("Config Server unavailable; using the snapshot saved at " + path);
+    }
+}
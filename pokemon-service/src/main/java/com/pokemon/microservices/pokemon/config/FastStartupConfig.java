@@ -0,0 +1,35 @@
+package com.pokemon.microservices.pokemon.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Fast Startup Configuration
+ *
+ * With {@code spring.main.lazy-initialization} (the fast-startup profile) beans
+ * are only created when first used. Beans doing background work (scheduled
+ * flushes, index builds and cache invalidation on events) are kept eager, so
+ * they behave exactly as in a normal start.
+ */
+@Configuration
+public class FastStartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter backgroundBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) ->
+                hasAnnotatedMethod(beanType, Scheduled.class) || hasAnnotatedMethod(beanType, EventListener.class);
+    }
+
+    private static boolean hasAnnotatedMethod(Class<?> beanType, Class<? extends Annotation> annotation) {
+        return !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        AnnotatedElementUtils.hasAnnotation(method, annotation) ? Boolean.TRUE : null).isEmpty();
+    }
+}
@@ -0,0 +1,22 @@
+package com.pokemon.microservices.pokemon.config;
+
+import com.pokemon.microservices.pokemon.dto.PokemonFieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson Filter Configuration
+ *
+ * Registers the default (serialize everything) Pokemon property filter on every
+ * mapper built by Boot, JSON and binary alike. Requests with {@code ?fields=}
+ * replace it per response.
+ */
+@Configuration
+public class JacksonFilterConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer pokemonFilterCustomizer() {
+        return builder -> builder.filters(PokemonFieldSelection.defaultFilters());
+    }
+}
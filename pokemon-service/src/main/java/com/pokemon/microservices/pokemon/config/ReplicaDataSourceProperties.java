@@ -0,0 +1,38 @@
+package com.pokemon.microservices.pokemon.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read Replica DataSource Properties
+ *
+ * Settings under {@code pokemon.datasource.replicas}. Username, password and
+ * driver fall back to {@code spring.datasource} when not set.
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+
+    private List<String> urls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    // How often unhealthy replicas are re-checked (and healthy ones confirmed)
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    private Duration validationTimeout = Duration.ofSeconds(1);
+
+    // Read-only transactions started within this window after a write go to the primary.
+    // Zero disables read-your-writes routing.
+    private Duration readYourWritesWindow = Duration.ZERO;
+}
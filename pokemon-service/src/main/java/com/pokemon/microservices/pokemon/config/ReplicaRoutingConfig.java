@@ -0,0 +1,84 @@
+package com.pokemon.microservices.pokemon.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read Replica Routing Configuration
+ *
+ * Replaces the auto-configured DataSource when {@code pokemon.datasource.replicas.enabled}
+ * is set: writes go to {@code spring.datasource}, read-only transactions to
+ * {@code pokemon.datasource.replicas.urls}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pokemon.datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaRoutingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties primaryProperties,
+                                                             ReplicaDataSourceProperties replicaProperties) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("pokemon-primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        List<String> urls = replicaProperties.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            replicas.add(buildReplica(i, urls.get(i), primaryProperties, replicaProperties));
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas,
+                replicaProperties.getReadYourWritesWindow(), replicaProperties.getValidationTimeout());
+        routing.checkReplicas();
+        routing.startHealthChecks(replicaProperties.getHealthCheckInterval());
+
+        logger.info("Read replica routing enabled: {} replica(s), {} healthy, read-your-writes window {}",
+                urls.size(), routing.getHealthyReplicaCount(), replicaProperties.getReadYourWritesWindow());
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private HikariDataSource buildReplica(int index, String url, DataSourceProperties primaryProperties,
+                                          ReplicaDataSourceProperties replicaProperties) {
+        String username = replicaProperties.getUsername() != null
+                ? replicaProperties.getUsername() : primaryProperties.determineUsername();
+        String password = replicaProperties.getPassword() != null
+                ? replicaProperties.getPassword() : primaryProperties.determinePassword();
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primaryProperties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("pokemon-replica-" + index);
+        replica.setReadOnly(true);
+        replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        // Let the health check decide instead of failing startup on an unreachable replica
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+}
@@ -0,0 +1,211 @@
+package com.pokemon.microservices.pokemon.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read Replica Routing DataSource
+ *
+ * Sends read-only transactions to the healthy replicas in round-robin order and
+ * everything else to the primary. A replica that fails to hand out a connection
+ * is taken out of rotation until the next health check sees it valid again.
+ *
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the physical connection is only fetched once the transaction's read-only
+ * flag is visible.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final long readYourWritesNanos;
+    private final int validationTimeoutSeconds;
+
+    private volatile long lastWriteNanos;
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    Duration readYourWritesWindow, Duration validationTimeout) {
+        this.primary = primary;
+        this.readYourWritesNanos = readYourWritesWindow.toNanos();
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+        this.lastWriteNanos = System.nanoTime() - readYourWritesNanos - 1;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicaDataSources.get(i));
+            replicas.add(replica);
+            targets.put(replica.key, replica.dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return route().key;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route().replica;
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException ex) {
+            markUnhealthy(replica, ex);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = route().replica;
+        if (replica == null) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.dataSource.getConnection(username, password);
+        } catch (SQLException ex) {
+            markUnhealthy(replica, ex);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    private Route route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                lastWriteNanos = System.nanoTime();
+            }
+            return Route.PRIMARY_ROUTE;
+        }
+        if (System.nanoTime() - lastWriteNanos <= readYourWritesNanos) {
+            return Route.PRIMARY_ROUTE;
+        }
+        Replica replica = nextHealthyReplica();
+        return replica != null ? new Route(replica.key, replica) : Route.PRIMARY_ROUTE;
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (candidate.healthy) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void markUnhealthy(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            logger.warn("Replica {} removed from rotation: {}", replica.key, cause.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    /**
+     * Validates every replica once and updates its place in the rotation.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                boolean valid = connection.isValid(validationTimeoutSeconds);
+                if (valid && !replica.healthy) {
+                    logger.info("Replica {} back in rotation", replica.key);
+                }
+                if (!valid) {
+                    markUnhealthy(replica, new SQLException("connection validation failed"));
+                } else {
+                    replica.healthy = true;
+                }
+            } catch (SQLException ex) {
+                markUnhealthy(replica, ex);
+            }
+        }
+    }
+
+    public void startHealthChecks(Duration interval) {
+        if (replicas.isEmpty() || healthChecker != null) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void destroy() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            close(replica.dataSource);
+        }
+        close(primary);
+    }
+
+    private static void close(DataSource dataSource) {
+        if (dataSource instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException ex) {
+                logger.warn("Failed to close data source: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private record Route(String key, Replica replica) {
+        private static final Route PRIMARY_ROUTE = new Route(PRIMARY, null);
+    }
+}
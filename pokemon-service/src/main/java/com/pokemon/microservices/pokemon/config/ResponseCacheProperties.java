@@ -0,0 +1,20 @@
+package com.pokemon.microservices.pokemon.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Response Cache Properties
+ *
+ * Settings under {@code pokemon.response-cache}.
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on the encoded bytes kept, across all media types
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+}
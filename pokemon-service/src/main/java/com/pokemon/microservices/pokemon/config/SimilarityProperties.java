@@ -0,0 +1,20 @@
+package com.pokemon.microservices.pokemon.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Similarity Properties
+ *
+ * Settings under {@code pokemon.similarity}.
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.similarity")
+public class SimilarityProperties {
+
+    // Most neighbours returned by one search
+    private int maxK = 100;
+
+    // Writes kept outside the trees before they are rebuilt
+    private int deltaLimit = 256;
+}
@@ -0,0 +1,36 @@
+package com.pokemon.microservices.pokemon.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Snapshot Properties
+ *
+ * Settings under {@code pokemon.snapshot}: where the binary Pokedex snapshot
+ * lives, whether an empty database is seeded from it on startup, and the
+ * database-free read-only mode that serves straight from it.
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.snapshot")
+public class SnapshotProperties {
+
+    private Path path = Path.of(System.getProperty("user.home"), ".pokemon", "snapshot", "pokedex.snapshot");
+
+    // Seed the database from the snapshot when it starts with no types and no Pokemon
+    private boolean loadOnStartup = true;
+
+    // Rows per JDBC batch when loading
+    private int batchSize = 1000;
+
+    // Shared secret required in the X-Admin-Token header; the export is refused while unset
+    private String adminToken;
+
+    // Serve reads from the snapshot file with no database; writes are rejected
+    private boolean readOnly = false;
+
+    // How often read-only mode checks the file for a newer snapshot
+    private Duration watchInterval = Duration.ofSeconds(5);
+}
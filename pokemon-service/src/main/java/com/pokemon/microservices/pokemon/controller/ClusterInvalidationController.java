@@ -0,0 +1,80 @@
+package com.pokemon.microservices.pokemon.controller;
+
+import com.pokemon.microservices.pokemon.cluster.ClusterInvalidationBroadcaster;
+import com.pokemon.microservices.pokemon.cluster.ClusterInvalidationReceiver;
+import com.pokemon.microservices.pokemon.cluster.InvalidationBatch;
+import com.pokemon.microservices.pokemon.config.ClusterInvalidationProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Cluster Invalidation Controller
+ *
+ * Internal endpoints used between pokemon-service instances: peers push
+ * invalidation batches here and fetch the ones they missed. Every request
+ * must carry the shared token; the application does not start without one.
+ */
+@RestController
+@RequestMapping(ClusterInvalidationBroadcaster.PATH)
+@ConditionalOnProperty(prefix = "pokemon.cluster.invalidation", name = "enabled", havingValue = "true")
+public class ClusterInvalidationController {
+
+    private final ClusterInvalidationBroadcaster broadcaster;
+    private final ClusterInvalidationReceiver receiver;
+    private final ClusterInvalidationProperties properties;
+
+    @Autowired
+    public ClusterInvalidationController(ClusterInvalidationBroadcaster broadcaster,
+                                         ClusterInvalidationReceiver receiver,
+                                         ClusterInvalidationProperties properties) {
+        this.broadcaster = broadcaster;
+        this.receiver = receiver;
+        this.properties = properties;
+        if (!StringUtils.hasText(properties.getToken())) {
+            throw new IllegalStateException("pokemon.cluster.invalidation.token must be set when "
+                    + "pokemon.cluster.invalidation.enabled is true");
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<Void> receive(
+            @RequestHeader(value = ClusterInvalidationBroadcaster.TOKEN_HEADER, required = false) String token,
+            @RequestBody InvalidationBatch batch) {
+        if (!isAuthorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        receiver.receive(batch);
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping
+    public ResponseEntity<List<InvalidationBatch>> batchesAfter(
+            @RequestHeader(value = ClusterInvalidationBroadcaster.TOKEN_HEADER, required = false) String token,
+            @RequestParam long after) {
+        if (!isAuthorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return broadcaster.batchesAfter(after)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).build());
+    }
+
+    private boolean isAuthorized(String token) {
+        return token != null && MessageDigest.isEqual(
+                properties.getToken().getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package com.pokemon.microservices.pokemon.controller;
+
+import com.pokemon.microservices.pokemon.config.SnapshotProperties;
+import com.pokemon.microservices.pokemon.dto.PokedexSnapshotInfo;
+import com.pokemon.microservices.pokemon.service.PokedexSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Pokedex Snapshot Controller
+ *
+ * Admin endpoint that writes the binary Pokedex snapshot to the configured
+ * path, ready to seed new environments. The gateway's discovery routes reach
+ * it too, so every request must carry the admin token; with no token
+ * configured the export is refused.
+ */
+@RestController
+@RequestMapping("/internal/admin")
+@ConditionalOnProperty(prefix = "pokemon.snapshot", name = "read-only", havingValue = "false", matchIfMissing = true)
+public class PokedexSnapshotController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokedexSnapshotController.class);
+
+    public static final String TOKEN_HEADER = "X-Admin-Token";
+
+    private final PokedexSnapshotService snapshotService;
+    private final SnapshotProperties properties;
+
+    @Autowired
+    public PokedexSnapshotController(PokedexSnapshotService snapshotService, SnapshotProperties properties) {
+        this.snapshotService = snapshotService;
+        this.properties = properties;
+    }
+
+    @PostMapping("/export-snapshot")
+    public ResponseEntity<PokedexSnapshotInfo> exportSnapshot(
+            @RequestHeader(value = TOKEN_HEADER, required = false) String token) {
+        if (!isAuthorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(snapshotService.exportSnapshot(properties.getPath()));
+        } catch (UncheckedIOException ex) {
+            logger.error("Snapshot export failed: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    private boolean isAuthorized(String token) {
+        String adminToken = properties.getAdminToken();
+        return StringUtils.hasText(adminToken) && token != null && MessageDigest.isEqual(
+                adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,64 @@
+package com.pokemon.microservices.pokemon.controller;
+
+import com.pokemon.microservices.pokemon.dto.TeamAnalysis;
+import com.pokemon.microservices.pokemon.dto.TeamAnalysisRequest;
+import com.pokemon.microservices.pokemon.dto.TeamOptimizationRequest;
+import com.pokemon.microservices.pokemon.dto.TeamOptimizationResult;
+import com.pokemon.microservices.pokemon.service.PokemonAnalysisService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Pokemon Analysis REST Controller
+ *
+ * Provides REST endpoints for team analysis and optimization.
+ */
+@RestController
+@RequestMapping("/api/pokemon/analysis")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(prefix = "pokemon.snapshot", name = "read-only", havingValue = "false", matchIfMissing = true)
+public class PokemonAnalysisController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokemonAnalysisController.class);
+
+    private final PokemonAnalysisService analysisService;
+
+    @Autowired
+    public PokemonAnalysisController(PokemonAnalysisService analysisService) {
+        this.analysisService = analysisService;
+    }
+
+    // Team Analysis Endpoints
+
+    @PostMapping("/team")
+    public ResponseEntity<TeamAnalysis> analyzeTeam(@RequestBody TeamAnalysisRequest request) {
+        logger.debug("REST: Analyzing team {}", request.pokemonIds());
+
+        return ResponseEntity.ok(analysisService.analyzeTeam(request.pokemonIds()));
+    }
+
+    @PostMapping("/teams")
+    public ResponseEntity<List<TeamAnalysis>> analyzeTeams(@RequestBody List<TeamAnalysisRequest> requests) {
+        logger.debug("REST: Analyzing {} teams", requests.size());
+
+        return ResponseEntity.ok(analysisService.analyzeTeams(requests.stream()
+                .map(request -> request != null ? request.pokemonIds() : null)
+                .toList()));
+    }
+
+    // Team Optimization Endpoints
+
+    @PostMapping("/optimize-team")
+    public ResponseEntity<TeamOptimizationResult> optimizeTeam(
+            @RequestBody(required = false) TeamOptimizationRequest request) {
+        logger.info("REST: Optimizing team with constraints {}", request);
+
+        return ResponseEntity.ok(analysisService.optimizeTeam(request));
+    }
+}
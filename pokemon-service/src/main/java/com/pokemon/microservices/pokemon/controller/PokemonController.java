@@ -1,8 +1,19 @@
 package com.pokemon.microservices.pokemon.controller;
 
+import com.pokemon.microservices.pokemon.cache.PokemonResponseCache;
+import com.pokemon.microservices.pokemon.dto.PokemonBatchResult;
+import com.pokemon.microservices.pokemon.dto.PokemonBulkRequest;
+import com.pokemon.microservices.pokemon.dto.PokemonBulkResult;
+import com.pokemon.microservices.pokemon.dto.PokemonFieldSelection;
+import com.pokemon.microservices.pokemon.dto.PokemonPatch;
+import com.pokemon.microservices.pokemon.dto.PokemonSuggestion;
+import com.pokemon.microservices.pokemon.dto.SimilarPokemon;
 import com.pokemon.microservices.pokemon.entity.Pokemon;
 import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.event.PokemonChangeFeed;
+import com.pokemon.microservices.pokemon.service.PokemonAutocompleteService;
 import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.service.PokemonSimilarityService;
 import com.pokemon.microservices.pokemon.service.PokemonTypeService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,12 +22,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -36,11 +52,21 @@ public class PokemonController {
 
     private final PokemonService pokemonService;
     private final PokemonTypeService pokemonTypeService;
+    private final PokemonAutocompleteService autocompleteService;
+    private final PokemonResponseCache responseCache;
+    private final PokemonSimilarityService similarityService;
+    private final PokemonChangeFeed changeFeed;
 
     @Autowired
-    public PokemonController(PokemonService pokemonService, PokemonTypeService pokemonTypeService) {
+    public PokemonController(PokemonService pokemonService, PokemonTypeService pokemonTypeService,
+                             PokemonAutocompleteService autocompleteService, PokemonResponseCache responseCache,
+                             PokemonSimilarityService similarityService, PokemonChangeFeed changeFeed) {
         this.pokemonService = pokemonService;
         this.pokemonTypeService = pokemonTypeService;
+        this.autocompleteService = autocompleteService;
+        this.responseCache = responseCache;
+        this.similarityService = similarityService;
+        this.changeFeed = changeFeed;
     }
 
     // CRUD Endpoints
@@ -54,11 +80,12 @@ public class PokemonController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<Pokemon>> getAllPokemon(
+    public ResponseEntity<Page<?>> getAllPokemon(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "pokedexNumber") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(name = SparseFieldsetAdvice.FIELDS_PARAM, required = false) String fields) {
 
         logger.debug("REST: Getting all Pokemon - page: {}, size: {}", page, size);
 
@@ -66,35 +93,40 @@ public class PokemonController {
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
+        // Only the requested columns are read when no computed field is asked for
+        PokemonFieldSelection selection = PokemonFieldSelection.parse(fields);
+        if (selection != null && selection.isProjectable()) {
+            return ResponseEntity.ok(pokemonService.findAllProjected(selection.getFields(), pageable));
+        }
+
         Page<Pokemon> pokemonPage = pokemonService.findAll(pageable);
         return ResponseEntity.ok(pokemonPage);
     }
 
+    // Single-Pokemon reads are served from pre-encoded bytes when possible
+
     @GetMapping("/{id}")
-    public ResponseEntity<Pokemon> getPokemonById(@PathVariable Long id) {
+    public ResponseEntity<?> getPokemonById(@PathVariable Long id, NativeWebRequest request) {
         logger.debug("REST: Getting Pokemon by ID: {}", id);
 
-        Optional<Pokemon> pokemon = pokemonService.findById(id);
-        return pokemon.map(p -> ResponseEntity.ok(p))
-                .orElse(ResponseEntity.notFound().build());
+        return responseCache.respond(id, () -> pokemonService.findById(id), request,
+                autocompleteService::recordSelection);
     }
 
     @GetMapping("/pokedex/{number}")
-    public ResponseEntity<Pokemon> getPokemonByPokedexNumber(@PathVariable Integer number) {
+    public ResponseEntity<?> getPokemonByPokedexNumber(@PathVariable Integer number, NativeWebRequest request) {
         logger.debug("REST: Getting Pokemon by Pokedex number: {}", number);
 
-        Optional<Pokemon> pokemon = pokemonService.findByPokedexNumber(number);
-        return pokemon.map(p -> ResponseEntity.ok(p))
-                .orElse(ResponseEntity.notFound().build());
+        return responseCache.respond(responseCache.idForPokedexNumber(number),
+                () -> pokemonService.findByPokedexNumber(number), request, autocompleteService::recordSelection);
     }
 
     @GetMapping("/name/{name}")
-    public ResponseEntity<Pokemon> getPokemonByName(@PathVariable String name) {
+    public ResponseEntity<?> getPokemonByName(@PathVariable String name, NativeWebRequest request) {
         logger.debug("REST: Getting Pokemon by name: {}", name);
 
-        Optional<Pokemon> pokemon = pokemonService.findByName(name);
-        return pokemon.map(p -> ResponseEntity.ok(p))
-                .orElse(ResponseEntity.notFound().build());
+        return responseCache.respond(responseCache.idForName(name),
+                () -> pokemonService.findByName(name), request, autocompleteService::recordSelection);
     }
 
     @PutMapping("/{id}")
@@ -105,6 +137,16 @@ public class PokemonController {
         return ResponseEntity.ok(updatedPokemon);
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchPokemon(@PathVariable Long id,
+                                             @RequestHeader(value = "If-Match", required = false) String ifMatch,
+                                             @RequestBody Map<String, Object> changes) {
+        logger.info("REST: Patching Pokemon with ID: {} fields: {}", id, changes.keySet());
+
+        long version = pokemonService.patchPokemon(id, PokemonPatch.from(changes, parseVersion(ifMatch)));
+        return ResponseEntity.noContent().eTag(String.valueOf(version)).build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePokemon(@PathVariable Long id) {
         logger.info("REST: Deleting Pokemon with ID: {}", id);
@@ -113,6 +155,44 @@ public class PokemonController {
         return ResponseEntity.noContent().build();
     }
 
+    // Multi-get Endpoint
+
+    @GetMapping("/batch")
+    public ResponseEntity<PokemonBatchResult<?>> getPokemonBatch(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) List<String> names,
+            @RequestParam(name = "pokedex", required = false) List<Integer> pokedexNumbers) {
+
+        int given = (ids != null ? 1 : 0) + (names != null ? 1 : 0) + (pokedexNumbers != null ? 1 : 0);
+        if (given != 1) {
+            throw new IllegalArgumentException("Exactly one of ids, names or pokedex is required");
+        }
+        logger.debug("REST: Getting Pokemon batch - ids: {}, names: {}, pokedex: {}", ids, names, pokedexNumbers);
+
+        PokemonBatchResult<?> result = ids != null ? pokemonService.findAllByIds(ids)
+                : names != null ? pokemonService.findAllByNames(names)
+                : pokemonService.findAllByPokedexNumbers(pokedexNumbers);
+        return ResponseEntity.ok(result);
+    }
+
+    // Bulk Endpoints
+
+    @PatchMapping("/bulk")
+    public ResponseEntity<PokemonBulkResult> bulkUpdatePokemon(@RequestBody PokemonBulkRequest request) {
+        logger.info("REST: Bulk updating Pokemon");
+
+        PokemonBulkResult result = pokemonService.bulkUpdate(request);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<PokemonBulkResult> bulkDeletePokemon(@RequestBody PokemonBulkRequest request) {
+        logger.info("REST: Bulk deleting Pokemon");
+
+        PokemonBulkResult result = pokemonService.bulkDelete(request);
+        return ResponseEntity.ok(result);
+    }
+
     // Search Endpoints
 
     @GetMapping("/search")
@@ -128,6 +208,17 @@ public class PokemonController {
         return ResponseEntity.ok(results);
     }
 
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<PokemonSuggestion>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        logger.debug("REST: Autocomplete for prefix: {}", prefix);
+
+        List<PokemonSuggestion> suggestions = autocompleteService.suggest(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
     @GetMapping("/filter")
     public ResponseEntity<Page<Pokemon>> filterPokemon(
             @RequestParam(required = false) Integer generation,
@@ -265,6 +356,19 @@ public class PokemonController {
         return ResponseEntity.ok(comparison);
     }
 
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarPokemon>> getSimilarPokemon(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(defaultValue = "euclidean") String metric,
+            @RequestParam(required = false) Long type,
+            @RequestParam(required = false) Integer generation) {
+
+        logger.debug("REST: Getting {} Pokemon similar to ID: {} ({})", k, id, metric);
+
+        return ResponseEntity.ok(similarityService.findSimilar(id, k, metric, type, generation));
+    }
+
     // Statistics Endpoints
 
     @GetMapping("/stats/count")
@@ -291,9 +395,48 @@ public class PokemonController {
         return ResponseEntity.ok(count);
     }
 
+    // Change Feed
+
+    // SSE by default, NDJSON when asked for; lastEventId stands in for the header where it cannot be set
+    @GetMapping(value = "/changes", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ResponseBodyEmitter> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        boolean ndjson = accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)
+                && !accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        logger.debug("REST: Change feed subscription, resuming after: {}", resumeFrom);
+
+        return changeFeed.subscribe(resumeFrom, ndjson)
+                .map(emitter -> ResponseEntity.ok()
+                        .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.TEXT_EVENT_STREAM)
+                        .body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
     // Health Check
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Pokemon Service is running successfully!");
     }
-}
\ No newline at end of file
+
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        // Single-Pokemon GETs tag "<version>-<hash>"; PATCH answers the bare version
+        int separator = tag.indexOf('-');
+        try {
+            return Long.parseLong(separator < 0 ? tag : tag.substring(0, separator));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("If-Match must carry a Pokemon ETag or version: " + ifMatch);
+        }
+    }
+}
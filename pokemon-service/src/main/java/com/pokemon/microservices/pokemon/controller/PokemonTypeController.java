@@ -1,7 +1,11 @@
 package com.pokemon.microservices.pokemon.controller;
 
+import com.pokemon.microservices.pokemon.dto.DefensiveProfile;
+import com.pokemon.microservices.pokemon.dto.TypeEffectivenessMatrix;
+import com.pokemon.microservices.pokemon.dto.TypeMatchup;
 import com.pokemon.microservices.pokemon.entity.PokemonType;
 import com.pokemon.microservices.pokemon.service.PokemonTypeService;
+import com.pokemon.microservices.pokemon.service.TypeEffectivenessService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,10 +32,13 @@ public class PokemonTypeController {
     private static final Logger logger = LoggerFactory.getLogger(PokemonTypeController.class);
 
     private final PokemonTypeService pokemonTypeService;
+    private final TypeEffectivenessService typeEffectivenessService;
 
     @Autowired
-    public PokemonTypeController(PokemonTypeService pokemonTypeService) {
+    public PokemonTypeController(PokemonTypeService pokemonTypeService,
+                                 TypeEffectivenessService typeEffectivenessService) {
         this.pokemonTypeService = pokemonTypeService;
+        this.typeEffectivenessService = typeEffectivenessService;
     }
 
     // CRUD Endpoints
@@ -119,6 +126,32 @@ public class PokemonTypeController {
         return ResponseEntity.ok(count);
     }
 
+    // Effectiveness Endpoints
+
+    @GetMapping("/effectiveness")
+    public ResponseEntity<TypeEffectivenessMatrix> getEffectivenessMatrix(
+            @RequestParam(defaultValue = "false") boolean dual) {
+        logger.debug("REST: Getting type effectiveness matrix - dual: {}", dual);
+
+        return ResponseEntity.ok(typeEffectivenessService.getMatrix(dual));
+    }
+
+    @GetMapping("/effectiveness/matchup")
+    public ResponseEntity<TypeMatchup> getMatchup(@RequestParam Long attack, @RequestParam Long defense,
+                                                  @RequestParam(required = false) Long defense2) {
+        logger.debug("REST: Getting matchup of type {} against {}/{}", attack, defense, defense2);
+
+        return ResponseEntity.ok(typeEffectivenessService.getMatchup(attack, defense, defense2));
+    }
+
+    @GetMapping("/effectiveness/defense")
+    public ResponseEntity<DefensiveProfile> getDefensiveProfile(@RequestParam Long primary,
+                                                                @RequestParam(required = false) Long secondary) {
+        logger.debug("REST: Getting defensive profile of types {}/{}", primary, secondary);
+
+        return ResponseEntity.ok(typeEffectivenessService.getDefensiveProfile(primary, secondary));
+    }
+
     // Health Check
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
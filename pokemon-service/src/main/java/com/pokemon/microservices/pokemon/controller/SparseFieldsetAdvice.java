@@ -0,0 +1,48 @@
+package com.pokemon.microservices.pokemon.controller;
+
+import com.pokemon.microservices.pokemon.dto.PokemonFieldSelection;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Sparse Fieldset Advice
+ *
+ * Applies {@code ?fields=} to every Pokemon written by {@link PokemonController},
+ * whatever the Jackson-based media type, so only the requested properties are
+ * serialized.
+ */
+@RestControllerAdvice(assignableTypes = PokemonController.class)
+public class SparseFieldsetAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String FIELDS_PARAM = "fields";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        PokemonFieldSelection selection =
+                PokemonFieldSelection.parse(servletRequest.getServletRequest().getParameter(FIELDS_PARAM));
+        if (selection == null) {
+            return body;
+        }
+        MappingJacksonValue value = body instanceof MappingJacksonValue wrapped ? wrapped : new MappingJacksonValue(body);
+        value.setFilters(selection.toFilters());
+        return value;
+    }
+}
@@ -0,0 +1,17 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import java.util.List;
+
+/**
+ * How a defensive type combination fares against every attacking type.
+ *
+ * @param weakTo   attacking types that deal more than normal damage, strongest first
+ * @param resists  attacking types that deal less than normal damage (but some), weakest first
+ * @param immuneTo attacking types that deal no damage
+ */
+public record DefensiveProfile(TypeSummary primaryType, TypeSummary secondaryType, List<TypeMultiplier> weakTo,
+                               List<TypeMultiplier> resists, List<TypeSummary> immuneTo) {
+
+    public record TypeMultiplier(Long id, String name, float multiplier) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import java.time.Instant;
+
+/**
+ * Summary of a Pokedex snapshot that was exported or loaded.
+ */
+public record PokedexSnapshotInfo(String path, int types, int pokemon, long sizeBytes, Instant exportedAt,
+                                  long elapsedMillis) {
+}
@@ -0,0 +1,62 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Outcome of a multi-get.
+ *
+ * @param pokemon the Pokemon found, in the order they were asked for
+ * @param missing the requested keys that matched no Pokemon, as the client sent them
+ * @param <K>     key type: id, name or Pokedex number
+ */
+public record PokemonBatchResult<K>(List<Pokemon> pokemon, List<K> missing) {
+
+    /**
+     * @return the normalized, de-duplicated keys in request order, each mapped to
+     *         the first spelling the client sent for it
+     */
+    public static <K> Map<K, K> keysOf(List<K> requested, Function<K, K> normalize, int maxSize) {
+        if (requested == null || requested.isEmpty()) {
+            throw new IllegalArgumentException("At least one key is required");
+        }
+        Map<K, K> keys = new LinkedHashMap<>();
+        for (K key : requested) {
+            if (key != null) {
+                keys.putIfAbsent(normalize.apply(key), key);
+            }
+        }
+        if (keys.size() > maxSize) {
+            throw new IllegalArgumentException("At most " + maxSize + " keys per batch");
+        }
+        return keys;
+    }
+
+    /**
+     * @param keys  from {@link #keysOf}
+     * @param keyOf the normalized key of a Pokemon
+     */
+    public static <K> PokemonBatchResult<K> inRequestOrder(Map<K, K> keys, List<Pokemon> found,
+                                                           Function<Pokemon, K> keyOf) {
+        Map<K, Pokemon> byKey = new HashMap<>(found.size() * 2);
+        found.forEach(pokemon -> byKey.put(keyOf.apply(pokemon), pokemon));
+
+        List<Pokemon> pokemon = new ArrayList<>(found.size());
+        List<K> missing = new ArrayList<>();
+        keys.forEach((key, sent) -> {
+            Pokemon match = byKey.get(key);
+            if (match != null) {
+                pokemon.add(match);
+            } else {
+                missing.add(sent);
+            }
+        });
+        return new PokemonBatchResult<>(pokemon, missing);
+    }
+}
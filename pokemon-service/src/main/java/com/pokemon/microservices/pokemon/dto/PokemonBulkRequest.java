@@ -0,0 +1,11 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of the bulk endpoints: the Pokemon to change, given either as ids or as
+ * a filter, and for updates the fields to set on all of them.
+ */
+public record PokemonBulkRequest(List<Long> ids, PokemonFilter filter, Map<String, Object> changes) {
+}
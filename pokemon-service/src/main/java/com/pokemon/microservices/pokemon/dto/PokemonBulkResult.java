@@ -0,0 +1,12 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk operation.
+ *
+ * @param affected number of Pokemon updated or deleted
+ * @param ids      ids of those Pokemon
+ */
+public record PokemonBulkResult(int affected, List<Long> ids) {
+}
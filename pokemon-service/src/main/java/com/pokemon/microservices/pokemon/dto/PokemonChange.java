@@ -0,0 +1,26 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.ChangeAction;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.EntityKind;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One entry of the {@code /api/pokemon/changes} stream.
+ *
+ * A {@code change} lists the Pokemon or type ids a committed write touched;
+ * an empty id list means any of that kind may have changed. A {@code reset}
+ * tells the client the changes since its last id are no longer known and it
+ * should reload everything. {@code id} is what to send back as Last-Event-ID.
+ */
+public record PokemonChange(String id, long sequence, String type, EntityKind kind, ChangeAction action,
+                            List<Long> ids, Instant timestamp) {
+
+    public static final String CHANGE = "change";
+    public static final String RESET = "reset";
+
+    public static PokemonChange reset(String id, long sequence) {
+        return new PokemonChange(id, sequence, RESET, null, null, List.of(), Instant.now());
+    }
+}
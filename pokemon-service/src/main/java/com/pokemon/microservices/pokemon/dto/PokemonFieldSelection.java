@@ -0,0 +1,78 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Pokemon Field Selection
+ *
+ * The properties asked for with {@code ?fields=name,pokedexNumber,primaryType}.
+ * The id is always included. Selections made only of stored columns can be
+ * loaded as a projection instead of whole entities.
+ */
+public final class PokemonFieldSelection {
+
+    public static final String FILTER_ID = "pokemonFields";
+
+    private static final Set<String> COLUMN_FIELDS = Set.of(
+            "id", "name", "pokedexNumber", "description", "height", "weight",
+            "primaryType", "secondaryType", "hp", "attack", "defense", "specialAttack",
+            "specialDefense", "speed", "isLegendary", "isMythical", "generation", "imageUrl",
+            "version", "createdAt", "updatedAt");
+
+    // Relations and values computed from other fields; always need the entity
+    private static final Set<String> ENTITY_FIELDS = Set.of(
+            "evolvesFrom", "evolvesTo", "stats", "totalStats", "bmi", "evolutionLevel");
+
+    private final Set<String> fields;
+
+    private PokemonFieldSelection(Set<String> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * @return the selection, or null when {@code fields} is null or blank (all fields)
+     * @throws IllegalArgumentException if a field does not exist
+     */
+    public static PokemonFieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!COLUMN_FIELDS.contains(name) && !ENTITY_FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown Pokemon field: " + name);
+            }
+            selected.add(name);
+        }
+        return new PokemonFieldSelection(selected);
+    }
+
+    /**
+     * Filters that serialize every Pokemon property; used when no selection is made.
+     */
+    public static SimpleFilterProvider defaultFilters() {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    public boolean isProjectable() {
+        return COLUMN_FIELDS.containsAll(fields);
+    }
+
+    public SimpleFilterProvider toFilters() {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+}
@@ -0,0 +1,14 @@
+package com.pokemon.microservices.pokemon.dto;
+
+/**
+ * Selection criteria shared by {@code /filter} and the bulk endpoints. Null
+ * criteria are ignored.
+ */
+public record PokemonFilter(Integer generation, Long typeId, Boolean legendary,
+                            Integer minPokedex, Integer maxPokedex) {
+
+    public boolean isEmpty() {
+        return generation == null && typeId == null && legendary == null
+                && minPokedex == null && maxPokedex == null;
+    }
+}
@@ -0,0 +1,115 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pokemon Patch
+ *
+ * The fields present in a PATCH body, converted to their attribute types. A
+ * field sent as {@code null} clears it; fields left out are not touched.
+ * Types are referenced by {@code primaryTypeId} / {@code secondaryTypeId}.
+ */
+public final class PokemonPatch {
+
+    public static final String PRIMARY_TYPE_ID = "primaryTypeId";
+    public static final String SECONDARY_TYPE_ID = "secondaryTypeId";
+    private static final String VERSION = "version";
+
+    private static final Map<String, Class<?>> PATCHABLE_FIELDS = Map.ofEntries(
+            Map.entry("name", String.class),
+            Map.entry("pokedexNumber", Integer.class),
+            Map.entry("description", String.class),
+            Map.entry("height", Double.class),
+            Map.entry("weight", Double.class),
+            Map.entry(PRIMARY_TYPE_ID, Long.class),
+            Map.entry(SECONDARY_TYPE_ID, Long.class),
+            Map.entry("hp", Integer.class),
+            Map.entry("attack", Integer.class),
+            Map.entry("defense", Integer.class),
+            Map.entry("specialAttack", Integer.class),
+            Map.entry("specialDefense", Integer.class),
+            Map.entry("speed", Integer.class),
+            Map.entry("isLegendary", Boolean.class),
+            Map.entry("isMythical", Boolean.class),
+            Map.entry("generation", Integer.class),
+            Map.entry("imageUrl", String.class));
+
+    private final Map<String, Object> changes;
+    private final Long version;
+
+    private PokemonPatch(Map<String, Object> changes, Long version) {
+        this.changes = Collections.unmodifiableMap(changes);
+        this.version = version;
+    }
+
+    /**
+     * @param body    the JSON object sent by the client
+     * @param ifMatch version from the If-Match header, used when the body has none
+     * @throws IllegalArgumentException for unknown fields or values of the wrong type
+     */
+    public static PokemonPatch from(Map<String, Object> body, Long ifMatch) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Long version = ifMatch;
+        for (Map.Entry<String, Object> field : body.entrySet()) {
+            if (VERSION.equals(field.getKey())) {
+                version = field.getValue() == null ? null : (Long) convert(VERSION, Long.class, field.getValue());
+                continue;
+            }
+            Class<?> type = PATCHABLE_FIELDS.get(field.getKey());
+            if (type == null) {
+                throw new IllegalArgumentException("Field cannot be patched: " + field.getKey());
+            }
+            changes.put(field.getKey(), field.getValue() == null ? null : convert(field.getKey(), type, field.getValue()));
+        }
+        if (changes.containsKey("name") && changes.get("name") == null
+                || changes.containsKey("pokedexNumber") && changes.get("pokedexNumber") == null) {
+            throw new IllegalArgumentException("Name and Pokedex number cannot be null");
+        }
+        return new PokemonPatch(changes, version);
+    }
+
+    /**
+     * @return attribute name to new value, in the order they were sent
+     */
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+
+    /**
+     * @return the version the client based its changes on, or null to patch whatever is current
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    private static Object convert(String field, Class<?> type, Object value) {
+        if (type == String.class && value instanceof String) {
+            return value;
+        }
+        if (type == Boolean.class && value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof Number number) {
+            if (type == Double.class) {
+                return number.doubleValue();
+            }
+            if ((value instanceof Integer || value instanceof Long) && type == Integer.class) {
+                try {
+                    return Math.toIntExact(number.longValue());
+                } catch (ArithmeticException ex) {
+                    throw new IllegalArgumentException("Value out of range for " + field + ": " + value);
+                }
+            }
+            if ((value instanceof Integer || value instanceof Long) && type == Long.class) {
+                return number.longValue();
+            }
+        }
+        throw new IllegalArgumentException("Invalid value for " + field + ": " + value);
+    }
+}
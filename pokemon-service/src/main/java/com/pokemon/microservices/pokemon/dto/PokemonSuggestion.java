@@ -0,0 +1,9 @@
+package com.pokemon.microservices.pokemon.dto;
+
+/**
+ * Autocomplete suggestion for a Pokemon name.
+ *
+ * @param distance edit distance between the typed prefix and the name (0 for exact prefix matches)
+ */
+public record PokemonSuggestion(Long id, String name, Integer pokedexNumber, int distance) {
+}
@@ -0,0 +1,12 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import java.util.Map;
+
+/**
+ * A neighbour in stat space.
+ *
+ * @param distance Euclidean distance between the stat vectors, or 1 - cosine similarity
+ */
+public record SimilarPokemon(Long id, String name, Integer pokedexNumber, double distance,
+                             Map<String, Integer> stats) {
+}
@@ -0,0 +1,30 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Type coverage and stat profile of a team. Offense only counts the members'
+ * own types, as moves are not modelled.
+ *
+ * @param problems              why the team is not valid (unknown ids, duplicates, size)
+ * @param offensiveCoverage     types hit super effectively by at least one member's type
+ * @param uncoveredTypes        types no member's type hits super effectively
+ * @param sharedWeaknesses      attacking types two or more members are weak to
+ * @param unresistedWeaknesses  attacking types some member is weak to and no member resists
+ */
+public record TeamAnalysis(List<Long> pokemonIds, boolean valid, List<String> problems,
+                           List<TypeSummary> offensiveCoverage, List<TypeSummary> uncoveredTypes,
+                           List<TeamWeakness> sharedWeaknesses, List<TypeSummary> unresistedWeaknesses,
+                           StatProfile stats) {
+
+    /**
+     * @param resistantMembers members taking reduced or no damage from the type
+     */
+    public record TeamWeakness(TypeSummary type, int weakMembers, int resistantMembers) {
+    }
+
+    public record StatProfile(int totalStats, Map<String, Double> averageStats, String strongestStat,
+                              String weakestStat, int minSpeed, int maxSpeed) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import java.util.List;
+
+/**
+ * A team to analyze, as Pokemon ids.
+ */
+public record TeamAnalysisRequest(List<Long> pokemonIds) {
+}
@@ -0,0 +1,14 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import java.util.List;
+
+/**
+ * Constraints for the team optimizer. Every field is optional.
+ *
+ * @param requiredPokemonIds members the team must include; the other constraints do not apply to them
+ * @param noLegendaries      leave out legendary and mythical Pokemon
+ * @param timeBudgetMillis   search time, after which the best team found so far is returned
+ */
+public record TeamOptimizationRequest(Integer maxGeneration, Boolean noLegendaries, List<Long> requiredPokemonIds,
+                                      Integer minSpeed, Long timeBudgetMillis) {
+}
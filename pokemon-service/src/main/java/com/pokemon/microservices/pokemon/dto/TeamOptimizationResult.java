@@ -0,0 +1,15 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+
+import java.util.List;
+
+/**
+ * Best team found by the optimizer.
+ *
+ * @param complete   true if the search finished, so no better team exists; false if the time budget ran out
+ * @param candidates Pokemon that met the constraints
+ */
+public record TeamOptimizationResult(List<Pokemon> team, List<TypeSummary> offensiveCoverage, long totalStats,
+                                     boolean complete, int candidates, long nodesExplored, long elapsedMillis) {
+}
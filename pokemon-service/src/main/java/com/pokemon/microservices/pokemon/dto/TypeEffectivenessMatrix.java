@@ -0,0 +1,18 @@
+package com.pokemon.microservices.pokemon.dto;
+
+import java.util.List;
+
+/**
+ * Full effectiveness dump.
+ *
+ * @param types the attacking types, in the order of every row's multipliers
+ * @param rows  one row per defensive combination
+ */
+public record TypeEffectivenessMatrix(List<TypeSummary> types, List<DefenseRow> rows) {
+
+    /**
+     * @param secondaryTypeId null for single-type rows
+     */
+    public record DefenseRow(Long primaryTypeId, Long secondaryTypeId, float[] multipliers) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.pokemon.microservices.pokemon.dto;
+
+/**
+ * Damage multiplier of one attacking type against a defensive type combination.
+ *
+ * @param secondaryType the defender's second type, or null for a single-type defender
+ */
+public record TypeMatchup(TypeSummary attackType, TypeSummary primaryType, TypeSummary secondaryType,
+                          float multiplier) {
+}
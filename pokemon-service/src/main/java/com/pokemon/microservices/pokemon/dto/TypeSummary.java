@@ -0,0 +1,7 @@
+package com.pokemon.microservices.pokemon.dto;
+
+/**
+ * Id and name of a Pokemon type.
+ */
+public record TypeSummary(Long id, String name) {
+}
@@ -1,16 +1,32 @@
 package com.pokemon.microservices.pokemon.entity;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.pokemon.microservices.pokemon.dto.PokemonFieldSelection;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 @Entity
 @Table(name = "pokemon")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pokemon")
+// Evolution links of a whole page load in one statement
+@BatchSize(size = 50)
+@DynamicUpdate
+@JsonFilter(PokemonFieldSelection.FILTER_ID)
+// Rows that were first met as someone's evolution link come back as initialized proxies
+@JsonIgnoreProperties({"hibernateLazyInitializer"})
 @Data
 @EqualsAndHashCode(exclude = {"primaryType", "secondaryType", "evolvesFrom", "evolvesTo"})
 @ToString(exclude = {"primaryType", "secondaryType", "evolvesFrom", "evolvesTo"})
@@ -73,6 +89,13 @@ public class Pokemon {
     @JsonIgnoreProperties({"evolvesFrom", "evolvesTo", "primaryType", "secondaryType"})
     private Pokemon evolvesTo;
 
+    // Optimistic locking; existing rows start at 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     // Audit fields
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -5,11 +5,15 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "pokemon_types")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pokemon-type")
 @Data
 @EqualsAndHashCode(exclude = {"pokemonPrimaryType", "pokemonSecondaryType"})
 @ToString(exclude = {"pokemonPrimaryType", "pokemonSecondaryType"})
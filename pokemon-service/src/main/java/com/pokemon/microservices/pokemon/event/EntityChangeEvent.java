@@ -0,0 +1,56 @@
+package com.pokemon.microservices.pokemon.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+/**
+ * Entity Change Event
+ *
+ * Published after Pokemon or Pokemon type rows are created, updated or deleted so
+ * in-memory indexes and caches can refresh the affected ids. An empty id list
+ * means "anything may have changed" and listeners should reload everything.
+ * Events replayed from another pokemon-service instance are marked {@code remote}.
+ */
+public record EntityChangeEvent(EntityKind kind, ChangeAction action, List<Long> ids, boolean remote) {
+
+    public enum EntityKind {
+        POKEMON,
+        POKEMON_TYPE
+    }
+
+    public enum ChangeAction {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public EntityChangeEvent {
+        ids = ids == null ? List.of() : List.copyOf(ids);
+    }
+
+    public EntityChangeEvent(EntityKind kind, ChangeAction action, List<Long> ids) {
+        this(kind, action, ids, false);
+    }
+
+    public static EntityChangeEvent pokemon(ChangeAction action, Long id) {
+        return new EntityChangeEvent(EntityKind.POKEMON, action, List.of(id));
+    }
+
+    public static EntityChangeEvent pokemonType(ChangeAction action, Long id) {
+        return new EntityChangeEvent(EntityKind.POKEMON_TYPE, action, List.of(id));
+    }
+
+    public static EntityChangeEvent fullRefresh(EntityKind kind) {
+        return new EntityChangeEvent(kind, ChangeAction.UPDATED, List.of());
+    }
+
+    public EntityChangeEvent asRemote() {
+        return new EntityChangeEvent(kind, action, ids, true);
+    }
+
+    @JsonIgnore
+    public boolean isFullRefresh() {
+        return ids.isEmpty();
+    }
+}
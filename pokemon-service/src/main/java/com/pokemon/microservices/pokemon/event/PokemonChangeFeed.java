@@ -0,0 +1,225 @@
+package com.pokemon.microservices.pokemon.event;
+
+import com.pokemon.microservices.pokemon.config.ChangeFeedProperties;
+import com.pokemon.microservices.pokemon.dto.PokemonChange;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pokemon Change Feed
+ *
+ * Numbers every committed {@link EntityChangeEvent}, local or replayed from a
+ * peer, and streams it to the subscribers of {@code /api/pokemon/changes} as
+ * SSE or NDJSON. Recent changes are kept so a client reconnecting with
+ * Last-Event-ID gets what it missed; when they are gone it gets a reset.
+ * <p>
+ * Writers never wait for subscribers: each one has a bounded queue drained by
+ * its own thread. A subscriber whose queue is full is disconnected and catches
+ * up from the history when it reconnects.
+ */
+@Component
+public class PokemonChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokemonChangeFeed.class);
+    // Queued to wake a drainer that is being closed; never sent
+    private static final PokemonChange CLOSED = PokemonChange.reset("", -1);
+
+    private final ChangeFeedProperties properties;
+    // Ids carry the start time so ids from an earlier run are recognised as unknown
+    private final String epoch = Long.toString(System.currentTimeMillis());
+
+    // Guarded by "this"
+    private final Deque<PokemonChange> history = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = new LinkedHashSet<>();
+    private long sequence;
+
+    @Autowired
+    public PokemonChangeFeed(ChangeFeedProperties properties) {
+        this.properties = properties;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEntityChange(EntityChangeEvent event) {
+        long next = ++sequence;
+        PokemonChange change = new PokemonChange(id(next), next, PokemonChange.CHANGE, event.kind(), event.action(),
+                event.ids(), Instant.now());
+        history.addLast(change);
+        while (history.size() > properties.getHistorySize()) {
+            history.removeFirst();
+        }
+        subscribers.removeIf(subscriber -> {
+            if (subscriber.queue.offer(change)) {
+                return false;
+            }
+            logger.warn("Disconnecting a change feed subscriber {} changes behind", subscriber.queue.size());
+            subscriber.close();
+            return true;
+        });
+    }
+
+    /**
+     * Opens a stream that starts after the given id, or at the next change when
+     * there is none.
+     *
+     * @return the stream, or empty when the subscriber limit is reached
+     */
+    public Optional<ResponseBodyEmitter> subscribe(String lastEventId, boolean ndjson) {
+        long timeout = properties.getTimeout().toMillis();
+        ResponseBodyEmitter emitter = ndjson ? new ResponseBodyEmitter(timeout) : new SseEmitter(timeout);
+        Subscriber subscriber = new Subscriber(emitter, ndjson, properties.getBufferSize());
+        synchronized (this) {
+            if (subscribers.size() >= properties.getMaxSubscribers()) {
+                return Optional.empty();
+            }
+            subscriber.backlog.addAll(missedSince(lastEventId));
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> {
+            unsubscribe(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> unsubscribe(subscriber));
+        // Not a virtual thread: the emitter writes while holding its monitor, which would pin the carrier
+        Thread.ofPlatform().daemon().name("pokemon-changes-" + subscriber.hashCode()).start(subscriber::drain);
+        return Optional.of(emitter);
+    }
+
+    public synchronized int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public synchronized void closeAll() {
+        subscribers.forEach(Subscriber::close);
+        subscribers.clear();
+    }
+
+    private synchronized void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.close();
+    }
+
+    // Changes after the given id, or a reset when they can no longer all be replayed
+    private List<PokemonChange> missedSince(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        long last = parseSequence(lastEventId.trim());
+        PokemonChange oldest = history.peekFirst();
+        boolean replayable = last == sequence || (last >= 0 && last < sequence
+                && oldest != null && oldest.sequence() <= last + 1);
+        if (!replayable) {
+            return List.of(PokemonChange.reset(id(sequence), sequence));
+        }
+        List<PokemonChange> missed = new ArrayList<>();
+        for (PokemonChange change : history) {
+            if (change.sequence() > last) {
+                missed.add(change);
+            }
+        }
+        return missed;
+    }
+
+    // -1 for ids from another run or that do not parse
+    private long parseSequence(String id) {
+        int separator = id.indexOf('-');
+        if (separator < 0 || !id.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private String id(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private final class Subscriber {
+
+        private final ResponseBodyEmitter emitter;
+        private final boolean ndjson;
+        private final BlockingQueue<PokemonChange> queue;
+        // Replayed changes, sent before anything queued
+        private final List<PokemonChange> backlog = new ArrayList<>();
+        private volatile boolean closed;
+
+        private Subscriber(ResponseBodyEmitter emitter, boolean ndjson, int bufferSize) {
+            this.emitter = emitter;
+            this.ndjson = ndjson;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void drain() {
+            long heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+            try {
+                for (PokemonChange change : backlog) {
+                    send(change);
+                }
+                backlog.clear();
+                while (!closed) {
+                    PokemonChange change = queue.poll(heartbeatNanos, TimeUnit.NANOSECONDS);
+                    if (closed) {
+                        break;
+                    }
+                    if (change != null) {
+                        send(change);
+                    } else if (ndjson) {
+                        emitter.send("\n", MediaType.TEXT_PLAIN);
+                    } else {
+                        ((SseEmitter) emitter).send(SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Client went away
+                unsubscribe(this);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                emitter.complete();
+            }
+        }
+
+        private void send(PokemonChange change) throws IOException {
+            if (ndjson) {
+                emitter.send(change, MediaType.APPLICATION_JSON);
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            } else {
+                ((SseEmitter) emitter).send(SseEmitter.event().id(change.id()).name(change.type())
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+        }
+
+        // Called under the feed lock, so no change can take the freed slot before the wake-up does.
+        // Not an interrupt: Tomcat turns one that lands mid-write into an I/O error that can outlive
+        // this response and fail the next one on the same connection.
+        private void close() {
+            closed = true;
+            queue.clear();
+            queue.offer(CLOSED);
+        }
+    }
+}
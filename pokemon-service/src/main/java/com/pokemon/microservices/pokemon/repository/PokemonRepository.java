@@ -2,24 +2,73 @@ package com.pokemon.microservices.pokemon.repository;
 
 import com.pokemon.microservices.pokemon.entity.Pokemon;
 import com.pokemon.microservices.pokemon.entity.PokemonType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PokemonRepository extends JpaRepository<Pokemon, Long> {
+public interface PokemonRepository extends JpaRepository<Pokemon, Long>, PokemonRepositoryCustom {
 
     // ========== BÚSQUEDAS BÁSICAS ==========
 
+    // Natural-key lookups are served from the query cache (invalidated on any write to the table)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "pokemon-natural-key")
+    })
     Optional<Pokemon> findByNameIgnoreCase(String name);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "pokemon-natural-key")
+    })
     Optional<Pokemon> findByPokedexNumber(Integer pokedexNumber);
 
+    boolean existsByNameIgnoreCase(String name);
+    boolean existsByPokedexNumber(Integer pokedexNumber);
+
+    // ========== MULTI-GET (tipos incluidos en la misma consulta) ==========
+
+    @Query("SELECT p FROM Pokemon p LEFT JOIN FETCH p.primaryType LEFT JOIN FETCH p.secondaryType " +
+            "WHERE p.id IN :ids")
+    List<Pokemon> findAllWithTypesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p FROM Pokemon p LEFT JOIN FETCH p.primaryType LEFT JOIN FETCH p.secondaryType " +
+            "WHERE LOWER(p.name) IN :names")
+    List<Pokemon> findAllWithTypesByLowerNameIn(@Param("names") Collection<String> lowerCaseNames);
+
+    @Query("SELECT p FROM Pokemon p LEFT JOIN FETCH p.primaryType LEFT JOIN FETCH p.secondaryType " +
+            "WHERE p.pokedexNumber IN :numbers")
+    List<Pokemon> findAllWithTypesByPokedexNumberIn(@Param("numbers") Collection<Integer> pokedexNumbers);
+
+    // ========== CLAVES NATURALES (índice en memoria) ==========
+
+    @Query("SELECT p.id, p.name, p.pokedexNumber FROM Pokemon p")
+    List<Object[]> findAllNaturalKeys();
+
+    @Query("SELECT p.id, p.name, p.pokedexNumber FROM Pokemon p WHERE p.id IN :ids")
+    List<Object[]> findNaturalKeysByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ========== FILAS COMPACTAS (optimizador de equipos) ==========
+
+    // id, primary type id, secondary type id, generation, legendary or mythical, the six stats
+    @Query("SELECT p.id, pt.id, st.id, p.generation, " +
+            "CASE WHEN p.isLegendary = true OR p.isMythical = true THEN true ELSE false END, " +
+            "p.hp, p.attack, p.defense, p.specialAttack, p.specialDefense, p.speed " +
+            "FROM Pokemon p LEFT JOIN p.primaryType pt LEFT JOIN p.secondaryType st")
+    List<Object[]> findAllCompactRows();
+
     // ========== BÚSQUEDAS POR TEXTO ==========
 
     List<Pokemon> findByNameContainingIgnoreCase(String name);
@@ -119,4 +168,38 @@ public interface PokemonRepository extends JpaRepository<Pokemon, Long> {
 
     @Query("SELECT MIN(p.hp + p.attack + p.defense + p.specialAttack + p.specialDefense + p.speed) FROM Pokemon p")
     Integer getMinTotalStats();
-}
\ No newline at end of file
+
+    // ========== OPERACIONES MASIVAS ==========
+
+    @Query("SELECT p.id FROM Pokemon p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Pokemon p WHERE " +
+            "(:generation IS NULL OR p.generation = :generation) AND " +
+            "(:typeId IS NULL OR p.primaryType.id = :typeId) AND " +
+            "(:isLegendary IS NULL OR p.isLegendary = :isLegendary) AND " +
+            "(:minPokedex IS NULL OR p.pokedexNumber >= :minPokedex) AND " +
+            "(:maxPokedex IS NULL OR p.pokedexNumber <= :maxPokedex) " +
+            "ORDER BY p.id")
+    List<Long> findIdsWithFilters(@Param("generation") Integer generation,
+                                  @Param("typeId") Long typeId,
+                                  @Param("isLegendary") Boolean isLegendary,
+                                  @Param("minPokedex") Integer minPokedexNumber,
+                                  @Param("maxPokedex") Integer maxPokedexNumber);
+
+    @Query("SELECT p.id FROM Pokemon p WHERE p.evolvesFrom.id IN :ids OR p.evolvesTo.id IN :ids")
+    List<Long> findIdsEvolvingFromOrToIn(@Param("ids") Collection<Long> ids);
+
+    // Evolution links into deleted rows are cleared first so the foreign keys hold
+    @Modifying
+    @Query("UPDATE Pokemon p SET p.evolvesFrom = null, p.version = p.version + 1 WHERE p.evolvesFrom.id IN :ids")
+    int clearEvolvesFromIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Pokemon p SET p.evolvesTo = null, p.version = p.version + 1 WHERE p.evolvesTo.id IN :ids")
+    int clearEvolvesToIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Pokemon p WHERE p.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
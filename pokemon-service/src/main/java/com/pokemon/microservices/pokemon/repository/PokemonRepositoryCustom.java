@@ -0,0 +1,33 @@
+package com.pokemon.microservices.pokemon.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface PokemonRepositoryCustom {
+
+    /**
+     * Updates only the given attributes in one statement, without loading the row,
+     * if the row still has the expected version. The version is incremented.
+     *
+     * @param values attribute name to value; {@code primaryTypeId} / {@code secondaryTypeId}
+     *               set the type references
+     * @return the number of rows updated: 0 if the row is gone or its version changed
+     */
+    int updateIfVersionMatches(Long id, long expectedVersion, Map<String, Object> values);
+
+    /**
+     * Sets the given attributes on all the rows in one statement and increments their versions.
+     *
+     * @return the number of rows updated
+     */
+    int updateAllByIdIn(Collection<Long> ids, Map<String, Object> values);
+
+    /**
+     * Loads only the given attributes of a page of Pokemon; type attributes are
+     * loaded with a join. Null values are left out of the rows.
+     */
+    Page<Map<String, Object>> findAllProjected(Collection<String> attributes, Pageable pageable);
+}
@@ -0,0 +1,135 @@
+package com.pokemon.microservices.pokemon.repository;
+
+import com.pokemon.microservices.pokemon.dto.PokemonPatch;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class PokemonRepositoryCustomImpl implements PokemonRepositoryCustom {
+
+    private static final Set<String> TYPE_ATTRIBUTES = Set.of("primaryType", "secondaryType");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateIfVersionMatches(Long id, long expectedVersion, Map<String, Object> values) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Pokemon> update = cb.createCriteriaUpdate(Pokemon.class);
+        Root<Pokemon> root = update.from(Pokemon.class);
+
+        Path<Long> version = setValues(update, cb, root, values);
+        update.where(cb.equal(root.get("id"), id), cb.equal(version, expectedVersion));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int updateAllByIdIn(Collection<Long> ids, Map<String, Object> values) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Pokemon> update = cb.createCriteriaUpdate(Pokemon.class);
+        Root<Pokemon> root = update.from(Pokemon.class);
+
+        setValues(update, cb, root, values);
+        update.where(root.get("id").in(ids));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public Page<Map<String, Object>> findAllProjected(Collection<String> attributes, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Pokemon> root = query.from(Pokemon.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String attribute : attributes) {
+            Selection<?> selection = TYPE_ATTRIBUTES.contains(attribute)
+                    ? root.join(attribute, JoinType.LEFT)
+                    : root.get(attribute);
+            selections.add(selection.alias(attribute));
+        }
+        query.multiselect(selections);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                Object value = tuple.get(element);
+                if (value != null) {
+                    row.put(element.getAlias(), value);
+                }
+            }
+            rows.add(row);
+        }
+
+        return PageableExecutionUtils.getPage(rows, pageable, () -> {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            count.select(cb.count(count.from(Pokemon.class)));
+            return entityManager.createQuery(count).getSingleResult();
+        });
+    }
+
+    private Path<Long> setValues(CriteriaUpdate<Pokemon> update, CriteriaBuilder cb, Root<Pokemon> root,
+                                 Map<String, Object> values) {
+        values.forEach((attribute, value) -> {
+            if (PokemonPatch.PRIMARY_TYPE_ID.equals(attribute)) {
+                setType(update, root.get("primaryType"), (Long) value);
+            } else if (PokemonPatch.SECONDARY_TYPE_ID.equals(attribute)) {
+                setType(update, root.get("secondaryType"), (Long) value);
+            } else {
+                set(update, cb, root.get(attribute), value);
+            }
+        });
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+        update.set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now());
+        return version;
+    }
+
+    private void setType(CriteriaUpdate<Pokemon> update, Path<PokemonType> path, Long typeId) {
+        if (typeId == null) {
+            update.set(path, entityManager.getCriteriaBuilder().nullLiteral(PokemonType.class));
+        } else {
+            update.set(path, entityManager.getReference(PokemonType.class, typeId));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void set(CriteriaUpdate<Pokemon> update, CriteriaBuilder cb, Path<T> path, Object value) {
+        if (value == null) {
+            update.set(path, cb.nullLiteral((Class<T>) path.getJavaType()));
+        } else {
+            update.set(path, (T) value);
+        }
+    }
+}
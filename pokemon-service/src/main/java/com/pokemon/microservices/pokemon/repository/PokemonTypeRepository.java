@@ -1,8 +1,11 @@
 package com.pokemon.microservices.pokemon.repository;
 
 import com.pokemon.microservices.pokemon.entity.PokemonType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +16,10 @@ import java.util.Optional;
 public interface PokemonTypeRepository extends JpaRepository<PokemonType, Long> {
 
     // Basic finders
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "pokemon-type-natural-key")
+    })
     Optional<PokemonType> findByNameIgnoreCase(String name);
 
     // Existence checks
@@ -0,0 +1,14 @@
+package com.pokemon.microservices.pokemon.service;
+
+import com.pokemon.microservices.pokemon.dto.PokedexSnapshotInfo;
+
+import java.nio.file.Path;
+
+public interface PokedexSnapshotService {
+
+    // Writes every type, Pokemon and evolution link to a binary snapshot file
+    PokedexSnapshotInfo exportSnapshot(Path path);
+
+    // Seeds an empty database from a snapshot, keeping the original ids
+    PokedexSnapshotInfo loadSnapshot(Path path);
+}
@@ -0,0 +1,19 @@
+package com.pokemon.microservices.pokemon.service;
+
+import com.pokemon.microservices.pokemon.dto.TeamAnalysis;
+import com.pokemon.microservices.pokemon.dto.TeamOptimizationRequest;
+import com.pokemon.microservices.pokemon.dto.TeamOptimizationResult;
+
+import java.util.List;
+
+public interface PokemonAnalysisService {
+
+    // Team Analysis
+    TeamAnalysis analyzeTeam(List<Long> pokemonIds);
+
+    // One analysis per team, in order; invalid teams are reported, not rejected
+    List<TeamAnalysis> analyzeTeams(List<List<Long>> teams);
+
+    // Team Optimization: best coverage, then best stat total, under the constraints
+    TeamOptimizationResult optimizeTeam(TeamOptimizationRequest request);
+}
@@ -0,0 +1,14 @@
+package com.pokemon.microservices.pokemon.service;
+
+import com.pokemon.microservices.pokemon.dto.PokemonSuggestion;
+
+import java.util.List;
+
+public interface PokemonAutocompleteService {
+
+    // Completions for the prefix, most popular first, falling back to close misspellings
+    List<PokemonSuggestion> suggest(String prefix, int limit);
+
+    // Popularity signal: a Pokemon was opened by id, name or Pokedex number
+    void recordSelection(Long pokemonId);
+}
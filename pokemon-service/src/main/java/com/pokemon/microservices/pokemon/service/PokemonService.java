@@ -1,27 +1,44 @@
 package com.pokemon.microservices.pokemon.service;
 
+import com.pokemon.microservices.pokemon.dto.PokemonBatchResult;
+import com.pokemon.microservices.pokemon.dto.PokemonBulkRequest;
+import com.pokemon.microservices.pokemon.dto.PokemonBulkResult;
+import com.pokemon.microservices.pokemon.dto.PokemonPatch;
 import com.pokemon.microservices.pokemon.entity.Pokemon;
 import com.pokemon.microservices.pokemon.entity.PokemonType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface PokemonService {
 
     // CRUD Operations
     Pokemon createPokemon(Pokemon pokemon);
     Pokemon updatePokemon(Long id, Pokemon pokemon);
+    long patchPokemon(Long id, PokemonPatch patch);
     Optional<Pokemon> findById(Long id);
     Optional<Pokemon> findByPokedexNumber(Integer pokedexNumber);
     Optional<Pokemon> findByName(String name);
     Page<Pokemon> findAll(Pageable pageable);
+    Page<Map<String, Object>> findAllProjected(Set<String> fields, Pageable pageable);
     void deleteById(Long id);
     boolean existsById(Long id);
     boolean existsByName(String name);
     boolean existsByPokedexNumber(Integer pokedexNumber);
 
+    // Multi-get Operations
+    PokemonBatchResult<Long> findAllByIds(List<Long> ids);
+    PokemonBatchResult<String> findAllByNames(List<String> names);
+    PokemonBatchResult<Integer> findAllByPokedexNumbers(List<Integer> pokedexNumbers);
+
+    // Bulk Operations
+    PokemonBulkResult bulkUpdate(PokemonBulkRequest request);
+    PokemonBulkResult bulkDelete(PokemonBulkRequest request);
+
     // Search and Filter Operations
     Page<Pokemon> searchPokemon(String searchTerm, Pageable pageable);
     List<Pokemon> findByType(PokemonType type);
@@ -0,0 +1,11 @@
+package com.pokemon.microservices.pokemon.service;
+
+import com.pokemon.microservices.pokemon.dto.SimilarPokemon;
+
+import java.util.List;
+
+public interface PokemonSimilarityService {
+
+    // The k Pokemon nearest by stats, optionally only of a type (primary or secondary) and/or a generation
+    List<SimilarPokemon> findSimilar(Long pokemonId, int k, String metric, Long typeId, Integer generation);
+}
@@ -0,0 +1,21 @@
+package com.pokemon.microservices.pokemon.service;
+
+import com.pokemon.microservices.pokemon.dto.DefensiveProfile;
+import com.pokemon.microservices.pokemon.dto.TypeEffectivenessMatrix;
+import com.pokemon.microservices.pokemon.dto.TypeMatchup;
+import com.pokemon.microservices.pokemon.service.index.TypeEffectivenessTable;
+
+public interface TypeEffectivenessService {
+
+    // Multiplier of an attack against a single type (secondDefenseTypeId null) or a dual type
+    TypeMatchup getMatchup(Long attackTypeId, Long defenseTypeId, Long secondDefenseTypeId);
+
+    // Every single-type defender, plus every dual-type combination when asked for
+    TypeEffectivenessMatrix getMatrix(boolean includeDualTypes);
+
+    // Weaknesses, resistances and immunities of a single or dual type
+    DefensiveProfile getDefensiveProfile(Long primaryTypeId, Long secondaryTypeId);
+
+    // Current table, for callers doing many lookups at once
+    TypeEffectivenessTable getTable();
+}
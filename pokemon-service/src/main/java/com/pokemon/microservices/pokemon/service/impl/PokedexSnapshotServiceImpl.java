@@ -0,0 +1,348 @@
+package com.pokemon.microservices.pokemon.service.impl;
+
+import com.pokemon.microservices.pokemon.config.SnapshotProperties;
+import com.pokemon.microservices.pokemon.dto.PokedexSnapshotInfo;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.EntityKind;
+import com.pokemon.microservices.pokemon.service.PokedexSnapshotService;
+import com.pokemon.microservices.pokemon.snapshot.PokedexSnapshot;
+import com.pokemon.microservices.pokemon.snapshot.PokedexSnapshotWriter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pokedex Snapshot Service
+ *
+ * Exports the Pokedex to a {@link PokedexSnapshot} file and seeds an empty
+ * database from one. Loading skips JPA: rows are read straight from the mapped
+ * file into JDBC batches, keeping their ids, and the identity columns are moved
+ * past the loaded ids afterwards. Evolution links point at other Pokemon, so
+ * they are set in a second pass once every row exists.
+ */
+@Service
+@ConditionalOnProperty(prefix = "pokemon.snapshot", name = "read-only", havingValue = "false", matchIfMissing = true)
+public class PokedexSnapshotServiceImpl implements PokedexSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokedexSnapshotServiceImpl.class);
+
+    private static final String INSERT_TYPE = "INSERT INTO pokemon_types "
+            + "(id, name, color, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_POKEMON = "INSERT INTO pokemon "
+            + "(id, name, pokedex_number, description, height, weight, primary_type_id, secondary_type_id, "
+            + "hp, attack, defense, special_attack, special_defense, speed, is_legendary, is_mythical, "
+            + "generation, image_url, version, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String LINK_EVOLUTIONS = "UPDATE pokemon SET evolves_from_id = ?, evolves_to_id = ? WHERE id = ?";
+
+    private static final String SELECT_TYPES = "SELECT id, name, color, description, created_at, updated_at "
+            + "FROM pokemon_types ORDER BY id";
+    private static final String SELECT_POKEMON = "SELECT id, name, pokedex_number, description, height, weight, "
+            + "primary_type_id, secondary_type_id, hp, attack, defense, special_attack, special_defense, speed, "
+            + "is_legendary, is_mythical, generation, image_url, evolves_from_id, evolves_to_id, version, "
+            + "created_at, updated_at FROM pokemon ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate loadTransaction;
+    private final TransactionTemplate exportTransaction;
+    private final SessionFactory sessionFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SnapshotProperties properties;
+
+    @Autowired
+    public PokedexSnapshotServiceImpl(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      EntityManagerFactory entityManagerFactory,
+                                      ApplicationEventPublisher eventPublisher,
+                                      SnapshotProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        // Types and Pokemon must come from the same point in time
+        this.exportTransaction = new TransactionTemplate(transactionManager);
+        this.exportTransaction.setReadOnly(true);
+        this.exportTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    // Runs before ApplicationReadyEvent, so the in-memory indexes are built from the loaded rows
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        Path path = properties.getPath();
+        if (!properties.isLoadOnStartup() || path == null || !Files.isReadable(path)) {
+            return;
+        }
+        if (!isDatabaseEmpty()) {
+            logger.debug("Database already seeded; not loading snapshot {}", path);
+            return;
+        }
+        try {
+            loadSnapshot(path);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not seed the database from snapshot {}: {}", path, ex.getMessage());
+        }
+    }
+
+    @Override
+    public PokedexSnapshotInfo exportSnapshot(Path path) {
+        long start = System.nanoTime();
+        PokedexSnapshotWriter writer = new PokedexSnapshotWriter();
+        int[] counts = new int[2];
+        exportTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.query(SELECT_TYPES, rs -> {
+                writer.addType(mapType(rs));
+                counts[0]++;
+            });
+            jdbcTemplate.query(SELECT_POKEMON, rs -> {
+                writer.addPokemon(mapPokemon(rs), rs.getObject("evolves_from_id", Long.class),
+                        rs.getObject("evolves_to_id", Long.class));
+                counts[1]++;
+            });
+        });
+
+        Instant exportedAt = Instant.now();
+        long size;
+        try {
+            size = writer.writeTo(path, exportedAt.toEpochMilli());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write snapshot " + path, ex);
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Exported {} types and {} Pokemon to snapshot {} ({} bytes) in {} ms",
+                counts[0], counts[1], path, size, elapsed);
+        return new PokedexSnapshotInfo(path.toString(), counts[0], counts[1], size, exportedAt, elapsed);
+    }
+
+    @Override
+    public PokedexSnapshotInfo loadSnapshot(Path path) {
+        long start = System.nanoTime();
+        PokedexSnapshot snapshot;
+        try {
+            snapshot = PokedexSnapshot.open(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read snapshot " + path, ex);
+        }
+
+        loadTransaction.executeWithoutResult(status -> {
+            if (!isDatabaseEmpty()) {
+                throw new IllegalStateException("A snapshot can only be loaded into an empty database");
+            }
+            insertTypes(snapshot);
+            insertPokemon(snapshot);
+            linkEvolutions(snapshot);
+            restartIdentity("pokemon_types");
+            restartIdentity("pokemon");
+        });
+
+        // The rows were written behind Hibernate's back
+        sessionFactory.getCache().evictEntityData(PokemonType.class);
+        sessionFactory.getCache().evictEntityData(Pokemon.class);
+        sessionFactory.getCache().evictQueryRegions();
+        eventPublisher.publishEvent(EntityChangeEvent.fullRefresh(EntityKind.POKEMON_TYPE));
+        eventPublisher.publishEvent(EntityChangeEvent.fullRefresh(EntityKind.POKEMON));
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Loaded {} types and {} Pokemon from snapshot {} in {} ms",
+                snapshot.typeCount(), snapshot.pokemonCount(), path, elapsed);
+        return new PokedexSnapshotInfo(path.toString(), snapshot.typeCount(), snapshot.pokemonCount(),
+                snapshot.sizeBytes(), snapshot.exportedAt(), elapsed);
+    }
+
+    // ========== CARGA ==========
+
+    private boolean isDatabaseEmpty() {
+        Integer types = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pokemon_types", Integer.class);
+        Integer pokemon = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pokemon", Integer.class);
+        return types != null && types == 0 && pokemon != null && pokemon == 0;
+    }
+
+    private void insertTypes(PokedexSnapshot snapshot) {
+        inBatches(snapshot.typeCount(), INSERT_TYPE, (ps, index) -> {
+            PokemonType type = snapshot.type(index);
+            ps.setLong(1, type.getId());
+            ps.setString(2, type.getName());
+            ps.setString(3, type.getColor());
+            ps.setString(4, type.getDescription());
+            setTimestamp(ps, 5, type.getCreatedAt());
+            setTimestamp(ps, 6, type.getUpdatedAt());
+        });
+    }
+
+    private void insertPokemon(PokedexSnapshot snapshot) {
+        inBatches(snapshot.pokemonCount(), INSERT_POKEMON, (ps, index) -> {
+            Pokemon pokemon = snapshot.pokemon(index);
+            ps.setLong(1, pokemon.getId());
+            ps.setString(2, pokemon.getName());
+            ps.setInt(3, pokemon.getPokedexNumber());
+            ps.setString(4, pokemon.getDescription());
+            setNullable(ps, 5, pokemon.getHeight(), Types.DOUBLE);
+            setNullable(ps, 6, pokemon.getWeight(), Types.DOUBLE);
+            setNullable(ps, 7, pokemon.getPrimaryType() != null ? pokemon.getPrimaryType().getId() : null, Types.BIGINT);
+            setNullable(ps, 8, pokemon.getSecondaryType() != null ? pokemon.getSecondaryType().getId() : null, Types.BIGINT);
+            setNullable(ps, 9, pokemon.getHp(), Types.INTEGER);
+            setNullable(ps, 10, pokemon.getAttack(), Types.INTEGER);
+            setNullable(ps, 11, pokemon.getDefense(), Types.INTEGER);
+            setNullable(ps, 12, pokemon.getSpecialAttack(), Types.INTEGER);
+            setNullable(ps, 13, pokemon.getSpecialDefense(), Types.INTEGER);
+            setNullable(ps, 14, pokemon.getSpeed(), Types.INTEGER);
+            setNullable(ps, 15, pokemon.getIsLegendary(), Types.BOOLEAN);
+            setNullable(ps, 16, pokemon.getIsMythical(), Types.BOOLEAN);
+            setNullable(ps, 17, pokemon.getGeneration(), Types.INTEGER);
+            ps.setString(18, pokemon.getImageUrl());
+            ps.setLong(19, pokemon.getVersion());
+            setTimestamp(ps, 20, pokemon.getCreatedAt());
+            setTimestamp(ps, 21, pokemon.getUpdatedAt());
+        });
+    }
+
+    private void linkEvolutions(PokedexSnapshot snapshot) {
+        List<Integer> linked = new ArrayList<>();
+        for (int i = 0; i < snapshot.pokemonCount(); i++) {
+            if (snapshot.evolvesFromId(i) != null || snapshot.evolvesToId(i) != null) {
+                linked.add(i);
+            }
+        }
+        inBatches(linked.size(), LINK_EVOLUTIONS, (ps, index) -> {
+            int position = linked.get(index);
+            setNullable(ps, 1, snapshot.evolvesFromId(position), Types.BIGINT);
+            setNullable(ps, 2, snapshot.evolvesToId(position), Types.BIGINT);
+            ps.setLong(3, snapshot.pokemonId(position));
+        });
+    }
+
+    private void inBatches(int rows, String sql, RowSetter setter) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < rows; from += batchSize) {
+            int offset = from;
+            int size = Math.min(batchSize, rows - from);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    setter.set(ps, offset + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    // Explicit ids do not advance the identity columns; move them past the loaded rows
+    private void restartIdentity(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(database)) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), ?)", Long.class, table, maxId);
+        } else if ("H2".equals(database)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (maxId + 1));
+        } else {
+            logger.warn("Cannot restart the id column of {} on {}; new rows may collide with loaded ids",
+                    table, database);
+        }
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setObject(index, value);
+        }
+    }
+
+    // ========== EXPORTACIÓN ==========
+
+    private static PokemonType mapType(ResultSet rs) throws SQLException {
+        PokemonType type = new PokemonType();
+        type.setId(rs.getLong("id"));
+        type.setName(rs.getString("name"));
+        type.setColor(rs.getString("color"));
+        type.setDescription(rs.getString("description"));
+        type.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        type.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+        return type;
+    }
+
+    private static Pokemon mapPokemon(ResultSet rs) throws SQLException {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(rs.getLong("id"));
+        pokemon.setName(rs.getString("name"));
+        pokemon.setPokedexNumber(rs.getInt("pokedex_number"));
+        pokemon.setDescription(rs.getString("description"));
+        pokemon.setHeight(rs.getObject("height", Double.class));
+        pokemon.setWeight(rs.getObject("weight", Double.class));
+        pokemon.setPrimaryType(typeRef(rs.getObject("primary_type_id", Long.class)));
+        pokemon.setSecondaryType(typeRef(rs.getObject("secondary_type_id", Long.class)));
+        pokemon.setHp(rs.getObject("hp", Integer.class));
+        pokemon.setAttack(rs.getObject("attack", Integer.class));
+        pokemon.setDefense(rs.getObject("defense", Integer.class));
+        pokemon.setSpecialAttack(rs.getObject("special_attack", Integer.class));
+        pokemon.setSpecialDefense(rs.getObject("special_defense", Integer.class));
+        pokemon.setSpeed(rs.getObject("speed", Integer.class));
+        pokemon.setIsLegendary(rs.getObject("is_legendary", Boolean.class));
+        pokemon.setIsMythical(rs.getObject("is_mythical", Boolean.class));
+        pokemon.setGeneration(rs.getObject("generation", Integer.class));
+        pokemon.setImageUrl(rs.getString("image_url"));
+        pokemon.setVersion(rs.getLong("version"));
+        pokemon.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        pokemon.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+        return pokemon;
+    }
+
+    // Only the id is written for a Pokemon's types
+    private static PokemonType typeRef(Long id) {
+        if (id == null) {
+            return null;
+        }
+        PokemonType type = new PokemonType();
+        type.setId(id);
+        return type;
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int index) throws SQLException;
+    }
+}
@@ -0,0 +1,398 @@
+package com.pokemon.microservices.pokemon.service.impl;
+
+import com.pokemon.microservices.pokemon.config.AnalysisProperties;
+import com.pokemon.microservices.pokemon.dto.TeamAnalysis;
+import com.pokemon.microservices.pokemon.dto.TeamAnalysis.StatProfile;
+import com.pokemon.microservices.pokemon.dto.TeamAnalysis.TeamWeakness;
+import com.pokemon.microservices.pokemon.dto.TeamOptimizationRequest;
+import com.pokemon.microservices.pokemon.dto.TeamOptimizationResult;
+import com.pokemon.microservices.pokemon.dto.TypeSummary;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.repository.PokemonRepository;
+import com.pokemon.microservices.pokemon.service.PokemonAnalysisService;
+import com.pokemon.microservices.pokemon.service.TypeEffectivenessService;
+import com.pokemon.microservices.pokemon.service.index.CompactPokedex;
+import com.pokemon.microservices.pokemon.service.index.TeamOptimizer;
+import com.pokemon.microservices.pokemon.service.index.TypeEffectivenessTable;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Pokemon Analysis Service
+ *
+ * Team analysis on type bitmasks from the {@link TypeEffectivenessTable}: each
+ * member contributes the mask of types it hits super effectively and the masks
+ * of types it is weak to and resists, so coverage and shared weaknesses of a
+ * whole team take a few ORs, ANDs and a bit-sliced counter.
+ *
+ * The team optimizer searches a {@link CompactPokedex} with a parallel
+ * {@link TeamOptimizer}. The compact copy is marked stale on any Pokemon or type
+ * change and rebuilt, with one query, on the next optimization.
+ */
+@Service
+@ConditionalOnProperty(prefix = "pokemon.snapshot", name = "read-only", havingValue = "false", matchIfMissing = true)
+public class PokemonAnalysisServiceImpl implements PokemonAnalysisService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokemonAnalysisServiceImpl.class);
+
+    private static final String[] STAT_NAMES = {
+            "hp", "attack", "defense", "specialAttack", "specialDefense", "speed"
+    };
+
+    private final PokemonRepository pokemonRepository;
+    private final TypeEffectivenessService typeEffectivenessService;
+    private final AnalysisProperties properties;
+    private final ForkJoinPool optimizerPool;
+
+    private volatile CompactPokedex pokedex;
+    private volatile boolean pokedexStale = true;
+
+    @Autowired
+    public PokemonAnalysisServiceImpl(PokemonRepository pokemonRepository,
+                                      TypeEffectivenessService typeEffectivenessService,
+                                      AnalysisProperties properties) {
+        this.pokemonRepository = pokemonRepository;
+        this.typeEffectivenessService = typeEffectivenessService;
+        this.properties = properties;
+        this.optimizerPool = new ForkJoinPool(properties.getOptimizeParallelism() > 0
+                ? properties.getOptimizeParallelism()
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        optimizerPool.shutdownNow();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TeamAnalysis analyzeTeam(List<Long> pokemonIds) {
+        TeamAnalysis analysis = analyzeTeams(List.of(pokemonIds == null ? List.of() : pokemonIds)).get(0);
+        if (!analysis.valid()) {
+            throw new IllegalArgumentException("Invalid team: " + String.join("; ", analysis.problems()));
+        }
+        return analysis;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TeamAnalysis> analyzeTeams(List<List<Long>> teams) {
+        if (teams == null || teams.isEmpty()) {
+            throw new IllegalArgumentException("At least one team is required");
+        }
+        if (teams.size() > properties.getMaxTeams()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxTeams() + " teams per request");
+        }
+        TypeEffectivenessTable table = typeEffectivenessService.getTable();
+        if (!table.hasMasks()) {
+            throw new IllegalArgumentException("Team analysis supports at most "
+                    + TypeEffectivenessTable.MAX_MASK_TYPES + " types");
+        }
+
+        // Malformed teams are reported without loading their members; one query for the rest
+        List<List<String>> problems = new ArrayList<>(teams.size());
+        Set<Long> ids = new HashSet<>();
+        for (List<Long> team : teams) {
+            List<String> teamProblems = shapeProblems(team);
+            if (teamProblems.isEmpty()) {
+                ids.addAll(team);
+            }
+            problems.add(teamProblems);
+        }
+        Map<Long, Member> members = new HashMap<>(ids.size() * 2);
+        if (!ids.isEmpty()) {
+            for (Pokemon pokemon : pokemonRepository.findAllWithTypesByIdIn(ids)) {
+                members.put(pokemon.getId(), Member.of(pokemon, table));
+            }
+        }
+        logger.debug("Analyzing {} teams with {} distinct members", teams.size(), members.size());
+
+        List<TeamAnalysis> analyses = new ArrayList<>(teams.size());
+        for (int i = 0; i < teams.size(); i++) {
+            analyses.add(analyze(teams.get(i), problems.get(i), members, table));
+        }
+        return analyses;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TeamOptimizationResult optimizeTeam(TeamOptimizationRequest request) {
+        long start = System.nanoTime();
+        TeamOptimizationRequest constraints = request != null
+                ? request
+                : new TeamOptimizationRequest(null, null, null, null, null);
+        TypeEffectivenessTable table = typeEffectivenessService.getTable();
+        if (!table.hasMasks()) {
+            throw new IllegalArgumentException("Team optimization supports at most "
+                    + TypeEffectivenessTable.MAX_MASK_TYPES + " types");
+        }
+        CompactPokedex current = pokedex();
+
+        // Required members are fixed; the search fills the remaining slots
+        List<Long> required = constraints.requiredPokemonIds() != null
+                ? List.copyOf(new LinkedHashSet<>(constraints.requiredPokemonIds()))
+                : List.of();
+        if (required.size() > properties.getTeamSize()) {
+            throw new IllegalArgumentException("At most " + properties.getTeamSize() + " required members");
+        }
+        Set<Integer> fixed = new HashSet<>();
+        long baseCoverage = 0;
+        long baseStats = 0;
+        for (Long id : required) {
+            int index = current.indexOf(id);
+            if (index < 0) {
+                throw new RuntimeException("Pokemon not found with ID: " + id);
+            }
+            fixed.add(index);
+            baseCoverage |= coverageOf(current, index, table);
+            baseStats += current.totalStats(index);
+        }
+
+        List<Integer> candidates = new ArrayList<>();
+        for (int index = 0; index < current.size(); index++) {
+            if (!fixed.contains(index) && meets(constraints, current, index)) {
+                candidates.add(index);
+            }
+        }
+        long[] masks = new long[candidates.size()];
+        int[] totals = new int[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            masks[i] = coverageOf(current, candidates.get(i), table);
+            totals[i] = current.totalStats(candidates.get(i));
+        }
+
+        Duration budget = constraints.timeBudgetMillis() != null
+                ? Duration.ofMillis(Math.max(constraints.timeBudgetMillis(), 1))
+                : properties.getOptimizeTimeBudget();
+        if (budget.compareTo(properties.getMaxOptimizeTimeBudget()) > 0) {
+            budget = properties.getMaxOptimizeTimeBudget();
+        }
+        TeamOptimizer.Result result = new TeamOptimizer(masks, totals, properties.getTeamSize() - required.size(),
+                baseCoverage, baseStats, properties.getCoverageWeight(), start + budget.toNanos())
+                .optimize(optimizerPool);
+
+        List<Long> teamIds = new ArrayList<>(required);
+        for (int member : result.members()) {
+            teamIds.add(current.id(candidates.get(member)));
+        }
+        Map<Long, Pokemon> loaded = new HashMap<>();
+        pokemonRepository.findAllWithTypesByIdIn(teamIds).forEach(pokemon -> loaded.put(pokemon.getId(), pokemon));
+        List<Pokemon> team = teamIds.stream().map(loaded::get).filter(Objects::nonNull).toList();
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Optimized team from {} candidates in {} ms ({} nodes, complete: {})",
+                candidates.size(), elapsedMillis, result.nodesExplored(), result.complete());
+        return new TeamOptimizationResult(team, types(table, result.coverage()), result.totalStats(),
+                result.complete(), candidates.size(), result.nodesExplored(), elapsedMillis);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        pokedexStale = true;
+    }
+
+    private synchronized CompactPokedex pokedex() {
+        if (pokedexStale) {
+            // Cleared before reading, so a change during the rebuild marks it stale again
+            pokedexStale = false;
+            pokedex = CompactPokedex.of(pokemonRepository.findAllCompactRows());
+        }
+        return pokedex;
+    }
+
+    private static boolean meets(TeamOptimizationRequest constraints, CompactPokedex pokedex, int index) {
+        if (constraints.maxGeneration() != null && (pokedex.generation(index) == CompactPokedex.NO_GENERATION
+                || pokedex.generation(index) > constraints.maxGeneration())) {
+            return false;
+        }
+        if (Boolean.TRUE.equals(constraints.noLegendaries()) && pokedex.isSpecial(index)) {
+            return false;
+        }
+        return constraints.minSpeed() == null || pokedex.speed(index) >= constraints.minSpeed();
+    }
+
+    private static long coverageOf(CompactPokedex pokedex, int index, TypeEffectivenessTable table) {
+        return superEffectiveMask(table, pokedex.primaryTypeId(index))
+                | superEffectiveMask(table, pokedex.secondaryTypeId(index));
+    }
+
+    private static long superEffectiveMask(TypeEffectivenessTable table, long typeId) {
+        int type = typeId == 0 ? -1 : table.indexOf(typeId);
+        return type > 0 ? table.superEffectiveMask(type) : 0L;
+    }
+
+    // Problems found without loading anything: no members, too many, or a null id
+    private List<String> shapeProblems(List<Long> pokemonIds) {
+        List<String> problems = new ArrayList<>();
+        if (pokemonIds == null || pokemonIds.isEmpty()) {
+            problems.add("Team is empty");
+        } else if (pokemonIds.size() > properties.getTeamSize()) {
+            problems.add("Team has more than " + properties.getTeamSize() + " members");
+        } else if (pokemonIds.stream().anyMatch(Objects::isNull)) {
+            problems.add("Pokemon ID cannot be null");
+        }
+        return problems;
+    }
+
+    private TeamAnalysis analyze(List<Long> pokemonIds, List<String> problems, Map<Long, Member> members,
+                                 TypeEffectivenessTable table) {
+        List<Member> team = new ArrayList<>();
+        Set<Long> seen = new LinkedHashSet<>();
+        for (Long id : problems.isEmpty() ? pokemonIds : List.<Long>of()) {
+            Member member = members.get(id);
+            if (member == null) {
+                problems.add("Pokemon not found with ID: " + id);
+            } else if (!seen.add(id)) {
+                problems.add("Duplicate Pokemon ID: " + id);
+            } else {
+                team.add(member);
+            }
+        }
+
+        long coverage = 0;
+        long weakUnion = 0;
+        long resistUnion = 0;
+        TypeCounter weak = new TypeCounter();
+        TypeCounter resistant = new TypeCounter();
+        for (Member member : team) {
+            coverage |= member.superEffective;
+            weakUnion |= member.weak;
+            resistUnion |= member.resistant;
+            weak.add(member.weak);
+            resistant.add(member.resistant);
+        }
+
+        List<TeamWeakness> shared = new ArrayList<>();
+        long sharedMask = weak.atLeastTwo();
+        for (int index = 1; index <= table.typeCount(); index++) {
+            if ((sharedMask & TypeEffectivenessTable.bit(index)) != 0) {
+                shared.add(new TeamWeakness(summary(table, index), weak.count(index), resistant.count(index)));
+            }
+        }
+        shared.sort((a, b) -> Integer.compare(b.weakMembers() - b.resistantMembers(),
+                a.weakMembers() - a.resistantMembers()));
+
+        return new TeamAnalysis(List.copyOf(seen), problems.isEmpty(), problems,
+                types(table, coverage),
+                types(table, table.allTypesMask() & ~coverage),
+                shared,
+                types(table, weakUnion & ~resistUnion),
+                statProfile(team));
+    }
+
+    private static StatProfile statProfile(List<Member> team) {
+        if (team.isEmpty()) {
+            return null;
+        }
+        int[] sums = new int[STAT_NAMES.length];
+        int minSpeed = Integer.MAX_VALUE;
+        int maxSpeed = Integer.MIN_VALUE;
+        for (Member member : team) {
+            for (int stat = 0; stat < STAT_NAMES.length; stat++) {
+                sums[stat] += member.stats[stat];
+            }
+            minSpeed = Math.min(minSpeed, member.stats[5]);
+            maxSpeed = Math.max(maxSpeed, member.stats[5]);
+        }
+
+        Map<String, Double> averages = new LinkedHashMap<>();
+        int total = 0;
+        int strongest = 0;
+        int weakest = 0;
+        for (int stat = 0; stat < STAT_NAMES.length; stat++) {
+            averages.put(STAT_NAMES[stat], (double) sums[stat] / team.size());
+            total += sums[stat];
+            strongest = sums[stat] > sums[strongest] ? stat : strongest;
+            weakest = sums[stat] < sums[weakest] ? stat : weakest;
+        }
+        return new StatProfile(total, averages, STAT_NAMES[strongest], STAT_NAMES[weakest], minSpeed, maxSpeed);
+    }
+
+    private static List<TypeSummary> types(TypeEffectivenessTable table, long mask) {
+        List<TypeSummary> types = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            types.add(summary(table, Long.numberOfTrailingZeros(remaining) + 1));
+        }
+        return types;
+    }
+
+    private static TypeSummary summary(TypeEffectivenessTable table, int index) {
+        return new TypeSummary(table.idAt(index), table.nameAt(index));
+    }
+
+    /**
+     * A team member reduced to its type masks and stats.
+     */
+    private record Member(long superEffective, long weak, long resistant, int[] stats) {
+
+        private static Member of(Pokemon pokemon, TypeEffectivenessTable table) {
+            int primary = indexOf(table, pokemon.getPrimaryType());
+            int secondary = indexOf(table, pokemon.getSecondaryType());
+            long superEffective = (primary != TypeEffectivenessTable.NONE ? table.superEffectiveMask(primary) : 0)
+                    | (secondary != TypeEffectivenessTable.NONE ? table.superEffectiveMask(secondary) : 0);
+            int[] stats = {
+                    valueOf(pokemon.getHp()), valueOf(pokemon.getAttack()), valueOf(pokemon.getDefense()),
+                    valueOf(pokemon.getSpecialAttack()), valueOf(pokemon.getSpecialDefense()),
+                    valueOf(pokemon.getSpeed())
+            };
+            return new Member(superEffective, table.weakMask(primary, secondary),
+                    table.resistMask(primary, secondary) | table.immuneMask(primary, secondary), stats);
+        }
+
+        private static int indexOf(TypeEffectivenessTable table, PokemonType type) {
+            // Types created after the table was built count as typeless until it is rebuilt
+            return type == null ? TypeEffectivenessTable.NONE : Math.max(table.indexOf(type.getId()), 0);
+        }
+
+        private static int valueOf(Integer stat) {
+            return stat != null ? stat : 0;
+        }
+    }
+
+    /**
+     * Bit-sliced counter: for every type bit, how many of the added masks had it
+     * set (up to 7), kept in three bit planes updated with a ripple-carry add.
+     */
+    private static final class TypeCounter {
+        private long ones;
+        private long twos;
+        private long fours;
+
+        private void add(long mask) {
+            long carry = ones & mask;
+            ones ^= mask;
+            long carryTwo = twos & carry;
+            twos ^= carry;
+            fours |= carryTwo;
+        }
+
+        private long atLeastTwo() {
+            return twos | fours;
+        }
+
+        private int count(int index) {
+            long bit = TypeEffectivenessTable.bit(index);
+            return ((ones & bit) != 0 ? 1 : 0) + ((twos & bit) != 0 ? 2 : 0) + ((fours & bit) != 0 ? 4 : 0);
+        }
+    }
+}
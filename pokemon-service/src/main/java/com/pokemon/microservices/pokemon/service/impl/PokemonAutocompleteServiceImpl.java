@@ -0,0 +1,217 @@
+package com.pokemon.microservices.pokemon.service.impl;
+
+import com.pokemon.microservices.pokemon.config.AutocompleteProperties;
+import com.pokemon.microservices.pokemon.dto.PokemonSuggestion;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.service.PokemonAutocompleteService;
+import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.service.index.PokemonNameTrie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pokemon Autocomplete Service
+ *
+ * Answers name completions from an in-memory {@link PokemonNameTrie}. Exact
+ * prefix matches come first, ranked by how often each Pokemon is opened; when
+ * there are not enough of them the trie is searched again allowing one or two
+ * typos, depending on the prefix length.
+ */
+@Service
+public class PokemonAutocompleteServiceImpl implements PokemonAutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokemonAutocompleteServiceImpl.class);
+
+    // Larger change batches are cheaper to apply as a full reload
+    private static final int FULL_RELOAD_THRESHOLD = 64;
+
+    private final PokemonService pokemonService;
+    private final AutocompleteProperties properties;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final PokemonNameTrie trie;
+    private final AtomicBoolean popularityChanged = new AtomicBoolean();
+
+    @Autowired
+    public PokemonAutocompleteServiceImpl(PokemonService pokemonService, AutocompleteProperties properties) {
+        this.pokemonService = pokemonService;
+        this.properties = properties;
+        this.trie = new PokemonNameTrie(properties.getMaxSuggestions(), id -> {
+            Entry entry = entries.get(id);
+            return entry != null ? entry.weight : 0L;
+        });
+    }
+
+    @Override
+    public List<PokemonSuggestion> suggest(String prefix, int limit) {
+        String folded = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        int max = Math.min(limit, properties.getMaxSuggestions());
+        if (folded.isEmpty() || max <= 0) {
+            return List.of();
+        }
+
+        List<PokemonSuggestion> suggestions = new ArrayList<>(max);
+        Set<Long> seen = new HashSet<>();
+        for (long id : trie.complete(folded)) {
+            if (suggestions.size() == max) {
+                return suggestions;
+            }
+            addSuggestion(suggestions, seen, id, 0);
+        }
+
+        int maxDistance = allowedDistance(folded.length());
+        if (suggestions.size() < max && maxDistance > 0) {
+            List<Map.Entry<Long, Integer>> fuzzy = new ArrayList<>(trie.completeFuzzy(folded, maxDistance).entrySet());
+            fuzzy.sort(Comparator.<Map.Entry<Long, Integer>>comparingInt(Map.Entry::getValue)
+                    .thenComparing(match -> -weightOf(match.getKey()))
+                    .thenComparing(Map.Entry::getKey));
+            for (Map.Entry<Long, Integer> match : fuzzy) {
+                if (suggestions.size() == max) {
+                    break;
+                }
+                addSuggestion(suggestions, seen, match.getKey(), match.getValue());
+            }
+        }
+        return suggestions;
+    }
+
+    @Override
+    public void recordSelection(Long pokemonId) {
+        Entry entry = entries.get(pokemonId);
+        if (entry != null) {
+            entry.hits.increment();
+            popularityChanged.set(true);
+        }
+    }
+
+    // ========== MANTENIMIENTO DEL ÍNDICE ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.kind() != EntityChangeEvent.EntityKind.POKEMON) {
+            return;
+        }
+        if (event.isFullRefresh() || event.ids().size() > FULL_RELOAD_THRESHOLD) {
+            rebuild();
+            return;
+        }
+        synchronized (this) {
+            for (Long id : event.ids()) {
+                pokemonService.findById(id).ifPresentOrElse(this::upsert, () -> remove(id));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pokemon.autocomplete.reweigh-interval:PT30S}")
+    public void reweigh() {
+        if (!popularityChanged.getAndSet(false)) {
+            return;
+        }
+        synchronized (this) {
+            entries.values().forEach(entry -> entry.weight = entry.hits.sum());
+            trie.reweigh();
+        }
+    }
+
+    public synchronized void rebuild() {
+        Set<Long> present = new HashSet<>();
+        for (Pokemon pokemon : pokemonService.findAll(Pageable.unpaged())) {
+            upsert(pokemon);
+            present.add(pokemon.getId());
+        }
+        for (Long id : List.copyOf(entries.keySet())) {
+            if (!present.contains(id)) {
+                remove(id);
+            }
+        }
+        logger.info("Autocomplete index built with {} names", entries.size());
+    }
+
+    private void upsert(Pokemon pokemon) {
+        if (pokemon.getName() == null) {
+            return;
+        }
+        String folded = pokemon.getName().toLowerCase(Locale.ROOT);
+        Entry previous = entries.get(pokemon.getId());
+        Entry entry = new Entry(pokemon.getId(), pokemon.getName(), folded, pokemon.getPokedexNumber(),
+                previous != null ? previous.hits : new LongAdder());
+        entry.weight = previous != null ? previous.weight : 0L;
+
+        if (previous != null && !previous.foldedName.equals(folded)) {
+            trie.remove(previous.foldedName, pokemon.getId());
+        }
+        entries.put(pokemon.getId(), entry);
+        trie.insert(folded, pokemon.getId());
+    }
+
+    private void remove(Long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            trie.remove(previous.foldedName, id);
+        }
+    }
+
+    private void addSuggestion(List<PokemonSuggestion> suggestions, Set<Long> seen, long id, int distance) {
+        Entry entry = entries.get(id);
+        if (entry != null && seen.add(id)) {
+            suggestions.add(new PokemonSuggestion(entry.id, entry.name, entry.pokedexNumber, distance));
+        }
+    }
+
+    private long weightOf(Long id) {
+        Entry entry = entries.get(id);
+        return entry != null ? entry.weight : 0L;
+    }
+
+    private int allowedDistance(int prefixLength) {
+        int exact = properties.getExactPrefixLength();
+        if (prefixLength <= exact) {
+            return 0;
+        }
+        return prefixLength <= exact * 2 ? 1 : 2;
+    }
+
+    private static final class Entry {
+        private final Long id;
+        private final String name;
+        private final String foldedName;
+        private final Integer pokedexNumber;
+        private final LongAdder hits;
+        // Ranking weight, refreshed from hits on each reweigh so rankings stay stable in between
+        private volatile long weight;
+
+        private Entry(Long id, String name, String foldedName, Integer pokedexNumber, LongAdder hits) {
+            this.id = id;
+            this.name = name;
+            this.foldedName = foldedName;
+            this.pokedexNumber = pokedexNumber;
+            this.hits = hits;
+        }
+    }
+}
@@ -1,34 +1,70 @@
 package com.pokemon.microservices.pokemon.service.impl;
 
+import com.pokemon.microservices.pokemon.config.BatchProperties;
+import com.pokemon.microservices.pokemon.dto.PokemonBatchResult;
+import com.pokemon.microservices.pokemon.dto.PokemonBulkRequest;
+import com.pokemon.microservices.pokemon.dto.PokemonBulkResult;
+import com.pokemon.microservices.pokemon.dto.PokemonFilter;
+import com.pokemon.microservices.pokemon.dto.PokemonPatch;
 import com.pokemon.microservices.pokemon.entity.Pokemon;
 import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.ChangeAction;
 import com.pokemon.microservices.pokemon.repository.PokemonRepository;
+import com.pokemon.microservices.pokemon.repository.PokemonTypeRepository;
 import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.service.index.PokemonLookupIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(prefix = "pokemon.snapshot", name = "read-only", havingValue = "false", matchIfMissing = true)
 public class PokemonServiceImpl implements PokemonService {
 
+    // Ids per IN list in bulk statements, well below driver parameter limits
+    private static final int BULK_CHUNK_SIZE = 500;
+
     private final PokemonRepository pokemonRepository;
+    private final PokemonTypeRepository pokemonTypeRepository;
+    private final PokemonLookupIndex lookupIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BatchProperties batchProperties;
 
     @Override
+    @Transactional
     public Pokemon createPokemon(Pokemon pokemon) {
-        return pokemonRepository.save(pokemon);
+        validateUniqueConstraints(pokemon, null);
+
+        Pokemon saved = pokemonRepository.save(pokemon);
+        eventPublisher.publishEvent(EntityChangeEvent.pokemon(ChangeAction.CREATED, saved.getId()));
+        return saved;
     }
 
     @Override
+    @Transactional
     public Pokemon updatePokemon(Long id, Pokemon pokemon) {
-        return pokemonRepository.findById(id)
+        validateUniqueConstraints(pokemon, id);
+
+        Pokemon updated = pokemonRepository.findById(id)
                 .map(existing -> {
                     existing.setName(pokemon.getName());
                     existing.setPokedexNumber(pokemon.getPokedexNumber());
@@ -50,35 +86,106 @@ public class PokemonServiceImpl implements PokemonService {
                     return pokemonRepository.save(existing);
                 })
                 .orElseThrow(() -> new RuntimeException("Pokemon not found"));
+        eventPublisher.publishEvent(EntityChangeEvent.pokemon(ChangeAction.UPDATED, id));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public long patchPokemon(Long id, PokemonPatch patch) {
+        Map<String, Object> changes = patch.getChanges();
+        Pokemon uniqueKeys = new Pokemon();
+        uniqueKeys.setName((String) changes.get("name"));
+        uniqueKeys.setPokedexNumber((Integer) changes.get("pokedexNumber"));
+        validateUniqueConstraints(uniqueKeys, id);
+        resolveType(changes, PokemonPatch.PRIMARY_TYPE_ID);
+        resolveType(changes, PokemonPatch.SECONDARY_TYPE_ID);
+
+        long version;
+        if (patch.getVersion() != null) {
+            if (patch.isEmpty()) {
+                return currentVersion(id, patch.getVersion());
+            }
+            // Single UPDATE ... WHERE id = ? AND version = ?, no read of the row
+            if (pokemonRepository.updateIfVersionMatches(id, patch.getVersion(), changes) == 0) {
+                if (!pokemonRepository.existsById(id)) {
+                    throw new RuntimeException("Pokemon not found");
+                }
+                throw new ObjectOptimisticLockingFailureException(Pokemon.class, id);
+            }
+            version = patch.getVersion() + 1;
+        } else {
+            Pokemon existing = pokemonRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Pokemon not found"));
+            changes.forEach((attribute, value) -> applyChange(existing, attribute, value));
+            // @DynamicUpdate writes only the columns that changed
+            version = pokemonRepository.saveAndFlush(existing).getVersion();
+        }
+        if (!patch.isEmpty()) {
+            eventPublisher.publishEvent(EntityChangeEvent.pokemon(ChangeAction.UPDATED, id));
+        }
+        return version;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Pokemon> findById(Long id) {
-        return pokemonRepository.findById(id);
+        return pokemonRepository.findById(id).map(this::withEvolutionLinks);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Pokemon> findByPokedexNumber(Integer pokedexNumber) {
-        return pokemonRepository.findByPokedexNumber(pokedexNumber);
+        if (lookupIndex.isReady()) {
+            // A miss is final: local and peer changes reach the index through EntityChangeEvents
+            Long id = lookupIndex.findIdByPokedexNumber(pokedexNumber);
+            if (id == null) {
+                return Optional.empty();
+            }
+            // A hit is only trusted if the row still matches; otherwise ask the database
+            Optional<Pokemon> hit = pokemonRepository.findById(id)
+                    .filter(p -> pokedexNumber.equals(p.getPokedexNumber()));
+            if (hit.isPresent()) {
+                return hit.map(this::withEvolutionLinks);
+            }
+        }
+        return pokemonRepository.findByPokedexNumber(pokedexNumber).map(this::withEvolutionLinks);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Pokemon> findByName(String name) {
-        return pokemonRepository.findByNameIgnoreCase(name);
+        if (lookupIndex.isReady()) {
+            Long id = lookupIndex.findIdByName(name);
+            if (id == null) {
+                return Optional.empty();
+            }
+            Optional<Pokemon> hit = pokemonRepository.findById(id)
+                    .filter(p -> name.equalsIgnoreCase(p.getName()));
+            if (hit.isPresent()) {
+                return hit.map(this::withEvolutionLinks);
+            }
+        }
+        return pokemonRepository.findByNameIgnoreCase(name).map(this::withEvolutionLinks);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<Pokemon> findAll(Pageable pageable) {
-        return pokemonRepository.findAll(pageable);
+        return withEvolutionLinks(pokemonRepository.findAll(pageable));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAllProjected(Set<String> fields, Pageable pageable) {
+        return pokemonRepository.findAllProjected(fields, pageable);
+    }
+
+    @Override
+    @Transactional
     public void deleteById(Long id) {
         pokemonRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangeEvent.pokemon(ChangeAction.DELETED, id));
     }
 
     @Override
@@ -90,46 +197,175 @@ public class PokemonServiceImpl implements PokemonService {
     @Override
     @Transactional(readOnly = true)
     public boolean existsByName(String name) {
-        return pokemonRepository.findByNameIgnoreCase(name).isPresent();
+        if (lookupIndex.isReady()) {
+            return lookupIndex.findIdByName(name) != null;
+        }
+        return pokemonRepository.existsByNameIgnoreCase(name);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existsByPokedexNumber(Integer pokedexNumber) {
-        return pokemonRepository.findByPokedexNumber(pokedexNumber).isPresent();
+        if (lookupIndex.isReady()) {
+            return lookupIndex.findIdByPokedexNumber(pokedexNumber) != null;
+        }
+        return pokemonRepository.existsByPokedexNumber(pokedexNumber);
+    }
+
+    // ========== MULTI-GET ==========
+
+    @Override
+    @Transactional(readOnly = true)
+    public PokemonBatchResult<Long> findAllByIds(List<Long> ids) {
+        Map<Long, Long> keys = batchKeys(ids, Function.identity());
+        List<Pokemon> found = withEvolutionLinks(pokemonRepository.findAllWithTypesByIdIn(keys.keySet()));
+        return PokemonBatchResult.inRequestOrder(keys, found, Pokemon::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PokemonBatchResult<String> findAllByNames(List<String> names) {
+        Map<String, String> keys = batchKeys(names, name -> name.trim().toLowerCase(Locale.ROOT));
+        List<Pokemon> found = withEvolutionLinks(pokemonRepository.findAllWithTypesByLowerNameIn(keys.keySet()));
+        return PokemonBatchResult.inRequestOrder(keys, found,
+                pokemon -> pokemon.getName().toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PokemonBatchResult<Integer> findAllByPokedexNumbers(List<Integer> pokedexNumbers) {
+        Map<Integer, Integer> keys = batchKeys(pokedexNumbers, Function.identity());
+        List<Pokemon> found = withEvolutionLinks(pokemonRepository.findAllWithTypesByPokedexNumberIn(keys.keySet()));
+        return PokemonBatchResult.inRequestOrder(keys, found, Pokemon::getPokedexNumber);
+    }
+
+    private <K> Map<K, K> batchKeys(List<K> requested, Function<K, K> normalize) {
+        return PokemonBatchResult.keysOf(requested, normalize, batchProperties.getMaxSize());
+    }
+
+    // ========== OPERACIONES MASIVAS ==========
+
+    @Override
+    @Transactional
+    public PokemonBulkResult bulkUpdate(PokemonBulkRequest request) {
+        if (request.changes() == null || request.changes().isEmpty()) {
+            throw new IllegalArgumentException("Bulk update needs at least one field to change");
+        }
+        PokemonPatch patch = PokemonPatch.from(request.changes(), null);
+        if (patch.getVersion() != null) {
+            throw new IllegalArgumentException("Bulk update does not take a version");
+        }
+        if (patch.getChanges().containsKey("name") || patch.getChanges().containsKey("pokedexNumber")) {
+            throw new IllegalArgumentException("Name and Pokedex number are unique and cannot be set in bulk");
+        }
+        resolveType(patch.getChanges(), PokemonPatch.PRIMARY_TYPE_ID);
+        resolveType(patch.getChanges(), PokemonPatch.SECONDARY_TYPE_ID);
+
+        List<Long> ids = resolveBulkIds(request);
+        int affected = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            affected += pokemonRepository.updateAllByIdIn(chunk, patch.getChanges());
+        }
+        log.info("Bulk updated {} Pokemon, fields: {}", affected, patch.getChanges().keySet());
+        publishBulkChange(ChangeAction.UPDATED, ids);
+        return new PokemonBulkResult(affected, ids);
+    }
+
+    @Override
+    @Transactional
+    public PokemonBulkResult bulkDelete(PokemonBulkRequest request) {
+        if (request.changes() != null && !request.changes().isEmpty()) {
+            throw new IllegalArgumentException("Bulk delete does not take changes");
+        }
+        List<Long> ids = resolveBulkIds(request);
+        Set<Long> relinked = new LinkedHashSet<>();
+        for (List<Long> chunk : chunks(ids)) {
+            relinked.addAll(pokemonRepository.findIdsEvolvingFromOrToIn(chunk));
+            pokemonRepository.clearEvolvesFromIn(chunk);
+            pokemonRepository.clearEvolvesToIn(chunk);
+        }
+        int affected = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            affected += pokemonRepository.deleteAllByIdIn(chunk);
+        }
+        log.info("Bulk deleted {} Pokemon", affected);
+        publishBulkChange(ChangeAction.DELETED, ids);
+        // Survivors that lost an evolution link changed too
+        ids.forEach(relinked::remove);
+        publishBulkChange(ChangeAction.UPDATED, List.copyOf(relinked));
+        return new PokemonBulkResult(affected, ids);
+    }
+
+    private List<Long> resolveBulkIds(PokemonBulkRequest request) {
+        boolean byIds = request.ids() != null && !request.ids().isEmpty();
+        boolean byFilter = request.filter() != null && !request.filter().isEmpty();
+        if (byIds == byFilter) {
+            throw new IllegalArgumentException("Give either a list of ids or a non-empty filter");
+        }
+        if (byFilter) {
+            PokemonFilter filter = request.filter();
+            return pokemonRepository.findIdsWithFilters(filter.generation(), filter.typeId(), filter.legendary(),
+                    filter.minPokedex(), filter.maxPokedex());
+        }
+        List<Long> ids = new ArrayList<>();
+        for (List<Long> chunk : chunks(List.copyOf(new LinkedHashSet<>(request.ids())))) {
+            ids.addAll(pokemonRepository.findExistingIds(chunk));
+        }
+        return ids;
+    }
+
+    private void publishBulkChange(ChangeAction action, List<Long> ids) {
+        // One event for the whole operation; listeners refresh the ids together
+        if (!ids.isEmpty()) {
+            eventPublisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.EntityKind.POKEMON, action, ids));
+        }
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + BULK_CHUNK_SIZE)));
+        }
+        return chunks;
     }
 
     // Implementaciones mínimas para los demás métodos
     @Override
+    @Transactional(readOnly = true)
     public Page<Pokemon> searchPokemon(String searchTerm, Pageable pageable) {
-        return pokemonRepository.findAll(pageable); // Implementación básica
+        return withEvolutionLinks(pokemonRepository.findAll(pageable)); // Implementación básica
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Pokemon> findByType(PokemonType type) {
-        return pokemonRepository.findByPrimaryType(type);
+        return withEvolutionLinks(pokemonRepository.findByPrimaryType(type));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Pokemon> findByGeneration(Integer generation) {
-        return pokemonRepository.findByGeneration(generation);
+        return withEvolutionLinks(pokemonRepository.findByGeneration(generation));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Pokemon> findLegendaryPokemon() {
-        return pokemonRepository.findByIsLegendaryTrue();
+        return withEvolutionLinks(pokemonRepository.findByIsLegendaryTrue());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Pokemon> findMythicalPokemon() {
-        return pokemonRepository.findByIsMythicalTrue();
+        return withEvolutionLinks(pokemonRepository.findByIsMythicalTrue());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Pokemon> findWithFilters(Integer generation, PokemonType primaryType,
                                          Boolean isLegendary, Integer minPokedexNumber,
                                          Integer maxPokedexNumber, Pageable pageable) {
-        return pokemonRepository.findAll(pageable);
+        return withEvolutionLinks(pokemonRepository.findAll(pageable));
     }
 
     // Métodos básicos para evolución
@@ -139,6 +375,7 @@ public class PokemonServiceImpl implements PokemonService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Pokemon evolvePokemon(Long pokemonId) {
         return findById(pokemonId).orElse(null);
     }
@@ -149,29 +386,34 @@ public class PokemonServiceImpl implements PokemonService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Pokemon> getBaseForms() {
-        return pokemonRepository.findAll();
+        return withEvolutionLinks(pokemonRepository.findAll());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Pokemon> getFinalForms() {
-        return pokemonRepository.findAll();
+        return withEvolutionLinks(pokemonRepository.findAll());
     }
 
     // Métodos básicos para stats
     @Override
+    @Transactional(readOnly = true)
     public List<Pokemon> findByMinTotalStats(Integer minTotal) {
-        return pokemonRepository.findAll();
+        return withEvolutionLinks(pokemonRepository.findAll());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Pokemon> getFastestPokemon(Integer minSpeed) {
-        return pokemonRepository.findAll();
+        return withEvolutionLinks(pokemonRepository.findAll());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Pokemon> getStrongestPokemon(Integer minAttack) {
-        return pokemonRepository.findAll();
+        return withEvolutionLinks(pokemonRepository.findAll());
     }
 
     @Override
@@ -211,6 +453,75 @@ public class PokemonServiceImpl implements PokemonService {
 
     @Override
     public void validateUniqueConstraints(Pokemon pokemon, Long excludeId) {
-        // Validación básica
-    }
-}
\ No newline at end of file
+        if (pokemon.getName() != null) {
+            Long owner = lookupIndex.isReady()
+                    ? lookupIndex.findIdByName(pokemon.getName())
+                    : pokemonRepository.findByNameIgnoreCase(pokemon.getName()).map(Pokemon::getId).orElse(null);
+            if (owner != null && !owner.equals(excludeId)) {
+                throw new IllegalArgumentException("Pokemon name already exists: " + pokemon.getName());
+            }
+        }
+        if (pokemon.getPokedexNumber() != null) {
+            Long owner = lookupIndex.isReady()
+                    ? lookupIndex.findIdByPokedexNumber(pokemon.getPokedexNumber())
+                    : pokemonRepository.findByPokedexNumber(pokemon.getPokedexNumber()).map(Pokemon::getId).orElse(null);
+            if (owner != null && !owner.equals(excludeId)) {
+                throw new IllegalArgumentException("Pokedex number already exists: " + pokemon.getPokedexNumber());
+            }
+        }
+    }
+
+    // Evolution links are lazy and the response is written after the transaction: load the
+    // neighbours while the session is open (a page of them in one select, see @BatchSize)
+    private Pokemon withEvolutionLinks(Pokemon pokemon) {
+        Hibernate.initialize(pokemon.getEvolvesFrom());
+        Hibernate.initialize(pokemon.getEvolvesTo());
+        return pokemon;
+    }
+
+    private <T extends Iterable<Pokemon>> T withEvolutionLinks(T pokemon) {
+        pokemon.forEach(this::withEvolutionLinks);
+        return pokemon;
+    }
+
+    private void resolveType(Map<String, Object> changes, String attribute) {
+        Long typeId = (Long) changes.get(attribute);
+        if (typeId != null && pokemonTypeRepository.findById(typeId).isEmpty()) {
+            throw new IllegalArgumentException("Pokemon type not found with ID: " + typeId);
+        }
+    }
+
+    private long currentVersion(Long id, long expectedVersion) {
+        Pokemon existing = pokemonRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Pokemon not found"));
+        if (existing.getVersion() != expectedVersion) {
+            throw new ObjectOptimisticLockingFailureException(Pokemon.class, id);
+        }
+        return existing.getVersion();
+    }
+
+    private void applyChange(Pokemon pokemon, String attribute, Object value) {
+        switch (attribute) {
+            case "name" -> pokemon.setName((String) value);
+            case "pokedexNumber" -> pokemon.setPokedexNumber((Integer) value);
+            case "description" -> pokemon.setDescription((String) value);
+            case "height" -> pokemon.setHeight((Double) value);
+            case "weight" -> pokemon.setWeight((Double) value);
+            case PokemonPatch.PRIMARY_TYPE_ID -> pokemon.setPrimaryType(value == null ? null
+                    : pokemonTypeRepository.getReferenceById((Long) value));
+            case PokemonPatch.SECONDARY_TYPE_ID -> pokemon.setSecondaryType(value == null ? null
+                    : pokemonTypeRepository.getReferenceById((Long) value));
+            case "hp" -> pokemon.setHp((Integer) value);
+            case "attack" -> pokemon.setAttack((Integer) value);
+            case "defense" -> pokemon.setDefense((Integer) value);
+            case "specialAttack" -> pokemon.setSpecialAttack((Integer) value);
+            case "specialDefense" -> pokemon.setSpecialDefense((Integer) value);
+            case "speed" -> pokemon.setSpeed((Integer) value);
+            case "isLegendary" -> pokemon.setIsLegendary((Boolean) value);
+            case "isMythical" -> pokemon.setIsMythical((Boolean) value);
+            case "generation" -> pokemon.setGeneration((Integer) value);
+            case "imageUrl" -> pokemon.setImageUrl((String) value);
+            default -> throw new IllegalArgumentException("Field cannot be patched: " + attribute);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.pokemon.microservices.pokemon.service.impl;
+
+import com.pokemon.microservices.pokemon.config.SimilarityProperties;
+import com.pokemon.microservices.pokemon.dto.SimilarPokemon;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.service.PokemonSimilarityService;
+import com.pokemon.microservices.pokemon.service.index.StatVectorIndex;
+import com.pokemon.microservices.pokemon.service.index.StatVectorIndex.Entry;
+import com.pokemon.microservices.pokemon.service.index.StatVectorIndex.Metric;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Pokemon Similarity Service
+ *
+ * Answers "most similar Pokemon" from a {@link StatVectorIndex} over the
+ * six-stat vectors. Built once the application is ready and patched from
+ * {@link EntityChangeEvent}s, reading through {@link PokemonService} so it
+ * works the same over the database or a read-only snapshot.
+ */
+@Service
+public class PokemonSimilarityServiceImpl implements PokemonSimilarityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokemonSimilarityServiceImpl.class);
+
+    private static final String[] STAT_NAMES = {
+            "hp", "attack", "defense", "specialAttack", "specialDefense", "speed"
+    };
+
+    private final PokemonService pokemonService;
+    private final SimilarityProperties properties;
+    private final StatVectorIndex index;
+    private volatile boolean ready;
+
+    @Autowired
+    public PokemonSimilarityServiceImpl(PokemonService pokemonService, SimilarityProperties properties) {
+        this.pokemonService = pokemonService;
+        this.properties = properties;
+        this.index = new StatVectorIndex(properties.getDeltaLimit());
+    }
+
+    @Override
+    public List<SimilarPokemon> findSimilar(Long pokemonId, int k, String metric, Long typeId, Integer generation) {
+        if (k <= 0 || k > properties.getMaxK()) {
+            throw new IllegalArgumentException("k must be between 1 and " + properties.getMaxK());
+        }
+        Metric parsedMetric = parseMetric(metric);
+        if (!ready) {
+            rebuild();
+        }
+        Entry target = index.get(pokemonId);
+        if (target == null) {
+            throw new RuntimeException("Pokemon not found with ID: " + pokemonId);
+        }
+
+        Predicate<Entry> filter = entry -> entry.id() != target.id()
+                && (typeId == null || entry.hasType(typeId))
+                && (generation == null || generation.equals(entry.generation()));
+        return index.nearest(target, k, parsedMetric, filter).stream()
+                .map(match -> new SimilarPokemon(match.entry().id(), match.entry().name(),
+                        match.entry().pokedexNumber(), match.distance(), statsOf(match.entry())))
+                .toList();
+    }
+
+    // ========== MANTENIMIENTO DEL ÍNDICE ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.kind() != EntityChangeEvent.EntityKind.POKEMON) {
+            return;
+        }
+        // Past the delta limit the trees are rebuilt anyway
+        if (event.isFullRefresh() || event.ids().size() > properties.getDeltaLimit()) {
+            rebuild();
+            return;
+        }
+        synchronized (this) {
+            for (Long id : event.ids()) {
+                pokemonService.findById(id).ifPresentOrElse(pokemon -> index.upsert(toEntry(pokemon)),
+                        () -> index.remove(id));
+            }
+        }
+    }
+
+    public synchronized void rebuild() {
+        index.rebuild(pokemonService.findAll(Pageable.unpaged()).stream()
+                .map(PokemonSimilarityServiceImpl::toEntry)
+                .toList());
+        ready = true;
+        logger.info("Similarity index built with {} stat vectors", index.size());
+    }
+
+    private static Entry toEntry(Pokemon pokemon) {
+        Integer[] values = {pokemon.getHp(), pokemon.getAttack(), pokemon.getDefense(),
+                pokemon.getSpecialAttack(), pokemon.getSpecialDefense(), pokemon.getSpeed()};
+        float[] stats = new float[STAT_NAMES.length];
+        for (int stat = 0; stat < STAT_NAMES.length; stat++) {
+            stats[stat] = values[stat] != null ? values[stat] : 0;
+        }
+        return Entry.of(pokemon.getId(), pokemon.getName(), pokemon.getPokedexNumber(),
+                typeId(pokemon.getPrimaryType()), typeId(pokemon.getSecondaryType()), pokemon.getGeneration(), stats);
+    }
+
+    private static long typeId(PokemonType type) {
+        return type != null && type.getId() != null ? type.getId() : 0L;
+    }
+
+    private static Map<String, Integer> statsOf(Entry entry) {
+        Map<String, Integer> stats = new LinkedHashMap<>();
+        for (int stat = 0; stat < STAT_NAMES.length; stat++) {
+            stats.put(STAT_NAMES[stat], (int) entry.stats()[stat]);
+        }
+        return stats;
+    }
+
+    private static Metric parseMetric(String metric) {
+        if (metric == null || metric.isBlank()) {
+            return Metric.EUCLIDEAN;
+        }
+        try {
+            return Metric.valueOf(metric.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown metric: " + metric + " (use euclidean or cosine)");
+        }
+    }
+}
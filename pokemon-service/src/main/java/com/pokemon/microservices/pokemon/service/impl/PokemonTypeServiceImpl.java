@@ -1,11 +1,15 @@
 package com.pokemon.microservices.pokemon.service.impl;
 
 import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.ChangeAction;
 import com.pokemon.microservices.pokemon.repository.PokemonTypeRepository;
 import com.pokemon.microservices.pokemon.service.PokemonTypeService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,15 +18,19 @@ import java.util.Optional;
 
 @Service
 @Transactional
+@ConditionalOnProperty(prefix = "pokemon.snapshot", name = "read-only", havingValue = "false", matchIfMissing = true)
 public class PokemonTypeServiceImpl implements PokemonTypeService {
 
     private static final Logger logger = LoggerFactory.getLogger(PokemonTypeServiceImpl.class);
 
     private final PokemonTypeRepository pokemonTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public PokemonTypeServiceImpl(PokemonTypeRepository pokemonTypeRepository) {
+    public PokemonTypeServiceImpl(PokemonTypeRepository pokemonTypeRepository,
+                                  ApplicationEventPublisher eventPublisher) {
         this.pokemonTypeRepository = pokemonTypeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -34,6 +42,7 @@ public class PokemonTypeServiceImpl implements PokemonTypeService {
         }
 
         PokemonType savedType = pokemonTypeRepository.save(type);
+        eventPublisher.publishEvent(EntityChangeEvent.pokemonType(ChangeAction.CREATED, savedType.getId()));
         logger.info("Pokemon type created successfully: {}", savedType.getName());
 
         return savedType;
@@ -57,6 +66,7 @@ public class PokemonTypeServiceImpl implements PokemonTypeService {
         existingType.setDescription(type.getDescription());
 
         PokemonType updatedType = pokemonTypeRepository.save(existingType);
+        eventPublisher.publishEvent(EntityChangeEvent.pokemonType(ChangeAction.UPDATED, id));
         logger.info("Pokemon type updated successfully: {}", updatedType.getName());
 
         return updatedType;
@@ -89,6 +99,7 @@ public class PokemonTypeServiceImpl implements PokemonTypeService {
         }
 
         pokemonTypeRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangeEvent.pokemonType(ChangeAction.DELETED, id));
         logger.info("Pokemon type deleted successfully with ID: {}", id);
     }
 
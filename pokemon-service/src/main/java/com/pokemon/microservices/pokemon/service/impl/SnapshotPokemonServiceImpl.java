@@ -0,0 +1,290 @@
+package com.pokemon.microservices.pokemon.service.impl;
+
+import com.pokemon.microservices.pokemon.config.BatchProperties;
+import com.pokemon.microservices.pokemon.dto.PokemonBatchResult;
+import com.pokemon.microservices.pokemon.dto.PokemonBulkRequest;
+import com.pokemon.microservices.pokemon.dto.PokemonBulkResult;
+import com.pokemon.microservices.pokemon.dto.PokemonPatch;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.snapshot.PokedexCatalog;
+import com.pokemon.microservices.pokemon.snapshot.PokedexSnapshotStore;
+import com.pokemon.microservices.pokemon.snapshot.ReadOnlyModeException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Snapshot Pokemon Service
+ *
+ * {@link PokemonService} for read-only mode: every read is answered from the
+ * current {@link PokedexCatalog} with the same results as the database-backed
+ * service, and every write is refused.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "pokemon.snapshot", name = "read-only", havingValue = "true")
+public class SnapshotPokemonServiceImpl implements PokemonService {
+
+    private final PokedexSnapshotStore snapshotStore;
+    private final BatchProperties batchProperties;
+
+    @Override
+    public Pokemon createPokemon(Pokemon pokemon) {
+        throw new ReadOnlyModeException();
+    }
+
+    @Override
+    public Pokemon updatePokemon(Long id, Pokemon pokemon) {
+        throw new ReadOnlyModeException();
+    }
+
+    @Override
+    public long patchPokemon(Long id, PokemonPatch patch) {
+        throw new ReadOnlyModeException();
+    }
+
+    @Override
+    public Optional<Pokemon> findById(Long id) {
+        return snapshotStore.catalog().findById(id);
+    }
+
+    @Override
+    public Optional<Pokemon> findByPokedexNumber(Integer pokedexNumber) {
+        return snapshotStore.catalog().findByPokedexNumber(pokedexNumber);
+    }
+
+    @Override
+    public Optional<Pokemon> findByName(String name) {
+        return snapshotStore.catalog().findByName(name);
+    }
+
+    @Override
+    public Page<Pokemon> findAll(Pageable pageable) {
+        PokedexCatalog catalog = snapshotStore.catalog();
+        int[] order = catalog.order(pageable.getSort());
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), order.length) : 0;
+        int to = pageable.isPaged() ? Math.min(order.length, from + pageable.getPageSize()) : order.length;
+        return new PageImpl<>(catalog.decode(order, from, to), pageable, order.length);
+    }
+
+    @Override
+    public Page<Map<String, Object>> findAllProjected(Set<String> fields, Pageable pageable) {
+        return findAll(pageable).map(pokemon -> {
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(pokemon);
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                Object value = wrapper.getPropertyValue(field);
+                if (value != null) {
+                    row.put(field, value);
+                }
+            }
+            return row;
+        });
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        throw new ReadOnlyModeException();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return findByName(name).isPresent();
+    }
+
+    @Override
+    public boolean existsByPokedexNumber(Integer pokedexNumber) {
+        return findByPokedexNumber(pokedexNumber).isPresent();
+    }
+
+    // ========== MULTI-GET ==========
+
+    @Override
+    public PokemonBatchResult<Long> findAllByIds(List<Long> ids) {
+        PokedexCatalog catalog = snapshotStore.catalog();
+        Map<Long, Long> keys = PokemonBatchResult.keysOf(ids, Function.identity(), batchProperties.getMaxSize());
+        return PokemonBatchResult.inRequestOrder(keys, lookup(keys.keySet(), catalog::findById), Pokemon::getId);
+    }
+
+    @Override
+    public PokemonBatchResult<String> findAllByNames(List<String> names) {
+        PokedexCatalog catalog = snapshotStore.catalog();
+        Map<String, String> keys = PokemonBatchResult.keysOf(names, name -> name.trim().toLowerCase(Locale.ROOT),
+                batchProperties.getMaxSize());
+        return PokemonBatchResult.inRequestOrder(keys, lookup(keys.keySet(), catalog::findByName),
+                pokemon -> pokemon.getName().toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public PokemonBatchResult<Integer> findAllByPokedexNumbers(List<Integer> pokedexNumbers) {
+        PokedexCatalog catalog = snapshotStore.catalog();
+        Map<Integer, Integer> keys = PokemonBatchResult.keysOf(pokedexNumbers, Function.identity(),
+                batchProperties.getMaxSize());
+        return PokemonBatchResult.inRequestOrder(keys, lookup(keys.keySet(), catalog::findByPokedexNumber),
+                Pokemon::getPokedexNumber);
+    }
+
+    private static <K> List<Pokemon> lookup(Set<K> keys, Function<K, Optional<Pokemon>> finder) {
+        List<Pokemon> found = new ArrayList<>(keys.size());
+        keys.forEach(key -> finder.apply(key).ifPresent(found::add));
+        return found;
+    }
+
+    // ========== OPERACIONES MASIVAS ==========
+
+    @Override
+    public PokemonBulkResult bulkUpdate(PokemonBulkRequest request) {
+        throw new ReadOnlyModeException();
+    }
+
+    @Override
+    public PokemonBulkResult bulkDelete(PokemonBulkRequest request) {
+        throw new ReadOnlyModeException();
+    }
+
+    // Mismas implementaciones mínimas que el servicio con base de datos
+    @Override
+    public Page<Pokemon> searchPokemon(String searchTerm, Pageable pageable) {
+        return findAll(pageable);
+    }
+
+    @Override
+    public List<Pokemon> findByType(PokemonType type) {
+        return snapshotStore.catalog().findByPrimaryType(type.getId());
+    }
+
+    @Override
+    public List<Pokemon> findByGeneration(Integer generation) {
+        return snapshotStore.catalog().findByGeneration(generation);
+    }
+
+    @Override
+    public List<Pokemon> findLegendaryPokemon() {
+        return snapshotStore.catalog().findLegendary();
+    }
+
+    @Override
+    public List<Pokemon> findMythicalPokemon() {
+        return snapshotStore.catalog().findMythical();
+    }
+
+    @Override
+    public Page<Pokemon> findWithFilters(Integer generation, PokemonType primaryType,
+                                         Boolean isLegendary, Integer minPokedexNumber,
+                                         Integer maxPokedexNumber, Pageable pageable) {
+        return findAll(pageable);
+    }
+
+    @Override
+    public List<Pokemon> getEvolutionChain(Long pokemonId) {
+        return List.of();
+    }
+
+    @Override
+    public Pokemon evolvePokemon(Long pokemonId) {
+        return findById(pokemonId).orElse(null);
+    }
+
+    @Override
+    public boolean canEvolve(Long pokemonId) {
+        return false;
+    }
+
+    @Override
+    public List<Pokemon> getBaseForms() {
+        return findAll(Pageable.unpaged()).getContent();
+    }
+
+    @Override
+    public List<Pokemon> getFinalForms() {
+        return findAll(Pageable.unpaged()).getContent();
+    }
+
+    @Override
+    public List<Pokemon> findByMinTotalStats(Integer minTotal) {
+        return findAll(Pageable.unpaged()).getContent();
+    }
+
+    @Override
+    public List<Pokemon> getFastestPokemon(Integer minSpeed) {
+        return findAll(Pageable.unpaged()).getContent();
+    }
+
+    @Override
+    public List<Pokemon> getStrongestPokemon(Integer minAttack) {
+        return findAll(Pageable.unpaged()).getContent();
+    }
+
+    @Override
+    public Double calculateBattlePower(Long pokemonId) {
+        return 0.0;
+    }
+
+    @Override
+    public String comparePokemon(Long pokemon1Id, Long pokemon2Id) {
+        return "Comparison not implemented";
+    }
+
+    @Override
+    public Long getTotalPokemonCount() {
+        return (long) snapshotStore.catalog().pokemonCount();
+    }
+
+    @Override
+    public Long getCountByGeneration(Integer generation) {
+        return 0L;
+    }
+
+    @Override
+    public Long getCountByType(PokemonType type) {
+        return 0L;
+    }
+
+    @Override
+    public Double getAverageTotalStats() {
+        return 0.0;
+    }
+
+    @Override
+    public void validatePokemonData(Pokemon pokemon) {
+        // Validación básica
+    }
+
+    @Override
+    public void validateUniqueConstraints(Pokemon pokemon, Long excludeId) {
+        PokedexCatalog catalog = snapshotStore.catalog();
+        if (pokemon.getName() != null) {
+            Long owner = catalog.findByName(pokemon.getName()).map(Pokemon::getId).orElse(null);
+            if (owner != null && !owner.equals(excludeId)) {
+                throw new IllegalArgumentException("Pokemon name already exists: " + pokemon.getName());
+            }
+        }
+        if (pokemon.getPokedexNumber() != null) {
+            Long owner = catalog.findByPokedexNumber(pokemon.getPokedexNumber()).map(Pokemon::getId).orElse(null);
+            if (owner != null && !owner.equals(excludeId)) {
+                throw new IllegalArgumentException("Pokedex number already exists: " + pokemon.getPokedexNumber());
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.pokemon.microservices.pokemon.service.impl;
+
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.service.PokemonTypeService;
+import com.pokemon.microservices.pokemon.snapshot.PokedexCatalog;
+import com.pokemon.microservices.pokemon.snapshot.PokedexSnapshotStore;
+import com.pokemon.microservices.pokemon.snapshot.ReadOnlyModeException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Snapshot Pokemon Type Service
+ *
+ * {@link PokemonTypeService} for read-only mode, answered from the current
+ * {@link PokedexCatalog}. Writes are refused.
+ */
+@Service
+@ConditionalOnProperty(prefix = "pokemon.snapshot", name = "read-only", havingValue = "true")
+public class SnapshotPokemonTypeServiceImpl implements PokemonTypeService {
+
+    private final PokedexSnapshotStore snapshotStore;
+
+    @Autowired
+    public SnapshotPokemonTypeServiceImpl(PokedexSnapshotStore snapshotStore) {
+        this.snapshotStore = snapshotStore;
+    }
+
+    @Override
+    public PokemonType createType(PokemonType type) {
+        throw new ReadOnlyModeException();
+    }
+
+    @Override
+    public PokemonType updateType(Long id, PokemonType type) {
+        throw new ReadOnlyModeException();
+    }
+
+    @Override
+    public Optional<PokemonType> findById(Long id) {
+        return snapshotStore.catalog().findTypeById(id);
+    }
+
+    @Override
+    public Optional<PokemonType> findByName(String name) {
+        return snapshotStore.catalog().findTypeByName(name);
+    }
+
+    @Override
+    public List<PokemonType> findAll() {
+        return snapshotStore.catalog().typesByName();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        throw new ReadOnlyModeException();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return findByName(name).isPresent();
+    }
+
+    @Override
+    public List<PokemonType> searchTypes(String searchTerm) {
+        String term = searchTerm.toLowerCase(Locale.ROOT);
+        return snapshotStore.catalog().findTypes(type -> contains(type.getName(), term)
+                || contains(type.getDescription(), term));
+    }
+
+    @Override
+    public Long getCountByType(PokemonType type) {
+        return snapshotStore.catalog().countByAnyType(type.getId());
+    }
+
+    // Same shape as the repository query: [type, Pokemon with it as primary type], most used first
+    @Override
+    public List<Object[]> getTypesWithPokemonCount() {
+        PokedexCatalog catalog = snapshotStore.catalog();
+        List<Object[]> counts = new ArrayList<>();
+        for (PokemonType type : catalog.typesByName()) {
+            counts.add(new Object[]{type, catalog.countByPrimaryType(type.getId())});
+        }
+        counts.sort(Comparator.comparingLong((Object[] row) -> (Long) row[1]).reversed());
+        return counts;
+    }
+
+    private static boolean contains(String value, String term) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(term);
+    }
+}
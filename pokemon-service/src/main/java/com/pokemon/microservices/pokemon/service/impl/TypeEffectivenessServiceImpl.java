@@ -0,0 +1,162 @@
+package com.pokemon.microservices.pokemon.service.impl;
+
+import com.pokemon.microservices.pokemon.dto.DefensiveProfile;
+import com.pokemon.microservices.pokemon.dto.DefensiveProfile.TypeMultiplier;
+import com.pokemon.microservices.pokemon.dto.TypeEffectivenessMatrix;
+import com.pokemon.microservices.pokemon.dto.TypeEffectivenessMatrix.DefenseRow;
+import com.pokemon.microservices.pokemon.dto.TypeMatchup;
+import com.pokemon.microservices.pokemon.dto.TypeSummary;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.service.PokemonTypeService;
+import com.pokemon.microservices.pokemon.service.TypeEffectivenessService;
+import com.pokemon.microservices.pokemon.service.index.TypeEffectivenessTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Type Effectiveness Service
+ *
+ * Answers type matchups from a {@link TypeEffectivenessTable} held in memory.
+ * The table is built once the application is ready and rebuilt whenever a type
+ * is created, renamed or deleted; there are few types, so a full rebuild is
+ * cheaper than patching it.
+ */
+@Service
+public class TypeEffectivenessServiceImpl implements TypeEffectivenessService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TypeEffectivenessServiceImpl.class);
+
+    private final PokemonTypeService pokemonTypeService;
+    private volatile TypeEffectivenessTable table;
+
+    @Autowired
+    public TypeEffectivenessServiceImpl(PokemonTypeService pokemonTypeService) {
+        this.pokemonTypeService = pokemonTypeService;
+    }
+
+    @Override
+    public TypeMatchup getMatchup(Long attackTypeId, Long defenseTypeId, Long secondDefenseTypeId) {
+        if (attackTypeId == null || defenseTypeId == null) {
+            throw new IllegalArgumentException("Attack and defense types are required");
+        }
+        TypeEffectivenessTable current = table();
+        int attack = requireType(current, attackTypeId);
+        int primary = requireType(current, defenseTypeId);
+        int secondary = requireType(current, secondDefenseTypeId);
+        return new TypeMatchup(summary(current, attack), summary(current, primary), summary(current, secondary),
+                current.multiplier(attack, primary, secondary));
+    }
+
+    @Override
+    public TypeEffectivenessMatrix getMatrix(boolean includeDualTypes) {
+        TypeEffectivenessTable current = table();
+        int typeCount = current.typeCount();
+        List<TypeSummary> types = new ArrayList<>(typeCount);
+        for (int index = 1; index <= typeCount; index++) {
+            types.add(summary(current, index));
+        }
+
+        List<DefenseRow> rows = new ArrayList<>();
+        for (int primary = 1; primary <= typeCount; primary++) {
+            rows.add(defenseRow(current, primary, TypeEffectivenessTable.NONE));
+            if (includeDualTypes) {
+                for (int secondary = primary + 1; secondary <= typeCount; secondary++) {
+                    rows.add(defenseRow(current, primary, secondary));
+                }
+            }
+        }
+        return new TypeEffectivenessMatrix(types, rows);
+    }
+
+    @Override
+    public DefensiveProfile getDefensiveProfile(Long primaryTypeId, Long secondaryTypeId) {
+        if (primaryTypeId == null) {
+            throw new IllegalArgumentException("Primary type is required");
+        }
+        TypeEffectivenessTable current = table();
+        int primary = requireType(current, primaryTypeId);
+        int secondary = requireType(current, secondaryTypeId);
+
+        List<TypeMultiplier> weakTo = new ArrayList<>();
+        List<TypeMultiplier> resists = new ArrayList<>();
+        List<TypeSummary> immuneTo = new ArrayList<>();
+        for (int attack = 1; attack <= current.typeCount(); attack++) {
+            float multiplier = current.multiplier(attack, primary, secondary);
+            if (multiplier == 0f) {
+                immuneTo.add(summary(current, attack));
+            } else if (multiplier != 1f) {
+                TypeMultiplier entry = new TypeMultiplier(current.idAt(attack), current.nameAt(attack), multiplier);
+                (multiplier > 1f ? weakTo : resists).add(entry);
+            }
+        }
+        weakTo.sort(Comparator.comparing(TypeMultiplier::multiplier).reversed());
+        resists.sort(Comparator.comparing(TypeMultiplier::multiplier));
+        return new DefensiveProfile(summary(current, primary), summary(current, secondary), weakTo, resists, immuneTo);
+    }
+
+    @Override
+    public TypeEffectivenessTable getTable() {
+        return table();
+    }
+
+    // ========== MANTENIMIENTO DE LA TABLA ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.kind() == EntityChangeEvent.EntityKind.POKEMON_TYPE) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        table = TypeEffectivenessTable.of(pokemonTypeService.findAll());
+        logger.info("Type effectiveness table built for {} types", table.typeCount());
+    }
+
+    private TypeEffectivenessTable table() {
+        TypeEffectivenessTable current = table;
+        if (current == null) {
+            // Asked for before the application was ready
+            rebuild();
+            current = table;
+        }
+        return current;
+    }
+
+    private static int requireType(TypeEffectivenessTable table, Long typeId) {
+        int index = table.indexOf(typeId);
+        if (index < 0) {
+            throw new RuntimeException("Pokemon type not found with ID: " + typeId);
+        }
+        return index;
+    }
+
+    private static DefenseRow defenseRow(TypeEffectivenessTable table, int primary, int secondary) {
+        float[] row = table.defenseRow(primary, secondary);
+        return new DefenseRow(table.idAt(primary),
+                secondary == TypeEffectivenessTable.NONE ? null : table.idAt(secondary),
+                Arrays.copyOfRange(row, 1, row.length));
+    }
+
+    private static TypeSummary summary(TypeEffectivenessTable table, int index) {
+        return index == TypeEffectivenessTable.NONE ? null : new TypeSummary(table.idAt(index), table.nameAt(index));
+    }
+}
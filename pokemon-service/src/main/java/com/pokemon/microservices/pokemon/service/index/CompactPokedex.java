@@ -0,0 +1,96 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact Pokedex
+ *
+ * Column-oriented, primitive copy of the fields the team optimizer filters and
+ * scores on, so a search over thousands of Pokemon never touches an entity.
+ * Immutable; rebuilt from {@code PokemonRepository#findAllCompactRows()}.
+ */
+public final class CompactPokedex {
+
+    public static final int NO_GENERATION = 0;
+
+    private final long[] ids;
+    private final long[] primaryTypeIds;
+    private final long[] secondaryTypeIds;
+    private final int[] generations;
+    private final boolean[] special;
+    private final int[] totalStats;
+    private final int[] speeds;
+    private final Map<Long, Integer> indexById;
+
+    private CompactPokedex(int size) {
+        ids = new long[size];
+        primaryTypeIds = new long[size];
+        secondaryTypeIds = new long[size];
+        generations = new int[size];
+        special = new boolean[size];
+        totalStats = new int[size];
+        speeds = new int[size];
+        indexById = new HashMap<>(size * 2);
+    }
+
+    public static CompactPokedex of(List<Object[]> rows) {
+        CompactPokedex pokedex = new CompactPokedex(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            pokedex.ids[i] = (Long) row[0];
+            pokedex.indexById.put(pokedex.ids[i], i);
+            pokedex.primaryTypeIds[i] = row[1] != null ? (Long) row[1] : 0L;
+            pokedex.secondaryTypeIds[i] = row[2] != null ? (Long) row[2] : 0L;
+            pokedex.generations[i] = row[3] != null ? (Integer) row[3] : NO_GENERATION;
+            pokedex.special[i] = Boolean.TRUE.equals(row[4]);
+            int total = 0;
+            for (int stat = 5; stat <= 10; stat++) {
+                total += row[stat] != null ? (Integer) row[stat] : 0;
+            }
+            pokedex.totalStats[i] = total;
+            pokedex.speeds[i] = row[10] != null ? (Integer) row[10] : 0;
+        }
+        return pokedex;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // -1 if there is no Pokemon with this id
+    public int indexOf(Long id) {
+        return indexById.getOrDefault(id, -1);
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    // 0 when the Pokemon has no such type
+    public long primaryTypeId(int index) {
+        return primaryTypeIds[index];
+    }
+
+    public long secondaryTypeId(int index) {
+        return secondaryTypeIds[index];
+    }
+
+    public int generation(int index) {
+        return generations[index];
+    }
+
+    // Legendary or mythical
+    public boolean isSpecial(int index) {
+        return special[index];
+    }
+
+    public int totalStats(int index) {
+        return totalStats[index];
+    }
+
+    public int speed(int index) {
+        return speeds[index];
+    }
+}
@@ -0,0 +1,194 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.repository.PokemonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Pokemon Lookup Index
+ *
+ * In-memory natural-key index: case-folded name to id, a dense array from
+ * Pokedex number to id, and a Bloom filter that answers most negative name
+ * checks without touching the map. Built once the application is ready and
+ * kept current from {@link EntityChangeEvent}s, including those replayed from
+ * peers by cluster invalidation; until then {@link #isReady()} is false and
+ * callers go to the database. Once it is ready a miss is final.
+ * <p>
+ * Every change builds a new immutable {@link State} off to the side and
+ * publishes it with a single volatile write, so readers see either the old
+ * index or the new one, never one being filled.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pokemon.snapshot", name = "read-only", havingValue = "false", matchIfMissing = true)
+public class PokemonLookupIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokemonLookupIndex.class);
+
+    private static final int MIN_BLOOM_CAPACITY = 2048;
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+    // Pokedex numbers above this go to the overflow map instead of growing the array
+    private static final int MAX_DENSE_POKEDEX_NUMBER = 1 << 16;
+    private static final long NO_ID = 0L;
+
+    private final PokemonRepository pokemonRepository;
+
+    // Null until the first build
+    private volatile State state;
+
+    @Autowired
+    public PokemonLookupIndex(PokemonRepository pokemonRepository) {
+        this.pokemonRepository = pokemonRepository;
+    }
+
+    // ========== LECTURAS ==========
+
+    public boolean isReady() {
+        return state != null;
+    }
+
+    /**
+     * @return the id of the Pokemon with this name (ignoring case), or null if none
+     */
+    public Long findIdByName(String name) {
+        State current = state;
+        if (name == null || current == null) {
+            return null;
+        }
+        String key = fold(name);
+        if (!current.nameFilter().mightContain(key)) {
+            return null;
+        }
+        return current.idsByName().get(key);
+    }
+
+    /**
+     * @return the id of the Pokemon with this Pokedex number, or null if none
+     */
+    public Long findIdByPokedexNumber(Integer pokedexNumber) {
+        State current = state;
+        if (pokedexNumber == null || pokedexNumber < 0 || current == null) {
+            return null;
+        }
+        long[] dense = current.idsByPokedexNumber();
+        if (pokedexNumber < dense.length) {
+            long id = dense[pokedexNumber];
+            return id == NO_ID ? null : id;
+        }
+        return current.overflowIdsByPokedexNumber().get(pokedexNumber);
+    }
+
+    public int size() {
+        State current = state;
+        return current == null ? 0 : current.keysById().size();
+    }
+
+    // ========== ACTUALIZACIÓN ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.kind() != EntityChangeEvent.EntityKind.POKEMON) {
+            return;
+        }
+        if (event.isFullRefresh()) {
+            rebuild();
+        } else {
+            refresh(event.ids());
+        }
+    }
+
+    public synchronized void rebuild() {
+        List<Object[]> rows = pokemonRepository.findAllNaturalKeys();
+        Map<Long, NaturalKey> keysById = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            keysById.put((Long) row[0], naturalKey((String) row[1], (Integer) row[2]));
+        }
+        state = State.of(keysById);
+        logger.info("Pokemon lookup index built with {} entries", rows.size());
+    }
+
+    // Copy on write: a few thousand entries are cheap to copy and rehash
+    private synchronized void refresh(List<Long> ids) {
+        State current = state;
+        if (current == null) {
+            return;
+        }
+        Map<Long, NaturalKey> keysById = new HashMap<>(current.keysById());
+        ids.forEach(keysById::remove);
+        for (Object[] row : pokemonRepository.findNaturalKeysByIdIn(ids)) {
+            keysById.put((Long) row[0], naturalKey((String) row[1], (Integer) row[2]));
+        }
+        state = State.of(keysById);
+    }
+
+    private static NaturalKey naturalKey(String name, Integer pokedexNumber) {
+        return new NaturalKey(name != null ? fold(name) : null, pokedexNumber);
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record NaturalKey(String name, Integer pokedexNumber) {
+    }
+
+    /**
+     * One published version of the index. Never modified after {@link #of}.
+     */
+    private record State(Map<Long, NaturalKey> keysById, Map<String, Long> idsByName, long[] idsByPokedexNumber,
+                         Map<Integer, Long> overflowIdsByPokedexNumber, BloomFilter nameFilter) {
+
+        static State of(Map<Long, NaturalKey> keysById) {
+            Map<String, Long> idsByName = new HashMap<>(keysById.size() * 2);
+            Map<Integer, Long> overflow = new HashMap<>();
+            BloomFilter nameFilter = new BloomFilter(Math.max(MIN_BLOOM_CAPACITY, keysById.size() * 2),
+                    BLOOM_FALSE_POSITIVE_RATE);
+
+            int denseLength = 0;
+            for (NaturalKey key : keysById.values()) {
+                Integer pokedexNumber = key.pokedexNumber();
+                if (pokedexNumber != null && pokedexNumber >= 0 && pokedexNumber < MAX_DENSE_POKEDEX_NUMBER) {
+                    denseLength = Math.max(denseLength, pokedexNumber + 1);
+                }
+            }
+            long[] dense = new long[denseLength];
+
+            keysById.forEach((id, key) -> {
+                if (key.name() != null) {
+                    idsByName.put(key.name(), id);
+                    nameFilter.put(key.name());
+                }
+                Integer pokedexNumber = key.pokedexNumber();
+                if (pokedexNumber != null && pokedexNumber >= 0) {
+                    if (pokedexNumber < MAX_DENSE_POKEDEX_NUMBER) {
+                        dense[pokedexNumber] = id;
+                    } else {
+                        overflow.put(pokedexNumber, id);
+                    }
+                }
+            });
+            return new State(Collections.unmodifiableMap(keysById), Collections.unmodifiableMap(idsByName),
+                    dense, Collections.unmodifiableMap(overflow), nameFilter);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Pokemon Name Trie
+ *
+ * Compact trie over case-folded names. Children are kept in parallel sorted
+ * arrays and every node caches the ids of the highest-weighted names in its
+ * subtree, so a prefix completion is a walk down the prefix plus one array copy.
+ *
+ * Readers never lock: nodes publish replacement arrays through volatile fields.
+ * Writers must be serialized by the caller.
+ */
+public class PokemonNameTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NO_IDS = new long[0];
+    private static final long NO_ID = 0L;
+
+    private final int topSize;
+    private final ToLongFunction<Long> weights;
+    private final Node root = new Node();
+
+    public PokemonNameTrie(int topSize, ToLongFunction<Long> weights) {
+        this.topSize = topSize;
+        this.weights = weights;
+    }
+
+    // ========== ESCRITURA ==========
+
+    public void insert(String foldedName, long id) {
+        Node node = root;
+        Node[] path = new Node[foldedName.length() + 1];
+        path[0] = node;
+        for (int i = 0; i < foldedName.length(); i++) {
+            node = node.childOrCreate(foldedName.charAt(i));
+            path[i + 1] = node;
+        }
+        node.terminalId = id;
+        recompute(path);
+    }
+
+    public void remove(String foldedName, long id) {
+        Node node = root;
+        Node[] path = new Node[foldedName.length() + 1];
+        path[0] = node;
+        for (int i = 0; i < foldedName.length(); i++) {
+            node = node.child(foldedName.charAt(i));
+            if (node == null) {
+                return;
+            }
+            path[i + 1] = node;
+        }
+        if (node.terminalId != id) {
+            return;
+        }
+        node.terminalId = NO_ID;
+        // Prune now-empty branches bottom-up
+        for (int i = foldedName.length(); i > 0; i--) {
+            Node current = path[i];
+            if (current.terminalId != NO_ID || !current.isLeaf()) {
+                break;
+            }
+            path[i - 1].removeChild(foldedName.charAt(i - 1));
+        }
+        recompute(path);
+    }
+
+    /**
+     * Recomputes every cached top list, e.g. after the weights changed.
+     */
+    public void reweigh() {
+        reweigh(root);
+    }
+
+    private void reweigh(Node node) {
+        for (Node child : node.edges.children()) {
+            reweigh(child);
+        }
+        node.top = mergeTop(node);
+    }
+
+    private void recompute(Node[] path) {
+        for (int i = path.length - 1; i >= 0; i--) {
+            if (path[i] != null) {
+                path[i].top = mergeTop(path[i]);
+            }
+        }
+    }
+
+    private long[] mergeTop(Node node) {
+        Node[] children = node.edges.children();
+        int candidates = node.terminalId != NO_ID ? 1 : 0;
+        for (Node child : children) {
+            candidates += child.top.length;
+        }
+        if (candidates == 0) {
+            return NO_IDS;
+        }
+        long[] all = new long[candidates];
+        int n = 0;
+        if (node.terminalId != NO_ID) {
+            all[n++] = node.terminalId;
+        }
+        for (Node child : children) {
+            long[] childTop = child.top;
+            System.arraycopy(childTop, 0, all, n, childTop.length);
+            n += childTop.length;
+        }
+        return topByWeight(all, topSize);
+    }
+
+    private long[] topByWeight(long[] ids, int limit) {
+        Long[] boxed = new Long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            boxed[i] = ids[i];
+        }
+        Arrays.sort(boxed, (a, b) -> {
+            int byWeight = Long.compare(weights.applyAsLong(b), weights.applyAsLong(a));
+            return byWeight != 0 ? byWeight : Long.compare(a, b);
+        });
+        int size = Math.min(limit, boxed.length);
+        long[] top = new long[size];
+        for (int i = 0; i < size; i++) {
+            top[i] = boxed[i];
+        }
+        return top;
+    }
+
+    // ========== LECTURA ==========
+
+    /**
+     * @return ids of the highest-weighted names starting with the prefix, best first
+     */
+    public long[] complete(String foldedPrefix) {
+        Node node = root;
+        for (int i = 0; i < foldedPrefix.length() && node != null; i++) {
+            node = node.child(foldedPrefix.charAt(i));
+        }
+        return node == null ? NO_IDS : node.top;
+    }
+
+    /**
+     * Finds names whose some prefix is within {@code maxDistance} edits of the query,
+     * walking the trie with one Levenshtein DP row per node.
+     *
+     * @return id to smallest edit distance found for it
+     */
+    public Map<Long, Integer> completeFuzzy(String foldedPrefix, int maxDistance) {
+        Map<Long, Integer> matches = new HashMap<>();
+        int[] firstRow = new int[foldedPrefix.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        Edges edges = root.edges;
+        for (int i = 0; i < edges.labels().length; i++) {
+            walkFuzzy(edges.children()[i], edges.labels()[i], foldedPrefix, firstRow, maxDistance, matches);
+        }
+        return matches;
+    }
+
+    private void walkFuzzy(Node node, char label, String query, int[] previous, int maxDistance,
+                           Map<Long, Integer> matches) {
+        int columns = query.length() + 1;
+        int[] current = new int[columns];
+        current[0] = previous[0] + 1;
+        int rowMin = current[0];
+        for (int i = 1; i < columns; i++) {
+            int substitution = previous[i - 1] + (query.charAt(i - 1) == label ? 0 : 1);
+            current[i] = Math.min(Math.min(current[i - 1] + 1, previous[i] + 1), substitution);
+            rowMin = Math.min(rowMin, current[i]);
+        }
+
+        int distance = current[columns - 1];
+        if (distance <= maxDistance) {
+            for (long id : node.top) {
+                matches.merge(id, distance, Math::min);
+            }
+        }
+        if (rowMin > maxDistance) {
+            return;
+        }
+        Edges edges = node.edges;
+        for (int i = 0; i < edges.labels().length; i++) {
+            walkFuzzy(edges.children()[i], edges.labels()[i], query, current, maxDistance, matches);
+        }
+    }
+
+    private record Edges(char[] labels, Node[] children) {
+        private static final Edges NONE = new Edges(NO_LABELS, NO_CHILDREN);
+    }
+
+    private static final class Node {
+        // Labels and children are swapped together so readers always see a matching pair
+        private volatile Edges edges = Edges.NONE;
+        private volatile long terminalId = NO_ID;
+        private volatile long[] top = NO_IDS;
+
+        private Node child(char label) {
+            Edges current = edges;
+            int index = Arrays.binarySearch(current.labels(), label);
+            return index >= 0 ? current.children()[index] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            Edges current = edges;
+            int index = Arrays.binarySearch(current.labels(), label);
+            if (index >= 0) {
+                return current.children()[index];
+            }
+            int insertAt = -index - 1;
+            int size = current.labels().length;
+            char[] labels = new char[size + 1];
+            Node[] children = new Node[size + 1];
+            System.arraycopy(current.labels(), 0, labels, 0, insertAt);
+            System.arraycopy(current.children(), 0, children, 0, insertAt);
+            System.arraycopy(current.labels(), insertAt, labels, insertAt + 1, size - insertAt);
+            System.arraycopy(current.children(), insertAt, children, insertAt + 1, size - insertAt);
+            Node created = new Node();
+            labels[insertAt] = label;
+            children[insertAt] = created;
+            edges = new Edges(labels, children);
+            return created;
+        }
+
+        private void removeChild(char label) {
+            Edges current = edges;
+            int index = Arrays.binarySearch(current.labels(), label);
+            if (index < 0) {
+                return;
+            }
+            int size = current.labels().length;
+            char[] labels = new char[size - 1];
+            Node[] children = new Node[size - 1];
+            System.arraycopy(current.labels(), 0, labels, 0, index);
+            System.arraycopy(current.children(), 0, children, 0, index);
+            System.arraycopy(current.labels(), index + 1, labels, index, size - index - 1);
+            System.arraycopy(current.children(), index + 1, children, index, size - index - 1);
+            edges = new Edges(labels, children);
+        }
+
+        private boolean isLeaf() {
+            return edges.labels().length == 0;
+        }
+    }
+}
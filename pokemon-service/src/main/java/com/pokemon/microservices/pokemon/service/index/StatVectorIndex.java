@@ -0,0 +1,187 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Stat Vector Index
+ *
+ * Nearest-neighbour search over the six-stat vectors of every Pokemon. Two
+ * {@link VantagePointTree}s are kept: one over the raw vectors (Euclidean) and
+ * one over the vectors scaled to unit length, where Euclidean order is cosine
+ * order. Trees are immutable, so writes go to a small delta scanned linearly
+ * next to the tree, and the outdated tree points are masked out; once the
+ * delta outgrows its limit both trees are rebuilt.
+ *
+ * Readers never lock: a full rebuild fills a new entry map and publishes it
+ * with its trees in one write, so a reader sees either the old index or the
+ * new one. Writers must be serialized by the caller.
+ */
+public final class StatVectorIndex {
+
+    public enum Metric {
+        EUCLIDEAN,
+        COSINE
+    }
+
+    private final int deltaLimit;
+    private volatile State state = new State(new ConcurrentHashMap<>(), null, null, Set.of(), Map.of());
+
+    public StatVectorIndex(int deltaLimit) {
+        this.deltaLimit = deltaLimit;
+    }
+
+    // ========== LECTURAS ==========
+
+    public Entry get(Long id) {
+        return state.entries().get(id);
+    }
+
+    public int size() {
+        return state.entries().size();
+    }
+
+    /**
+     * @param filter only entries accepted by it are returned
+     * @return up to k entries nearest to the query, nearest first, with their
+     *         Euclidean or cosine distance (1 - cosine similarity)
+     */
+    public List<Match> nearest(Entry query, int k, Metric metric, Predicate<Entry> filter) {
+        State current = state;
+        boolean cosine = metric == Metric.COSINE;
+        float[] vector = cosine ? query.unit() : query.stats();
+        VantagePointTree tree = cosine ? current.unitTree() : current.rawTree();
+        Map<Long, Entry> entries = current.entries();
+
+        List<Match> matches = new ArrayList<>(k * 2);
+        if (tree != null) {
+            for (VantagePointTree.Neighbor neighbor : tree.nearest(vector, k, id -> {
+                if (current.stale().contains(id)) {
+                    return false;
+                }
+                Entry entry = entries.get(id);
+                return entry != null && filter.test(entry);
+            })) {
+                Entry entry = entries.get(neighbor.id());
+                if (entry != null) {
+                    matches.add(new Match(entry, reported(neighbor.distance(), cosine)));
+                }
+            }
+        }
+        for (Entry entry : current.delta().values()) {
+            if (filter.test(entry)) {
+                double distance = VantagePointTree.distance(vector, cosine ? entry.unit() : entry.stats());
+                matches.add(new Match(entry, reported(distance, cosine)));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::distance).thenComparingLong(match -> match.entry().id()));
+        return matches.size() > k ? List.copyOf(matches.subList(0, k)) : matches;
+    }
+
+    // ========== ESCRITURA ==========
+
+    public void rebuild(Collection<Entry> all) {
+        Map<Long, Entry> entries = new ConcurrentHashMap<>(all.size() * 2);
+        all.forEach(entry -> entries.put(entry.id(), entry));
+        state = withTrees(entries);
+    }
+
+    public void upsert(Entry entry) {
+        State current = state;
+        current.entries().put(entry.id(), entry);
+        Set<Long> stale = new HashSet<>(current.stale());
+        stale.add(entry.id());
+        Map<Long, Entry> delta = new HashMap<>(current.delta());
+        delta.put(entry.id(), entry);
+        applyDelta(current, stale, delta);
+    }
+
+    public void remove(Long id) {
+        State current = state;
+        if (current.entries().remove(id) == null) {
+            return;
+        }
+        Set<Long> stale = new HashSet<>(current.stale());
+        stale.add(id);
+        Map<Long, Entry> delta = new HashMap<>(current.delta());
+        delta.remove(id);
+        applyDelta(current, stale, delta);
+    }
+
+    private void applyDelta(State current, Set<Long> stale, Map<Long, Entry> delta) {
+        if (stale.size() > deltaLimit) {
+            state = withTrees(current.entries());
+        } else {
+            state = new State(current.entries(), current.rawTree(), current.unitTree(), stale, delta);
+        }
+    }
+
+    private static State withTrees(Map<Long, Entry> entries) {
+        List<Entry> snapshot = List.copyOf(entries.values());
+        long[] ids = new long[snapshot.size()];
+        float[][] raw = new float[snapshot.size()][];
+        float[][] unit = new float[snapshot.size()][];
+        for (int i = 0; i < snapshot.size(); i++) {
+            ids[i] = snapshot.get(i).id();
+            raw[i] = snapshot.get(i).stats();
+            unit[i] = snapshot.get(i).unit();
+        }
+        return new State(entries, new VantagePointTree(ids, raw), new VantagePointTree(ids, unit), Set.of(),
+                Map.of());
+    }
+
+    private static double reported(double distance, boolean cosine) {
+        // For unit vectors |a - b|^2 = 2 - 2 cos
+        return cosine ? distance * distance / 2 : distance;
+    }
+
+    // ========== TIPOS ==========
+
+    /**
+     * A Pokemon as seen by the index.
+     *
+     * @param primaryTypeId   0 if none
+     * @param secondaryTypeId 0 if none
+     * @param stats           hp, attack, defense, special attack, special defense, speed
+     */
+    public record Entry(long id, String name, Integer pokedexNumber, long primaryTypeId, long secondaryTypeId,
+                        Integer generation, float[] stats, float[] unit) {
+
+        public static Entry of(long id, String name, Integer pokedexNumber, long primaryTypeId,
+                               long secondaryTypeId, Integer generation, float[] stats) {
+            double norm = 0;
+            for (float stat : stats) {
+                norm += stat * stat;
+            }
+            float[] unit = new float[stats.length];
+            if (norm > 0) {
+                double length = Math.sqrt(norm);
+                for (int i = 0; i < stats.length; i++) {
+                    unit[i] = (float) (stats[i] / length);
+                }
+            }
+            return new Entry(id, name, pokedexNumber, primaryTypeId, secondaryTypeId, generation, stats, unit);
+        }
+
+        public boolean hasType(long typeId) {
+            return primaryTypeId == typeId || secondaryTypeId == typeId;
+        }
+    }
+
+    public record Match(Entry entry, double distance) {
+    }
+
+    // Entries by id, the trees, tree points masked out by later writes, and entries written since the
+    // trees were built. Upserts and removes change the entry map in place; a rebuild replaces it.
+    private record State(Map<Long, Entry> entries, VantagePointTree rawTree, VantagePointTree unitTree,
+                         Set<Long> stale, Map<Long, Entry> delta) {
+    }
+}
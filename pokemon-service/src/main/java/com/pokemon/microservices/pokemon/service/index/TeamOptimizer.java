@@ -0,0 +1,239 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Team Optimizer
+ *
+ * Branch-and-bound search for the set of candidates that maximizes
+ * {@code coveredTypes * coverageWeight + totalStats}, where covered types is
+ * the OR of the candidates' coverage masks.
+ *
+ * Candidates with the same coverage mask are interchangeable except for their
+ * stats, so only the best {@code slots} of each mask are searched. The rest are
+ * sorted by stats, best first, which makes the bound of a subtree (all types
+ * still reachable, plus the stats of the next best candidates) non-increasing
+ * along each level: the first subtree that cannot beat the best team ends the
+ * level. Subtrees of the first pick run as ForkJoin tasks sharing the best
+ * score; once the deadline passes the best team found so far is returned.
+ */
+public final class TeamOptimizer {
+
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private final long[] masks;
+    private final int[] stats;
+    // Position of each searched candidate in the caller's arrays
+    private final int[] positions;
+    private final long[] suffixUnion;
+    private final long[] prefixStats;
+    private final int maxBits;
+    private final int slots;
+    private final long baseCoverage;
+    private final long baseStats;
+    private final long coverageWeight;
+    private final long deadlineNanos;
+
+    private final AtomicLong bestScore = new AtomicLong(Long.MIN_VALUE);
+    private final LongAdder nodes = new LongAdder();
+    // Guarded by "this"
+    private int[] bestTeam;
+    private volatile boolean timedOut;
+
+    /**
+     * @param coverageMasks  coverage of each candidate
+     * @param totalStats     stat total of each candidate
+     * @param slots          members still to pick
+     * @param baseCoverage   coverage of the members already fixed
+     * @param baseStats      stat total of the members already fixed
+     * @param coverageWeight score of one covered type; above any stat total for coverage to come first
+     * @param deadlineNanos  {@link System#nanoTime()} after which the best team so far is returned
+     */
+    public TeamOptimizer(long[] coverageMasks, int[] totalStats, int slots, long baseCoverage, long baseStats,
+                         long coverageWeight, long deadlineNanos) {
+        this.positions = searchedCandidates(coverageMasks, totalStats, slots);
+        this.masks = new long[positions.length];
+        this.stats = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            masks[i] = coverageMasks[positions[i]];
+            stats[i] = totalStats[positions[i]];
+        }
+        this.slots = Math.min(slots, positions.length);
+        this.baseCoverage = baseCoverage;
+        this.baseStats = baseStats;
+        this.coverageWeight = coverageWeight;
+        this.deadlineNanos = deadlineNanos;
+
+        int n = positions.length;
+        suffixUnion = new long[n + 1];
+        prefixStats = new long[n + 1];
+        int bits = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            suffixUnion[i] = suffixUnion[i + 1] | masks[i];
+            bits = Math.max(bits, Long.bitCount(masks[i]));
+        }
+        for (int i = 0; i < n; i++) {
+            prefixStats[i + 1] = prefixStats[i] + stats[i];
+        }
+        maxBits = bits;
+    }
+
+    public Result optimize(ForkJoinPool pool) {
+        seedGreedily();
+        if (slots > 0) {
+            pool.invoke(new FirstPickTask());
+        }
+        synchronized (this) {
+            int[] team = new int[bestTeam.length];
+            long coverage = baseCoverage;
+            long total = baseStats;
+            for (int i = 0; i < bestTeam.length; i++) {
+                team[i] = positions[bestTeam[i]];
+                coverage |= masks[bestTeam[i]];
+                total += stats[bestTeam[i]];
+            }
+            return new Result(team, coverage, total, bestScore.get(), !timedOut, nodes.sum());
+        }
+    }
+
+    /**
+     * @param members  positions in the caller's arrays of the picked candidates
+     * @param complete false if the deadline cut the search short, so the team may not be optimal
+     */
+    public record Result(int[] members, long coverage, long totalStats, long score, boolean complete,
+                         long nodesExplored) {
+    }
+
+    // ========== BÚSQUEDA ==========
+
+    private long score(long coverage, long total) {
+        return Long.bitCount(coverage) * coverageWeight + total;
+    }
+
+    // Best score any completion of a team can reach using candidates from "from" onwards
+    private long bound(int from, int remaining, long coverage, long total) {
+        int coverageBound = Math.min(Long.bitCount(coverage | suffixUnion[from]),
+                Long.bitCount(coverage) + remaining * maxBits);
+        return coverageBound * coverageWeight + total + prefixStats[from + remaining] - prefixStats[from];
+    }
+
+    private synchronized void offer(long score, int[] team) {
+        if (score > bestScore.get()) {
+            bestScore.set(score);
+            bestTeam = team.clone();
+        }
+    }
+
+    // A good first team makes the bound prune from the start
+    private void seedGreedily() {
+        int[] team = new int[slots];
+        boolean[] used = new boolean[positions.length];
+        long coverage = baseCoverage;
+        long total = baseStats;
+        for (int depth = 0; depth < slots; depth++) {
+            int pick = -1;
+            long pickScore = Long.MIN_VALUE;
+            for (int i = 0; i < positions.length; i++) {
+                long candidateScore = used[i] ? Long.MIN_VALUE : score(coverage | masks[i], total + stats[i]);
+                if (candidateScore > pickScore) {
+                    pick = i;
+                    pickScore = candidateScore;
+                }
+            }
+            used[pick] = true;
+            team[depth] = pick;
+            coverage |= masks[pick];
+            total += stats[pick];
+        }
+        Arrays.sort(team);
+        offer(score(coverage, total), team);
+    }
+
+    private final class FirstPickTask extends RecursiveAction {
+
+        @Override
+        protected void compute() {
+            List<SubtreeTask> subtrees = new ArrayList<>();
+            for (int i = 0; i <= masks.length - slots; i++) {
+                if (bound(i, slots, baseCoverage, baseStats) <= bestScore.get()) {
+                    break;
+                }
+                subtrees.add(new SubtreeTask(i));
+            }
+            invokeAll(subtrees);
+        }
+    }
+
+    private final class SubtreeTask extends RecursiveAction {
+        private final int first;
+        private final int[] team = new int[slots];
+        private int sinceCheck;
+
+        private SubtreeTask(int first) {
+            this.first = first;
+        }
+
+        @Override
+        protected void compute() {
+            if (timedOut) {
+                return;
+            }
+            team[0] = first;
+            search(first + 1, 1, baseCoverage | masks[first], baseStats + stats[first]);
+            nodes.add(sinceCheck);
+        }
+
+        private void search(int from, int depth, long coverage, long total) {
+            if (depth == slots) {
+                long score = score(coverage, total);
+                if (score > bestScore.get()) {
+                    offer(score, team);
+                }
+                return;
+            }
+            int remaining = slots - depth;
+            for (int i = from; i <= masks.length - remaining; i++) {
+                if (++sinceCheck == DEADLINE_CHECK_INTERVAL) {
+                    nodes.add(sinceCheck);
+                    sinceCheck = 0;
+                    if (System.nanoTime() - deadlineNanos > 0) {
+                        timedOut = true;
+                    }
+                }
+                if (timedOut || bound(i, remaining, coverage, total) <= bestScore.get()) {
+                    return;
+                }
+                team[depth] = i;
+                search(i + 1, depth + 1, coverage | masks[i], total + stats[i]);
+            }
+        }
+    }
+
+    // ========== CANDIDATOS ==========
+
+    // The best "slots" candidates of each coverage mask, all sorted by stats, best first
+    private static int[] searchedCandidates(long[] coverageMasks, int[] totalStats, int slots) {
+        Map<Long, List<Integer>> byMask = new HashMap<>();
+        for (int i = 0; i < coverageMasks.length; i++) {
+            byMask.computeIfAbsent(coverageMasks[i], mask -> new ArrayList<>()).add(i);
+        }
+        Comparator<Integer> byStats = Comparator.<Integer>comparingInt(i -> totalStats[i]).reversed()
+                .thenComparingInt(i -> i);
+        List<Integer> kept = new ArrayList<>();
+        for (List<Integer> group : byMask.values()) {
+            group.sort(byStats);
+            kept.addAll(group.subList(0, Math.min(slots, group.size())));
+        }
+        kept.sort(byStats);
+        return kept.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,97 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Type Chart
+ *
+ * The canonical single-type matchups of the 18 main-series types (generation 6
+ * onwards), looked up by type name. English and Spanish names are recognised,
+ * ignoring case and accents; any other type is neutral to and from everything.
+ */
+public final class TypeChart {
+
+    private static final String[] TYPES = {
+            "normal", "fire", "water", "electric", "grass", "ice", "fighting", "poison", "ground",
+            "flying", "psychic", "bug", "rock", "ghost", "dragon", "dark", "steel", "fairy"
+    };
+
+    private static final String[] SPANISH_NAMES = {
+            "normal", "fuego", "agua", "electrico", "planta", "hielo", "lucha", "veneno", "tierra",
+            "volador", "psiquico", "bicho", "roca", "fantasma", "dragon", "siniestro", "acero", "hada"
+    };
+
+    private static final Map<String, Integer> INDEX_BY_NAME = new HashMap<>();
+    private static final float[][] CHART = new float[TYPES.length][TYPES.length];
+
+    static {
+        for (int i = 0; i < TYPES.length; i++) {
+            INDEX_BY_NAME.put(TYPES[i], i);
+            INDEX_BY_NAME.put(SPANISH_NAMES[i], i);
+            Arrays.fill(CHART[i], 1f);
+        }
+        // attacking type: super effective against / not very effective against / no effect on
+        chart("normal", List.of(), List.of("rock", "steel"), List.of("ghost"));
+        chart("fire", List.of("grass", "ice", "bug", "steel"), List.of("fire", "water", "rock", "dragon"), List.of());
+        chart("water", List.of("fire", "ground", "rock"), List.of("water", "grass", "dragon"), List.of());
+        chart("electric", List.of("water", "flying"), List.of("electric", "grass", "dragon"), List.of("ground"));
+        chart("grass", List.of("water", "ground", "rock"),
+                List.of("fire", "grass", "poison", "flying", "bug", "dragon", "steel"), List.of());
+        chart("ice", List.of("grass", "ground", "flying", "dragon"), List.of("fire", "water", "ice", "steel"), List.of());
+        chart("fighting", List.of("normal", "ice", "rock", "dark", "steel"),
+                List.of("poison", "flying", "psychic", "bug", "fairy"), List.of("ghost"));
+        chart("poison", List.of("grass", "fairy"), List.of("poison", "ground", "rock", "ghost"), List.of("steel"));
+        chart("ground", List.of("fire", "electric", "poison", "rock", "steel"), List.of("grass", "bug"),
+                List.of("flying"));
+        chart("flying", List.of("grass", "fighting", "bug"), List.of("electric", "rock", "steel"), List.of());
+        chart("psychic", List.of("fighting", "poison"), List.of("psychic", "steel"), List.of("dark"));
+        chart("bug", List.of("grass", "psychic", "dark"),
+                List.of("fire", "fighting", "poison", "flying", "ghost", "steel", "fairy"), List.of());
+        chart("rock", List.of("fire", "ice", "flying", "bug"), List.of("fighting", "ground", "steel"), List.of());
+        chart("ghost", List.of("psychic", "ghost"), List.of("dark"), List.of("normal"));
+        chart("dragon", List.of("dragon"), List.of("steel"), List.of("fairy"));
+        chart("dark", List.of("psychic", "ghost"), List.of("fighting", "dark", "fairy"), List.of());
+        chart("steel", List.of("ice", "rock", "fairy"), List.of("fire", "water", "electric", "steel"), List.of());
+        chart("fairy", List.of("fighting", "dragon", "dark"), List.of("fire", "poison", "steel"), List.of());
+    }
+
+    private TypeChart() {
+    }
+
+    /**
+     * @return the multiplier of an attack of the first type against a Pokemon of
+     *         only the second type
+     */
+    public static float multiplier(String attackType, String defenseType) {
+        int attack = indexOf(attackType);
+        int defense = indexOf(defenseType);
+        return attack < 0 || defense < 0 ? 1f : CHART[attack][defense];
+    }
+
+    public static boolean isKnown(String typeName) {
+        return indexOf(typeName) >= 0;
+    }
+
+    private static int indexOf(String typeName) {
+        if (typeName == null) {
+            return -1;
+        }
+        String folded = Normalizer.normalize(typeName.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        return INDEX_BY_NAME.getOrDefault(folded, -1);
+    }
+
+    private static void chart(String attack, List<String> superEffective, List<String> notVeryEffective,
+                              List<String> noEffect) {
+        float[] row = CHART[INDEX_BY_NAME.get(attack)];
+        superEffective.forEach(defense -> row[INDEX_BY_NAME.get(defense)] = 2f);
+        notVeryEffective.forEach(defense -> row[INDEX_BY_NAME.get(defense)] = 0.5f);
+        noEffect.forEach(defense -> row[INDEX_BY_NAME.get(defense)] = 0f);
+    }
+}
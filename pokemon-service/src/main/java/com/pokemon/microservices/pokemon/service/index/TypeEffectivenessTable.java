@@ -0,0 +1,183 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Type Effectiveness Table
+ *
+ * Immutable, dense attack × defense multiplier table over the current Pokemon
+ * types. Types get a dense index (looked up by {@code PokemonType.id}); index 0
+ * stands for "no type", so a single-type Pokemon is the combination (type, 0).
+ * The multiplier of every attacking type against every defensive combination,
+ * dual types included, is precomputed into one flat array.
+ *
+ * With up to {@value #MAX_MASK_TYPES} types the table also holds bitmasks over
+ * the types (bit {@code index - 1}): what each attacking type is super effective
+ * against, and what each defensive combination is weak to, resists or is
+ * immune to. Team-wide questions then become a handful of ORs and ANDs.
+ */
+public final class TypeEffectivenessTable {
+
+    public static final int NONE = 0;
+    public static final int MAX_MASK_TYPES = Long.SIZE;
+
+    private final long[] ids;
+    private final String[] names;
+    private final int[] indexById;
+    private final int size;
+    // [primary * size * size + secondary * size + attack]
+    private final float[] multipliers;
+    // By attacking type; by defensive combination (primary * size + secondary). Null without mask support
+    private final long[] superEffectiveMasks;
+    private final long[] weakMasks;
+    private final long[] resistMasks;
+    private final long[] immuneMasks;
+
+    private TypeEffectivenessTable(List<PokemonType> types) {
+        List<PokemonType> sorted = types.stream()
+                .filter(type -> type.getId() != null)
+                .sorted(Comparator.comparing(PokemonType::getId))
+                .toList();
+        size = sorted.size() + 1;
+        ids = new long[size];
+        names = new String[size];
+        long maxId = sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1).getId();
+        indexById = new int[Math.toIntExact(maxId + 1)];
+        for (int i = 1; i < size; i++) {
+            PokemonType type = sorted.get(i - 1);
+            ids[i] = type.getId();
+            names[i] = type.getName();
+            indexById[Math.toIntExact(type.getId())] = i;
+        }
+
+        float[] single = new float[size * size];
+        Arrays.fill(single, 1f);
+        for (int attack = 1; attack < size; attack++) {
+            for (int defense = 1; defense < size; defense++) {
+                single[attack * size + defense] = TypeChart.multiplier(names[attack], names[defense]);
+            }
+        }
+        multipliers = new float[size * size * size];
+        for (int primary = 0; primary < size; primary++) {
+            for (int secondary = 0; secondary < size; secondary++) {
+                int row = (primary * size + secondary) * size;
+                for (int attack = 1; attack < size; attack++) {
+                    multipliers[row + attack] = primary == secondary
+                            ? single[attack * size + primary]
+                            : single[attack * size + primary] * single[attack * size + secondary];
+                }
+            }
+        }
+
+        if (size - 1 > MAX_MASK_TYPES) {
+            superEffectiveMasks = weakMasks = resistMasks = immuneMasks = null;
+            return;
+        }
+        superEffectiveMasks = new long[size];
+        for (int attack = 1; attack < size; attack++) {
+            for (int defense = 1; defense < size; defense++) {
+                if (single[attack * size + defense] > 1f) {
+                    superEffectiveMasks[attack] |= bit(defense);
+                }
+            }
+        }
+        weakMasks = new long[size * size];
+        resistMasks = new long[size * size];
+        immuneMasks = new long[size * size];
+        for (int combination = 0; combination < size * size; combination++) {
+            int row = combination * size;
+            for (int attack = 1; attack < size; attack++) {
+                float multiplier = multipliers[row + attack];
+                if (multiplier > 1f) {
+                    weakMasks[combination] |= bit(attack);
+                } else if (multiplier == 0f) {
+                    immuneMasks[combination] |= bit(attack);
+                } else if (multiplier < 1f) {
+                    resistMasks[combination] |= bit(attack);
+                }
+            }
+        }
+    }
+
+    public static TypeEffectivenessTable of(List<PokemonType> types) {
+        return new TypeEffectivenessTable(types);
+    }
+
+    /**
+     * @return the dense index of the type, {@link #NONE} for a null id, or -1 if
+     *         there is no such type
+     */
+    public int indexOf(Long id) {
+        if (id == null) {
+            return NONE;
+        }
+        if (id <= 0 || id >= indexById.length || indexById[id.intValue()] == 0) {
+            return -1;
+        }
+        return indexById[id.intValue()];
+    }
+
+    public float multiplier(int attack, int primary, int secondary) {
+        return multipliers[(primary * size + secondary) * size + attack];
+    }
+
+    /**
+     * @return the multipliers of every attacking type (by dense index, slot 0
+     *         unused) against the defensive combination
+     */
+    public float[] defenseRow(int primary, int secondary) {
+        int from = (primary * size + secondary) * size;
+        return Arrays.copyOfRange(multipliers, from, from + size);
+    }
+
+    // ========== MÁSCARAS ==========
+
+    public boolean hasMasks() {
+        return weakMasks != null;
+    }
+
+    public static long bit(int index) {
+        return 1L << (index - 1);
+    }
+
+    public long allTypesMask() {
+        int count = typeCount();
+        return count == Long.SIZE ? -1L : (1L << count) - 1;
+    }
+
+    // Single defending types the attacking type hits super effectively
+    public long superEffectiveMask(int attack) {
+        return superEffectiveMasks[attack];
+    }
+
+    // Attacking types that deal more than normal damage to the combination
+    public long weakMask(int primary, int secondary) {
+        return weakMasks[primary * size + secondary];
+    }
+
+    // Attacking types that deal less than normal damage, but some
+    public long resistMask(int primary, int secondary) {
+        return resistMasks[primary * size + secondary];
+    }
+
+    public long immuneMask(int primary, int secondary) {
+        return immuneMasks[primary * size + secondary];
+    }
+
+    // Number of types, not counting the "no type" slot
+    public int typeCount() {
+        return size - 1;
+    }
+
+    public long idAt(int index) {
+        return ids[index];
+    }
+
+    public String nameAt(int index) {
+        return names[index];
+    }
+}
@@ -0,0 +1,149 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.LongPredicate;
+
+/**
+ * Vantage-Point Tree
+ *
+ * Immutable metric tree over fixed-length float vectors with Euclidean
+ * distance. Every node is a point (the vantage point) and a radius: points
+ * closer than the radius go to the inside subtree, the rest outside, so a
+ * k-nearest search skips any subtree the triangle inequality rules out.
+ * Nodes are stored flat: node i is the point at position i, with its children
+ * given by position.
+ */
+public final class VantagePointTree {
+
+    private static final int NO_NODE = -1;
+
+    private final long[] ids;
+    private final float[][] points;
+    private final double[] radius;
+    private final int[] inside;
+    private final int[] outside;
+    private final int root;
+
+    public VantagePointTree(long[] ids, float[][] points) {
+        this.ids = ids.clone();
+        this.points = points.clone();
+        this.radius = new double[ids.length];
+        this.inside = new int[ids.length];
+        this.outside = new int[ids.length];
+        this.root = build(0, ids.length, new Random(ids.length), new double[ids.length]);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @param accept only ids accepted by this filter are returned
+     * @return up to k accepted points, nearest first
+     */
+    public List<Neighbor> nearest(float[] query, int k, LongPredicate accept) {
+        if (k <= 0 || root == NO_NODE) {
+            return List.of();
+        }
+        // Max-heap on distance: the head is the farthest of the current k best
+        PriorityQueue<Neighbor> best = new PriorityQueue<>(k + 1, (a, b) -> Double.compare(b.distance(), a.distance()));
+        search(root, query, k, accept, best);
+        List<Neighbor> result = new ArrayList<>(best);
+        result.sort((a, b) -> Double.compare(a.distance(), b.distance()));
+        return result;
+    }
+
+    public record Neighbor(long id, double distance) {
+    }
+
+    public static double distance(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            double diff = a[i] - b[i];
+            sum += diff * diff;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private void search(int node, float[] query, int k, LongPredicate accept, PriorityQueue<Neighbor> best) {
+        if (node == NO_NODE) {
+            return;
+        }
+        double d = distance(query, points[node]);
+        if (accept.test(ids[node])) {
+            if (best.size() < k) {
+                best.add(new Neighbor(ids[node], d));
+            } else if (d < best.peek().distance()) {
+                best.poll();
+                best.add(new Neighbor(ids[node], d));
+            }
+        }
+        if (inside[node] == NO_NODE && outside[node] == NO_NODE) {
+            return;
+        }
+        if (d < radius[node]) {
+            search(inside[node], query, k, accept, best);
+            if (d + worst(best, k) >= radius[node]) {
+                search(outside[node], query, k, accept, best);
+            }
+        } else {
+            search(outside[node], query, k, accept, best);
+            if (d - worst(best, k) <= radius[node]) {
+                search(inside[node], query, k, accept, best);
+            }
+        }
+    }
+
+    private static double worst(PriorityQueue<Neighbor> best, int k) {
+        return best.size() < k ? Double.POSITIVE_INFINITY : best.peek().distance();
+    }
+
+    // Builds the subtree over positions [from, to) and returns its root position
+    private int build(int from, int to, Random random, double[] distances) {
+        if (from >= to) {
+            return NO_NODE;
+        }
+        swap(from, from + random.nextInt(to - from));
+        inside[from] = NO_NODE;
+        outside[from] = NO_NODE;
+        if (to - from == 1) {
+            return from;
+        }
+
+        // Order the other points by distance to the vantage point and split at the median
+        int count = to - from - 1;
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = from + 1 + i;
+            distances[from + 1 + i] = distance(points[from], points[from + 1 + i]);
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(distances[a], distances[b]));
+        long[] sortedIds = new long[count];
+        float[][] sortedPoints = new float[count][];
+        for (int i = 0; i < count; i++) {
+            sortedIds[i] = ids[order[i]];
+            sortedPoints[i] = points[order[i]];
+        }
+        System.arraycopy(sortedIds, 0, ids, from + 1, count);
+        System.arraycopy(sortedPoints, 0, points, from + 1, count);
+
+        int median = from + 1 + count / 2;
+        radius[from] = distance(points[from], points[median]);
+        inside[from] = build(from + 1, median, random, distances);
+        outside[from] = build(median, to, random, distances);
+        return from;
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float[] point = points[a];
+        points[a] = points[b];
+        points[b] = point;
+    }
+}
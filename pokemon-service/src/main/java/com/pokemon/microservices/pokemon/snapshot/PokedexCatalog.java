@@ -0,0 +1,304 @@
+package com.pokemon.microservices.pokemon.snapshot;
+
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Pokedex Catalog
+ *
+ * Immutable in-memory indexes over one {@link PokedexSnapshot}. The indexes
+ * hold record positions only; Pokemon are decoded from the mapped file when a
+ * request reads them. Sort orders are computed on first use and kept.
+ */
+public final class PokedexCatalog {
+
+    // Distinct sorts kept; the sortable properties are few, so this is never reached in practice
+    private static final int MAX_CACHED_SORTS = 64;
+
+    private final PokedexSnapshot snapshot;
+    private final long[] ids;
+    private final Map<String, Integer> byName;
+    private final Map<Integer, Integer> byPokedexNumber;
+    private final Map<Long, int[]> byPrimaryType;
+    private final Map<Long, Long> countByAnyType;
+    private final Map<Integer, int[]> byGeneration;
+    private final int[] legendary;
+    private final int[] mythical;
+    private final List<PokemonType> typesByName;
+    private final Map<String, PokemonType> typeByName;
+    private final Map<Sort, int[]> sortOrders = new ConcurrentHashMap<>();
+
+    public PokedexCatalog(PokedexSnapshot snapshot) {
+        this.snapshot = snapshot;
+        int count = snapshot.pokemonCount();
+        this.ids = new long[count];
+        this.byName = new HashMap<>(count * 2);
+        this.byPokedexNumber = new HashMap<>(count * 2);
+        this.countByAnyType = new HashMap<>();
+        Map<Long, List<Integer>> primary = new HashMap<>();
+        Map<Integer, List<Integer>> generations = new HashMap<>();
+        List<Integer> legendaryPositions = new ArrayList<>();
+        List<Integer> mythicalPositions = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Pokemon pokemon = snapshot.pokemon(i);
+            ids[i] = pokemon.getId();
+            if (i > 0 && ids[i] <= ids[i - 1]) {
+                throw new IllegalArgumentException("Snapshot " + snapshot.path() + " is not ordered by id");
+            }
+            byName.put(pokemon.getName().toLowerCase(Locale.ROOT), i);
+            byPokedexNumber.put(pokemon.getPokedexNumber(), i);
+            PokemonType primaryType = pokemon.getPrimaryType();
+            PokemonType secondaryType = pokemon.getSecondaryType();
+            if (primaryType != null) {
+                primary.computeIfAbsent(primaryType.getId(), id -> new ArrayList<>()).add(i);
+                countByAnyType.merge(primaryType.getId(), 1L, Long::sum);
+            }
+            if (secondaryType != null && !secondaryType.equals(primaryType)) {
+                countByAnyType.merge(secondaryType.getId(), 1L, Long::sum);
+            }
+            if (pokemon.getGeneration() != null) {
+                generations.computeIfAbsent(pokemon.getGeneration(), generation -> new ArrayList<>()).add(i);
+            }
+            if (Boolean.TRUE.equals(pokemon.getIsLegendary())) {
+                legendaryPositions.add(i);
+            }
+            if (Boolean.TRUE.equals(pokemon.getIsMythical())) {
+                mythicalPositions.add(i);
+            }
+        }
+        this.byPrimaryType = toArrays(primary);
+        this.byGeneration = toArrays(generations);
+        this.legendary = toArray(legendaryPositions);
+        this.mythical = toArray(mythicalPositions);
+
+        List<PokemonType> types = new ArrayList<>(snapshot.typeCount());
+        Map<String, PokemonType> names = new HashMap<>();
+        for (int i = 0; i < snapshot.typeCount(); i++) {
+            PokemonType type = snapshot.type(i);
+            types.add(type);
+            names.put(type.getName().toLowerCase(Locale.ROOT), type);
+        }
+        types.sort(Comparator.comparing(PokemonType::getName));
+        this.typesByName = List.copyOf(types);
+        this.typeByName = names;
+    }
+
+    public PokedexSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public int pokemonCount() {
+        return ids.length;
+    }
+
+    // ========== POKEMON ==========
+
+    public Optional<Pokemon> findById(Long id) {
+        int position = position(id);
+        return position >= 0 ? Optional.of(pokemonAt(position)) : Optional.empty();
+    }
+
+    public Optional<Pokemon> findByName(String name) {
+        return at(byName.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    public Optional<Pokemon> findByPokedexNumber(Integer pokedexNumber) {
+        return at(byPokedexNumber.get(pokedexNumber));
+    }
+
+    public List<Pokemon> findByPrimaryType(Long typeId) {
+        return decode(byPrimaryType.getOrDefault(typeId, new int[0]));
+    }
+
+    public List<Pokemon> findByGeneration(Integer generation) {
+        return decode(byGeneration.getOrDefault(generation, new int[0]));
+    }
+
+    public List<Pokemon> findLegendary() {
+        return decode(legendary);
+    }
+
+    public List<Pokemon> findMythical() {
+        return decode(mythical);
+    }
+
+    /**
+     * @return the positions of every Pokemon in the given order; id order when unsorted
+     */
+    public int[] order(Sort sort) {
+        if (sort.isUnsorted()) {
+            return identity(ids.length);
+        }
+        int[] cached = sortOrders.get(sort);
+        if (cached != null) {
+            return cached;
+        }
+        int[] order = computeOrder(sort);
+        if (sortOrders.size() < MAX_CACHED_SORTS) {
+            sortOrders.put(sort, order);
+        }
+        return order;
+    }
+
+    public List<Pokemon> decode(int[] positions, int from, int to) {
+        List<Pokemon> pokemon = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            pokemon.add(pokemonAt(positions[i]));
+        }
+        return pokemon;
+    }
+
+    /**
+     * Decodes the Pokemon at a record position with its evolution links set.
+     * The linked Pokemon get their own links too, so their evolution level
+     * comes out as it does when the entity loads them lazily.
+     */
+    public Pokemon pokemonAt(int position) {
+        Pokemon pokemon = snapshot.pokemon(position);
+        pokemon.setEvolvesFrom(neighbour(snapshot.evolvesFromId(position), pokemon));
+        pokemon.setEvolvesTo(neighbour(snapshot.evolvesToId(position), pokemon));
+        return pokemon;
+    }
+
+    // ========== TIPOS ==========
+
+    public List<PokemonType> typesByName() {
+        return typesByName;
+    }
+
+    public Optional<PokemonType> findTypeById(Long id) {
+        return Optional.ofNullable(snapshot.typeById(id));
+    }
+
+    public Optional<PokemonType> findTypeByName(String name) {
+        return Optional.ofNullable(typeByName.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    public List<PokemonType> findTypes(Predicate<PokemonType> filter) {
+        List<PokemonType> types = new ArrayList<>();
+        for (int i = 0; i < snapshot.typeCount(); i++) {
+            if (filter.test(snapshot.type(i))) {
+                types.add(snapshot.type(i));
+            }
+        }
+        return types;
+    }
+
+    // Pokemon with the type as primary or secondary
+    public long countByAnyType(Long typeId) {
+        return countByAnyType.getOrDefault(typeId, 0L);
+    }
+
+    public long countByPrimaryType(Long typeId) {
+        return byPrimaryType.getOrDefault(typeId, new int[0]).length;
+    }
+
+    private Pokemon neighbour(Long id, Pokemon origin) {
+        int position = position(id);
+        if (position < 0) {
+            return null;
+        }
+        Pokemon neighbour = snapshot.pokemon(position);
+        neighbour.setEvolvesFrom(link(snapshot.evolvesFromId(position), origin));
+        neighbour.setEvolvesTo(link(snapshot.evolvesToId(position), origin));
+        return neighbour;
+    }
+
+    // Links of a neighbour are not followed any further
+    private Pokemon link(Long id, Pokemon origin) {
+        if (id != null && id.equals(origin.getId())) {
+            return origin;
+        }
+        int position = position(id);
+        return position >= 0 ? snapshot.pokemon(position) : null;
+    }
+
+    private int position(Long id) {
+        return id != null ? Arrays.binarySearch(ids, id) : -1;
+    }
+
+    private Optional<Pokemon> at(Integer position) {
+        return position != null ? Optional.of(pokemonAt(position)) : Optional.empty();
+    }
+
+    private List<Pokemon> decode(int[] positions) {
+        return decode(positions, 0, positions.length);
+    }
+
+    // Same property paths as a JPA sort; nulls sort as the largest value, as in PostgreSQL
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int[] computeOrder(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        Comparable[][] keys = new Comparable[orders.size()][ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            BeanWrapper pokemon = PropertyAccessorFactory.forBeanPropertyAccess(pokemonAt(i));
+            for (int o = 0; o < orders.size(); o++) {
+                Object value;
+                try {
+                    value = pokemon.getPropertyValue(orders.get(o).getProperty());
+                } catch (BeansException ex) {
+                    throw new IllegalArgumentException("Cannot sort by " + orders.get(o).getProperty());
+                }
+                if (value != null && !(value instanceof Comparable)) {
+                    throw new IllegalArgumentException("Cannot sort by " + orders.get(o).getProperty());
+                }
+                if (value instanceof String text && orders.get(o).isIgnoreCase()) {
+                    value = text.toLowerCase(Locale.ROOT);
+                }
+                keys[o][i] = (Comparable) value;
+            }
+        }
+
+        Comparator<Integer> comparator = (a, b) -> 0;
+        for (int o = 0; o < orders.size(); o++) {
+            Comparable[] column = keys[o];
+            Comparator<Comparable> values = Comparator.nullsLast(Comparator.<Comparable>naturalOrder());
+            Comparator<Integer> byColumn = (a, b) -> values.compare(column[a], column[b]);
+            comparator = comparator.thenComparing(orders.get(o).isAscending() ? byColumn : byColumn.reversed());
+        }
+        Integer[] boxed = new Integer[ids.length];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, comparator);
+        int[] order = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            order[i] = boxed[i];
+        }
+        return order;
+    }
+
+    private static int[] identity(int size) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    private static <K> Map<K, int[]> toArrays(Map<K, List<Integer>> lists) {
+        Map<K, int[]> arrays = new HashMap<>(lists.size() * 2);
+        lists.forEach((key, positions) -> arrays.put(key, toArray(positions)));
+        return arrays;
+    }
+
+    private static int[] toArray(List<Integer> positions) {
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,295 @@
+package com.pokemon.microservices.pokemon.snapshot;
+
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Pokedex Snapshot
+ *
+ * Read-only view over a snapshot file written by {@link PokedexSnapshotWriter}.
+ * The file is memory-mapped and records have a fixed size, so any type or
+ * Pokemon is decoded straight from its offset without reading the rest.
+ *
+ * Layout (big-endian): a {@value #HEADER_BYTES}-byte header, the type records,
+ * the Pokemon records and a pool of length-prefixed UTF-8 strings that records
+ * point into. Missing values use sentinels: id 0, string -1, int
+ * {@link Integer#MIN_VALUE}, double NaN and timestamp {@link Long#MIN_VALUE}.
+ */
+public final class PokedexSnapshot {
+
+    static final int MAGIC = 0x504B4458; // "PKDX"
+    static final int FORMAT_VERSION = 1;
+
+    static final int HEADER_BYTES = 64;
+    static final int TYPE_RECORD_BYTES = 36;
+    static final int POKEMON_RECORD_BYTES = 128;
+
+    // Header fields
+    static final int H_MAGIC = 0;
+    static final int H_VERSION = 4;
+    static final int H_EXPORTED_AT = 8;
+    static final int H_TYPE_COUNT = 16;
+    static final int H_POKEMON_COUNT = 20;
+    static final int H_TYPES_OFFSET = 24;
+    static final int H_POKEMON_OFFSET = 28;
+    static final int H_STRINGS_OFFSET = 32;
+    static final int H_STRINGS_LENGTH = 36;
+    static final int H_CHECKSUM = 40;
+
+    // Type record fields
+    static final int T_ID = 0;
+    static final int T_NAME = 8;
+    static final int T_COLOR = 12;
+    static final int T_DESCRIPTION = 16;
+    static final int T_CREATED_AT = 20;
+    static final int T_UPDATED_AT = 28;
+
+    // Pokemon record fields
+    static final int P_ID = 0;
+    static final int P_POKEDEX_NUMBER = 8;
+    static final int P_NAME = 12;
+    static final int P_DESCRIPTION = 16;
+    static final int P_IMAGE_URL = 20;
+    static final int P_HEIGHT = 24;
+    static final int P_WEIGHT = 32;
+    static final int P_PRIMARY_TYPE = 40;
+    static final int P_SECONDARY_TYPE = 48;
+    static final int P_EVOLVES_FROM = 56;
+    static final int P_EVOLVES_TO = 64;
+    static final int P_STATS = 72; // hp, attack, defense, special attack, special defense, speed
+    static final int P_GENERATION = 96;
+    static final int P_FLAGS = 100;
+    static final int P_VERSION = 104;
+    static final int P_CREATED_AT = 112;
+    static final int P_UPDATED_AT = 120;
+
+    // Two bits per Boolean flag: legendary in bits 0-1, mythical in bits 2-3
+    static final int FLAG_FALSE = 0;
+    static final int FLAG_TRUE = 1;
+    static final int FLAG_NULL = 2;
+
+    static final int NO_STRING = -1;
+    static final int NO_INT = Integer.MIN_VALUE;
+    static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final Instant exportedAt;
+    private final int typeCount;
+    private final int pokemonCount;
+    private final int typesOffset;
+    private final int pokemonOffset;
+    private final int stringsOffset;
+    private final Map<Long, PokemonType> typesById;
+
+    private PokedexSnapshot(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(H_MAGIC) != MAGIC) {
+            throw new IOException(path + " is not a Pokedex snapshot");
+        }
+        if (buffer.getInt(H_VERSION) != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format version " + buffer.getInt(H_VERSION) + " in " + path);
+        }
+        this.exportedAt = Instant.ofEpochMilli(buffer.getLong(H_EXPORTED_AT));
+        this.typeCount = buffer.getInt(H_TYPE_COUNT);
+        this.pokemonCount = buffer.getInt(H_POKEMON_COUNT);
+        this.typesOffset = buffer.getInt(H_TYPES_OFFSET);
+        this.pokemonOffset = buffer.getInt(H_POKEMON_OFFSET);
+        this.stringsOffset = buffer.getInt(H_STRINGS_OFFSET);
+        int stringsLength = buffer.getInt(H_STRINGS_LENGTH);
+
+        if (typesOffset != HEADER_BYTES
+                || pokemonOffset != typesOffset + typeCount * TYPE_RECORD_BYTES
+                || stringsOffset != pokemonOffset + pokemonCount * POKEMON_RECORD_BYTES
+                || (long) stringsOffset + stringsLength != buffer.capacity()) {
+            throw new IOException("Snapshot " + path + " is truncated or corrupt");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER_BYTES, buffer.capacity() - HEADER_BYTES));
+        if (crc.getValue() != buffer.getLong(H_CHECKSUM)) {
+            throw new IOException("Snapshot " + path + " failed its checksum");
+        }
+
+        this.typesById = new HashMap<>(typeCount * 2);
+        for (int i = 0; i < typeCount; i++) {
+            PokemonType type = decodeType(i);
+            typesById.put(type.getId(), type);
+        }
+    }
+
+    /**
+     * Maps the file read-only and checks its header and checksum. The mapping
+     * stays valid after the file is replaced or deleted.
+     */
+    public static PokedexSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + path + " is too large");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new PokedexSnapshot(path, buffer);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public Instant exportedAt() {
+        return exportedAt;
+    }
+
+    public int typeCount() {
+        return typeCount;
+    }
+
+    public int pokemonCount() {
+        return pokemonCount;
+    }
+
+    public long sizeBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * @return the type at the given position; the same instance on every call
+     */
+    public PokemonType type(int index) {
+        return typesById.get(buffer.getLong(typeRecord(index) + T_ID));
+    }
+
+    /**
+     * @return the type with the given id, or {@code null}
+     */
+    public PokemonType typeById(Long id) {
+        return typesById.get(id);
+    }
+
+    public long pokemonId(int index) {
+        return buffer.getLong(pokemonRecord(index) + P_ID);
+    }
+
+    /**
+     * Decodes a new Pokemon with its types resolved. Evolution links are left
+     * empty; read them with {@link #evolvesFromId} and {@link #evolvesToId}.
+     */
+    public Pokemon pokemon(int index) {
+        int record = pokemonRecord(index);
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(buffer.getLong(record + P_ID));
+        pokemon.setPokedexNumber(buffer.getInt(record + P_POKEDEX_NUMBER));
+        pokemon.setName(string(record + P_NAME));
+        pokemon.setDescription(string(record + P_DESCRIPTION));
+        pokemon.setImageUrl(string(record + P_IMAGE_URL));
+        pokemon.setHeight(nullableDouble(record + P_HEIGHT));
+        pokemon.setWeight(nullableDouble(record + P_WEIGHT));
+        pokemon.setPrimaryType(typesById.get(buffer.getLong(record + P_PRIMARY_TYPE)));
+        pokemon.setSecondaryType(typesById.get(buffer.getLong(record + P_SECONDARY_TYPE)));
+        pokemon.setHp(nullableInt(record + P_STATS));
+        pokemon.setAttack(nullableInt(record + P_STATS + 4));
+        pokemon.setDefense(nullableInt(record + P_STATS + 8));
+        pokemon.setSpecialAttack(nullableInt(record + P_STATS + 12));
+        pokemon.setSpecialDefense(nullableInt(record + P_STATS + 16));
+        pokemon.setSpeed(nullableInt(record + P_STATS + 20));
+        pokemon.setGeneration(nullableInt(record + P_GENERATION));
+        int flags = buffer.getInt(record + P_FLAGS);
+        pokemon.setIsLegendary(flag(flags));
+        pokemon.setIsMythical(flag(flags >>> 2));
+        pokemon.setVersion(buffer.getLong(record + P_VERSION));
+        pokemon.setCreatedAt(timestamp(record + P_CREATED_AT));
+        pokemon.setUpdatedAt(timestamp(record + P_UPDATED_AT));
+        return pokemon;
+    }
+
+    public Long evolvesFromId(int index) {
+        return nullableId(pokemonRecord(index) + P_EVOLVES_FROM);
+    }
+
+    public Long evolvesToId(int index) {
+        return nullableId(pokemonRecord(index) + P_EVOLVES_TO);
+    }
+
+    private PokemonType decodeType(int index) {
+        int record = typeRecord(index);
+        PokemonType type = new PokemonType();
+        type.setId(buffer.getLong(record + T_ID));
+        type.setName(string(record + T_NAME));
+        type.setColor(string(record + T_COLOR));
+        type.setDescription(string(record + T_DESCRIPTION));
+        type.setCreatedAt(timestamp(record + T_CREATED_AT));
+        type.setUpdatedAt(timestamp(record + T_UPDATED_AT));
+        return type;
+    }
+
+    private int typeRecord(int index) {
+        if (index < 0 || index >= typeCount) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return typesOffset + index * TYPE_RECORD_BYTES;
+    }
+
+    private int pokemonRecord(int index) {
+        if (index < 0 || index >= pokemonCount) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return pokemonOffset + index * POKEMON_RECORD_BYTES;
+    }
+
+    private String string(int field) {
+        int ref = buffer.getInt(field);
+        if (ref == NO_STRING) {
+            return null;
+        }
+        int length = buffer.getInt(stringsOffset + ref);
+        byte[] bytes = new byte[length];
+        buffer.get(stringsOffset + ref + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Integer nullableInt(int field) {
+        int value = buffer.getInt(field);
+        return value == NO_INT ? null : value;
+    }
+
+    private Double nullableDouble(int field) {
+        double value = buffer.getDouble(field);
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private Long nullableId(int field) {
+        long value = buffer.getLong(field);
+        return value == 0 ? null : value;
+    }
+
+    private LocalDateTime timestamp(int field) {
+        long micros = buffer.getLong(field);
+        if (micros == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    private static Boolean flag(int bits) {
+        return switch (bits & 3) {
+            case FLAG_TRUE -> Boolean.TRUE;
+            case FLAG_NULL -> null;
+            default -> Boolean.FALSE;
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.pokemon.microservices.pokemon.snapshot;
+
+import com.pokemon.microservices.pokemon.config.SnapshotProperties;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.EntityKind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Pokedex Snapshot Store
+ *
+ * Holds the catalog read-only mode serves from. The snapshot file is polled
+ * and, once a newer one has been moved into place, the replacement is mapped
+ * and indexed aside and swapped in with a single write; requests in flight
+ * finish on the catalog they started with. A file that fails to open leaves
+ * the current catalog in service.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pokemon.snapshot", name = "read-only", havingValue = "true")
+public class PokedexSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(PokedexSnapshotStore.class);
+
+    private final Path path;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile PokedexCatalog catalog;
+    // Attributes of the file last opened, whether it loaded or not
+    private FileStamp stamp;
+
+    @Autowired
+    public PokedexSnapshotStore(SnapshotProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.path = properties.getPath();
+        this.eventPublisher = eventPublisher;
+        try {
+            this.stamp = FileStamp.of(path);
+            this.catalog = open(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Read-only mode needs a readable snapshot at " + path, ex);
+        }
+    }
+
+    public PokedexCatalog catalog() {
+        return catalog;
+    }
+
+    @Scheduled(fixedDelayString = "${pokemon.snapshot.watch-interval:PT5S}")
+    public synchronized void reloadIfChanged() {
+        FileStamp current;
+        try {
+            current = FileStamp.of(path);
+        } catch (IOException ex) {
+            // Missing for a moment while being replaced; keep serving
+            return;
+        }
+        if (current.equals(stamp)) {
+            return;
+        }
+        stamp = current;
+        try {
+            catalog = open(path);
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Keeping the current snapshot, {} could not be loaded: {}", path, ex.getMessage());
+            return;
+        }
+        eventPublisher.publishEvent(EntityChangeEvent.fullRefresh(EntityKind.POKEMON_TYPE));
+        eventPublisher.publishEvent(EntityChangeEvent.fullRefresh(EntityKind.POKEMON));
+    }
+
+    private static PokedexCatalog open(Path path) throws IOException {
+        long start = System.nanoTime();
+        PokedexCatalog catalog = new PokedexCatalog(PokedexSnapshot.open(path));
+        logger.info("Serving snapshot {} exported at {}: {} types, {} Pokemon, indexed in {} ms", path,
+                catalog.snapshot().exportedAt(), catalog.snapshot().typeCount(), catalog.pokemonCount(),
+                (System.nanoTime() - start) / 1_000_000);
+        return catalog;
+    }
+
+    private record FileStamp(FileTime lastModified, long size, Object fileKey) {
+
+        static FileStamp of(Path path) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileStamp(attributes.lastModifiedTime(), attributes.size(), attributes.fileKey());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.pokemon.microservices.pokemon.snapshot;
+
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static com.pokemon.microservices.pokemon.snapshot.PokedexSnapshot.*;
+
+/**
+ * Pokedex Snapshot Writer
+ *
+ * Collects types and Pokemon and writes them in the {@link PokedexSnapshot}
+ * format. Repeated strings (type colors, descriptions) are stored once.
+ */
+public final class PokedexSnapshotWriter {
+
+    private final List<PokemonType> types = new ArrayList<>();
+    private final List<Pokemon> pokemon = new ArrayList<>();
+    private final List<long[]> evolutions = new ArrayList<>();
+
+    public PokedexSnapshotWriter addType(PokemonType type) {
+        types.add(type);
+        return this;
+    }
+
+    /**
+     * Adds a Pokemon; its types are written by id, so they must be added too.
+     */
+    public PokedexSnapshotWriter addPokemon(Pokemon entry, Long evolvesFromId, Long evolvesToId) {
+        pokemon.add(entry);
+        evolutions.add(new long[]{idOrZero(evolvesFromId), idOrZero(evolvesToId)});
+        return this;
+    }
+
+    /**
+     * Writes the snapshot next to the target and moves it into place, so
+     * readers never see a half-written file.
+     *
+     * @return the size of the written file in bytes
+     */
+    public long writeTo(Path path, long exportedAtMillis) throws IOException {
+        StringPool strings = new StringPool();
+        int typesOffset = HEADER_BYTES;
+        int pokemonOffset = typesOffset + types.size() * TYPE_RECORD_BYTES;
+        int stringsOffset = pokemonOffset + pokemon.size() * POKEMON_RECORD_BYTES;
+
+        ByteBuffer records = ByteBuffer.allocate(stringsOffset - HEADER_BYTES);
+        for (PokemonType type : types) {
+            int record = records.position();
+            records.putLong(record + T_ID, type.getId());
+            records.putInt(record + T_NAME, strings.ref(type.getName()));
+            records.putInt(record + T_COLOR, strings.ref(type.getColor()));
+            records.putInt(record + T_DESCRIPTION, strings.ref(type.getDescription()));
+            records.putLong(record + T_CREATED_AT, timestamp(type.getCreatedAt()));
+            records.putLong(record + T_UPDATED_AT, timestamp(type.getUpdatedAt()));
+            records.position(record + TYPE_RECORD_BYTES);
+        }
+        for (int i = 0; i < pokemon.size(); i++) {
+            Pokemon entry = pokemon.get(i);
+            int record = records.position();
+            records.putLong(record + P_ID, entry.getId());
+            records.putInt(record + P_POKEDEX_NUMBER, entry.getPokedexNumber());
+            records.putInt(record + P_NAME, strings.ref(entry.getName()));
+            records.putInt(record + P_DESCRIPTION, strings.ref(entry.getDescription()));
+            records.putInt(record + P_IMAGE_URL, strings.ref(entry.getImageUrl()));
+            records.putDouble(record + P_HEIGHT, entry.getHeight() != null ? entry.getHeight() : Double.NaN);
+            records.putDouble(record + P_WEIGHT, entry.getWeight() != null ? entry.getWeight() : Double.NaN);
+            records.putLong(record + P_PRIMARY_TYPE, typeId(entry.getPrimaryType()));
+            records.putLong(record + P_SECONDARY_TYPE, typeId(entry.getSecondaryType()));
+            records.putLong(record + P_EVOLVES_FROM, evolutions.get(i)[0]);
+            records.putLong(record + P_EVOLVES_TO, evolutions.get(i)[1]);
+            Integer[] stats = {entry.getHp(), entry.getAttack(), entry.getDefense(),
+                    entry.getSpecialAttack(), entry.getSpecialDefense(), entry.getSpeed()};
+            for (int s = 0; s < stats.length; s++) {
+                records.putInt(record + P_STATS + s * 4, intOrNone(stats[s]));
+            }
+            records.putInt(record + P_GENERATION, intOrNone(entry.getGeneration()));
+            records.putInt(record + P_FLAGS, flag(entry.getIsLegendary()) | flag(entry.getIsMythical()) << 2);
+            records.putLong(record + P_VERSION, entry.getVersion() != null ? entry.getVersion() : 0L);
+            records.putLong(record + P_CREATED_AT, timestamp(entry.getCreatedAt()));
+            records.putLong(record + P_UPDATED_AT, timestamp(entry.getUpdatedAt()));
+            records.position(record + POKEMON_RECORD_BYTES);
+        }
+        records.flip();
+        ByteBuffer pool = ByteBuffer.wrap(strings.bytes());
+
+        CRC32 crc = new CRC32();
+        crc.update(records.duplicate());
+        crc.update(pool.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(H_MAGIC, MAGIC);
+        header.putInt(H_VERSION, FORMAT_VERSION);
+        header.putLong(H_EXPORTED_AT, exportedAtMillis);
+        header.putInt(H_TYPE_COUNT, types.size());
+        header.putInt(H_POKEMON_COUNT, pokemon.size());
+        header.putInt(H_TYPES_OFFSET, typesOffset);
+        header.putInt(H_POKEMON_OFFSET, pokemonOffset);
+        header.putInt(H_STRINGS_OFFSET, stringsOffset);
+        header.putInt(H_STRINGS_LENGTH, pool.remaining());
+        header.putLong(H_CHECKSUM, crc.getValue());
+
+        Path target = path.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer[] parts = {header, records, pool};
+                while (parts[2].hasRemaining()) {
+                    channel.write(parts);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return (long) stringsOffset + strings.size();
+    }
+
+    private static long idOrZero(Long id) {
+        return id != null ? id : 0L;
+    }
+
+    private static long typeId(PokemonType type) {
+        return type != null ? idOrZero(type.getId()) : 0L;
+    }
+
+    private static int intOrNone(Integer value) {
+        return value != null ? value : NO_INT;
+    }
+
+    private static int flag(Boolean value) {
+        return value == null ? FLAG_NULL : value ? FLAG_TRUE : FLAG_FALSE;
+    }
+
+    private static long timestamp(LocalDateTime value) {
+        if (value == null) {
+            return NO_TIMESTAMP;
+        }
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1000;
+    }
+
+    private static final class StringPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final Map<String, Integer> refs = new HashMap<>();
+
+        int ref(String value) {
+            if (value == null) {
+                return NO_STRING;
+            }
+            return refs.computeIfAbsent(value, key -> {
+                int ref = bytes.size();
+                byte[] encoded = key.getBytes(StandardCharsets.UTF_8);
+                bytes.writeBytes(ByteBuffer.allocate(4).putInt(encoded.length).array());
+                bytes.writeBytes(encoded);
+                return ref;
+            });
+        }
+
+        int size() {
+            return bytes.size();
+        }
+
+        byte[] bytes() {
+            return bytes.toByteArray();
+        }
+    }
+}
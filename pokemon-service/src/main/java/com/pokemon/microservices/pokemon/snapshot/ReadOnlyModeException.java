@@ -0,0 +1,15 @@
+package com.pokemon.microservices.pokemon.snapshot;
+
+/**
+ * Read-Only Mode Exception
+ *
+ * Thrown for a write sent to an instance that serves from the Pokedex
+ * snapshot. It is answered with 405 so the client sends the write to the
+ * primary service instead.
+ */
+public class ReadOnlyModeException extends UnsupportedOperationException {
+
+    public ReadOnlyModeException() {
+        super("This instance is read-only; send writes to the primary service");
+    }
+}
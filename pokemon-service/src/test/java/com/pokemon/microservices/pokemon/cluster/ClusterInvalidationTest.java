@@ -0,0 +1,167 @@
+package com.pokemon.microservices.pokemon.cluster;
+
+import com.pokemon.microservices.pokemon.PokemonServiceApplication;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.service.index.PokemonLookupIndex;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Starts two instances on localhost sharing one database and checks that a
+ * write on one of them reaches the caches of the other, and that the
+ * invalidation endpoint only answers callers with the shared token.
+ */
+class ClusterInvalidationTest {
+
+    private static final String TOKEN = "cluster-test-token";
+
+    private static int portA;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        portA = freePort();
+        int portB = freePort();
+        nodeA = startNode("node-a", portA, portB);
+        nodeB = startNode("node-b", portB, portA);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    void updateOnOneNodeInvalidatesTheOther() {
+        PokemonService serviceA = nodeA.getBean(PokemonService.class);
+        PokemonService serviceB = nodeB.getBean(PokemonService.class);
+        PokemonLookupIndex indexB = nodeB.getBean(PokemonLookupIndex.class);
+
+        Pokemon created = serviceA.createPokemon(pokemon("Eevee", 133));
+        awaitTrue(() -> indexB.findIdByName("eevee") != null);
+        // Load it into node B's second-level cache
+        assertThat(serviceB.findById(created.getId())).get().extracting(Pokemon::getName).isEqualTo("Eevee");
+
+        Pokemon renamed = pokemon("Vaporeon", 134);
+        serviceA.updatePokemon(created.getId(), renamed);
+
+        awaitTrue(() -> indexB.findIdByName("vaporeon") != null);
+        assertThat(indexB.findIdByName("eevee")).isNull();
+        assertThat(serviceB.findById(created.getId())).get().extracting(Pokemon::getName).isEqualTo("Vaporeon");
+        assertThat(serviceB.findByPokedexNumber(134)).isPresent();
+    }
+
+    @Test
+    void deleteOnOneNodeInvalidatesTheOther() {
+        PokemonService serviceA = nodeA.getBean(PokemonService.class);
+        PokemonService serviceB = nodeB.getBean(PokemonService.class);
+
+        Pokemon created = serviceB.createPokemon(pokemon("Ditto", 132));
+        awaitTrue(() -> nodeA.getBean(PokemonLookupIndex.class).findIdByName("ditto") != null);
+        assertThat(serviceA.findById(created.getId())).isPresent();
+
+        serviceB.deleteById(created.getId());
+
+        awaitTrue(() -> nodeA.getBean(PokemonLookupIndex.class).findIdByName("ditto") == null);
+        assertThat(serviceA.findById(created.getId())).isEmpty();
+    }
+
+    @Test
+    void invalidationEndpointRequiresTheToken() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        URI uri = URI.create("http://localhost:" + portA + ClusterInvalidationBroadcaster.PATH + "?after=0");
+
+        assertThat(client.send(HttpRequest.newBuilder(uri).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(403);
+        assertThat(client.send(HttpRequest.newBuilder(uri)
+                        .header(ClusterInvalidationBroadcaster.TOKEN_HEADER, "wrong").build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(403);
+        assertThat(client.send(HttpRequest.newBuilder(uri)
+                        .header(ClusterInvalidationBroadcaster.TOKEN_HEADER, TOKEN).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode()).isNotEqualTo(403);
+    }
+
+    @Test
+    void enablingWithoutATokenFailsStartup() {
+        assertThatThrownBy(() -> new SpringApplicationBuilder(PokemonServiceApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:cluster-no-token;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cloud.config.enabled=false",
+                        "--spring.config.import=",
+                        "--eureka.client.enabled=false",
+                        "--pokemon.cluster.invalidation.enabled=true",
+                        "--pokemon.cluster.invalidation.token="))
+                .hasRootCauseMessage("pokemon.cluster.invalidation.token must be set when "
+                        + "pokemon.cluster.invalidation.enabled is true");
+    }
+
+    private static ConfigurableApplicationContext startNode(String name, int port, int peerPort) {
+        return new SpringApplicationBuilder(PokemonServiceApplication.class)
+                .run("--server.port=" + port,
+                        "--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.jpa.show-sql=false",
+                        // A separate cache manager per node, as if they ran in different JVMs
+                        "--spring.jpa.properties.hibernate.javax.cache.uri=classpath:application.conf#" + name,
+                        "--spring.cloud.config.enabled=false",
+                        "--spring.config.import=",
+                        "--eureka.client.enabled=false",
+                        "--pokemon.cluster.invalidation.enabled=true",
+                        "--pokemon.cluster.invalidation.token=" + TOKEN,
+                        "--pokemon.cluster.invalidation.advertised-url=http://localhost:" + port,
+                        "--pokemon.cluster.invalidation.static-peers=http://localhost:" + peerPort);
+    }
+
+    private static Pokemon pokemon(String name, int pokedexNumber) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setName(name);
+        pokemon.setPokedexNumber(pokedexNumber);
+        return pokemon;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.pokemon.microservices.pokemon.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.pokemon.microservices.pokemon.dto.PokemonFieldSelection;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares JSON, CBOR and Smile for a page of Pokemon with nested types. Every
+ * encoding must decode to the same document as JSON and be smaller; the
+ * encode/decode timings are printed as a table only with -Dbenchmark=true.
+ */
+class BinaryEncodingBenchmarkTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP_ROUNDS = 300;
+    private static final int MEASURED_ROUNDS = 1000;
+
+    @Test
+    void binaryEncodingsAreSmallerAndRoundTrip() throws Exception {
+        Page<Pokemon> page = samplePage();
+        Map<String, ObjectMapper> mappers = mappers();
+        byte[] json = mappers.get("application/json").writeValueAsBytes(page);
+        Map<?, ?> expected = mappers.get("application/json").readValue(json, Map.class);
+        List<?> content = (List<?>) expected.get("content");
+        assertThat(content).hasSize(PAGE_SIZE);
+        Map<?, ?> third = (Map<?, ?>) content.get(2);
+        assertThat(third.get("name")).isEqualTo("Pokemon-3");
+        assertThat(third.get("height")).isEqualTo(0.4 + 3 / 100.0);
+        assertThat(((Map<?, ?>) third.get("secondaryType")).get("name")).isEqualTo("Psychic");
+
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            byte[] encoded = entry.getValue().writeValueAsBytes(page);
+            Map<?, ?> decoded = entry.getValue().readValue(encoded, Map.class);
+
+            assertThat(decoded).as(entry.getKey()).isEqualTo(expected);
+            if (!entry.getKey().equals("application/json")) {
+                assertThat(encoded.length).as(entry.getKey()).isLessThan(json.length);
+            }
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void encodeAndDecodeTimes() throws Exception {
+        Page<Pokemon> page = samplePage();
+        System.out.printf("%-28s %10s %14s %14s%n", "media type", "bytes", "encode us/op", "decode us/op");
+        for (Map.Entry<String, ObjectMapper> entry : mappers().entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                mapper.readValue(mapper.writeValueAsBytes(page), Map.class);
+            }
+            long encodeNanos = 0;
+            long decodeNanos = 0;
+            int size = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                long start = System.nanoTime();
+                byte[] bytes = mapper.writeValueAsBytes(page);
+                long encodedAt = System.nanoTime();
+                mapper.readValue(bytes, Map.class);
+                decodeNanos += System.nanoTime() - encodedAt;
+                encodeNanos += encodedAt - start;
+                size = bytes.length;
+            }
+            System.out.printf("%-28s %10d %14.1f %14.1f%n", entry.getKey(), size,
+                    encodeNanos / 1000.0 / MEASURED_ROUNDS, decodeNanos / 1000.0 / MEASURED_ROUNDS);
+        }
+    }
+
+    private static Map<String, ObjectMapper> mappers() {
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("application/json", mapper(new JsonFactory()));
+        mappers.put("application/cbor", mapper(new CBORFactory()));
+        mappers.put("application/x-jackson-smile", mapper(new SmileFactory()));
+        return mappers;
+    }
+
+    // Same settings as the application's Jackson configuration
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .filters(PokemonFieldSelection.defaultFilters())
+                .build();
+    }
+
+    private static Page<Pokemon> samplePage() {
+        List<PokemonType> types = new ArrayList<>();
+        String[] names = {"Fire", "Water", "Grass", "Electric", "Psychic", "Dragon"};
+        for (int i = 0; i < names.length; i++) {
+            PokemonType type = new PokemonType();
+            type.setId((long) i + 1);
+            type.setName(names[i]);
+            type.setColor("#00000" + i);
+            type.setDescription(names[i] + " type moves and resistances");
+            type.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+            type.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+            types.add(type);
+        }
+
+        List<Pokemon> content = new ArrayList<>();
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            Pokemon pokemon = new Pokemon();
+            pokemon.setId((long) i);
+            pokemon.setName("Pokemon-" + i);
+            pokemon.setPokedexNumber(i);
+            pokemon.setDescription("A Pokemon used to compare encodings, entry number " + i + ".");
+            pokemon.setHeight(0.4 + i / 100.0);
+            pokemon.setWeight(6.0 + i);
+            pokemon.setPrimaryType(types.get(i % types.size()));
+            pokemon.setSecondaryType(i % 3 == 0 ? types.get((i + 1) % types.size()) : null);
+            pokemon.setHp(35 + i % 50);
+            pokemon.setAttack(55 + i % 60);
+            pokemon.setDefense(40 + i % 45);
+            pokemon.setSpecialAttack(50 + i % 70);
+            pokemon.setSpecialDefense(50 + i % 40);
+            pokemon.setSpeed(90 + i % 30);
+            pokemon.setGeneration(1 + i / 50);
+            pokemon.setImageUrl("https://img.example/pokemon/" + i + ".png");
+            pokemon.setVersion(0L);
+            pokemon.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+            pokemon.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+            content.add(pokemon);
+        }
+        return new PageImpl<>(content, PageRequest.of(0, PAGE_SIZE), 1000);
+    }
+}
@@ -0,0 +1,84 @@
+package com.pokemon.microservices.pokemon.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        primary = embeddedDatabase("primary");
+        replica = embeddedDatabase("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        try {
+            new JdbcTemplate(replica).execute("SHUTDOWN");
+        } catch (Exception ignored) {
+            // already shut down by the test
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ZERO, Duration.ofSeconds(1));
+
+        assertThat(queryRole(true)).isEqualTo("replica");
+        assertThat(queryRole(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void readYourWritesWindowKeepsReadsOnPrimary() {
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofMinutes(1), Duration.ofSeconds(1));
+
+        assertThat(queryRole(true)).isEqualTo("replica");
+        assertThat(queryRole(false)).isEqualTo("primary");
+        assertThat(queryRole(true)).isEqualTo("primary");
+    }
+
+    @Test
+    void unhealthyReplicaFallsBackToPrimary() {
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+        replica = new DriverManagerDataSource("jdbc:h2:mem:replica;IFEXISTS=TRUE", "sa", "");
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ZERO, Duration.ofSeconds(1));
+
+        routing.checkReplicas();
+
+        assertThat(routing.getHealthyReplicaCount()).isZero();
+        assertThat(queryRole(true)).isEqualTo("primary");
+    }
+
+    private String queryRole(boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(readOnly);
+        return template.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT role FROM node_role", String.class));
+    }
+
+    private static DataSource embeddedDatabase(String role) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + role + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node_role (role VARCHAR(16))");
+        jdbc.update("INSERT INTO node_role VALUES (?)", role);
+        return dataSource;
+    }
+}
@@ -0,0 +1,47 @@
+package com.pokemon.microservices.pokemon.controller;
+
+import com.pokemon.microservices.pokemon.config.SnapshotProperties;
+import com.pokemon.microservices.pokemon.dto.PokedexSnapshotInfo;
+import com.pokemon.microservices.pokemon.service.PokedexSnapshotService;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PokedexSnapshotControllerTest {
+
+    private final PokedexSnapshotService snapshotService = mock(PokedexSnapshotService.class);
+    private final SnapshotProperties properties = new SnapshotProperties();
+    private final PokedexSnapshotController controller = new PokedexSnapshotController(snapshotService, properties);
+
+    @Test
+    void exportIsRefusedWhileNoTokenIsConfigured() {
+        assertThat(controller.exportSnapshot(null).getStatusCode().value()).isEqualTo(403);
+        assertThat(controller.exportSnapshot("").getStatusCode().value()).isEqualTo(403);
+
+        properties.setAdminToken("");
+        assertThat(controller.exportSnapshot("").getStatusCode().value()).isEqualTo(403);
+        verify(snapshotService, never()).exportSnapshot(any());
+    }
+
+    @Test
+    void exportNeedsTheConfiguredToken() {
+        properties.setAdminToken("s3cret");
+        when(snapshotService.exportSnapshot(any(Path.class))).thenReturn(
+                new PokedexSnapshotInfo("pokedex.snapshot", 18, 151, 4096, Instant.now(), 10));
+
+        assertThat(controller.exportSnapshot(null).getStatusCode().value()).isEqualTo(403);
+        assertThat(controller.exportSnapshot("s3cre").getStatusCode().value()).isEqualTo(403);
+        verify(snapshotService, never()).exportSnapshot(any());
+
+        assertThat(controller.exportSnapshot("s3cret").getStatusCode().value()).isEqualTo(200);
+        verify(snapshotService).exportSnapshot(properties.getPath());
+    }
+}
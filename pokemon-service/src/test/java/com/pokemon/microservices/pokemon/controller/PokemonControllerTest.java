@@ -0,0 +1,434 @@
+package com.pokemon.microservices.pokemon.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.pokemon.microservices.pokemon.PokemonServiceApplication;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.service.PokemonTypeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Request-level behaviour of {@link PokemonController} against H2: the
+ * pre-encoded single-Pokemon responses and their ETags, versioned PATCH,
+ * {@code ?fields=}, multi-get and the bulk endpoints past their chunk size.
+ * Every test works on Pokemon of its own, so the order they run in does not
+ * matter.
+ */
+@SpringBootTest(classes = PokemonServiceApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:pokemon-controller;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "spring.cloud.config.enabled=false",
+        "spring.config.import=",
+        "eureka.client.enabled=false",
+        "pokemon.cluster.invalidation.enabled=false",
+        "pokemon.snapshot.load-on-startup=false"})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PokemonControllerTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    // pokemon.batch.max-size
+    private static final int BATCH_LIMIT = 50;
+    // Bulk operations work in chunks of 500 ids; this spans three of them
+    private static final int BULK_ROWS = 1201;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private PokemonService pokemonService;
+    @Autowired
+    private PokemonTypeService pokemonTypeService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private PokemonType grass;
+    private final AtomicInteger numbers = new AtomicInteger();
+
+    @BeforeAll
+    void createTypes() {
+        grass = type("Planta");
+    }
+
+    // ========== RESPUESTAS EN CACHÉ ==========
+
+    @Test
+    void matchingETagGets304() throws Exception {
+        Pokemon pokemon = pokemon(grass);
+        MockHttpServletResponse first = perform(get("/api/pokemon/{id}", pokemon.getId()));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(etag).isNotBlank();
+        assertThat(first.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+
+        MockHttpServletResponse again = perform(get("/api/pokemon/{id}", pokemon.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(again.getStatus()).isEqualTo(304);
+        assertThat(again.getContentAsByteArray()).isEmpty();
+        assertThat(again.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+
+        // The same document through the name and Pokedex lookups
+        assertThat(perform(get("/api/pokemon/name/{name}", pokemon.getName().toUpperCase())
+                .header(HttpHeaders.IF_NONE_MATCH, etag)).getStatus()).isEqualTo(304);
+        assertThat(perform(get("/api/pokemon/pokedex/{number}", pokemon.getPokedexNumber())
+                .header(HttpHeaders.IF_NONE_MATCH, etag)).getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void everyMediaTypeHasItsOwnETag() throws Exception {
+        Pokemon pokemon = pokemon(grass);
+        MockHttpServletResponse json = perform(get("/api/pokemon/{id}", pokemon.getId())
+                .accept(MediaType.APPLICATION_JSON));
+        MockHttpServletResponse cbor = perform(get("/api/pokemon/{id}", pokemon.getId())
+                .accept(MediaType.APPLICATION_CBOR));
+        MockHttpServletResponse smile = perform(get("/api/pokemon/{id}", pokemon.getId()).accept(SMILE));
+
+        assertThat(cbor.getContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE);
+        assertThat(smile.getContentType()).isEqualTo(SMILE.toString());
+        assertThat(cbor.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        assertThat(json.getHeader(HttpHeaders.ETAG)).isNotEqualTo(cbor.getHeader(HttpHeaders.ETAG))
+                .isNotEqualTo(smile.getHeader(HttpHeaders.ETAG));
+
+        // A JSON ETag does not stand for the CBOR document
+        MockHttpServletResponse cborAgain = perform(get("/api/pokemon/{id}", pokemon.getId())
+                .accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, json.getHeader(HttpHeaders.ETAG)));
+        assertThat(cborAgain.getStatus()).isEqualTo(200);
+        assertThat(cborAgain.getContentAsByteArray()).isEqualTo(cbor.getContentAsByteArray());
+    }
+
+    @Test
+    void fieldSelectionBypassesTheCacheButStillVaries() throws Exception {
+        Pokemon pokemon = pokemon(grass);
+
+        MockHttpServletResponse response = perform(get("/api/pokemon/{id}", pokemon.getId())
+                .param("fields", "id,name"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        assertThat(json(response).fieldNames()).toIterable().containsExactlyInAnyOrder("id", "name");
+    }
+
+    @Test
+    void pokemonWritesInvalidateTheCachedResponse() throws Exception {
+        Pokemon pokemon = pokemon(grass);
+        String etag = perform(get("/api/pokemon/{id}", pokemon.getId())).getHeader(HttpHeaders.ETAG);
+
+        assertThat(perform(patch("/api/pokemon/{id}", pokemon.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"speed\": 123}")).getStatus()).isEqualTo(204);
+
+        MockHttpServletResponse patched = perform(get("/api/pokemon/{id}", pokemon.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(patched.getStatus()).isEqualTo(200);
+        assertThat(patched.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(json(patched).get("speed").asInt()).isEqualTo(123);
+
+        assertThat(perform(delete("/api/pokemon/{id}", pokemon.getId())).getStatus()).isEqualTo(204);
+        assertThat(perform(get("/api/pokemon/{id}", pokemon.getId())).getStatus()).isEqualTo(404);
+        assertThat(perform(get("/api/pokemon/name/{name}", pokemon.getName())).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void typeWritesInvalidateEveryCachedResponse() throws Exception {
+        PokemonType type = type("Roca");
+        Pokemon pokemon = pokemon(type);
+        perform(get("/api/pokemon/{id}", pokemon.getId()).accept(MediaType.APPLICATION_JSON));
+        perform(get("/api/pokemon/{id}", pokemon.getId()).accept(MediaType.APPLICATION_CBOR));
+
+        assertThat(perform(put("/api/pokemon/types/{id}", type.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Piedra\", \"color\": \"#B8A038\"}")).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse json = perform(get("/api/pokemon/{id}", pokemon.getId())
+                .accept(MediaType.APPLICATION_JSON));
+        MockHttpServletResponse cbor = perform(get("/api/pokemon/{id}", pokemon.getId())
+                .accept(MediaType.APPLICATION_CBOR));
+        assertThat(json(json).at("/primaryType/name").asText()).isEqualTo("Piedra");
+        assertThat(new ObjectMapper(new CBORFactory())
+                .readTree(cbor.getContentAsByteArray()).at("/primaryType/name").asText()).isEqualTo("Piedra");
+    }
+
+    // ========== PATCH ==========
+
+    @Test
+    void patchWithTheCurrentVersionAnswersTheNextOne() throws Exception {
+        Pokemon pokemon = pokemon(grass);
+        long version = json(perform(get("/api/pokemon/{id}", pokemon.getId()))).get("version").asLong();
+
+        MockHttpServletResponse response = perform(patch("/api/pokemon/{id}", pokemon.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\": " + version + ", \"hp\": 60}"));
+
+        assertThat(response.getStatus()).isEqualTo(204);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + (version + 1) + "\"");
+        JsonNode patched = json(perform(get("/api/pokemon/{id}", pokemon.getId())));
+        assertThat(patched.get("hp").asInt()).isEqualTo(60);
+        assertThat(patched.get("version").asLong()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void patchWithAStaleVersionGets409() throws Exception {
+        Pokemon pokemon = pokemon(grass);
+        long version = json(perform(get("/api/pokemon/{id}", pokemon.getId()))).get("version").asLong();
+        perform(patch("/api/pokemon/{id}", pokemon.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\": " + version + ", \"hp\": 70}"));
+
+        MockHttpServletResponse inBody = perform(patch("/api/pokemon/{id}", pokemon.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\": " + version + ", \"hp\": 1}"));
+        MockHttpServletResponse inHeader = perform(patch("/api/pokemon/{id}", pokemon.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + version + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"hp\": 2}"));
+
+        assertThat(inBody.getStatus()).isEqualTo(409);
+        assertThat(inHeader.getStatus()).isEqualTo(409);
+        assertThat(json(perform(get("/api/pokemon/{id}", pokemon.getId()))).get("hp").asInt()).isEqualTo(70);
+
+        // The version the first PATCH answered is accepted
+        assertThat(perform(patch("/api/pokemon/{id}", pokemon.getId())
+                .header(HttpHeaders.IF_MATCH, "W/\"" + (version + 1) + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"hp\": 3}")).getStatus()).isEqualTo(204);
+    }
+
+    @Test
+    void patchAcceptsTheETagOfAGet() throws Exception {
+        Pokemon pokemon = pokemon(grass);
+        MockHttpServletResponse read = perform(get("/api/pokemon/{id}", pokemon.getId()));
+        String etag = read.getHeader(HttpHeaders.ETAG);
+        long version = json(read).get("version").asLong();
+        String cborEtag = perform(get("/api/pokemon/{id}", pokemon.getId()).accept(MediaType.APPLICATION_CBOR))
+                .getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse patched = perform(patch("/api/pokemon/{id}", pokemon.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"hp\": 80}"));
+
+        assertThat(patched.getStatus()).isEqualTo(204);
+        assertThat(patched.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + (version + 1) + "\"");
+        // Any representation read before the PATCH is now stale
+        assertThat(perform(patch("/api/pokemon/{id}", pokemon.getId())
+                .header(HttpHeaders.IF_MATCH, cborEtag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"hp\": 5}")).getStatus()).isEqualTo(409);
+        assertThat(json(perform(get("/api/pokemon/{id}", pokemon.getId()))).get("hp").asInt()).isEqualTo(80);
+    }
+
+    @Test
+    void patchOfAFieldThatCannotBePatchedGets400() throws Exception {
+        Pokemon pokemon = pokemon(grass);
+
+        assertThat(perform(patch("/api/pokemon/{id}", pokemon.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nickname\": \"Bulby\"}")).getStatus()).isEqualTo(400);
+        assertThat(perform(patch("/api/pokemon/{id}", pokemon.getId())
+                .header(HttpHeaders.IF_MATCH, "latest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"hp\": 4}")).getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    void patchWithAnOutOfRangeNumberGets400() throws Exception {
+        Pokemon pokemon = pokemon(grass);
+
+        MockHttpServletResponse response = perform(patch("/api/pokemon/{id}", pokemon.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"attack\": 99999999999}"));
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(json(perform(get("/api/pokemon/{id}", pokemon.getId()))).get("attack").asInt())
+                .isEqualTo(pokemon.getAttack());
+    }
+
+    // ========== CAMPOS SELECCIONADOS ==========
+
+    @Test
+    void onlySelectedFieldsAndTheIdAreWritten() throws Exception {
+        pokemon(grass);
+
+        JsonNode page = json(perform(get("/api/pokemon").param("size", "1").param("fields", "name, totalStats")));
+
+        assertThat(page.at("/content/0").fieldNames()).toIterable()
+                .containsExactlyInAnyOrder("id", "name", "totalStats");
+    }
+
+    @Test
+    void unknownFieldGets400() throws Exception {
+        Pokemon pokemon = pokemon(grass);
+
+        for (RequestBuilder request : List.of(
+                get("/api/pokemon").param("fields", "name,nickname"),
+                get("/api/pokemon/{id}", pokemon.getId()).param("fields", "nickname"),
+                get("/api/pokemon/batch").param("ids", String.valueOf(pokemon.getId())).param("fields", "nickname"))) {
+            MockHttpServletResponse response = perform(request);
+
+            assertThat(response.getStatus()).isEqualTo(400);
+            assertThat(json(response).get("message").asText()).isEqualTo("Unknown Pokemon field: nickname");
+        }
+    }
+
+    // ========== MULTI-GET ==========
+
+    @Test
+    void batchKeepsRequestOrderAndReportsMissingNamesAsSent() throws Exception {
+        Pokemon first = pokemon(grass);
+        Pokemon second = pokemon(grass);
+
+        JsonNode result = json(perform(get("/api/pokemon/batch").param("names",
+                second.getName().toUpperCase(), "MissingNo", first.getName(), " missingNO ", "Glitch-Mon")));
+
+        assertThat(result.get("pokemon")).extracting(pokemon -> pokemon.get("id").asLong())
+                .containsExactly(second.getId(), first.getId());
+        // Repeats that normalize to the same name are reported once, with the first spelling
+        assertThat(result.get("missing")).extracting(JsonNode::asText).containsExactly("MissingNo", "Glitch-Mon");
+    }
+
+    @Test
+    void batchAboveTheKeyLimitGets400() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (long id = 1; id <= BATCH_LIMIT; id++) {
+            ids.add(String.valueOf(id));
+        }
+        // Repeats do not count towards the limit
+        ids.add("1");
+        assertThat(perform(get("/api/pokemon/batch").param("ids", String.join(",", ids))).getStatus())
+                .isEqualTo(200);
+
+        ids.add(String.valueOf(BATCH_LIMIT + 1));
+        MockHttpServletResponse tooMany = perform(get("/api/pokemon/batch").param("ids", String.join(",", ids)));
+        assertThat(tooMany.getStatus()).isEqualTo(400);
+        assertThat(json(tooMany).get("message").asText()).isEqualTo("At most " + BATCH_LIMIT + " keys per batch");
+
+        assertThat(perform(get("/api/pokemon/batch")).getStatus()).isEqualTo(400);
+        assertThat(perform(get("/api/pokemon/batch").param("ids", "1").param("pokedex", "1")).getStatus())
+                .isEqualTo(400);
+    }
+
+    // ========== OPERACIONES MASIVAS ==========
+
+    @Test
+    void bulkUpdateReachesIdsPastTheFirstChunks() throws Exception {
+        List<Long> ids = insertRows("Bulk", BULK_ROWS);
+        List<Long> requested = new ArrayList<>(ids);
+        // Unknown ids and repeats are dropped, not counted
+        requested.add(Long.MAX_VALUE);
+        requested.addAll(ids.subList(0, 3));
+
+        MockHttpServletResponse response = perform(patch("/api/pokemon/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": " + requested + ", \"changes\": {\"speed\": 77}}"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        JsonNode result = json(response);
+        assertThat(result.get("affected").asInt()).isEqualTo(BULK_ROWS);
+        assertThat(result.get("ids")).hasSize(BULK_ROWS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pokemon WHERE name LIKE 'Bulk-%' "
+                + "AND speed = 77", Integer.class)).isEqualTo(BULK_ROWS);
+        assertThat(json(perform(get("/api/pokemon/{id}", ids.get(BULK_ROWS - 1)))).get("speed").asInt())
+                .isEqualTo(77);
+    }
+
+    @Test
+    void bulkDeleteReachesIdsPastTheFirstChunksAndUnlinksSurvivors() throws Exception {
+        List<Long> ids = insertRows("Gone", BULK_ROWS);
+        Pokemon survivor = pokemon(grass);
+        Long lastId = ids.get(BULK_ROWS - 1);
+        jdbcTemplate.update("UPDATE pokemon SET evolves_from_id = ? WHERE id = ?", lastId, survivor.getId());
+        entityManagerFactory.getCache().evictAll();
+        assertThat(json(perform(get("/api/pokemon/{id}", survivor.getId()))).at("/evolvesFrom/id").asLong())
+                .isEqualTo(lastId);
+
+        MockHttpServletResponse response = perform(post("/api/pokemon/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": " + ids + "}"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(json(response).get("affected").asInt()).isEqualTo(BULK_ROWS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pokemon WHERE name LIKE 'Gone-%'",
+                Integer.class)).isZero();
+        assertThat(perform(get("/api/pokemon/{id}", lastId)).getStatus()).isEqualTo(404);
+        assertThat(json(perform(get("/api/pokemon/{id}", survivor.getId()))).has("evolvesFrom")).isFalse();
+    }
+
+    private MockHttpServletResponse perform(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private JsonNode json(MockHttpServletResponse response) throws Exception {
+        return objectMapper.readTree(response.getContentAsByteArray());
+    }
+
+    // Plain rows past the Pokedex numbers the other tests use
+    private List<Long> insertRows(String prefix, int count) {
+        int first = numbers.getAndAdd(count) + 1;
+        List<Object[]> rows = new ArrayList<>();
+        for (int number = first; number < first + count; number++) {
+            rows.add(new Object[]{prefix + "-" + number, number, grass.getId()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO pokemon (name, pokedex_number, primary_type_id, hp, attack, defense, "
+                + "special_attack, special_defense, speed, generation, is_legendary, is_mythical, version, "
+                + "created_at, updated_at) VALUES (?, ?, ?, 50, 50, 50, 50, 50, 50, 1, false, false, 0, "
+                + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM pokemon WHERE name LIKE ? ORDER BY id", Long.class,
+                prefix + "-%");
+    }
+
+    private PokemonType type(String name) {
+        PokemonType type = new PokemonType();
+        type.setName(name);
+        type.setColor("#78C850");
+        return pokemonTypeService.createType(type);
+    }
+
+    private Pokemon pokemon(PokemonType type) {
+        int number = numbers.incrementAndGet();
+        Pokemon pokemon = new Pokemon();
+        pokemon.setName("Mon" + number);
+        pokemon.setPokedexNumber(number);
+        pokemon.setGeneration(1);
+        pokemon.setPrimaryType(type);
+        pokemon.setHp(45);
+        pokemon.setAttack(49);
+        pokemon.setDefense(49);
+        pokemon.setSpecialAttack(65);
+        pokemon.setSpecialDefense(65);
+        pokemon.setSpeed(45);
+        return pokemonService.createPokemon(pokemon);
+    }
+}
@@ -0,0 +1,339 @@
+package com.pokemon.microservices.pokemon.controller;
+
+import com.pokemon.microservices.pokemon.PokemonServiceApplication;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.service.PokemonTypeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Upper bounds on the SQL statements and entity loads of every
+ * {@link PokemonController} and {@link PokemonTypeController} endpoint, read
+ * from Hibernate statistics against H2. Each request starts with an empty
+ * second-level cache and the response cache off, so the budgets are the cost
+ * of going to the database; post-commit listeners run on the request thread
+ * and count too. A budget should only be raised in the same change as the
+ * code that needs it.
+ * <p>
+ * Endpoints still backed by {@code findAll()} have budgets in entities per
+ * Pokemon in the fixture, which is what they cost until they get a query of
+ * their own. The fixture is linked in three-stage evolution lines, so reads
+ * also pay for the neighbours they return.
+ */
+@SpringBootTest(classes = PokemonServiceApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "spring.cloud.config.enabled=false",
+        "spring.config.import=",
+        "eureka.client.enabled=false",
+        "pokemon.cluster.invalidation.enabled=false",
+        "pokemon.snapshot.load-on-startup=false",
+        "pokemon.response-cache.enabled=false",
+        "pokemon.autocomplete.reweigh-interval=PT1H"})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final int POKEMON = 30;
+    private static final String[] TYPES = {"Grass", "Poison", "Fire", "Flying", "Water", "Psychic"};
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PokemonService pokemonService;
+    @Autowired
+    private PokemonTypeService pokemonTypeService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private final List<PokemonType> types = new ArrayList<>();
+    private final List<Pokemon> pokedex = new ArrayList<>();
+    // Numbers and names for rows created by write cases, past the fixture
+    private final AtomicInteger extra = new AtomicInteger(POKEMON);
+
+    @BeforeAll
+    void seed() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        for (String name : TYPES) {
+            types.add(type(name));
+        }
+        for (int number = 1; number <= POKEMON; number++) {
+            pokedex.add(pokemon(number));
+        }
+        // Mon1 -> Mon2 -> Mon3, Mon4 -> Mon5 -> Mon6 and so on
+        jdbcTemplate.update("UPDATE pokemon p SET evolves_to_id = (SELECT q.id FROM pokemon q "
+                + "WHERE q.pokedex_number = p.pokedex_number + 1) WHERE MOD(p.pokedex_number, 3) IN (1, 2)");
+        jdbcTemplate.update("UPDATE pokemon p SET evolves_from_id = (SELECT q.id FROM pokemon q "
+                + "WHERE q.pokedex_number = p.pokedex_number - 1) WHERE MOD(p.pokedex_number, 3) IN (0, 2)");
+    }
+
+    @BeforeEach
+    void coldCaches() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("budgets")
+    void endpointStaysWithinBudget(Budget budget) throws Exception {
+        RequestBuilder request = budget.request().get();
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+
+        MvcResult result = mockMvc.perform(request).andReturn();
+
+        long statements = statistics.getPrepareStatementCount();
+        long entities = statistics.getEntityLoadCount();
+        assertThat(result.getResponse().getStatus()).as(budget.name()).isEqualTo(budget.status());
+        assertThat(statements).as("SQL statements for %s: %d of %d", budget.name(), statements, budget.statements())
+                .isLessThanOrEqualTo(budget.statements());
+        assertThat(entities).as("Entities loaded for %s: %d of %d", budget.name(), entities, budget.entities())
+                .isLessThanOrEqualTo(budget.entities());
+    }
+
+    @Test
+    void repeatedLookupsByIdAreServedFromTheSecondLevelCache() throws Exception {
+        Pokemon pokemon = pokedex.get(3);
+        mockMvc.perform(get("/api/pokemon/{id}", pokemon.getId()));
+        mockMvc.perform(get("/api/pokemon/types/{id}", pokemon.getPrimaryType().getId()));
+        statistics.clear();
+
+        mockMvc.perform(get("/api/pokemon/{id}", pokemon.getId()));
+        mockMvc.perform(get("/api/pokemon/types/{id}", pokemon.getPrimaryType().getId()));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void evolutionLinksAreWrittenAfterTheTransaction() throws Exception {
+        String body = mockMvc.perform(get("/api/pokemon/{id}", id(1))).andReturn().getResponse().getContentAsString();
+
+        assertThat(body).contains("\"evolvesFrom\":{\"id\":" + id(0) + ",\"name\":\"Mon1\"")
+                .contains("\"evolvesTo\":{\"id\":" + id(2) + ",\"name\":\"Mon3\"")
+                .contains("\"evolutionLevel\":2");
+    }
+
+    Stream<Budget> budgets() {
+        return Stream.of(
+                // PokemonController: single Pokemon and multi-get; evolution neighbours take one more select
+                budget("GET /api/pokemon/{id}", 200, 2, 4, () -> get("/api/pokemon/{id}", id(0))),
+                budget("GET /api/pokemon/pokedex/{number}", 200, 2, 7, () -> get("/api/pokemon/pokedex/{n}", 2)),
+                budget("GET /api/pokemon/name/{name}", 200, 2, 5, () -> get("/api/pokemon/name/{name}", "Mon3")),
+                budget("GET /api/pokemon/batch?ids", 200, 2, 6 + TYPES.length, () -> get("/api/pokemon/batch")
+                        .param("ids", id(0) + "," + id(1) + "," + id(2) + "," + id(3) + "," + id(4))),
+                budget("GET /api/pokemon/batch?names", 200, 1, 3 + TYPES.length, () -> get("/api/pokemon/batch")
+                        .param("names", "Mon1,Mon2,Mon3")),
+                budget("GET /api/pokemon/batch?pokedex", 200, 1, 3 + TYPES.length, () -> get("/api/pokemon/batch")
+                        .param("pokedex", "1,2,3")),
+
+                // Pages and lists: the EAGER types of the Pokemon returned cost one select each and the
+                // evolution neighbours outside the list one batched select
+                budget("GET /api/pokemon", 200, 3 + TYPES.length, 21 + TYPES.length, () -> get("/api/pokemon")),
+                budget("GET /api/pokemon?fields", 200, 2, 0, () -> get("/api/pokemon").param("fields", "id,name")),
+                budget("GET /api/pokemon/search", 200, 3 + TYPES.length, 21 + TYPES.length,
+                        () -> get("/api/pokemon/search").param("term", "Mon1")),
+                budget("GET /api/pokemon/autocomplete", 200, 0, 0,
+                        () -> get("/api/pokemon/autocomplete").param("prefix", "mon")),
+                budget("GET /api/pokemon/filter", 200, 3 + TYPES.length, 21 + TYPES.length,
+                        () -> get("/api/pokemon/filter").param("generation", "1").param("legendary", "false")),
+                budget("GET /api/pokemon/filter (unknown type)", 400, 1, 0,
+                        () -> get("/api/pokemon/filter").param("typeId", "9999")),
+                budget("GET /api/pokemon/type/{typeId}", 200, 4, 3 * POKEMON / TYPES.length + 2,
+                        () -> get("/api/pokemon/type/{typeId}", typeId(0))),
+                budget("GET /api/pokemon/generation/{generation}", 200, 1 + TYPES.length, POKEMON / 2 + TYPES.length,
+                        () -> get("/api/pokemon/generation/{g}", 1)),
+                budget("GET /api/pokemon/legendary", 200, 1 + TYPES.length, 4 + TYPES.length,
+                        () -> get("/api/pokemon/legendary")),
+                budget("GET /api/pokemon/mythical", 200, 1 + TYPES.length, 1 + TYPES.length,
+                        () -> get("/api/pokemon/mythical")),
+
+                // Evolution
+                budget("GET /api/pokemon/{id}/evolution-chain", 200, 0, 0,
+                        () -> get("/api/pokemon/{id}/evolution-chain", id(0))),
+                budget("POST /api/pokemon/{id}/evolve", 200, 2, 4, () -> post("/api/pokemon/{id}/evolve", id(0))),
+                budget("GET /api/pokemon/{id}/can-evolve", 200, 0, 0, () -> get("/api/pokemon/{id}/can-evolve", id(0))),
+
+                // Stats and comparisons; strongest, fastest and min-total still load the whole table
+                budget("GET /api/pokemon/stats/strongest", 200, 1 + TYPES.length, POKEMON + TYPES.length,
+                        () -> get("/api/pokemon/stats/strongest").param("minAttack", "50")),
+                budget("GET /api/pokemon/stats/fastest", 200, 1 + TYPES.length, POKEMON + TYPES.length,
+                        () -> get("/api/pokemon/stats/fastest").param("minSpeed", "50")),
+                budget("GET /api/pokemon/stats/min-total/{minTotal}", 200, 1 + TYPES.length, POKEMON + TYPES.length,
+                        () -> get("/api/pokemon/stats/min-total/{t}", 300)),
+                budget("GET /api/pokemon/{id}/battle-power", 200, 0, 0,
+                        () -> get("/api/pokemon/{id}/battle-power", id(0))),
+                budget("GET /api/pokemon/compare/{id1}/vs/{id2}", 200, 0, 0,
+                        () -> get("/api/pokemon/compare/{a}/vs/{b}", id(0), id(1))),
+                budget("GET /api/pokemon/{id}/similar", 200, 0, 0, () -> get("/api/pokemon/{id}/similar", id(0))),
+                budget("GET /api/pokemon/stats/count", 200, 1, 0, () -> get("/api/pokemon/stats/count")),
+                budget("GET /api/pokemon/stats/average-stats", 200, 0, 0, () -> get("/api/pokemon/stats/average-stats")),
+                budget("GET /api/pokemon/stats/generation/{generation}/count", 200, 0, 0,
+                        () -> get("/api/pokemon/stats/generation/{g}/count", 1)),
+
+                // Change feed and health
+                budget("GET /api/pokemon/changes", 200, 0, 0,
+                        () -> get("/api/pokemon/changes").accept(MediaType.APPLICATION_NDJSON)),
+                budget("GET /api/pokemon/health", 200, 0, 0, () -> get("/api/pokemon/health")),
+
+                // PokemonTypeController reads
+                budget("GET /api/pokemon/types", 200, 1, TYPES.length, () -> get("/api/pokemon/types")),
+                budget("GET /api/pokemon/types/{id}", 200, 1, 1, () -> get("/api/pokemon/types/{id}", typeId(0))),
+                budget("GET /api/pokemon/types/name/{name}", 200, 1, 1,
+                        () -> get("/api/pokemon/types/name/{name}", "Fire")),
+                budget("GET /api/pokemon/types/search", 200, 1, TYPES.length,
+                        () -> get("/api/pokemon/types/search").param("term", "i")),
+                budget("GET /api/pokemon/types/stats/usage", 200, 1, TYPES.length,
+                        () -> get("/api/pokemon/types/stats/usage")),
+                budget("GET /api/pokemon/types/{id}/count", 200, 2, 1,
+                        () -> get("/api/pokemon/types/{id}/count", typeId(0))),
+                budget("GET /api/pokemon/types/effectiveness", 200, 0, 0,
+                        () -> get("/api/pokemon/types/effectiveness")),
+                budget("GET /api/pokemon/types/effectiveness?dual", 200, 0, 0,
+                        () -> get("/api/pokemon/types/effectiveness").param("dual", "true")),
+                budget("GET /api/pokemon/types/effectiveness/matchup", 200, 0, 0,
+                        () -> get("/api/pokemon/types/effectiveness/matchup")
+                                .param("attack", String.valueOf(typeId(2)))
+                                .param("defense", String.valueOf(typeId(0)))
+                                .param("defense2", String.valueOf(typeId(1)))),
+                budget("GET /api/pokemon/types/effectiveness/defense", 200, 0, 0,
+                        () -> get("/api/pokemon/types/effectiveness/defense")
+                                .param("primary", String.valueOf(typeId(0)))
+                                .param("secondary", String.valueOf(typeId(1)))),
+                budget("GET /api/pokemon/types/health", 200, 0, 0, () -> get("/api/pokemon/types/health")),
+
+                // Writes last, so the reads above see only the fixture. Each one works on a row of its own.
+                budget("POST /api/pokemon", 201, 3, 2, () -> post("/api/pokemon")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(pokemonJson(extra.incrementAndGet()))),
+                budget("PUT /api/pokemon/{id}", 200, 3, 2, () -> {
+                    Pokemon target = pokemon(extra.incrementAndGet());
+                    return put("/api/pokemon/{id}", target.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(pokemonJson(target.getPokedexNumber()));
+                }),
+                budget("PATCH /api/pokemon/{id}", 204, 3, 3, () -> patch("/api/pokemon/{id}",
+                        pokemon(extra.incrementAndGet()).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"speed\": 99}")),
+                budget("DELETE /api/pokemon/{id}", 204, 5, 2, () -> delete("/api/pokemon/{id}",
+                        pokemon(extra.incrementAndGet()).getId())),
+                budget("PATCH /api/pokemon/bulk", 200, 6, 6, () -> patch("/api/pokemon/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": " + throwaway(3) + ", \"changes\": {\"speed\": 77}}")),
+                budget("POST /api/pokemon/bulk/delete", 200, 12, 0, () -> post("/api/pokemon/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": " + throwaway(3) + "}")),
+                // Type changes rebuild the effectiveness tables, which reload every type
+                budget("POST /api/pokemon/types", 201, 3, TYPES.length + 3, () -> post("/api/pokemon/types")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Type" + extra.incrementAndGet() + "\", \"color\": \"#A8A878\"}")),
+                budget("PUT /api/pokemon/types/{id}", 200, 4, TYPES.length + 3, () -> put("/api/pokemon/types/{id}",
+                        type("Type" + extra.incrementAndGet()).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Type" + extra.incrementAndGet() + "\", \"color\": \"#705898\"}")),
+                budget("DELETE /api/pokemon/types/{id}", 204, 4, TYPES.length + 3, () -> delete("/api/pokemon/types/{id}",
+                        type("Type" + extra.incrementAndGet()).getId())));
+    }
+
+    private static Budget budget(String name, int status, int statements, int entities,
+                                 Supplier<RequestBuilder> request) {
+        return new Budget(name, status, statements, entities, request);
+    }
+
+    /**
+     * One endpoint's allowance. The request is built right before it is
+     * measured, so any rows it creates for itself are not counted.
+     */
+    record Budget(String name, int status, int statements, int entities, Supplier<RequestBuilder> request) {
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private Long id(int index) {
+        return pokedex.get(index).getId();
+    }
+
+    private Long typeId(int index) {
+        return types.get(index).getId();
+    }
+
+    private String throwaway(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(pokemon(extra.incrementAndGet()).getId());
+        }
+        return ids.toString();
+    }
+
+    private PokemonType type(String name) {
+        PokemonType type = new PokemonType();
+        type.setName(name);
+        type.setColor("#A8A878");
+        return pokemonTypeService.createType(type);
+    }
+
+    // Mon1 to Mon30 in two generations, every third one dual typed and the last of each generation legendary
+    private Pokemon pokemon(int number) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setName("Mon" + number);
+        pokemon.setPokedexNumber(number);
+        pokemon.setGeneration(number <= POKEMON / 2 ? 1 : 2);
+        pokemon.setPrimaryType(types.get(number % types.size()));
+        pokemon.setSecondaryType(number % 3 == 0 ? types.get((number + 1) % types.size()) : null);
+        pokemon.setIsLegendary(number % (POKEMON / 2) == 0);
+        pokemon.setIsMythical(number == POKEMON - 1);
+        pokemon.setHp(40 + number);
+        pokemon.setAttack(45 + 2 * number % 90);
+        pokemon.setDefense(50 + 3 * number % 80);
+        pokemon.setSpecialAttack(55 + 5 * number % 70);
+        pokemon.setSpecialDefense(60 + 7 * number % 60);
+        pokemon.setSpeed(35 + 11 * number % 100);
+        return pokemonService.createPokemon(pokemon);
+    }
+
+    private String pokemonJson(int number) {
+        return """
+                {"name": "Mon%d", "pokedexNumber": %d, "generation": 3, "primaryType": {"id": %d},
+                 "hp": 60, "attack": 70, "defense": 65, "specialAttack": 80, "specialDefense": 75, "speed": 90}
+                """.formatted(number, number, typeId(2));
+    }
+}
@@ -0,0 +1,203 @@
+package com.pokemon.microservices.pokemon.event;
+
+import com.pokemon.microservices.pokemon.PokemonServiceApplication;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.ChangeAction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Subscribes to {@code /api/pokemon/changes} over HTTP with a short history,
+ * a tiny per-subscriber buffer and a cap of two subscribers, and publishes
+ * changes straight into the feed.
+ */
+@SpringBootTest(classes = PokemonServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:change-feed;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.show-sql=false",
+                "spring.cloud.config.enabled=false",
+                "spring.config.import=",
+                "eureka.client.enabled=false",
+                "pokemon.cluster.invalidation.enabled=false",
+                "pokemon.snapshot.load-on-startup=false",
+                "pokemon.changes.history-size=3",
+                "pokemon.changes.buffer-size=2",
+                "pokemon.changes.max-subscribers=2",
+                "pokemon.changes.heartbeat-interval=PT1S"})
+@Timeout(30)
+class PokemonChangeFeedTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<InputStream> streams = new ArrayList<>();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PokemonChangeFeed feed;
+
+    @AfterEach
+    void closeStreams() throws IOException {
+        feed.closeAll();
+        for (InputStream stream : streams) {
+            stream.close();
+        }
+    }
+
+    @Test
+    void liveChangesAreStreamed() throws Exception {
+        BufferedReader stream = subscribe(null);
+
+        publish(ChangeAction.CREATED, 25L);
+
+        Map<String, String> event = nextEvent(stream);
+        assertThat(event.get("event")).isEqualTo("change");
+        assertThat(event.get("data")).contains("\"action\":\"CREATED\"").contains("\"ids\":[25]");
+    }
+
+    @Test
+    void reconnectReplaysWhatWasMissed() throws Exception {
+        BufferedReader live = subscribe(null);
+        publish(ChangeAction.CREATED, 1L);
+        String lastSeen = nextEvent(live).get("id");
+        feed.closeAll();
+
+        publish(ChangeAction.UPDATED, 2L);
+        publish(ChangeAction.DELETED, 3L);
+
+        BufferedReader resumed = subscribe(lastSeen);
+        Map<String, String> second = nextEvent(resumed);
+        Map<String, String> third = nextEvent(resumed);
+        assertThat(second.get("data")).contains("\"ids\":[2]");
+        assertThat(third.get("data")).contains("\"ids\":[3]");
+        assertThat(sequence(second.get("id"))).isEqualTo(sequence(lastSeen) + 1);
+        assertThat(sequence(third.get("id"))).isEqualTo(sequence(lastSeen) + 2);
+    }
+
+    @Test
+    void reconnectBeyondTheHistoryGetsAReset() throws Exception {
+        BufferedReader live = subscribe(null);
+        publish(ChangeAction.CREATED, 1L);
+        String lastSeen = nextEvent(live).get("id");
+        feed.closeAll();
+
+        // Four more changes push the one after lastSeen out of a history of three
+        for (long id = 2; id <= 5; id++) {
+            publish(ChangeAction.UPDATED, id);
+        }
+
+        Map<String, String> event = nextEvent(subscribe(lastSeen));
+        assertThat(event.get("event")).isEqualTo("reset");
+        assertThat(sequence(event.get("id"))).isEqualTo(sequence(lastSeen) + 4);
+    }
+
+    @Test
+    void idFromAnotherRunGetsAReset() throws Exception {
+        Map<String, String> event = nextEvent(subscribe("1-7"));
+
+        assertThat(event.get("event")).isEqualTo("reset");
+    }
+
+    @Test
+    void subscriberThatFallsBehindIsDisconnected() throws Exception {
+        BufferedReader stream = subscribe(null);
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+
+        // Far more than the drainer can send before the two-change buffer fills
+        for (long id = 0; id < 1000; id++) {
+            publish(ChangeAction.UPDATED, id);
+        }
+
+        assertThat(feed.subscriberCount()).isZero();
+        // The stream ends instead of waiting for changes; the class timeout catches a hang
+        readToEnd(stream);
+    }
+
+    @Test
+    void subscribersAboveTheCapAreTurnedAway() throws Exception {
+        subscribe(null);
+        subscribe(null);
+
+        HttpResponse<Void> rejected = httpClient.send(changesRequest(null).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        assertThat(rejected.statusCode()).isEqualTo(503);
+        assertThat(feed.subscriberCount()).isEqualTo(2);
+    }
+
+    private void publish(ChangeAction action, Long id) {
+        feed.onEntityChange(EntityChangeEvent.pokemon(action, id));
+    }
+
+    private BufferedReader subscribe(String lastEventId) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = httpClient.send(changesRequest(lastEventId).build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                contentType -> assertThat(contentType).startsWith("text/event-stream"));
+        streams.add(response.body());
+        return new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest.Builder changesRequest(String lastEventId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/pokemon/changes"));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return request;
+    }
+
+    // Fields of the next event, skipping heartbeat comments
+    private static Map<String, String> nextEvent(BufferedReader stream) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        String line;
+        while ((line = stream.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (!fields.isEmpty()) {
+                    return fields;
+                }
+            } else if (!line.startsWith(":")) {
+                int colon = line.indexOf(':');
+                fields.merge(line.substring(0, colon), line.substring(colon + 1), String::concat);
+            }
+        }
+        throw new IllegalStateException("Stream ended before the next event");
+    }
+
+    // The client may also see the connection closed instead of a last chunk
+    private static void readToEnd(BufferedReader stream) {
+        try {
+            while (stream.readLine() != null) {
+                // Skip what was sent before the disconnect
+            }
+        } catch (IOException ex) {
+            // Closed without a last chunk
+        }
+    }
+
+    private static long sequence(String id) {
+        return Long.parseLong(id.substring(id.indexOf('-') + 1));
+    }
+}
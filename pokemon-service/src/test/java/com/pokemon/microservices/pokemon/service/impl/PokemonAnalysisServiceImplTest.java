@@ -0,0 +1,322 @@
+package com.pokemon.microservices.pokemon.service.impl;
+
+import com.pokemon.microservices.pokemon.config.AnalysisProperties;
+import com.pokemon.microservices.pokemon.dto.TeamAnalysis;
+import com.pokemon.microservices.pokemon.dto.TeamAnalysis.TeamWeakness;
+import com.pokemon.microservices.pokemon.dto.TeamOptimizationRequest;
+import com.pokemon.microservices.pokemon.dto.TeamOptimizationResult;
+import com.pokemon.microservices.pokemon.dto.TypeSummary;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.ChangeAction;
+import com.pokemon.microservices.pokemon.repository.PokemonRepository;
+import com.pokemon.microservices.pokemon.service.TypeEffectivenessService;
+import com.pokemon.microservices.pokemon.service.index.TypeChart;
+import com.pokemon.microservices.pokemon.service.index.TypeEffectivenessTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PokemonAnalysisServiceImplTest {
+
+    private static final int TEAM_SIZE = 4;
+    private static final long COVERAGE_WEIGHT = 10_000;
+    private static final List<PokemonType> TYPES = List.of(
+            type(1L, "Fuego"), type(2L, "Agua"), type(3L, "Planta"), type(4L, "Eléctrico"), type(5L, "Tierra"),
+            type(6L, "Volador"), type(7L, "Hielo"), type(8L, "Lucha"));
+    private static final TypeEffectivenessTable TABLE = TypeEffectivenessTable.of(TYPES);
+
+    private final PokemonRepository pokemonRepository = mock(PokemonRepository.class);
+    private final TypeEffectivenessService typeEffectivenessService = mock(TypeEffectivenessService.class);
+    private final Map<Long, Pokemon> pokedex = new LinkedHashMap<>();
+    private PokemonAnalysisServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(3);
+        for (long id = 1; id <= 14; id++) {
+            Pokemon pokemon = pokemon(id, TYPES.get(random.nextInt(TYPES.size())),
+                    random.nextBoolean() ? null : TYPES.get(random.nextInt(TYPES.size())),
+                    40 + random.nextInt(100), 1 + random.nextInt(3));
+            pokemon.setIsLegendary(id % 5 == 0);
+            pokedex.put(id, pokemon);
+        }
+        when(typeEffectivenessService.getTable()).thenReturn(TABLE);
+        when(pokemonRepository.findAllCompactRows()).thenAnswer(invocation -> compactRows());
+        when(pokemonRepository.findAllWithTypesByIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(pokedex::get).toList();
+        });
+
+        AnalysisProperties properties = new AnalysisProperties();
+        properties.setTeamSize(TEAM_SIZE);
+        properties.setCoverageWeight(COVERAGE_WEIGHT);
+        properties.setOptimizeParallelism(2);
+        service = new PokemonAnalysisServiceImpl(pokemonRepository, typeEffectivenessService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void unconstrainedTeamIsTheBestOfAllTeams() {
+        TeamOptimizationResult result = service.optimizeTeam(null);
+
+        assertThat(result.complete()).isTrue();
+        assertThat(result.candidates()).isEqualTo(pokedex.size());
+        assertThat(score(result)).isEqualTo(bruteForce(List.of(), pokemon -> true));
+    }
+
+    @Test
+    void constraintsLimitTheCandidatesAndTheTeamIsStillTheBest() {
+        TeamOptimizationRequest request = new TeamOptimizationRequest(2, true, null, 70, null);
+        Predicate<Pokemon> meets = pokemon -> pokemon.getGeneration() <= 2 && !pokemon.getIsLegendary()
+                && pokemon.getSpeed() >= 70;
+
+        TeamOptimizationResult result = service.optimizeTeam(request);
+
+        assertThat(result.candidates()).isEqualTo(pokedex.values().stream().filter(meets).count());
+        assertThat(result.team()).allMatch(meets);
+        assertThat(score(result)).isEqualTo(bruteForce(List.of(), meets));
+    }
+
+    @Test
+    void requiredMembersAreKeptEvenIfTheyFailTheConstraints() {
+        // Legendary, and kept although legendaries are excluded
+        List<Long> required = List.of(5L, 2L);
+        TeamOptimizationRequest request = new TeamOptimizationRequest(null, true, required, null, null);
+
+        TeamOptimizationResult result = service.optimizeTeam(request);
+
+        assertThat(result.team()).hasSize(TEAM_SIZE);
+        assertThat(result.team()).extracting(Pokemon::getId).startsWith(5L, 2L);
+        assertThat(result.team().subList(2, TEAM_SIZE)).noneMatch(Pokemon::getIsLegendary);
+        assertThat(score(result)).isEqualTo(bruteForce(required, pokemon -> !pokemon.getIsLegendary()));
+    }
+
+    @Test
+    void unknownRequiredMemberIsRejected() {
+        TeamOptimizationRequest request = new TeamOptimizationRequest(null, null, List.of(99L), null, null);
+
+        assertThatThrownBy(() -> service.optimizeTeam(request)).hasMessage("Pokemon not found with ID: 99");
+    }
+
+    @Test
+    void compactPokedexIsReusedUntilAChangeMarksItStale() {
+        service.optimizeTeam(null);
+        service.optimizeTeam(null);
+        verify(pokemonRepository, times(1)).findAllCompactRows();
+
+        // A much stronger newcomer only shows up after the change event
+        Pokemon newcomer = pokemon(15L, TYPES.get(0), TYPES.get(1), 900, 1);
+        pokedex.put(newcomer.getId(), newcomer);
+        assertThat(service.optimizeTeam(null).team()).extracting(Pokemon::getId).doesNotContain(15L);
+
+        service.onEntityChange(EntityChangeEvent.pokemon(ChangeAction.CREATED, 15L));
+
+        assertThat(service.optimizeTeam(null).team()).extracting(Pokemon::getId).contains(15L);
+        verify(pokemonRepository, times(2)).findAllCompactRows();
+    }
+
+    @Test
+    void teamMasksMatchAPerMemberLoop() {
+        Random random = new Random(5);
+        List<List<Long>> teams = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // Up to one member too many; such a team is flagged and not analysed
+            List<Long> ids = new ArrayList<>(pokedex.keySet());
+            Collections.shuffle(ids, random);
+            teams.add(List.copyOf(ids.subList(0, 1 + random.nextInt(TEAM_SIZE + 1))));
+        }
+
+        List<TeamAnalysis> analyses = service.analyzeTeams(teams);
+
+        for (int i = 0; i < teams.size(); i++) {
+            boolean valid = teams.get(i).size() <= TEAM_SIZE;
+            List<Pokemon> team = valid ? teams.get(i).stream().map(pokedex::get).toList() : List.of();
+            TeamAnalysis analysis = analyses.get(i);
+            String description = "team " + teams.get(i);
+            assertThat(analysis.valid()).as(description).isEqualTo(valid);
+
+            Set<Long> covered = new HashSet<>();
+            Map<Long, List<Integer>> shared = new HashMap<>();
+            Set<Long> unresisted = new HashSet<>();
+            for (PokemonType attack : TYPES) {
+                int weak = 0;
+                int resistant = 0;
+                for (Pokemon member : team) {
+                    if (hitsSuperEffectively(member, attack)) {
+                        covered.add(attack.getId());
+                    }
+                    float multiplier = multiplier(attack, member);
+                    weak += multiplier > 1f ? 1 : 0;
+                    resistant += multiplier < 1f ? 1 : 0;
+                }
+                if (weak >= 2) {
+                    shared.put(attack.getId(), List.of(weak, resistant));
+                }
+                if (weak > 0 && resistant == 0) {
+                    unresisted.add(attack.getId());
+                }
+            }
+
+            assertThat(analysis.offensiveCoverage()).extracting(TypeSummary::id).as(description)
+                    .containsExactlyInAnyOrderElementsOf(covered);
+            assertThat(analysis.uncoveredTypes()).extracting(TypeSummary::id).as(description)
+                    .containsExactlyInAnyOrderElementsOf(TYPES.stream().map(PokemonType::getId)
+                            .filter(id -> !covered.contains(id)).toList());
+            assertThat(analysis.sharedWeaknesses()).as(description).hasSize(shared.size())
+                    .allSatisfy(weakness -> assertThat(List.of(weakness.weakMembers(), weakness.resistantMembers()))
+                            .isEqualTo(shared.get(weakness.type().id())))
+                    .isSortedAccordingTo(Comparator.comparingInt(
+                            (TeamWeakness weakness) -> weakness.resistantMembers() - weakness.weakMembers()));
+            assertThat(analysis.unresistedWeaknesses()).extracting(TypeSummary::id).as(description)
+                    .containsExactlyInAnyOrderElementsOf(unresisted);
+        }
+        // Counts of four and more went through the counter's third bit plane
+        assertThat(analyses).flatExtracting(TeamAnalysis::sharedWeaknesses)
+                .anyMatch(weakness -> weakness.weakMembers() >= 4);
+    }
+
+    @Test
+    void malformedTeamsAreReportedWithoutLoadingTheirMembers() {
+        List<List<Long>> teams = new ArrayList<>();
+        teams.add(List.of(1L, 2L));
+        teams.add(List.of());
+        teams.add(null);
+        teams.add(List.of(3L, 4L, 5L, 6L, 7L));
+        teams.add(Arrays.asList(8L, null));
+
+        List<TeamAnalysis> analyses = service.analyzeTeams(teams);
+
+        verify(pokemonRepository).findAllWithTypesByIdIn(Set.of(1L, 2L));
+        assertThat(analyses.get(0).valid()).isTrue();
+        assertThat(analyses.subList(1, 5)).noneMatch(TeamAnalysis::valid)
+                .allMatch(analysis -> analysis.pokemonIds().isEmpty() && analysis.stats() == null);
+        assertThat(analyses).extracting(TeamAnalysis::problems).containsExactly(
+                List.of(), List.of("Team is empty"), List.of("Team is empty"),
+                List.of("Team has more than " + TEAM_SIZE + " members"), List.of("Pokemon ID cannot be null"));
+    }
+
+    private static boolean hitsSuperEffectively(Pokemon member, PokemonType defense) {
+        return TypeChart.multiplier(member.getPrimaryType().getName(), defense.getName()) > 1f
+                || member.getSecondaryType() != null
+                && TypeChart.multiplier(member.getSecondaryType().getName(), defense.getName()) > 1f;
+    }
+
+    private static float multiplier(PokemonType attack, Pokemon member) {
+        float multiplier = TypeChart.multiplier(attack.getName(), member.getPrimaryType().getName());
+        PokemonType secondary = member.getSecondaryType();
+        if (secondary != null && !secondary.getId().equals(member.getPrimaryType().getId())) {
+            multiplier *= TypeChart.multiplier(attack.getName(), secondary.getName());
+        }
+        return multiplier;
+    }
+
+    private long score(TeamOptimizationResult result) {
+        return result.offensiveCoverage().size() * COVERAGE_WEIGHT + result.totalStats();
+    }
+
+    // Best score over every team of the required members plus candidates accepted by the filter
+    private long bruteForce(List<Long> required, Predicate<Pokemon> filter) {
+        long coverage = 0;
+        long total = 0;
+        for (Long id : required) {
+            coverage |= coverage(pokedex.get(id));
+            total += totalStats(pokedex.get(id));
+        }
+        List<Pokemon> candidates = new ArrayList<>();
+        for (Pokemon pokemon : pokedex.values()) {
+            if (!required.contains(pokemon.getId()) && filter.test(pokemon)) {
+                candidates.add(pokemon);
+            }
+        }
+        return best(candidates, 0, Math.min(TEAM_SIZE - required.size(), candidates.size()), coverage, total);
+    }
+
+    private long best(List<Pokemon> candidates, int from, int remaining, long coverage, long total) {
+        if (remaining == 0) {
+            return Long.bitCount(coverage) * COVERAGE_WEIGHT + total;
+        }
+        long best = Long.MIN_VALUE;
+        for (int i = from; i <= candidates.size() - remaining; i++) {
+            Pokemon pokemon = candidates.get(i);
+            best = Math.max(best, best(candidates, i + 1, remaining - 1, coverage | coverage(pokemon),
+                    total + totalStats(pokemon)));
+        }
+        return best;
+    }
+
+    private static long coverage(Pokemon pokemon) {
+        long coverage = TABLE.superEffectiveMask(TABLE.indexOf(pokemon.getPrimaryType().getId()));
+        if (pokemon.getSecondaryType() != null) {
+            coverage |= TABLE.superEffectiveMask(TABLE.indexOf(pokemon.getSecondaryType().getId()));
+        }
+        return coverage;
+    }
+
+    private static int totalStats(Pokemon pokemon) {
+        return pokemon.getHp() + pokemon.getAttack() + pokemon.getDefense() + pokemon.getSpecialAttack()
+                + pokemon.getSpecialDefense() + pokemon.getSpeed();
+    }
+
+    private List<Object[]> compactRows() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Pokemon pokemon : pokedex.values()) {
+            rows.add(new Object[]{pokemon.getId(), pokemon.getPrimaryType().getId(),
+                    pokemon.getSecondaryType() != null ? pokemon.getSecondaryType().getId() : null,
+                    pokemon.getGeneration(), pokemon.getIsLegendary(), pokemon.getHp(), pokemon.getAttack(),
+                    pokemon.getDefense(), pokemon.getSpecialAttack(), pokemon.getSpecialDefense(),
+                    pokemon.getSpeed()});
+        }
+        return rows;
+    }
+
+    private static Pokemon pokemon(Long id, PokemonType primary, PokemonType secondary, int base, int generation) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(id);
+        pokemon.setName("Pokemon-" + id);
+        pokemon.setPrimaryType(primary);
+        pokemon.setSecondaryType(secondary);
+        pokemon.setHp(base);
+        pokemon.setAttack(base + 10);
+        pokemon.setDefense(base - 5);
+        pokemon.setSpecialAttack(base + 5);
+        pokemon.setSpecialDefense(base);
+        pokemon.setSpeed(base + (int) (id * 7 % 40));
+        pokemon.setGeneration(generation);
+        return pokemon;
+    }
+
+    private static PokemonType type(Long id, String name) {
+        PokemonType type = new PokemonType();
+        type.setId(id);
+        type.setName(name);
+        return type;
+    }
+}
@@ -0,0 +1,133 @@
+package com.pokemon.microservices.pokemon.service.impl;
+
+import com.pokemon.microservices.pokemon.config.AutocompleteProperties;
+import com.pokemon.microservices.pokemon.dto.PokemonSuggestion;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.ChangeAction;
+import com.pokemon.microservices.pokemon.service.PokemonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PokemonAutocompleteServiceImplTest {
+
+    private final PokemonService pokemonService = mock(PokemonService.class);
+    private final Map<Long, Pokemon> pokedex = new LinkedHashMap<>();
+    private PokemonAutocompleteServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        add(1L, "Bulbasaur");
+        add(4L, "Charmander");
+        add(5L, "Charmeleon");
+        add(6L, "Charizard");
+        add(25L, "Pikachu");
+        add(26L, "Raichu");
+        add(150L, "Mewtwo");
+        add(151L, "Mew");
+        when(pokemonService.findAll(any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.copyOf(pokedex.values())));
+        when(pokemonService.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(pokedex.get(invocation.<Long>getArgument(0))));
+
+        AutocompleteProperties properties = new AutocompleteProperties();
+        properties.setMaxSuggestions(3);
+        properties.setExactPrefixLength(2);
+        service = new PokemonAutocompleteServiceImpl(pokemonService, properties);
+        service.rebuild();
+    }
+
+    @Test
+    void exactPrefixIgnoresCaseAndSurroundingSpace() {
+        assertThat(service.suggest("  CHAR ", 10)).containsExactly(
+                new PokemonSuggestion(4L, "Charmander", 4, 0),
+                new PokemonSuggestion(5L, "Charmeleon", 5, 0),
+                new PokemonSuggestion(6L, "Charizard", 6, 0));
+        assertThat(service.suggest("char", 2)).extracting(PokemonSuggestion::id).containsExactly(4L, 5L);
+        assertThat(service.suggest("", 10)).isEmpty();
+        assertThat(service.suggest(null, 10)).isEmpty();
+    }
+
+    @Test
+    void oneTypoIsForgivenInMidLengthPrefixes() {
+        // Four letters: one edit
+        assertThat(service.suggest("pika", 3)).extracting(PokemonSuggestion::name).containsExactly("Pikachu");
+        assertThat(service.suggest("pila", 3)).extracting(PokemonSuggestion::name, PokemonSuggestion::distance)
+                .first().isEqualTo(tuple("Pikachu", 1));
+        assertThat(service.suggest("plka", 3)).extracting(PokemonSuggestion::name).contains("Pikachu");
+        // Two typos are too many at this length
+        assertThat(service.suggest("plla", 3)).extracting(PokemonSuggestion::name).doesNotContain("Pikachu");
+    }
+
+    @Test
+    void twoTyposAreForgivenInLongPrefixesWithCloserMatchesFirst() {
+        List<PokemonSuggestion> suggestions = service.suggest("chrmaner", 3);
+
+        assertThat(suggestions.get(0)).isEqualTo(new PokemonSuggestion(4L, "Charmander", 4, 2));
+        assertThat(suggestions).extracting(PokemonSuggestion::distance).isSorted();
+        assertThat(service.suggest("pikachuu", 3)).extracting(PokemonSuggestion::name).containsExactly("Pikachu");
+    }
+
+    @Test
+    void shortPrefixesMustMatchExactly() {
+        assertThat(service.suggest("pi", 3)).extracting(PokemonSuggestion::name).containsExactly("Pikachu");
+        assertThat(service.suggest("px", 3)).isEmpty();
+    }
+
+    @Test
+    void exactMatchesComeBeforeTypos() {
+        // "mew" matches Mew and Mewtwo exactly; fuzzy ones only fill the rest
+        assertThat(service.suggest("mew", 3)).extracting(PokemonSuggestion::name, PokemonSuggestion::distance)
+                .startsWith(tuple("Mewtwo", 0), tuple("Mew", 0));
+    }
+
+    @Test
+    void popularityReordersOnlyAfterReweigh() {
+        for (int i = 0; i < 3; i++) {
+            service.recordSelection(6L);
+        }
+        service.recordSelection(5L);
+        assertThat(service.suggest("char", 3)).extracting(PokemonSuggestion::id).containsExactly(4L, 5L, 6L);
+
+        service.reweigh();
+
+        assertThat(service.suggest("char", 3)).extracting(PokemonSuggestion::id).containsExactly(6L, 5L, 4L);
+    }
+
+    @Test
+    void writesUpdateTheIndex() {
+        pokedex.get(26L).setName("Raichu-Alola");
+        pokedex.remove(150L);
+        add(172L, "Pichu");
+
+        service.onEntityChange(EntityChangeEvent.pokemon(ChangeAction.UPDATED, 26L));
+        service.onEntityChange(EntityChangeEvent.pokemon(ChangeAction.DELETED, 150L));
+        service.onEntityChange(EntityChangeEvent.pokemon(ChangeAction.CREATED, 172L));
+
+        assertThat(service.suggest("raichu-", 3)).extracting(PokemonSuggestion::name).containsExactly("Raichu-Alola");
+        assertThat(service.suggest("mew", 3)).extracting(PokemonSuggestion::name).containsExactly("Mew");
+        assertThat(service.suggest("pi", 3)).extracting(PokemonSuggestion::name).containsExactly("Pikachu", "Pichu");
+    }
+
+    private void add(Long id, String name) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(id);
+        pokemon.setName(name);
+        pokemon.setPokedexNumber(id.intValue());
+        pokedex.put(id, pokemon);
+    }
+}
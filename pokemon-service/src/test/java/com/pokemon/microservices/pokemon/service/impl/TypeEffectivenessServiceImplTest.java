@@ -0,0 +1,79 @@
+package com.pokemon.microservices.pokemon.service.impl;
+
+import com.pokemon.microservices.pokemon.dto.DefensiveProfile;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.ChangeAction;
+import com.pokemon.microservices.pokemon.service.PokemonTypeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TypeEffectivenessServiceImplTest {
+
+    private final PokemonTypeService pokemonTypeService = mock(PokemonTypeService.class);
+    private final List<PokemonType> types = new ArrayList<>();
+    private TypeEffectivenessServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        types.add(type(1L, "Eléctrico"));
+        types.add(type(2L, "Agua"));
+        types.add(type(3L, "Volador"));
+        when(pokemonTypeService.findAll()).thenAnswer(invocation -> List.copyOf(types));
+        service = new TypeEffectivenessServiceImpl(pokemonTypeService);
+        service.onApplicationReady();
+    }
+
+    @Test
+    void matchupsComeFromTheSpanishNames() {
+        assertThat(service.getMatchup(1L, 2L, 3L).multiplier()).isEqualTo(4f);
+        assertThat(service.getMatchup(1L, 2L, null).multiplier()).isEqualTo(2f);
+
+        DefensiveProfile waterFlying = service.getDefensiveProfile(2L, 3L);
+        assertThat(waterFlying.weakTo()).singleElement()
+                .satisfies(weakness -> assertThat(weakness.multiplier()).isEqualTo(4f));
+    }
+
+    @Test
+    void typeChangesRebuildTheTable() {
+        types.add(type(4L, "Tierra"));
+        assertThatThrownBy(() -> service.getMatchup(1L, 4L, null)).hasMessageContaining("not found");
+
+        service.onEntityChange(EntityChangeEvent.pokemonType(ChangeAction.CREATED, 4L));
+
+        assertThat(service.getMatchup(1L, 4L, null).multiplier()).isZero();
+        assertThat(service.getMatchup(4L, 1L, null).multiplier()).isEqualTo(2f);
+
+        // Renamed to a type Electric is not very effective against
+        types.set(1, type(2L, "Planta"));
+        service.onEntityChange(EntityChangeEvent.pokemonType(ChangeAction.UPDATED, 2L));
+
+        assertThat(service.getMatchup(1L, 2L, 3L).multiplier()).isEqualTo(1f);
+        verify(pokemonTypeService, times(3)).findAll();
+    }
+
+    @Test
+    void pokemonChangesKeepTheTable() {
+        service.onEntityChange(EntityChangeEvent.pokemon(ChangeAction.UPDATED, 25L));
+
+        assertThat(service.getTable()).isSameAs(service.getTable());
+        verify(pokemonTypeService, times(1)).findAll();
+    }
+
+    private static PokemonType type(Long id, String name) {
+        PokemonType type = new PokemonType();
+        type.setId(id);
+        type.setName(name);
+        return type;
+    }
+}
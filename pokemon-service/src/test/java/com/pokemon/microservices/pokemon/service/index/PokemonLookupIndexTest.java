@@ -0,0 +1,170 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.ChangeAction;
+import com.pokemon.microservices.pokemon.repository.PokemonRepository;
+import com.pokemon.microservices.pokemon.service.impl.PokemonServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class PokemonLookupIndexTest {
+
+    private PokemonRepository repository;
+    private PokemonLookupIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PokemonRepository.class);
+        index = new PokemonLookupIndex(repository);
+    }
+
+    @Test
+    void notReadyUntilBuilt() {
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.findIdByName("Pikachu")).isNull();
+        assertThat(index.findIdByPokedexNumber(25)).isNull();
+
+        when(repository.findAllNaturalKeys()).thenReturn(rows(row(1L, "Pikachu", 25)));
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void findsByNameIgnoringCaseAndByPokedexNumber() {
+        when(repository.findAllNaturalKeys()).thenReturn(rows(
+                row(1L, "Bulbasaur", 1), row(25L, "Pikachu", 25), row(70_000L, "Fakemon", 70_000)));
+        index.rebuild();
+
+        assertThat(index.findIdByName("PIKACHU")).isEqualTo(25L);
+        assertThat(index.findIdByName("bulbasaur")).isEqualTo(1L);
+        assertThat(index.findIdByName("Mew")).isNull();
+        assertThat(index.findIdByPokedexNumber(25)).isEqualTo(25L);
+        assertThat(index.findIdByPokedexNumber(2)).isNull();
+        assertThat(index.findIdByPokedexNumber(-1)).isNull();
+        // Past the dense array
+        assertThat(index.findIdByPokedexNumber(70_000)).isEqualTo(70_000L);
+        assertThat(index.findIdByPokedexNumber(70_001)).isNull();
+    }
+
+    @Test
+    void changesReplaceOnlyTheEntriesOfTheChangedIds() {
+        when(repository.findAllNaturalKeys()).thenReturn(rows(row(1L, "Eevee", 133), row(2L, "Ditto", 132)));
+        index.rebuild();
+
+        // Eevee renamed and renumbered, Ditto deleted
+        when(repository.findNaturalKeysByIdIn(anyCollection())).thenReturn(rows(row(1L, "Vaporeon", 134)));
+        index.onEntityChange(EntityChangeEvent.pokemon(ChangeAction.UPDATED, 1L));
+        when(repository.findNaturalKeysByIdIn(anyCollection())).thenReturn(List.of());
+        index.onEntityChange(EntityChangeEvent.pokemon(ChangeAction.DELETED, 2L));
+
+        assertThat(index.findIdByName("vaporeon")).isEqualTo(1L);
+        assertThat(index.findIdByName("eevee")).isNull();
+        assertThat(index.findIdByPokedexNumber(134)).isEqualTo(1L);
+        assertThat(index.findIdByPokedexNumber(133)).isNull();
+        assertThat(index.findIdByName("ditto")).isNull();
+        assertThat(index.findIdByPokedexNumber(132)).isNull();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void readersNeverSeeAPartlyBuiltIndex() throws InterruptedException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            rows.add(row((long) i, "Mon" + i, i));
+        }
+        when(repository.findAllNaturalKeys()).thenReturn(rows);
+        index.rebuild();
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger misses = new AtomicInteger();
+        Thread reader = Thread.ofPlatform().start(() -> {
+            int i = 0;
+            while (!done.get()) {
+                int number = 1 + i++ % 2000;
+                if (index.findIdByName("mon" + number) == null || index.findIdByPokedexNumber(number) == null) {
+                    misses.incrementAndGet();
+                }
+            }
+        });
+        for (int i = 0; i < 200; i++) {
+            index.rebuild();
+        }
+        done.set(true);
+        reader.join();
+
+        assertThat(misses).hasValue(0);
+    }
+
+    @Test
+    void serviceTrustsAMissOnceTheIndexIsBuilt() {
+        when(repository.findAllNaturalKeys()).thenReturn(rows(row(25L, "Pikachu", 25)));
+        index.rebuild();
+        PokemonServiceImpl service = service();
+
+        assertThat(service.findByName("mew")).isEmpty();
+        assertThat(service.findByPokedexNumber(151)).isEmpty();
+        assertThat(service.existsByName("mew")).isFalse();
+        assertThat(service.existsByPokedexNumber(151)).isFalse();
+        service.validateUniqueConstraints(pokemon(151L, "Mew", 151), null);
+        verify(repository).findAllNaturalKeys();
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void serviceAsksTheDatabaseBeforeTheIndexIsBuiltOrWhenAHitIsStale() {
+        Pokemon mew = pokemon(151L, "Mew", 151);
+        when(repository.findByNameIgnoreCase("mew")).thenReturn(Optional.of(mew));
+        when(repository.findByPokedexNumber(151)).thenReturn(Optional.of(mew));
+        when(repository.existsByNameIgnoreCase("mew")).thenReturn(true);
+        PokemonServiceImpl service = service();
+
+        assertThat(service.findByName("mew")).contains(mew);
+        assertThat(service.findByPokedexNumber(151)).contains(mew);
+        assertThat(service.existsByName("mew")).isTrue();
+
+        // The index still has 150 as Mew, but that row has been renamed since
+        when(repository.findAllNaturalKeys()).thenReturn(rows(row(150L, "Mew", 151)));
+        index.rebuild();
+        when(repository.findById(150L)).thenReturn(Optional.of(pokemon(150L, "Mewtwo", 150)));
+
+        assertThat(service.findByName("mew")).contains(mew);
+        assertThat(service.findByPokedexNumber(151)).contains(mew);
+    }
+
+    private PokemonServiceImpl service() {
+        return new PokemonServiceImpl(repository, null, index, event -> {
+        }, null);
+    }
+
+    private static Pokemon pokemon(Long id, String name, Integer pokedexNumber) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(id);
+        pokemon.setName(name);
+        pokemon.setPokedexNumber(pokedexNumber);
+        return pokemon;
+    }
+
+    private static Object[] row(Long id, String name, Integer pokedexNumber) {
+        return new Object[]{id, name, pokedexNumber};
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return List.of(rows);
+    }
+}
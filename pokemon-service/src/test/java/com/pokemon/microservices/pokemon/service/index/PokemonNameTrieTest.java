@@ -0,0 +1,147 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PokemonNameTrieTest {
+
+    private final Map<Long, Long> weights = new HashMap<>();
+
+    @Test
+    void prefixCompletionsAreRankedByWeightThenId() {
+        PokemonNameTrie trie = trie(3);
+        trie.insert("charmander", 4);
+        trie.insert("charmeleon", 5);
+        trie.insert("charizard", 6);
+        trie.insert("chikorita", 152);
+        trie.insert("bulbasaur", 1);
+
+        assertThat(trie.complete("char")).containsExactly(4, 5, 6);
+        assertThat(trie.complete("ch")).containsExactly(4, 5, 6);
+        assertThat(trie.complete("chi")).containsExactly(152);
+        assertThat(trie.complete("x")).isEmpty();
+        assertThat(trie.complete("charizards")).isEmpty();
+    }
+
+    @Test
+    void reweighReordersTheCachedTopLists() {
+        PokemonNameTrie trie = trie(2);
+        trie.insert("charmander", 4);
+        trie.insert("charmeleon", 5);
+        trie.insert("charizard", 6);
+
+        weights.put(6L, 10L);
+        weights.put(5L, 3L);
+        // Cached lists keep the old order until reweigh
+        assertThat(trie.complete("char")).containsExactly(4, 5);
+
+        trie.reweigh();
+        assertThat(trie.complete("char")).containsExactly(6, 5);
+        assertThat(trie.complete("charm")).containsExactly(5, 4);
+    }
+
+    @Test
+    void removeOnlyDropsTheGivenId() {
+        PokemonNameTrie trie = trie(5);
+        trie.insert("mew", 151);
+        trie.insert("mewtwo", 150);
+
+        trie.remove("mew", 999);
+        assertThat(trie.complete("mew")).containsExactly(150, 151);
+
+        trie.remove("mew", 151);
+        assertThat(trie.complete("mew")).containsExactly(150);
+
+        trie.remove("mewtwo", 150);
+        assertThat(trie.complete("m")).isEmpty();
+        // Pruned branches can be filled again
+        trie.insert("mewtwo", 150);
+        assertThat(trie.complete("m")).containsExactly(150);
+    }
+
+    @Test
+    void fuzzyCompletionMatchesABruteForcePrefixDistance() {
+        Random random = new Random(29);
+        Map<Long, String> names = new HashMap<>();
+        PokemonNameTrie trie = trie(1000);
+        for (long id = 1; id <= 400; id++) {
+            String name = randomName(random, 3 + random.nextInt(8));
+            if (!names.containsValue(name)) {
+                names.put(id, name);
+                trie.insert(name, id);
+            }
+        }
+
+        for (int round = 0; round < 200; round++) {
+            String query = random.nextBoolean()
+                    ? randomName(random, 1 + random.nextInt(6))
+                    : typo(random, names.get(1L + random.nextInt(400)));
+            if (query == null) {
+                continue;
+            }
+            int maxDistance = 1 + random.nextInt(2);
+
+            Map<Long, Integer> expected = new HashMap<>();
+            names.forEach((id, name) -> {
+                int distance = prefixDistance(query, name);
+                if (distance <= maxDistance) {
+                    expected.put(id, distance);
+                }
+            });
+            assertThat(trie.completeFuzzy(query, maxDistance)).as(query).isEqualTo(expected);
+        }
+    }
+
+    private PokemonNameTrie trie(int topSize) {
+        return new PokemonNameTrie(topSize, id -> weights.getOrDefault(id, 0L));
+    }
+
+    // Smallest edit distance between the query and any non-empty prefix of the name
+    private static int prefixDistance(String query, String name) {
+        int best = Integer.MAX_VALUE;
+        for (int end = 1; end <= name.length(); end++) {
+            best = Math.min(best, levenshtein(query, name.substring(0, end)));
+        }
+        return best;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = d[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), substitution);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    // A small alphabet so names share prefixes and typos land near other names
+    private static String randomName(Random random, int length) {
+        StringBuilder name = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            name.append("abcde".charAt(random.nextInt(5)));
+        }
+        return name.toString();
+    }
+
+    private static String typo(Random random, String name) {
+        if (name == null || name.length() < 2) {
+            return null;
+        }
+        String prefix = name.substring(0, 1 + random.nextInt(name.length()));
+        int at = random.nextInt(prefix.length());
+        return prefix.substring(0, at) + "abcde".charAt(random.nextInt(5)) + prefix.substring(at + 1);
+    }
+}
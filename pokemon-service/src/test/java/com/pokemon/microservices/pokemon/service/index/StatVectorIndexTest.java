@@ -0,0 +1,187 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import com.pokemon.microservices.pokemon.service.index.StatVectorIndex.Entry;
+import com.pokemon.microservices.pokemon.service.index.StatVectorIndex.Match;
+import com.pokemon.microservices.pokemon.service.index.StatVectorIndex.Metric;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class StatVectorIndexTest {
+
+    private static final int POKEMON = 400;
+    private static final int TYPES = 18;
+
+    private final Random random = new Random(7);
+    // What the index should hold, searched linearly
+    private final Map<Long, Entry> expected = new HashMap<>();
+
+    @ParameterizedTest
+    @EnumSource(Metric.class)
+    void nearestMatchesABruteForceScan(Metric metric) {
+        StatVectorIndex index = builtIndex(1000);
+
+        assertMatchesBruteForce(index, metric);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Metric.class)
+    void writesInTheDeltaAreSearchedAndOutdatedTreePointsAreMasked(Metric metric) {
+        StatVectorIndex index = builtIndex(1000);
+
+        // Moved, removed and new Pokemon, all within the delta limit
+        for (long id = 1; id <= 30; id++) {
+            upsert(index, entry(id));
+        }
+        for (long id = 31; id <= 50; id++) {
+            expected.remove(id);
+            index.remove(id);
+        }
+        for (long id = POKEMON + 1; id <= POKEMON + 30; id++) {
+            upsert(index, entry(id));
+        }
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        assertThat(index.get(31L)).isNull();
+        assertMatchesBruteForce(index, metric);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Metric.class)
+    void deltaBeyondItsLimitRebuildsTheTrees(Metric metric) {
+        StatVectorIndex index = builtIndex(10);
+
+        for (long id = 1; id <= 100; id++) {
+            if (id % 4 == 0) {
+                expected.remove(id);
+                index.remove(id);
+            } else {
+                upsert(index, entry(id));
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        assertMatchesBruteForce(index, metric);
+    }
+
+    @Test
+    void removingAnUnknownIdChangesNothing() {
+        StatVectorIndex index = builtIndex(1000);
+
+        index.remove(99_999L);
+
+        assertThat(index.size()).isEqualTo(POKEMON);
+        assertMatchesBruteForce(index, Metric.EUCLIDEAN);
+    }
+
+    @Test
+    void readersNeverSeeAHalfBuiltIndex() throws InterruptedException {
+        StatVectorIndex index = builtIndex(1000);
+        Entry query = expected.get(1L);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger misses = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                if (index.get(1L) == null || index.size() != POKEMON
+                        || index.nearest(query, 5, Metric.EUCLIDEAN, entry -> true).size() != 5) {
+                    misses.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+
+        List<Entry> all = List.copyOf(expected.values());
+        for (int i = 0; i < 200; i++) {
+            index.rebuild(all);
+        }
+        done.set(true);
+        reader.join();
+
+        assertThat(misses).hasValue(0);
+    }
+
+    private void assertMatchesBruteForce(StatVectorIndex index, Metric metric) {
+        List<Predicate<Entry>> filters = List.of(
+                entry -> true,
+                entry -> entry.hasType(3),
+                entry -> entry.generation() == 2 && entry.id() % 3 != 0);
+        for (int query = 0; query < 30; query++) {
+            Entry probe = query % 2 == 0 ? entry(-1L) : expected.values().iterator().next();
+            for (Predicate<Entry> filter : filters) {
+                for (int k : new int[]{1, 10}) {
+                    List<Match> actual = index.nearest(probe, k, metric, filter);
+                    List<Match> brute = bruteForce(probe, k, metric, filter);
+                    assertThat(actual).extracting(match -> match.entry().id())
+                            .as("%s k=%d", metric, k)
+                            .isEqualTo(brute.stream().map(match -> match.entry().id()).toList());
+                    for (int i = 0; i < actual.size(); i++) {
+                        assertThat(actual.get(i).distance()).isCloseTo(brute.get(i).distance(), within(1e-5));
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Match> bruteForce(Entry query, int k, Metric metric, Predicate<Entry> filter) {
+        List<Match> matches = new ArrayList<>();
+        for (Entry entry : expected.values()) {
+            if (filter.test(entry)) {
+                matches.add(new Match(entry, distance(query, entry, metric)));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::distance).thenComparingLong(match -> match.entry().id()));
+        return matches.subList(0, Math.min(k, matches.size()));
+    }
+
+    private static double distance(Entry a, Entry b, Metric metric) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        double squares = 0;
+        for (int i = 0; i < a.stats().length; i++) {
+            dot += (double) a.stats()[i] * b.stats()[i];
+            normA += (double) a.stats()[i] * a.stats()[i];
+            normB += (double) b.stats()[i] * b.stats()[i];
+            double diff = a.stats()[i] - b.stats()[i];
+            squares += diff * diff;
+        }
+        return metric == Metric.COSINE ? 1 - dot / Math.sqrt(normA * normB) : Math.sqrt(squares);
+    }
+
+    private StatVectorIndex builtIndex(int deltaLimit) {
+        for (long id = 1; id <= POKEMON; id++) {
+            expected.put(id, entry(id));
+        }
+        StatVectorIndex index = new StatVectorIndex(deltaLimit);
+        index.rebuild(expected.values());
+        return index;
+    }
+
+    private void upsert(StatVectorIndex index, Entry entry) {
+        expected.put(entry.id(), entry);
+        index.upsert(entry);
+    }
+
+    private Entry entry(long id) {
+        float[] stats = new float[6];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = 5 + random.nextInt(250) + random.nextFloat();
+        }
+        long primary = 1 + random.nextInt(TYPES);
+        long secondary = random.nextBoolean() ? 0 : 1 + random.nextInt(TYPES);
+        return Entry.of(id, "Pokemon-" + id, (int) id, primary, secondary, 1 + random.nextInt(3), stats);
+    }
+}
@@ -0,0 +1,151 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamOptimizerTest {
+
+    private static final long COVERAGE_WEIGHT = 10_000;
+    private static final long NO_DEADLINE = Long.MAX_VALUE / 2;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private final Random random = new Random(11);
+
+    @AfterAll
+    static void stopPool() {
+        POOL.shutdownNow();
+    }
+
+    @Test
+    void findsTheBestTeamOfRandomSmallInstances() {
+        for (int instance = 0; instance < 300; instance++) {
+            int candidates = 1 + random.nextInt(14);
+            int slots = 1 + random.nextInt(5);
+            long[] masks = randomMasks(candidates, 12);
+            int[] stats = randomStats(candidates);
+            long baseCoverage = random.nextBoolean() ? 0 : randomMask(12);
+            long baseStats = random.nextBoolean() ? 0 : 300 + random.nextInt(300);
+
+            TeamOptimizer.Result result = new TeamOptimizer(masks, stats, slots, baseCoverage, baseStats,
+                    COVERAGE_WEIGHT, System.nanoTime() + NO_DEADLINE).optimize(POOL);
+
+            String description = "instance " + instance + ": " + Arrays.toString(masks) + " " + Arrays.toString(stats)
+                    + " slots " + slots;
+            assertThat(result.complete()).as(description).isTrue();
+            assertThat(result.score()).as(description)
+                    .isEqualTo(bruteForce(masks, stats, Math.min(slots, candidates), baseCoverage, baseStats));
+            assertConsistent(result, masks, stats, Math.min(slots, candidates), baseCoverage, baseStats);
+        }
+    }
+
+    @Test
+    void candidatesWithTheSameCoverageKeepOnlyTheStrongest() {
+        // Four candidates cover the same types; only the two best can be on a two-member team
+        long[] masks = {0b0011, 0b0011, 0b0011, 0b0011, 0b1100};
+        int[] stats = {300, 500, 400, 200, 100};
+
+        TeamOptimizer.Result result = new TeamOptimizer(masks, stats, 2, 0, 0, COVERAGE_WEIGHT,
+                System.nanoTime() + NO_DEADLINE).optimize(POOL);
+
+        assertThat(result.members()).containsExactlyInAnyOrder(1, 4);
+        assertThat(result.coverage()).isEqualTo(0b1111);
+        assertThat(result.totalStats()).isEqualTo(600);
+    }
+
+    @Test
+    void noSlotsLeftReturnsTheFixedMembersOnly() {
+        TeamOptimizer.Result result = new TeamOptimizer(new long[]{1, 2}, new int[]{100, 200}, 0, 0b100, 450,
+                COVERAGE_WEIGHT, System.nanoTime() + NO_DEADLINE).optimize(POOL);
+
+        assertThat(result.members()).isEmpty();
+        assertThat(result.coverage()).isEqualTo(0b100);
+        assertThat(result.score()).isEqualTo(COVERAGE_WEIGHT + 450);
+        assertThat(result.complete()).isTrue();
+    }
+
+    @Test
+    void passedDeadlineReturnsTheBestTeamSoFarAsIncomplete() {
+        // Wide, overlapping masks keep the coverage bound loose: far more than one deadline check of work
+        int candidates = 300;
+        long[] masks = new long[candidates];
+        for (int i = 0; i < candidates; i++) {
+            for (int bits = 3 + random.nextInt(8); bits > 0; bits--) {
+                masks[i] |= 1L << random.nextInt(48);
+            }
+        }
+        int[] stats = randomStats(candidates);
+
+        TeamOptimizer.Result result = new TeamOptimizer(masks, stats, 6, 0, 0, COVERAGE_WEIGHT,
+                System.nanoTime() - 1).optimize(POOL);
+
+        assertThat(result.complete()).isFalse();
+        // Still a full, valid team: at least the greedy seed
+        assertConsistent(result, masks, stats, 6, 0, 0);
+    }
+
+    private static void assertConsistent(TeamOptimizer.Result result, long[] masks, int[] stats, int size,
+                                         long baseCoverage, long baseStats) {
+        assertThat(result.members()).hasSize(size).doesNotHaveDuplicates();
+        long coverage = baseCoverage;
+        long total = baseStats;
+        for (int member : result.members()) {
+            coverage |= masks[member];
+            total += stats[member];
+        }
+        assertThat(result.coverage()).isEqualTo(coverage);
+        assertThat(result.totalStats()).isEqualTo(total);
+        assertThat(result.score()).isEqualTo(Long.bitCount(coverage) * COVERAGE_WEIGHT + total);
+    }
+
+    // Every team of "size" candidates
+    private static long bruteForce(long[] masks, int[] stats, int size, long baseCoverage, long baseStats) {
+        return best(masks, stats, 0, size, baseCoverage, baseStats);
+    }
+
+    private static long best(long[] masks, int[] stats, int from, int remaining, long coverage, long total) {
+        if (remaining == 0) {
+            return Long.bitCount(coverage) * COVERAGE_WEIGHT + total;
+        }
+        long best = Long.MIN_VALUE;
+        for (int i = from; i <= masks.length - remaining; i++) {
+            best = Math.max(best, best(masks, stats, i + 1, remaining - 1, coverage | masks[i], total + stats[i]));
+        }
+        return best;
+    }
+
+    // Drawn from a small pool, so some candidates share a mask
+    private long[] randomMasks(int count, int types) {
+        long[] pool = new long[Math.max(1, count * 2 / 3)];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = randomMask(types);
+        }
+        long[] masks = new long[count];
+        for (int i = 0; i < count; i++) {
+            masks[i] = pool[random.nextInt(pool.length)];
+        }
+        return masks;
+    }
+
+    private long randomMask(int types) {
+        long mask = 0;
+        for (int bits = random.nextInt(5); bits > 0; bits--) {
+            mask |= 1L << random.nextInt(types);
+        }
+        return mask;
+    }
+
+    private int[] randomStats(int count) {
+        int[] stats = new int[count];
+        for (int i = 0; i < count; i++) {
+            stats[i] = 180 + random.nextInt(500);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,48 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeChartTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "electric, water, 2",
+            "electric, flying, 2",
+            "electric, ground, 0",
+            "ground, flying, 0",
+            "ground, electric, 2",
+            "fire, water, 0.5",
+            "normal, ghost, 0",
+            "ghost, normal, 0",
+            "dragon, fairy, 0",
+            "fairy, dragon, 2",
+            "water, water, 0.5",
+            "psychic, normal, 1"})
+    void knownMatchups(String attack, String defense, float expected) {
+        assertThat(TypeChart.multiplier(attack, defense)).isEqualTo(expected);
+    }
+
+    @Test
+    void spanishNamesMatchIgnoringCaseAccentsAndSpaces() {
+        assertThat(TypeChart.multiplier("Eléctrico", "Agua")).isEqualTo(2f);
+        assertThat(TypeChart.multiplier("ELÉCTRICO", "volador")).isEqualTo(2f);
+        assertThat(TypeChart.multiplier(" electrico ", "Tierra")).isZero();
+        assertThat(TypeChart.multiplier("Psíquico", "Siniestro")).isZero();
+        // English and Spanish mixed
+        assertThat(TypeChart.multiplier("Tierra", "Electric")).isEqualTo(2f);
+        assertThat(TypeChart.isKnown("Dragón")).isTrue();
+    }
+
+    @Test
+    void unknownTypesAreNeutral() {
+        assertThat(TypeChart.isKnown("Sound")).isFalse();
+        assertThat(TypeChart.isKnown(null)).isFalse();
+        assertThat(TypeChart.multiplier("Sound", "Water")).isEqualTo(1f);
+        assertThat(TypeChart.multiplier("Electric", "Sound")).isEqualTo(1f);
+        assertThat(TypeChart.multiplier(null, "Water")).isEqualTo(1f);
+    }
+}
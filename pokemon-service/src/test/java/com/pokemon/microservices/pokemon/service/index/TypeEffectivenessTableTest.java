@@ -0,0 +1,121 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeEffectivenessTableTest {
+
+    private static final String[] NAMES = {
+            "Normal", "Fire", "Water", "Electric", "Grass", "Ice", "Fighting", "Poison", "Ground",
+            "Flying", "Psychic", "Bug", "Rock", "Ghost", "Dragon", "Dark", "Steel", "Fairy"
+    };
+
+    // Ids with gaps and out of order, as they come from the database
+    private final List<PokemonType> types = new ArrayList<>();
+    private final TypeEffectivenessTable table;
+
+    TypeEffectivenessTableTest() {
+        for (int i = NAMES.length - 1; i >= 0; i--) {
+            types.add(type(3L * (i + 1), NAMES[i]));
+        }
+        table = TypeEffectivenessTable.of(types);
+    }
+
+    @Test
+    void knownDualTypeMatchups() {
+        assertThat(multiplier("Electric", "Water", "Flying")).isEqualTo(4f);
+        assertThat(multiplier("Ground", "Flying", null)).isZero();
+        assertThat(multiplier("Ground", "Electric", "Flying")).isZero();
+        assertThat(multiplier("Ice", "Dragon", "Flying")).isEqualTo(4f);
+        assertThat(multiplier("Fire", "Water", "Rock")).isEqualTo(0.25f);
+        assertThat(multiplier("Fire", "Grass", "Water")).isEqualTo(1f);
+    }
+
+    @Test
+    void everyCombinationIsTheProductOfItsSingleTypes() {
+        for (String attack : NAMES) {
+            for (String primary : NAMES) {
+                assertThat(multiplier(attack, primary, null)).as("%s vs %s", attack, primary)
+                        .isEqualTo(TypeChart.multiplier(attack, primary));
+                // The same type twice counts once
+                assertThat(multiplier(attack, primary, primary)).isEqualTo(multiplier(attack, primary, null));
+                for (String secondary : NAMES) {
+                    if (secondary.equals(primary)) {
+                        continue;
+                    }
+                    assertThat(multiplier(attack, primary, secondary)).as("%s vs %s/%s", attack, primary, secondary)
+                            .isEqualTo(TypeChart.multiplier(attack, primary) * TypeChart.multiplier(attack, secondary));
+                }
+            }
+        }
+    }
+
+    @Test
+    void masksAgreeWithTheMultipliers() {
+        assertThat(table.hasMasks()).isTrue();
+        assertThat(Long.bitCount(table.allTypesMask())).isEqualTo(NAMES.length);
+        for (int primary = 1; primary <= table.typeCount(); primary++) {
+            for (int secondary = 0; secondary <= table.typeCount(); secondary++) {
+                for (int attack = 1; attack <= table.typeCount(); attack++) {
+                    float multiplier = table.multiplier(attack, primary, secondary);
+                    long bit = TypeEffectivenessTable.bit(attack);
+                    assertThat((table.weakMask(primary, secondary) & bit) != 0).isEqualTo(multiplier > 1f);
+                    assertThat((table.immuneMask(primary, secondary) & bit) != 0).isEqualTo(multiplier == 0f);
+                    assertThat((table.resistMask(primary, secondary) & bit) != 0)
+                            .isEqualTo(multiplier > 0f && multiplier < 1f);
+                }
+            }
+            for (int defense = 1; defense <= table.typeCount(); defense++) {
+                assertThat((table.superEffectiveMask(primary) & TypeEffectivenessTable.bit(defense)) != 0)
+                        .isEqualTo(table.multiplier(primary, defense, TypeEffectivenessTable.NONE) > 1f);
+            }
+        }
+    }
+
+    @Test
+    void typesAreIndexedDenselyById() {
+        assertThat(table.typeCount()).isEqualTo(NAMES.length);
+        assertThat(table.indexOf(null)).isEqualTo(TypeEffectivenessTable.NONE);
+        assertThat(table.indexOf(3L)).isEqualTo(1);
+        assertThat(table.nameAt(table.indexOf(6L))).isEqualTo("Fire");
+        assertThat(table.idAt(table.typeCount())).isEqualTo(3L * NAMES.length);
+        assertThat(table.indexOf(4L)).isEqualTo(-1);
+        assertThat(table.indexOf(0L)).isEqualTo(-1);
+        assertThat(table.indexOf(1000L)).isEqualTo(-1);
+    }
+
+    @Test
+    void moreTypesThanMaskBitsHaveNoMasks() {
+        List<PokemonType> many = new ArrayList<>();
+        for (long id = 1; id <= TypeEffectivenessTable.MAX_MASK_TYPES + 1; id++) {
+            many.add(type(id, NAMES[(int) (id % NAMES.length)]));
+        }
+
+        TypeEffectivenessTable big = TypeEffectivenessTable.of(many);
+
+        assertThat(big.hasMasks()).isFalse();
+        // Electric against Water
+        assertThat(big.multiplier(big.indexOf(3L), big.indexOf(2L), TypeEffectivenessTable.NONE)).isEqualTo(2f);
+    }
+
+    private float multiplier(String attack, String primary, String secondary) {
+        return table.multiplier(index(attack), index(primary), secondary == null ? 0 : index(secondary));
+    }
+
+    private int index(String name) {
+        return types.stream().filter(type -> type.getName().equals(name)).findFirst()
+                .map(type -> table.indexOf(type.getId())).orElseThrow();
+    }
+
+    private static PokemonType type(Long id, String name) {
+        PokemonType type = new PokemonType();
+        type.setId(id);
+        type.setName(name);
+        return type;
+    }
+}
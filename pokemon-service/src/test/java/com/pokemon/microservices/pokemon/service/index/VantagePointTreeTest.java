@@ -0,0 +1,98 @@
+package com.pokemon.microservices.pokemon.service.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VantagePointTreeTest {
+
+    private static final int POINTS = 500;
+    private static final int DIMENSIONS = 6;
+
+    private final Random random = new Random(42);
+    private final long[] ids = new long[POINTS];
+    private final float[][] points = new float[POINTS][];
+
+    VantagePointTreeTest() {
+        for (int i = 0; i < POINTS; i++) {
+            ids[i] = 1000 + i;
+            points[i] = randomPoint();
+        }
+    }
+
+    @Test
+    void nearestMatchesABruteForceScan() {
+        VantagePointTree tree = new VantagePointTree(ids, points);
+
+        for (int query = 0; query < 50; query++) {
+            float[] point = randomPoint();
+            for (int k : new int[]{1, 5, 20}) {
+                assertThat(tree.nearest(point, k, id -> true)).as("k=%d", k)
+                        .isEqualTo(bruteForce(point, k, id -> true));
+            }
+        }
+    }
+
+    @Test
+    void filteredNearestMatchesABruteForceScan() {
+        VantagePointTree tree = new VantagePointTree(ids, points);
+        LongPredicate even = id -> id % 2 == 0;
+        LongPredicate rare = id -> id % 97 == 0;
+
+        for (int query = 0; query < 50; query++) {
+            float[] point = randomPoint();
+            assertThat(tree.nearest(point, 10, even)).isEqualTo(bruteForce(point, 10, even));
+            // Fewer accepted points than k: all of them come back
+            assertThat(tree.nearest(point, 10, rare)).isEqualTo(bruteForce(point, 10, rare)).hasSize(5);
+        }
+    }
+
+    @Test
+    void queryPointIsItsOwnNearestNeighbour() {
+        VantagePointTree tree = new VantagePointTree(ids, points);
+
+        List<VantagePointTree.Neighbor> nearest = tree.nearest(points[123], 1, id -> true);
+
+        assertThat(nearest).containsExactly(new VantagePointTree.Neighbor(ids[123], 0));
+    }
+
+    @Test
+    void emptyTreeAndZeroKFindNothing() {
+        assertThat(new VantagePointTree(new long[0], new float[0][]).nearest(randomPoint(), 3, id -> true)).isEmpty();
+        assertThat(new VantagePointTree(ids, points).nearest(randomPoint(), 0, id -> true)).isEmpty();
+    }
+
+    @Test
+    void buildDoesNotReorderTheCallersArrays() {
+        long[] before = ids.clone();
+        float[][] pointsBefore = points.clone();
+
+        new VantagePointTree(ids, points);
+
+        assertThat(ids).isEqualTo(before);
+        assertThat(points).isEqualTo(pointsBefore);
+    }
+
+    private List<VantagePointTree.Neighbor> bruteForce(float[] query, int k, LongPredicate accept) {
+        return IntStream.range(0, POINTS)
+                .filter(i -> accept.test(ids[i]))
+                .mapToObj(i -> new VantagePointTree.Neighbor(ids[i], VantagePointTree.distance(query, points[i])))
+                .sorted(Comparator.comparingDouble(VantagePointTree.Neighbor::distance))
+                .limit(k)
+                .toList();
+    }
+
+    private float[] randomPoint() {
+        float[] point = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            point[i] = 5 + random.nextFloat() * 250;
+        }
+        return point;
+    }
+}
@@ -0,0 +1,171 @@
+package com.pokemon.microservices.pokemon.snapshot;
+
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PokedexCatalogTest {
+
+    private static final PokemonType GRASS = type(1L, "Planta");
+    private static final PokemonType POISON = type(2L, "Veneno");
+    private static final PokemonType FIRE = type(3L, "Fuego");
+    private static final PokemonType PSYCHIC = type(4L, "Psíquico");
+
+    @TempDir
+    Path dir;
+
+    private PokedexCatalog catalog;
+
+    @BeforeEach
+    void writeSnapshot() throws IOException {
+        Pokemon bulbasaur = pokemon(1L, "Bulbasaur", 1, GRASS, POISON, 45, 1);
+        bulbasaur.setDescription("Semilla");
+        Pokemon mew = pokemon(151L, "Mew", 151, PSYCHIC, null, 100, 2);
+        mew.setDescription("Mítico");
+        PokedexSnapshotWriter writer = new PokedexSnapshotWriter()
+                .addType(GRASS).addType(POISON).addType(FIRE).addType(PSYCHIC)
+                .addPokemon(bulbasaur, null, 2L)
+                .addPokemon(pokemon(2L, "Ivysaur", 2, GRASS, POISON, 60, 1), 1L, 3L)
+                .addPokemon(pokemon(3L, "Venusaur", 3, GRASS, POISON, 80, 1), 2L, null)
+                .addPokemon(pokemon(4L, "Charmander", 4, FIRE, null, 65, 1), null, null)
+                // Same type twice still counts once
+                .addPokemon(pokemon(150L, "Mewtwo", 150, PSYCHIC, PSYCHIC, 130, 1), null, null)
+                .addPokemon(mew, null, null);
+        Path path = dir.resolve("catalog.snapshot");
+        writer.writeTo(path, 0);
+        catalog = new PokedexCatalog(PokedexSnapshot.open(path));
+    }
+
+    @Test
+    void findsPokemonByEveryKey() {
+        assertThat(catalog.pokemonCount()).isEqualTo(6);
+        assertThat(catalog.findById(4L)).get().extracting(Pokemon::getName).isEqualTo("Charmander");
+        assertThat(catalog.findById(5L)).isEmpty();
+        assertThat(catalog.findById(null)).isEmpty();
+        assertThat(catalog.findByName("mEWtwo")).get().extracting(Pokemon::getId).isEqualTo(150L);
+        assertThat(catalog.findByName("Missingno")).isEmpty();
+        assertThat(catalog.findByPokedexNumber(151)).get().extracting(Pokemon::getName).isEqualTo("Mew");
+        assertThat(catalog.findByPokedexNumber(0)).isEmpty();
+    }
+
+    @Test
+    void listsPokemonByTypeGenerationAndFlags() {
+        assertThat(names(catalog.findByPrimaryType(GRASS.getId()))).containsExactly("Bulbasaur", "Ivysaur",
+                "Venusaur");
+        assertThat(catalog.findByPrimaryType(POISON.getId())).isEmpty();
+        assertThat(names(catalog.findByGeneration(2))).containsExactly("Mew");
+        assertThat(names(catalog.findLegendary())).containsExactly("Mewtwo");
+        assertThat(names(catalog.findMythical())).containsExactly("Mew");
+    }
+
+    @Test
+    void countsTypesAsPrimaryOrEither() {
+        assertThat(catalog.countByPrimaryType(GRASS.getId())).isEqualTo(3);
+        assertThat(catalog.countByPrimaryType(POISON.getId())).isZero();
+        assertThat(catalog.countByAnyType(POISON.getId())).isEqualTo(3);
+        assertThat(catalog.countByAnyType(PSYCHIC.getId())).isEqualTo(2);
+        assertThat(catalog.countByAnyType(99L)).isZero();
+    }
+
+    @Test
+    void decodesEvolutionLinksBothWays() {
+        Pokemon ivysaur = catalog.findById(2L).orElseThrow();
+
+        assertThat(ivysaur.getEvolvesFrom().getName()).isEqualTo("Bulbasaur");
+        assertThat(ivysaur.getEvolvesTo().getName()).isEqualTo("Venusaur");
+        // The neighbours link back to the same instance
+        assertThat(ivysaur.getEvolvesFrom().getEvolvesTo()).isSameAs(ivysaur);
+        assertThat(ivysaur.getEvolvesTo().getEvolvesFrom()).isSameAs(ivysaur);
+        assertThat(catalog.findById(4L).orElseThrow().getEvolvesTo()).isNull();
+    }
+
+    @Test
+    void ordersLikeTheDatabase() {
+        assertThat(idsInOrder(Sort.unsorted())).containsExactly(1L, 2L, 3L, 4L, 150L, 151L);
+        assertThat(idsInOrder(Sort.by("name"))).containsExactly(1L, 4L, 2L, 151L, 150L, 3L);
+        assertThat(idsInOrder(Sort.by("hp").descending())).containsExactly(150L, 151L, 3L, 4L, 2L, 1L);
+        // Nulls sort as the largest value
+        assertThat(idsInOrder(Sort.by("description").and(Sort.by("id").descending())))
+                .containsExactly(151L, 1L, 150L, 4L, 3L, 2L);
+        // Sort orders are cached
+        assertThat(catalog.order(Sort.by("name"))).isSameAs(catalog.order(Sort.by("name")));
+    }
+
+    @Test
+    void unknownSortPropertyIsRejected() {
+        assertThatThrownBy(() -> catalog.order(Sort.by("nickname")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cannot sort by nickname");
+    }
+
+    @Test
+    void typesAreListedByNameAndFoundIgnoringCase() {
+        assertThat(catalog.typesByName()).extracting(PokemonType::getName)
+                .containsExactly("Fuego", "Planta", "Psíquico", "Veneno");
+        assertThat(catalog.findTypeByName("PSÍQUICO")).contains(PSYCHIC);
+        assertThat(catalog.findTypeById(3L)).contains(FIRE);
+        assertThat(catalog.findTypeById(9L)).isEmpty();
+        assertThat(catalog.findTypes(type -> type.getName().startsWith("P"))).containsExactly(GRASS, PSYCHIC);
+    }
+
+    @Test
+    void snapshotOutOfIdOrderIsRejected() throws IOException {
+        Path path = dir.resolve("unordered.snapshot");
+        new PokedexSnapshotWriter()
+                .addType(FIRE)
+                .addPokemon(pokemon(5L, "Charmeleon", 5, FIRE, null, 58, 1), null, null)
+                .addPokemon(pokemon(4L, "Charmander", 4, FIRE, null, 39, 1), null, null)
+                .writeTo(path, 0);
+        PokedexSnapshot snapshot = PokedexSnapshot.open(path);
+
+        assertThatThrownBy(() -> new PokedexCatalog(snapshot))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not ordered by id");
+    }
+
+    private List<Long> idsInOrder(Sort sort) {
+        List<Long> ids = new ArrayList<>();
+        for (int position : catalog.order(sort)) {
+            ids.add(catalog.pokemonAt(position).getId());
+        }
+        return ids;
+    }
+
+    private static List<String> names(List<Pokemon> pokemon) {
+        return pokemon.stream().map(Pokemon::getName).toList();
+    }
+
+    private static PokemonType type(Long id, String name) {
+        PokemonType type = new PokemonType();
+        type.setId(id);
+        type.setName(name);
+        return type;
+    }
+
+    private static Pokemon pokemon(Long id, String name, int pokedexNumber, PokemonType primary,
+                                   PokemonType secondary, int hp, int generation) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(id);
+        pokemon.setName(name);
+        pokemon.setPokedexNumber(pokedexNumber);
+        pokemon.setPrimaryType(primary);
+        pokemon.setSecondaryType(secondary);
+        pokemon.setHp(hp);
+        pokemon.setGeneration(generation);
+        pokemon.setIsLegendary(id == 150L);
+        pokemon.setIsMythical(id == 151L);
+        pokemon.setVersion(0L);
+        return pokemon;
+    }
+}
@@ -0,0 +1,120 @@
+package com.pokemon.microservices.pokemon.snapshot;
+
+import com.pokemon.microservices.pokemon.config.SnapshotProperties;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.EntityKind;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class PokedexSnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    @Test
+    void missingSnapshotFailsStartup() {
+        assertThatThrownBy(() -> store(dir.resolve("missing.snapshot")))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("needs a readable snapshot");
+    }
+
+    @Test
+    void unchangedFileIsNotReloaded() throws IOException {
+        Path path = dir.resolve("pokedex.snapshot");
+        write(path, 2);
+        PokedexSnapshotStore store = store(path);
+        PokedexCatalog catalog = store.catalog();
+
+        store.reloadIfChanged();
+
+        assertThat(store.catalog()).isSameAs(catalog);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void newerFileIsSwappedIn() throws IOException {
+        Path path = dir.resolve("pokedex.snapshot");
+        write(path, 2);
+        PokedexSnapshotStore store = store(path);
+        PokedexCatalog old = store.catalog();
+
+        write(path, 3);
+        store.reloadIfChanged();
+
+        assertThat(store.catalog()).isNotSameAs(old);
+        assertThat(store.catalog().pokemonCount()).isEqualTo(3);
+        // Requests still holding the old catalog keep reading it
+        assertThat(old.findById(2L)).isPresent();
+        verify(eventPublisher).publishEvent(EntityChangeEvent.fullRefresh(EntityKind.POKEMON_TYPE));
+        verify(eventPublisher).publishEvent(EntityChangeEvent.fullRefresh(EntityKind.POKEMON));
+    }
+
+    @Test
+    void brokenFileKeepsTheCurrentCatalog() throws IOException {
+        Path path = dir.resolve("pokedex.snapshot");
+        write(path, 2);
+        PokedexSnapshotStore store = store(path);
+        PokedexCatalog catalog = store.catalog();
+
+        Files.write(path, new byte[]{1, 2, 3});
+        store.reloadIfChanged();
+
+        assertThat(store.catalog()).isSameAs(catalog);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void fileMissingWhileBeingReplacedKeepsTheCurrentCatalog() throws IOException {
+        Path path = dir.resolve("pokedex.snapshot");
+        write(path, 2);
+        PokedexSnapshotStore store = store(path);
+        PokedexCatalog catalog = store.catalog();
+
+        Files.delete(path);
+        store.reloadIfChanged();
+        assertThat(store.catalog()).isSameAs(catalog);
+
+        write(path, 4);
+        store.reloadIfChanged();
+        assertThat(store.catalog().pokemonCount()).isEqualTo(4);
+    }
+
+    private PokedexSnapshotStore store(Path path) {
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setPath(path);
+        return new PokedexSnapshotStore(properties, eventPublisher);
+    }
+
+    private static void write(Path path, int pokemonCount) throws IOException {
+        PokemonType normal = new PokemonType();
+        normal.setId(1L);
+        normal.setName("Normal");
+        PokedexSnapshotWriter writer = new PokedexSnapshotWriter().addType(normal);
+        for (long id = 1; id <= pokemonCount; id++) {
+            Pokemon pokemon = new Pokemon();
+            pokemon.setId(id);
+            pokemon.setName("Pokemon-" + id);
+            pokemon.setPokedexNumber((int) id);
+            pokemon.setPrimaryType(normal);
+            pokemon.setVersion(0L);
+            writer.addPokemon(pokemon, null, null);
+        }
+        writer.writeTo(path, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,247 @@
+package com.pokemon.microservices.pokemon.snapshot;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemon.microservices.pokemon.PokemonServiceApplication;
+import com.pokemon.microservices.pokemon.dto.PokedexSnapshotInfo;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.entity.PokemonType;
+import com.pokemon.microservices.pokemon.service.PokedexSnapshotService;
+import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.service.PokemonTypeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Round-trips a Pokedex through the binary snapshot and compares seeding an
+ * empty H2 database from it with importing the same data as JSON through the
+ * services, the way it is seeded over REST. The timing comparison only runs
+ * with -Dbenchmark=true.
+ */
+@SpringBootTest(classes = PokemonServiceApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:snapshot;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "spring.cloud.config.enabled=false",
+        "spring.config.import=",
+        "eureka.client.enabled=false",
+        "pokemon.cluster.invalidation.enabled=false",
+        "pokemon.snapshot.load-on-startup=false"})
+class PokedexSnapshotTest {
+
+    private static final int TYPES = 18;
+    private static final int POKEMON = 600;
+
+    @Autowired
+    private PokedexSnapshotService snapshotService;
+    @Autowired
+    private PokemonService pokemonService;
+    @Autowired
+    private PokemonTypeService pokemonTypeService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void snapshotRoundTripsEveryField() throws IOException {
+        PokemonType fire = type(1L, "Fuego", "#F08030");
+        PokemonType flying = type(2L, "Volador", null);
+        Pokemon charizard = pokemon(6L, "Charizard", 6, fire, flying);
+        charizard.setDescription("Escupe fuego tan caliente que funde las rocas. ¡Ojo!");
+        charizard.setCreatedAt(LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_456_000));
+        Pokemon unknown = new Pokemon();
+        unknown.setId(7L);
+        unknown.setName("Missingno");
+        unknown.setPokedexNumber(0);
+        unknown.setIsLegendary(null);
+        unknown.setVersion(3L);
+
+        Path path = dir.resolve("roundtrip.snapshot");
+        long size = new PokedexSnapshotWriter()
+                .addType(fire)
+                .addType(flying)
+                .addPokemon(charizard, 5L, null)
+                .addPokemon(unknown, null, null)
+                .writeTo(path, 1_700_000_000_000L);
+
+        PokedexSnapshot snapshot = PokedexSnapshot.open(path);
+        assertThat(snapshot.sizeBytes()).isEqualTo(size).isEqualTo(Files.size(path));
+        assertThat(snapshot.typeCount()).isEqualTo(2);
+        assertThat(snapshot.pokemonCount()).isEqualTo(2);
+        assertThat(snapshot.exportedAt().toEpochMilli()).isEqualTo(1_700_000_000_000L);
+        assertThat(snapshot.type(0)).isEqualTo(fire);
+        assertThat(snapshot.type(1)).isEqualTo(flying);
+        assertThat(snapshot.pokemon(0)).isEqualTo(charizard);
+        assertThat(snapshot.pokemon(0).getPrimaryType().getName()).isEqualTo("Fuego");
+        assertThat(snapshot.pokemon(1)).isEqualTo(unknown);
+        assertThat(snapshot.evolvesFromId(0)).isEqualTo(5L);
+        assertThat(snapshot.evolvesToId(0)).isNull();
+
+        byte[] corrupt = Files.readAllBytes(path);
+        corrupt[corrupt.length - 1] ^= 1;
+        Files.write(path, corrupt);
+        assertThatThrownBy(() -> PokedexSnapshot.open(path)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void snapshotLoadRestoresTheDatabase() throws IOException {
+        clearDatabase();
+        seed();
+        Path snapshotPath = dir.resolve("pokedex.snapshot");
+        PokedexSnapshotInfo exported = snapshotService.exportSnapshot(snapshotPath);
+        assertThat(exported.types()).isEqualTo(TYPES);
+        assertThat(exported.pokemon()).isEqualTo(POKEMON);
+        List<Map<String, Object>> original = allPokemonRows();
+
+        clearDatabase();
+        snapshotService.loadSnapshot(snapshotPath);
+
+        assertThat(allPokemonRows()).isEqualTo(original);
+        // New rows get ids after the loaded ones
+        Pokemon created = pokemonService.createPokemon(pokemon(null, "Newcomer", POKEMON + 1, null, null));
+        assertThat(created.getId()).isGreaterThan((Long) original.get(original.size() - 1).get("ID"));
+        assertThatThrownBy(() -> snapshotService.loadSnapshot(snapshotPath)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void snapshotLoadIsFasterThanJsonImport() throws IOException {
+        clearDatabase();
+        seed();
+        Path snapshotPath = dir.resolve("pokedex.snapshot");
+        snapshotService.exportSnapshot(snapshotPath);
+        byte[] typesJson = objectMapper.writeValueAsBytes(pokemonTypeService.findAll());
+        byte[] pokemonJson = objectMapper.writeValueAsBytes(pokemonService.findAll(Pageable.unpaged()).getContent());
+
+        clearDatabase();
+        long jsonStart = System.nanoTime();
+        importJson(typesJson, pokemonJson);
+        long jsonNanos = System.nanoTime() - jsonStart;
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pokemon", Integer.class)).isEqualTo(POKEMON);
+
+        clearDatabase();
+        long snapshotStart = System.nanoTime();
+        snapshotService.loadSnapshot(snapshotPath);
+        long snapshotNanos = System.nanoTime() - snapshotStart;
+
+        System.out.printf("%-16s %10.1f ms%n%-16s %10.1f ms%n", "json import", jsonNanos / 1e6,
+                "snapshot load", snapshotNanos / 1e6);
+        assertThat(snapshotNanos * 3).isLessThan(jsonNanos);
+    }
+
+    // Only what a REST client could send: no ids, and evolution links are left out
+    private void importJson(byte[] typesJson, byte[] pokemonJson) throws IOException {
+        Map<Long, PokemonType> created = new HashMap<>();
+        for (PokemonType type : objectMapper.readValue(typesJson, new TypeReference<List<PokemonType>>() { })) {
+            Long oldId = type.getId();
+            type.setId(null);
+            created.put(oldId, pokemonTypeService.createType(type));
+        }
+        for (Pokemon pokemon : objectMapper.readValue(pokemonJson, new TypeReference<List<Pokemon>>() { })) {
+            pokemon.setId(null);
+            pokemon.setVersion(null);
+            pokemon.setEvolvesFrom(null);
+            pokemon.setEvolvesTo(null);
+            pokemon.setPrimaryType(created.get(pokemon.getPrimaryType().getId()));
+            if (pokemon.getSecondaryType() != null) {
+                pokemon.setSecondaryType(created.get(pokemon.getSecondaryType().getId()));
+            }
+            pokemonService.createPokemon(pokemon);
+        }
+    }
+
+    private void seed() {
+        List<Object[]> types = new ArrayList<>();
+        for (int i = 1; i <= TYPES; i++) {
+            types.add(new Object[]{"Type-" + i, "#" + (100000 + i), "Type number " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO pokemon_types (name, color, description, created_at, updated_at) "
+                + "VALUES (?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", types);
+        List<Long> typeIds = jdbcTemplate.queryForList("SELECT id FROM pokemon_types ORDER BY id", Long.class);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= POKEMON; i++) {
+            rows.add(new Object[]{"Pokemon-" + i, i, "Seed entry " + i, 0.5 + i % 20 / 10.0, 10.0 + i % 90,
+                    typeIds.get(i % TYPES), i % 3 == 0 ? typeIds.get((i + 5) % TYPES) : null,
+                    20 + i % 130, 30 + i % 120, 40 + i % 110, 50 + i % 100, 60 + i % 90, 70 + i % 80,
+                    i % 50 == 0, 1 + i % 9, "https://img.example/" + i + ".png"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO pokemon (name, pokedex_number, description, height, weight, "
+                + "primary_type_id, secondary_type_id, hp, attack, defense, special_attack, special_defense, "
+                + "speed, is_legendary, generation, image_url, is_mythical, version, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, 0, CURRENT_TIMESTAMP, "
+                + "CURRENT_TIMESTAMP)", rows);
+        // Three-stage evolution lines
+        jdbcTemplate.update("UPDATE pokemon SET evolves_to_id = id + 1 WHERE MOD(pokedex_number, 3) IN (1, 2)");
+        jdbcTemplate.update("UPDATE pokemon SET evolves_from_id = id - 1 WHERE MOD(pokedex_number, 3) IN (0, 2)");
+    }
+
+    private void clearDatabase() {
+        jdbcTemplate.update("UPDATE pokemon SET evolves_from_id = NULL, evolves_to_id = NULL");
+        jdbcTemplate.update("DELETE FROM pokemon");
+        jdbcTemplate.update("DELETE FROM pokemon_types");
+        // The second-level cache regions are shared with every other context in this JVM
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private List<Map<String, Object>> allPokemonRows() {
+        return jdbcTemplate.queryForList("SELECT p.*, pt.name AS primary_name, st.name AS secondary_name "
+                + "FROM pokemon p JOIN pokemon_types pt ON pt.id = p.primary_type_id "
+                + "LEFT JOIN pokemon_types st ON st.id = p.secondary_type_id ORDER BY p.id");
+    }
+
+    private static PokemonType type(Long id, String name, String color) {
+        PokemonType type = new PokemonType();
+        type.setId(id);
+        type.setName(name);
+        type.setColor(color);
+        type.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return type;
+    }
+
+    private static Pokemon pokemon(Long id, String name, int pokedexNumber, PokemonType primary,
+                                   PokemonType secondary) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(id);
+        pokemon.setName(name);
+        pokemon.setPokedexNumber(pokedexNumber);
+        pokemon.setPrimaryType(primary);
+        pokemon.setSecondaryType(secondary);
+        pokemon.setHeight(1.7);
+        pokemon.setWeight(90.5);
+        pokemon.setHp(78);
+        pokemon.setAttack(84);
+        pokemon.setDefense(78);
+        pokemon.setSpecialAttack(109);
+        pokemon.setSpecialDefense(85);
+        pokemon.setSpeed(100);
+        pokemon.setGeneration(1);
+        pokemon.setVersion(0L);
+        return pokemon;
+    }
+}
@@ -0,0 +1,211 @@
+package com.pokemon.microservices.pokemon.snapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.pokemon.microservices.pokemon.PokemonServiceApplication;
+import com.pokemon.microservices.pokemon.entity.Pokemon;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent;
+import com.pokemon.microservices.pokemon.event.EntityChangeEvent.EntityKind;
+import com.pokemon.microservices.pokemon.service.PokedexSnapshotService;
+import com.pokemon.microservices.pokemon.service.PokemonService;
+import com.pokemon.microservices.pokemon.service.PokemonTypeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Exports a seeded H2 database to a snapshot, starts a second instance with the
+ * read-only profile on that file, and checks both answer the same GETs with
+ * the same status and JSON while the read-only one refuses writes with 405.
+ */
+class ReadOnlyModeTest {
+
+    private static final int TYPES = 6;
+    // Whole three-stage evolution lines
+    private static final int POKEMON = 39;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+
+    @TempDir
+    static Path dir;
+
+    private static ConfigurableApplicationContext database;
+    private static ConfigurableApplicationContext readOnly;
+
+    @BeforeAll
+    static void startInstances() throws IOException {
+        database = new SpringApplicationBuilder(PokemonServiceApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:read-only-source;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cloud.config.enabled=false",
+                        "--spring.config.import=",
+                        "--eureka.client.enabled=false",
+                        "--pokemon.snapshot.load-on-startup=false");
+        seed(database.getBean(JdbcTemplate.class));
+        // The second-level cache regions are shared with every other context in this JVM
+        database.getBean(EntityManagerFactory.class).getCache().evictAll();
+        // Rows written behind the application's back, announced the way a snapshot load does
+        database.publishEvent(EntityChangeEvent.fullRefresh(EntityKind.POKEMON_TYPE));
+        database.publishEvent(EntityChangeEvent.fullRefresh(EntityKind.POKEMON));
+        Path snapshot = dir.resolve("pokedex.snapshot");
+        database.getBean(PokedexSnapshotService.class).exportSnapshot(snapshot);
+
+        readOnly = new SpringApplicationBuilder(PokemonServiceApplication.class)
+                .profiles("read-only")
+                .run("--server.port=0",
+                        "--spring.cloud.config.enabled=false",
+                        "--spring.config.import=",
+                        "--eureka.client.enabled=false",
+                        "--pokemon.snapshot.path=" + snapshot);
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (readOnly != null) {
+            readOnly.close();
+        }
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/pokemon/7",
+            "/api/pokemon/999",
+            "/api/pokemon/name/pokemon-12",
+            "/api/pokemon/name/POKEMON-12",
+            "/api/pokemon/pokedex/30",
+            "/api/pokemon?page=1&size=7",
+            "/api/pokemon?size=10&sortBy=name&sortDir=desc",
+            "/api/pokemon?size=5&fields=name,pokedexNumber",
+            "/api/pokemon/batch?ids=3,999,1",
+            "/api/pokemon/batch?names=Pokemon-4,missing,POKEMON-2",
+            "/api/pokemon/batch?pokedex=5,6",
+            "/api/pokemon/type/2",
+            "/api/pokemon/generation/3",
+            "/api/pokemon/legendary",
+            "/api/pokemon/stats/count",
+            "/api/pokemon/types",
+            "/api/pokemon/types/4",
+            "/api/pokemon/types/name/type-5",
+            "/api/pokemon/types/search?term=number 3",
+            "/api/pokemon/types/2/count"})
+    void readsMatchTheDatabase(String path) throws Exception {
+        HttpResponse<String> expected = get(database, path);
+        HttpResponse<String> actual = get(readOnly, path);
+
+        assertThat(actual.statusCode()).as(path).isEqualTo(expected.statusCode());
+        if (!expected.body().isEmpty()) {
+            assertThat(JSON.readTree(actual.body())).as(path).isEqualTo(JSON.readTree(expected.body()));
+        }
+    }
+
+    @Test
+    void writesAreRefusedWith405() throws Exception {
+        ObjectNode newPokemon = (ObjectNode) JSON.readTree(get(database, "/api/pokemon/1").body());
+        newPokemon.remove(List.of("id", "version", "evolvesFrom", "evolvesTo"));
+        newPokemon.put("name", "Newcomer");
+        newPokemon.put("pokedexNumber", POKEMON + 1);
+        JsonNode type = JSON.readTree(get(database, "/api/pokemon/types/1").body());
+
+        List<HttpRequest> writes = List.of(
+                request(readOnly, "/api/pokemon").POST(body(newPokemon)).build(),
+                request(readOnly, "/api/pokemon/1").PUT(body(newPokemon)).build(),
+                request(readOnly, "/api/pokemon/1").method("PATCH", body("{\"version\":0,\"hp\":99}")).build(),
+                request(readOnly, "/api/pokemon/1").DELETE().build(),
+                request(readOnly, "/api/pokemon/bulk").method("PATCH",
+                        body("{\"ids\":[1,2],\"changes\":{\"hp\":99}}")).build(),
+                request(readOnly, "/api/pokemon/bulk/delete").POST(body("{\"ids\":[1,2]}")).build(),
+                request(readOnly, "/api/pokemon/types").POST(body(((ObjectNode) type.deepCopy())
+                        .put("name", "Brand-new").without("id"))).build(),
+                request(readOnly, "/api/pokemon/types/1").PUT(body(type)).build(),
+                request(readOnly, "/api/pokemon/types/1").DELETE().build());
+
+        for (HttpRequest write : writes) {
+            HttpResponse<String> response = HTTP.send(write, HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).as(write.method() + " " + write.uri()).isEqualTo(405);
+        }
+        assertThat(get(readOnly, "/api/pokemon/stats/count").body()).isEqualTo(String.valueOf(POKEMON));
+    }
+
+    @Test
+    void snapshotServicesThrowTheReadOnlyException() {
+        PokemonService pokemonService = readOnly.getBean(PokemonService.class);
+        PokemonTypeService typeService = readOnly.getBean(PokemonTypeService.class);
+        Pokemon pokemon = pokemonService.findById(1L).orElseThrow();
+
+        assertThatThrownBy(() -> pokemonService.createPokemon(pokemon)).isInstanceOf(ReadOnlyModeException.class);
+        assertThatThrownBy(() -> pokemonService.deleteById(1L)).isInstanceOf(ReadOnlyModeException.class);
+        assertThatThrownBy(() -> typeService.deleteById(1L)).isInstanceOf(ReadOnlyModeException.class);
+        // Uniqueness checks still see the catalog
+        assertThatThrownBy(() -> pokemonService.validateUniqueConstraints(pokemon, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        pokemonService.validateUniqueConstraints(pokemon, 1L);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> types = new ArrayList<>();
+        for (int i = 1; i <= TYPES; i++) {
+            types.add(new Object[]{"Type-" + i, "#" + (100000 + i), "Type number " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO pokemon_types (name, color, description, created_at, updated_at) "
+                + "VALUES (?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", types);
+        List<Long> typeIds = jdbcTemplate.queryForList("SELECT id FROM pokemon_types ORDER BY id", Long.class);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= POKEMON; i++) {
+            rows.add(new Object[]{"Pokemon-" + i, i, "Seed entry " + i, 0.5 + i % 20 / 10.0, 10.0 + i % 90,
+                    typeIds.get(i % TYPES), i % 3 == 0 ? typeIds.get((i + 5) % TYPES) : null,
+                    20 + i % 130, 30 + i % 120, 40 + i % 110, 50 + i % 100, 60 + i % 90, 70 + i % 80,
+                    i % 10 == 0, 1 + i % 4, "https://img.example/" + i + ".png"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO pokemon (name, pokedex_number, description, height, weight, "
+                + "primary_type_id, secondary_type_id, hp, attack, defense, special_attack, special_defense, "
+                + "speed, is_legendary, generation, image_url, is_mythical, version, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, 0, CURRENT_TIMESTAMP, "
+                + "CURRENT_TIMESTAMP)", rows);
+        jdbcTemplate.update("UPDATE pokemon SET evolves_to_id = id + 1 WHERE MOD(pokedex_number, 3) IN (1, 2)");
+        jdbcTemplate.update("UPDATE pokemon SET evolves_from_id = id - 1 WHERE MOD(pokedex_number, 3) IN (0, 2)");
+    }
+
+    private static HttpResponse<String> get(ConfigurableApplicationContext instance, String path)
+            throws IOException, InterruptedException {
+        return HTTP.send(request(instance, path).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest.Builder request(ConfigurableApplicationContext instance, String path) {
+        int port = ((WebServerApplicationContext) instance).getWebServer().getPort();
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path.replace(" ", "%20")))
+                .header("Content-Type", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher body(Object json) {
+        return HttpRequest.BodyPublishers.ofString(json.toString());
+    }
+}
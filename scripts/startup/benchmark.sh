@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+#
+# Mide el tiempo hasta la primera petición correcta (lanzamiento de la JVM ->
+# primera respuesta 2xx del endpoint de prueba) de cada módulo, arrancando con
+# el jar normal ("baseline") y con AOT + AppCDS ("fast-startup").
+#
+# Uso: scripts/startup/benchmark.sh [módulo...] [-n ejecuciones]
+#   Sin módulos mide config-server, eureka-server, api-gateway y pokemon-service.
+#   Antes: mvn -Pfast-startup package y scripts/startup/build-cds.sh <módulo>.
+#   Cada módulo necesita lo mismo que en un arranque normal (PostgreSQL para
+#   pokemon-service); los demás servicios deben estar parados en sus puertos.
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+RUNS=5
+MODULES=()
+while [[ $# -gt 0 ]]; do
+  case "$1" in
+    -n) RUNS="$2"; shift 2 ;;
+    *) MODULES+=("$1"); shift ;;
+  esac
+done
+[[ ${#MODULES[@]} -gt 0 ]] || MODULES=(config-server eureka-server api-gateway pokemon-service)
+
+probe_url() {
+  case "$1" in
+    config-server)   echo "http://localhost:8888/pokemon-service/default" ;;
+    eureka-server)   echo "http://localhost:8761/eureka/apps" ;;
+    api-gateway)     echo "http://localhost:8080/actuator/health" ;;
+    pokemon-service) echo "http://localhost:8081/api/pokemon?size=1" ;;
+    *) echo "Módulo desconocido: $1" >&2; exit 1 ;;
+  esac
+}
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Lanza el comando, espera la primera respuesta 2xx y devuelve los milisegundos
+time_to_first_request() {
+  local url="$1"; shift
+  local start pid elapsed=""
+  start="$(now_ms)"
+  "$@" > /dev/null 2>&1 &
+  pid=$!
+  while kill -0 "$pid" 2> /dev/null; do
+    if curl -sf -o /dev/null -H 'Accept: application/json' "$url"; then
+      elapsed=$(( $(now_ms) - start ))
+      break
+    fi
+    if (( $(now_ms) - start > 180000 )); then
+      break
+    fi
+    sleep 0.02
+  done
+  kill "$pid" 2> /dev/null || true
+  wait "$pid" 2> /dev/null || true
+  echo "${elapsed:-FAIL}"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print "-"; else print (NR % 2 ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+printf '%-16s %-13s %10s   %s\n' "módulo" "modo" "mediana ms" "ejecuciones"
+for module in "${MODULES[@]}"; do
+  url="$(probe_url "$module")"
+  # El jar con clasificador "lib" (pokemon-service, eureka-server, api-gateway) no es ejecutable
+  jar="$(ls "$ROOT/$module/target/$module"-*.jar 2> /dev/null | grep -v -e '\.original$' -e '-lib\.jar$' | head -n 1 || true)"
+  cds="$ROOT/$module/target/cds/run.sh"
+
+  for mode in baseline fast-startup; do
+    if [[ "$mode" == baseline ]]; then
+      [[ -n "$jar" ]] || { echo "$module: falta el jar (mvn package)" >&2; continue; }
+      cmd=(java -jar "$jar")
+    else
+      [[ -x "$cds" ]] || { echo "$module: falta $cds (build-cds.sh $module)" >&2; continue; }
+      cmd=("$cds")
+    fi
+    results=()
+    for _ in $(seq "$RUNS"); do
+      results+=("$(time_to_first_request "$url" "${cmd[@]}")")
+    done
+    med="$(printf '%s\n' "${results[@]}" | grep -v FAIL | median)"
+    printf '%-16s %-13s %10s   %s\n' "$module" "$mode" "$med" "${results[*]}"
+  done
+done
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+#
+# Crea el archivo AppCDS de un módulo a partir de un arranque de entrenamiento.
+#
+# El jar ejecutable de Spring Boot no sirve para CDS (los jars anidados no se
+# pueden archivar), así que se extrae a target/cds: las clases de la aplicación
+# en application.jar y las dependencias en lib/, en el orden de classpath.idx.
+# El arranque de entrenamiento termina nada más refrescar el contexto
+# (-Dspring.context.exit=onRefresh) y vuelca las clases cargadas en
+# application.jsa. Deja target/cds/run.sh para arrancar con el archivo.
+#
+# Uso: scripts/startup/build-cds.sh <módulo> [argumentos extra para la JVM/app]
+#   El módulo debe estar empaquetado antes (mvn -Pfast-startup package).
+#   El entrenamiento necesita lo mismo que un arranque real (p. ej. PostgreSQL
+#   para pokemon-service); Config Server y Eureka son opcionales.
+
+set -euo pipefail
+
+MODULE="${1:?Uso: $0 <módulo> [args...]}"
+shift
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+TARGET="$ROOT/$MODULE/target"
+# El jar con clasificador "lib" (pokemon-service, eureka-server, api-gateway) no es ejecutable
+JAR="$(ls "$TARGET"/"$MODULE"-*.jar 2>/dev/null | grep -v -e '\.original$' -e '-lib\.jar$' | head -n 1 || true)"
+[[ -n "$JAR" ]] || { echo "No hay jar en $TARGET; ejecuta antes mvn -Pfast-startup package" >&2; exit 1; }
+
+OUT="$TARGET/cds"
+rm -rf "$OUT"
+mkdir -p "$OUT/unpacked" "$OUT/lib"
+(cd "$OUT/unpacked" && jar xf "$JAR")
+
+START_CLASS="$(sed -n 's/^Start-Class: *//p' "$OUT/unpacked/META-INF/MANIFEST.MF" | tr -d '\r')"
+jar cf "$OUT/application.jar" -C "$OUT/unpacked/BOOT-INF/classes" .
+
+# CDS exige el mismo classpath, en el mismo orden, al crear y al usar el archivo
+CLASSPATH="application.jar"
+while read -r entry; do
+  lib="$(basename "$entry")"
+  mv "$OUT/unpacked/BOOT-INF/lib/$lib" "$OUT/lib/$lib"
+  CLASSPATH="$CLASSPATH:lib/$lib"
+done < <(sed -n 's/^- "\(.*\)"$/\1/p' "$OUT/unpacked/BOOT-INF/classpath.idx")
+rm -rf "$OUT/unpacked"
+
+# El contexto AOT solo existe si el jar se construyó con -Pfast-startup
+AOT_FLAGS=()
+if unzip -Z1 "$OUT/application.jar" | grep '__ApplicationContextInitializer.class$' >/dev/null; then
+  AOT_FLAGS=(-Dspring.aot.enabled=true -Dspring.profiles.include=fast-startup)
+fi
+
+echo "Entrenando $MODULE ($START_CLASS)..."
+(cd "$OUT" && java -XX:ArchiveClassesAtExit=application.jsa -Dspring.context.exit=onRefresh \
+  "${AOT_FLAGS[@]}" -cp "$CLASSPATH" "$@" "$START_CLASS")
+
+cat > "$OUT/run.sh" <<RUN
+#!/usr/bin/env bash
+cd "\$(dirname "\$0")"
+exec java -XX:SharedArchiveFile=application.jsa ${AOT_FLAGS[*]} -cp $CLASSPATH "\$@" $START_CLASS
+RUN
+chmod +x "$OUT/run.sh"
+echo "Archivo CDS: $OUT/application.jsa ($(du -h "$OUT/application.jsa" | cut -f1)); arranque: $OUT/run.sh"